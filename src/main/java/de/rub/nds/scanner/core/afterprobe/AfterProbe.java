@@ -8,8 +8,20 @@
  */
 package de.rub.nds.scanner.core.afterprobe;
 
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.Set;
 
 public abstract class AfterProbe<ReportT extends ScanReport> {
     public abstract void analyze(ReportT report);
+
+    /**
+     * Gets the analyzed properties this after probe may write. Incremental guideline evaluation
+     * defers all checks reading these properties until the after probes have run.
+     *
+     * @return the written properties, or null if this after probe may write any property
+     */
+    public Set<AnalyzedProperty> getAnalyzedProperties() {
+        return null;
+    }
 }
@@ -60,6 +60,59 @@ public final class ExecutorConfig {
             converter = ProbeTypeConverter.class)
     private List<ProbeType> excludedProbes = new LinkedList<>();
 
+    @Parameter(
+            names = "-statsThreads",
+            description =
+                    "The number of threads extracting statistics from probe states. If set to 0, probes extract them inline.")
+    private int statsExtractorThreads = 0;
+
+    @Parameter(
+            names = "-statsQueueCapacity",
+            description =
+                    "The maximum number of probe states waiting for statistics extraction (default 1024)")
+    private int statsQueueCapacity = 1024;
+
+    @Parameter(
+            names = "-statsBackpressure",
+            description =
+                    "What probes do when the statistics extraction queue is full. BLOCK waits, CALLER_RUNS extracts on the probe thread.")
+    private StatsBackpressure statsBackpressure = StatsBackpressure.BLOCK;
+
+    @Parameter(
+            names = "-asyncReportWrite",
+            description =
+                    "Write the report file on a background thread instead of the scanning thread.")
+    private boolean asyncReportWrite = false;
+
+    @Parameter(
+            names = "-reportQueueCapacity",
+            description =
+                    "The maximum number of reports waiting to be written in the background (default 16)")
+    private int reportQueueCapacity = 16;
+
+    @Parameter(
+            names = "-reportDurability",
+            description =
+                    "Whether report files are forced to disk (FSYNC) or left to the operating system (BUFFERED).")
+    private ReportDurability reportDurability = ReportDurability.BUFFERED;
+
+    @Parameter(
+            names = "-reportWriteRetries",
+            description = "How often writing a report in the background is retried (default 3)")
+    private int reportWriteRetries = 3;
+
+    @Parameter(
+            names = "-incrementalGuidelines",
+            description =
+                    "Evaluate guideline checks while the scan is running as soon as the properties they read are final.")
+    private boolean incrementalGuidelines = false;
+
+    @Parameter(
+            names = "-stopOnSettledScore",
+            description =
+                    "Stop scheduling probes once the score is capped and the remaining probes cannot change it.")
+    private boolean stopOnSettledScore = false;
+
     private List<ProbeType> probes = null;
 
     public ExecutorConfig() {
@@ -296,4 +349,176 @@ public final class ExecutorConfig {
     public boolean isMultithreaded() {
         return parallelProbes > 1 || overallThreads > 1;
     }
+
+    /**
+     * Returns the number of threads extracting statistics asynchronously from probe states.
+     *
+     * @return the number of stats extractor threads, 0 if extraction runs on the probe threads
+     */
+    public int getStatsExtractorThreads() {
+        return statsExtractorThreads;
+    }
+
+    /**
+     * Sets the number of threads extracting statistics asynchronously from probe states.
+     *
+     * @param statsExtractorThreads the number of stats extractor threads, 0 to extract inline
+     */
+    public void setStatsExtractorThreads(int statsExtractorThreads) {
+        this.statsExtractorThreads = statsExtractorThreads;
+    }
+
+    /**
+     * Checks if statistics are extracted asynchronously from probe states.
+     *
+     * @return true if at least one stats extractor thread is configured
+     */
+    public boolean isAsyncStatsExtraction() {
+        return statsExtractorThreads > 0;
+    }
+
+    /**
+     * Returns the maximum number of probe states waiting for statistics extraction.
+     *
+     * @return the stats queue capacity
+     */
+    public int getStatsQueueCapacity() {
+        return statsQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of probe states waiting for statistics extraction.
+     *
+     * @param statsQueueCapacity the stats queue capacity
+     */
+    public void setStatsQueueCapacity(int statsQueueCapacity) {
+        this.statsQueueCapacity = statsQueueCapacity;
+    }
+
+    /**
+     * Returns how probes are throttled when the stats extraction queue is full.
+     *
+     * @return the stats backpressure policy
+     */
+    public StatsBackpressure getStatsBackpressure() {
+        return statsBackpressure;
+    }
+
+    /**
+     * Sets how probes are throttled when the stats extraction queue is full.
+     *
+     * @param statsBackpressure the stats backpressure policy
+     */
+    public void setStatsBackpressure(StatsBackpressure statsBackpressure) {
+        this.statsBackpressure = statsBackpressure;
+    }
+
+    /**
+     * Returns whether the report file is written on a background thread.
+     *
+     * @return true if reports are written asynchronously
+     */
+    public boolean isAsyncReportWrite() {
+        return asyncReportWrite;
+    }
+
+    /**
+     * Sets whether the report file is written on a background thread.
+     *
+     * @param asyncReportWrite true to write reports asynchronously
+     */
+    public void setAsyncReportWrite(boolean asyncReportWrite) {
+        this.asyncReportWrite = asyncReportWrite;
+    }
+
+    /**
+     * Returns the maximum number of reports waiting to be written in the background.
+     *
+     * @return the report queue capacity
+     */
+    public int getReportQueueCapacity() {
+        return reportQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of reports waiting to be written in the background.
+     *
+     * @param reportQueueCapacity the report queue capacity
+     */
+    public void setReportQueueCapacity(int reportQueueCapacity) {
+        this.reportQueueCapacity = reportQueueCapacity;
+    }
+
+    /**
+     * Returns how durably report files are written.
+     *
+     * @return the report durability policy
+     */
+    public ReportDurability getReportDurability() {
+        return reportDurability;
+    }
+
+    /**
+     * Sets how durably report files are written.
+     *
+     * @param reportDurability the report durability policy
+     */
+    public void setReportDurability(ReportDurability reportDurability) {
+        this.reportDurability = reportDurability;
+    }
+
+    /**
+     * Returns how often writing a report in the background is retried after an I/O error.
+     *
+     * @return the number of retries
+     */
+    public int getReportWriteRetries() {
+        return reportWriteRetries;
+    }
+
+    /**
+     * Sets how often writing a report in the background is retried after an I/O error.
+     *
+     * @param reportWriteRetries the number of retries
+     */
+    public void setReportWriteRetries(int reportWriteRetries) {
+        this.reportWriteRetries = reportWriteRetries;
+    }
+
+    /**
+     * Gets whether guideline checks are evaluated while the scan is still running.
+     *
+     * @return true if guidelines are evaluated incrementally
+     */
+    public boolean isIncrementalGuidelines() {
+        return incrementalGuidelines;
+    }
+
+    /**
+     * Sets whether guideline checks are evaluated while the scan is still running.
+     *
+     * @param incrementalGuidelines true to evaluate guidelines incrementally
+     */
+    public void setIncrementalGuidelines(boolean incrementalGuidelines) {
+        this.incrementalGuidelines = incrementalGuidelines;
+    }
+
+    /**
+     * Gets whether the scan stops scheduling probes once their results cannot change the score.
+     *
+     * @return true if the scan stops early on a settled score
+     */
+    public boolean isStopOnSettledScore() {
+        return stopOnSettledScore;
+    }
+
+    /**
+     * Sets whether the scan stops scheduling probes once their results cannot change the score.
+     * This only has an effect if the scanner has a site report rater.
+     *
+     * @param stopOnSettledScore true to stop early on a settled score
+     */
+    public void setStopOnSettledScore(boolean stopOnSettledScore) {
+        this.stopOnSettledScore = stopOnSettledScore;
+    }
 }
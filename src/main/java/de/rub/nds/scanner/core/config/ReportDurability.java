@@ -0,0 +1,17 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.config;
+
+/** Defines how durably report files are written before they count as written. */
+public enum ReportDurability {
+    /** The file is handed to the operating system, which writes it to disk eventually. */
+    BUFFERED,
+    /** The file and its directory entry are forced to disk before the file is renamed. */
+    FSYNC
+}
@@ -0,0 +1,17 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.config;
+
+/** Defines how probes are throttled when the asynchronous stats extraction queue is full. */
+public enum StatsBackpressure {
+    /** The probe thread waits until the queue has room for the state. */
+    BLOCK,
+    /** The probe thread extracts the state itself instead of queueing it. */
+    CALLER_RUNS
+}
@@ -11,20 +11,28 @@ package de.rub.nds.scanner.core.execution;
 import de.rub.nds.scanner.core.afterprobe.AfterProbe;
 import de.rub.nds.scanner.core.config.ExecutorConfig;
 import de.rub.nds.scanner.core.guideline.Guideline;
-import de.rub.nds.scanner.core.guideline.GuidelineChecker;
+import de.rub.nds.scanner.core.guideline.GuidelineEvaluator;
 import de.rub.nds.scanner.core.passive.StatsWriter;
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.probe.ScannerProbe;
 import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.AsyncReportSink;
+import de.rub.nds.scanner.core.report.ReportCompression;
 import de.rub.nds.scanner.core.report.ScanReport;
+import de.rub.nds.scanner.core.report.rating.LiveScore;
 import de.rub.nds.scanner.core.report.rating.ScoreReport;
 import de.rub.nds.scanner.core.report.rating.SiteReportRater;
 import de.rub.nds.terminalutils.ProgressSpinner;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,14 +54,25 @@ public abstract class Scanner<
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    private static final int REPORT_BUFFER_SIZE = 1 << 16;
+
     private final ExecutorConfig executorConfig;
     private final List<ProbeT> probeList;
     private final List<AfterProbeT> afterList;
     private final boolean fillProbeListsAtScanStart;
 
+    private AsyncReportSink reportSink;
+    private boolean ownsReportSink;
+
+    // Reports queued on the sink by this scanner that close() still has to check
+    private final List<CompletableFuture<Path>> reportWrites = new ArrayList<>();
+
     // Optional callback for probe progress updates
     private ProbeProgressCallback<ReportT, StateT> progressCallback = ProbeProgressCallback.noOp();
 
+    // Whether a progress callback was given, which makes the scan keep a provisional score
+    private boolean hasProgressCallback;
+
     /**
      * Creates a new scanner instance.
      *
@@ -77,6 +96,7 @@ public abstract class Scanner<
             ProbeProgressCallback<ReportT, StateT> progressCallback) {
         this(executorConfig);
         this.progressCallback = progressCallback;
+        this.hasProgressCallback = progressCallback != null;
     }
 
     /**
@@ -109,6 +129,7 @@ public abstract class Scanner<
             ProbeProgressCallback<ReportT, StateT> progressCallback) {
         this(executorConfig, probeList, afterList);
         this.progressCallback = progressCallback;
+        this.hasProgressCallback = progressCallback != null;
     }
 
     /**
@@ -158,7 +179,10 @@ public abstract class Scanner<
     }
 
     /**
-     * Get a set of guidelines that will be evaluated after the scan has been executed.
+     * Get a set of guidelines that will be evaluated after the scan has been executed. Guidelines
+     * stored as XML resources should be obtained from {@link
+     * de.rub.nds.scanner.core.guideline.GuidelineCatalogue}, which parses them only once per
+     * process.
      *
      * @return A list of guidelines.
      */
@@ -176,6 +200,7 @@ public abstract class Scanner<
     public void setProgressCallback(ProbeProgressCallback<ReportT, StateT> progressCallback) {
         this.progressCallback =
                 progressCallback != null ? progressCallback : ProbeProgressCallback.noOp();
+        this.hasProgressCallback = progressCallback != null;
     }
 
     /**
@@ -184,7 +209,20 @@ public abstract class Scanner<
      * calling {@link #checkScanPrerequisites}, and executing the scan. After the scan has been
      * executed, the site report will be rated by using the SiteReportRate returned by {@link
      * #getSiteReportRater}. Finally, the guidelines returned by {@link #getGuidelines} will be
-     * evaluated. The result is serialized to a file if configured.
+     * evaluated in parallel. If {@link ExecutorConfig#isIncrementalGuidelines()} is set, checks
+     * declaring their properties are already evaluated while the probes are running. The result is
+     * serialized to a file if configured.
+     *
+     * <p>If a progress callback is set or {@link ExecutorConfig#isStopOnSettledScore()} is
+     * enabled, the site report rater is retrieved before the probes run. While they are running,
+     * the score of the report is then the provisional score of the results merged so far, so
+     * progress callbacks can read it, and with the stop option no further probes are scheduled
+     * once their results can no longer change the score. An interrupted scan returns the report
+     * without a score.
+     *
+     * <p>If {@link ExecutorConfig#isAsyncReportWrite()} is enabled, the report is still being
+     * written when this method returns and must not be modified until {@link #getReportWrite()}
+     * completes. A failed write is thrown by {@link #close()}.
      *
      * @return The scan report.
      */
@@ -211,6 +249,37 @@ public abstract class Scanner<
             }
         }
 
+        // Incremental guideline evaluation needs the guidelines before the probes run
+        GuidelineEvaluator<ReportT> guidelineEvaluator = null;
+        ProbeProgressCallback<ReportT, StateT> scanProgressCallback = progressCallback;
+        if (executorConfig.isIncrementalGuidelines()) {
+            guidelineEvaluator = new GuidelineEvaluator<>(getGuidelines());
+            guidelineEvaluator.startIncremental(report, probeList, afterList);
+            scanProgressCallback =
+                    createIncrementalCallback(guidelineEvaluator, scanProgressCallback);
+        }
+
+        // Live scoring keeps a provisional score in the report while the probes are running
+        boolean liveScoring = hasProgressCallback || executorConfig.isStopOnSettledScore();
+        SiteReportRater rater = null;
+        LiveScore liveScore = null;
+        SettledScoreCondition stopCondition = null;
+        if (liveScoring) {
+            LOGGER.debug("Retrieving site report rater for live score evaluation");
+            rater = getSiteReportRater();
+        }
+        if (rater != null) {
+            liveScore = rater.startLiveScore(report);
+            if (executorConfig.isStopOnSettledScore()) {
+                stopCondition = SettledScoreCondition.create(liveScore, probeList, afterList);
+                if (stopCondition == null) {
+                    LOGGER.debug("Not stopping early, an after probe may write any property");
+                }
+            }
+            scanProgressCallback =
+                    createLiveScoreCallback(liveScore, stopCondition, scanProgressCallback);
+        }
+
         // Scan Execution
         LOGGER.debug("Starting scan execution");
         ScanJob<ReportT, ProbeT, AfterProbeT, StateT> scanJob = new ScanJob<>(probeList, afterList);
@@ -221,23 +290,34 @@ public abstract class Scanner<
                         executorConfig.getParallelProbes(),
                         "ScannerProbeExecutor " + report.getRemoteName())) {
             // Set the progress callback on the executor
-            scanJobExecutor.setProgressCallback(progressCallback);
+            scanJobExecutor.setProgressCallback(scanProgressCallback);
+            scanJobExecutor.setStopCondition(stopCondition);
             ProgressSpinner.startSpinnerTask("Executing:");
             report.setScanStartTime(System.currentTimeMillis());
             scanJobExecutor.execute(report);
         } catch (InterruptedException e) {
             LOGGER.warn("Scan execution interrupted");
             report.setScanEndTime(System.currentTimeMillis());
+            if (liveScore != null) {
+                // the provisional score is not the score of a complete scan
+                report.setScore(null);
+            }
             Thread.currentThread().interrupt();
             ProgressSpinner.stopSpinner();
             return report;
+        } finally {
+            if (liveScore != null) {
+                liveScore.close();
+            }
         }
         LOGGER.debug("Scan execution complete");
         ProgressSpinner.stopSpinner();
 
         // Rating
-        LOGGER.debug("Retrieving site report rater for score evaluation");
-        SiteReportRater rater = getSiteReportRater();
+        if (!liveScoring) {
+            LOGGER.debug("Retrieving site report rater for score evaluation");
+            rater = getSiteReportRater();
+        }
         if (rater != null) {
             LOGGER.debug("Site report rater set, computing score");
             ScoreReport scoreReport = rater.getScoreReport(report.getResultMap());
@@ -246,14 +326,17 @@ public abstract class Scanner<
         }
 
         // Guideline Evaluation
-        LOGGER.debug("Retrieving guidelines for evaluation");
-        List<Guideline> guidelines = getGuidelines();
-        LOGGER.debug("Got a total of {} guidelines to evaluate", guidelines.size());
-        for (Guideline guideline : guidelines) {
-            LOGGER.debug("Executing evaluation of guideline '{}'", guideline.getName());
-            GuidelineChecker<ReportT> checker = new GuidelineChecker<>(guideline);
-            checker.fillReport(report);
+        if (guidelineEvaluator == null) {
+            LOGGER.debug("Retrieving guidelines for evaluation");
+            List<Guideline> guidelines = getGuidelines();
+            LOGGER.debug("Got a total of {} guidelines to evaluate", guidelines.size());
+            guidelineEvaluator = new GuidelineEvaluator<>(guidelines);
+        } else {
+            LOGGER.debug(
+                    "{} guideline checks were evaluated during the scan",
+                    guidelineEvaluator.getStartedChecks());
         }
+        guidelineEvaluator.fillReport(report);
 
         // Scan Completion
         report.setScanEndTime(System.currentTimeMillis());
@@ -263,13 +346,28 @@ public abstract class Scanner<
 
         // Serialize report to file
         if (executorConfig.isWriteReportToFile()) {
-            LOGGER.debug("Writing report to file");
-            try (FileOutputStream fos = new FileOutputStream(executorConfig.getOutputFile())) {
-                report.serializeToJson(fos);
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException("Could not serialize report to file", e);
-            } catch (IOException e) {
-                throw new RuntimeException("Could not write report to file", e);
+            String outputFile = executorConfig.getOutputFile();
+            if (executorConfig.isAsyncReportWrite()) {
+                LOGGER.debug("Queueing report to be written to file");
+                CompletableFuture<Path> reportWrite =
+                        getReportSink().submit(report, Path.of(outputFile));
+                synchronized (this) {
+                    reportWrites.removeIf(
+                            write -> write.isDone() && !write.isCompletedExceptionally());
+                    reportWrites.add(reportWrite);
+                }
+            } else {
+                LOGGER.debug("Writing report to file");
+                try (OutputStream outputStream =
+                        ReportCompression.forFileName(outputFile)
+                                .wrap(
+                                        new BufferedOutputStream(
+                                                Files.newOutputStream(Path.of(outputFile)),
+                                                REPORT_BUFFER_SIZE))) {
+                    report.serializeToJson(outputStream);
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not write report to file", e);
+                }
             }
         }
 
@@ -278,6 +376,65 @@ public abstract class Scanner<
         return report;
     }
 
+    private ProbeProgressCallback<ReportT, StateT> createIncrementalCallback(
+            GuidelineEvaluator<ReportT> guidelineEvaluator,
+            ProbeProgressCallback<ReportT, StateT> next) {
+        return (probe, report, completedProbes, totalProbes) -> {
+            guidelineEvaluator.onProbeMerged(probe);
+            next.onProbeCompleted(probe, report, completedProbes, totalProbes);
+        };
+    }
+
+    private ProbeProgressCallback<ReportT, StateT> createLiveScoreCallback(
+            LiveScore liveScore,
+            SettledScoreCondition stopCondition,
+            ProbeProgressCallback<ReportT, StateT> next) {
+        return (probe, report, completedProbes, totalProbes) -> {
+            if (stopCondition != null) {
+                stopCondition.onProbeMerged(probe);
+            }
+            report.setScore(liveScore.getScore());
+            next.onProbeCompleted(probe, report, completedProbes, totalProbes);
+        };
+    }
+
+    /**
+     * Sets the sink that writes reports in the background if {@link
+     * ExecutorConfig#isAsyncReportWrite()} is enabled. A sink can be shared between scanners; it is
+     * not closed by this scanner.
+     *
+     * @param reportSink the sink to write reports with
+     */
+    public synchronized void setReportSink(AsyncReportSink reportSink) {
+        this.reportSink = reportSink;
+        this.ownsReportSink = false;
+    }
+
+    /**
+     * Returns the sink that writes reports in the background. If none was set, a sink configured by
+     * the executor config is created and closed together with this scanner.
+     *
+     * @return the report sink
+     */
+    protected synchronized AsyncReportSink getReportSink() {
+        if (reportSink == null) {
+            reportSink = new AsyncReportSink(executorConfig);
+            ownsReportSink = true;
+        }
+        return reportSink;
+    }
+
+    /**
+     * Returns the background write of the report of the last scan, if {@link
+     * ExecutorConfig#isAsyncReportWrite()} is enabled.
+     *
+     * @return a future completing with the report file once it is written, or null if no report
+     *     was queued
+     */
+    public synchronized CompletableFuture<Path> getReportWrite() {
+        return reportWrites.isEmpty() ? null : reportWrites.get(reportWrites.size() - 1);
+    }
+
     /** This method is called before the scan is started. */
     protected void onScanStart() {}
 
@@ -320,9 +477,40 @@ public abstract class Scanner<
         afterList.add(afterProbe);
     }
 
+    /**
+     * Waits for the reports of this scanner that are still being written in the background and
+     * closes the report sink if this scanner created it. Subclasses overriding this method should
+     * call super.close().
+     *
+     * @throws IOException if a report could not be written
+     * @throws InterruptedException if interrupted while waiting for a report to be written
+     */
     @Override
     public void close() throws Exception {
-        // No resources to close in base Scanner class
-        // Subclasses can override this method if they have resources to clean up
+        List<CompletableFuture<Path>> pendingWrites;
+        synchronized (this) {
+            if (ownsReportSink) {
+                reportSink.close();
+                reportSink = null;
+                ownsReportSink = false;
+            }
+            pendingWrites = new ArrayList<>(reportWrites);
+            reportWrites.clear();
+        }
+        IOException failure = null;
+        for (CompletableFuture<Path> reportWrite : pendingWrites) {
+            try {
+                reportWrite.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IOException("Could not write report to file", e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.execution;
+
+import de.rub.nds.scanner.core.afterprobe.AfterProbe;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.ScannerProbe;
+import de.rub.nds.scanner.core.report.ScanReport;
+import de.rub.nds.scanner.core.report.rating.LiveScore;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Holds once the properties that the outstanding probes and the after probes may still write can
+ * no longer change the live score of a scan. Used as the stop condition of the scan job executor
+ * if {@link de.rub.nds.scanner.core.config.ExecutorConfig#isStopOnSettledScore()} is set.
+ */
+final class SettledScoreCondition implements BooleanSupplier {
+
+    private final LiveScore liveScore;
+
+    /** Properties that may still be written, and by how many probes. */
+    private final Map<AnalyzedProperty, Integer> pendingWriters = new ConcurrentHashMap<>();
+
+    private SettledScoreCondition(LiveScore liveScore) {
+        this.liveScore = liveScore;
+    }
+
+    /**
+     * Creates the condition for a scan.
+     *
+     * @param liveScore the live score of the scanned report
+     * @param probes the probes of the scan
+     * @param afterProbes the after probes of the scan
+     * @return the condition, or null if an after probe may write any property
+     */
+    static SettledScoreCondition create(
+            LiveScore liveScore,
+            List<? extends ScannerProbe<?, ?>> probes,
+            List<? extends AfterProbe<?>> afterProbes) {
+        SettledScoreCondition condition = new SettledScoreCondition(liveScore);
+        for (ScannerProbe<?, ?> probe : probes) {
+            for (AnalyzedProperty property : probe.getAnalyzedProperties()) {
+                condition.pendingWriters.merge(property, 1, Integer::sum);
+            }
+        }
+        for (AfterProbe<?> afterProbe : afterProbes) {
+            if (afterProbe.getAnalyzedProperties() == null) {
+                return null;
+            }
+            // after probes always run, so their properties stay pending
+            for (AnalyzedProperty property : afterProbe.getAnalyzedProperties()) {
+                condition.pendingWriters.merge(property, 1, Integer::sum);
+            }
+        }
+        return condition;
+    }
+
+    /**
+     * Marks the properties of a probe as final.
+     *
+     * @param probe the probe whose results have been merged into the report
+     */
+    void onProbeMerged(ScannerProbe<? extends ScanReport, ?> probe) {
+        for (AnalyzedProperty property : probe.getAnalyzedProperties()) {
+            pendingWriters.computeIfPresent(property, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return liveScore.isSettled(pendingWriters.keySet());
+    }
+}
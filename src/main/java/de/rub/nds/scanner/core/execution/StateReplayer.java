@@ -0,0 +1,145 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.execution;
+
+import de.rub.nds.scanner.core.afterprobe.AfterProbe;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainerMerger;
+import de.rub.nds.scanner.core.passive.StateCodec;
+import de.rub.nds.scanner.core.passive.StateLogReader;
+import de.rub.nds.scanner.core.passive.StatsWriter;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Rebuilds the extracted values and after-probe results of scans from state logs recorded with a
+ * {@link de.rub.nds.scanner.core.passive.StateRecorder}. No network access is needed, which makes
+ * it cheap to re-run passive analysis after an extractor or after-probe changed.
+ *
+ * @param <ReportT> the type of scan report
+ * @param <AfterProbeT> the type of after-probe
+ * @param <StateT> the type of state object used by probes
+ */
+public class StateReplayer<
+        ReportT extends ScanReport, AfterProbeT extends AfterProbe<ReportT>, StateT> {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final StateCodec<StateT> codec;
+
+    private final Supplier<StatsWriter<StateT>> writerFactory;
+
+    private final Supplier<List<AfterProbeT>> afterProbeFactory;
+
+    /**
+     * Creates a new StateReplayer. The factories are called once per replayed log, so that
+     * concurrent replays never share writer or after-probe state.
+     *
+     * @param codec the codec used to decode the recorded states
+     * @param writerFactory creates a writer with all extractors that should be applied
+     * @param afterProbeFactory creates the after-probes to run on each rebuilt report
+     */
+    public StateReplayer(
+            StateCodec<StateT> codec,
+            Supplier<StatsWriter<StateT>> writerFactory,
+            Supplier<List<AfterProbeT>> afterProbeFactory) {
+        this.codec = codec;
+        this.writerFactory = writerFactory;
+        this.afterProbeFactory = afterProbeFactory;
+    }
+
+    /**
+     * Replays a single log into the given report. The report's performed connections and extracted
+     * values are replaced by the replayed ones, then all after-probes analyze it.
+     *
+     * @param log the recorded state log
+     * @param report the report to fill
+     * @throws IOException if the log cannot be read
+     */
+    public void replay(Path log, ReportT report) throws IOException {
+        StatsWriter<StateT> writer = writerFactory.get();
+        try (StateLogReader<StateT> reader = new StateLogReader<>(log, codec)) {
+            reader.readAll(writer::extract);
+        }
+        report.setPerformedConnections(writer.getStateCounter());
+        report.putAllExtractedValueContainers(
+                ExtractedValueContainerMerger.mergeWriters(List.of(writer)));
+        for (AfterProbeT afterProbe : afterProbeFactory.get()) {
+            afterProbe.analyze(report);
+        }
+        LOGGER.debug("Replayed {} states from {}", writer.getStateCounter(), log);
+    }
+
+    /**
+     * Replays many logs in parallel.
+     *
+     * @param logs the recorded state logs
+     * @param reportFactory creates the report for a log, e.g., a fresh or previously stored one
+     * @param threadCount the number of logs replayed at the same time
+     * @return the filled reports, in the iteration order of the given logs
+     * @throws IOException if any log cannot be read
+     * @throws InterruptedException if interrupted while waiting for the replays
+     */
+    public Map<Path, ReportT> replayAll(
+            Collection<Path> logs, Function<Path, ReportT> reportFactory, int threadCount)
+            throws IOException, InterruptedException {
+        List<Callable<ReportT>> tasks = new ArrayList<>(logs.size());
+        for (Path log : logs) {
+            tasks.add(
+                    () -> {
+                        ReportT report = reportFactory.apply(log);
+                        replay(log, report);
+                        return report;
+                    });
+        }
+        ExecutorService executor =
+                Executors.newFixedThreadPool(threadCount, new NamedThreadFactory("Replay"));
+        try {
+            List<Future<ReportT>> futures = executor.invokeAll(tasks);
+            Map<Path, ReportT> reports = new LinkedHashMap<>();
+            int i = 0;
+            for (Path log : logs) {
+                reports.put(log, getReplayResult(futures.get(i++), log));
+            }
+            return reports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReportT getReplayResult(Future<ReportT> future, Path log)
+            throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw new IOException("Could not replay " + log, ioException);
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw new IOException("Could not replay " + log, uncheckedIOException.getCause());
+            }
+            throw new RuntimeException("Could not replay " + log, e.getCause());
+        }
+    }
+}
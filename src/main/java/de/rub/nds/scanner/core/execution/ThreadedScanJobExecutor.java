@@ -10,18 +10,19 @@ package de.rub.nds.scanner.core.execution;
 
 import de.rub.nds.scanner.core.afterprobe.AfterProbe;
 import de.rub.nds.scanner.core.config.ExecutorConfig;
-import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
-import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainerMerger;
+import de.rub.nds.scanner.core.passive.StatsExtractionPipeline;
+import de.rub.nds.scanner.core.passive.StatsWriter;
 import de.rub.nds.scanner.core.probe.ScannerProbe;
 import de.rub.nds.scanner.core.report.ScanReport;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -43,7 +44,6 @@ public class ThreadedScanJobExecutor<
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    @SuppressWarnings("unused")
     private final ExecutorConfig config;
 
     private final ScanJob<ReportT, ProbeT, AfterProbeT, StateT> scanJob;
@@ -63,6 +63,10 @@ public class ThreadedScanJobExecutor<
     // Callback for probe progress updates (optional)
     private ProbeProgressCallback<ReportT, StateT> progressCallback = ProbeProgressCallback.noOp();
 
+    // Checked after every merged probe; once true, no further probes are scheduled
+    private BooleanSupplier stopCondition = () -> false;
+    private boolean stopped;
+
     /**
      * Creates a new ThreadedScanJobExecutor with a custom thread pool.
      *
@@ -118,6 +122,17 @@ public class ThreadedScanJobExecutor<
                 progressCallback != null ? progressCallback : ProbeProgressCallback.noOp();
     }
 
+    /**
+     * Sets a condition that is checked after every merged probe. Once it holds, no further probes
+     * are scheduled; probes that are already running are still merged, and the remaining probes
+     * are reported as not executed.
+     *
+     * @param stopCondition the condition to stop scheduling probes, or null to never stop early
+     */
+    public void setStopCondition(BooleanSupplier stopCondition) {
+        this.stopCondition = stopCondition != null ? stopCondition : () -> false;
+    }
+
     /**
      * Executes the scan job by running probes concurrently and populating the report with results.
      * This method manages probe dependencies and ensures probes are executed in the correct order.
@@ -130,11 +145,22 @@ public class ThreadedScanJobExecutor<
         probeCount = scanJob.getProbeList().size();
         notScheduledTasks = new ArrayList<>(scanJob.getProbeList());
         report.addPropertyChangeListener(this);
+        StatsExtractionPipeline<StateT> statsPipeline = createStatsPipeline();
 
-        checkExecutableProbesAndSchedule(report);
-        executeProbesTillNoneCanBeExecuted(report);
-        updateReportWithNotExecutedProbes(report);
-        reportAboutNotExecutedProbes();
+        try {
+            checkExecutableProbesAndSchedule(report);
+            executeProbesTillNoneCanBeExecuted(report);
+            updateReportWithNotExecutedProbes(report);
+            reportAboutNotExecutedProbes();
+            if (statsPipeline != null) {
+                statsPipeline.flush();
+            }
+        } finally {
+            if (statsPipeline != null) {
+                statsPipeline.close();
+                scanJob.getProbeList().forEach(probe -> probe.setStatsPipeline(null));
+            }
+        }
         collectStatistics(report);
         executeAfterProbes(report);
 
@@ -142,6 +168,21 @@ public class ThreadedScanJobExecutor<
         report.removePropertyChangeListener(this);
     }
 
+    private StatsExtractionPipeline<StateT> createStatsPipeline() {
+        if (config == null || !config.isAsyncStatsExtraction()) {
+            return null;
+        }
+        StatsExtractionPipeline<StateT> statsPipeline =
+                new StatsExtractionPipeline<>(
+                        config.getStatsExtractorThreads(),
+                        config.getStatsQueueCapacity(),
+                        config.getStatsBackpressure());
+        for (ProbeT probe : scanJob.getProbeList()) {
+            probe.setStatsPipeline(statsPipeline);
+        }
+        return statsPipeline;
+    }
+
     private void updateReportWithNotExecutedProbes(ReportT report) {
         for (ProbeT probe : notScheduledTasks) {
             probe.merge(report);
@@ -184,6 +225,12 @@ public class ThreadedScanJobExecutor<
                 }
             }
             futureResults.removeAll(finishedFutures);
+            if (!finishedFutures.isEmpty() && !stopped && stopCondition.getAsBoolean()) {
+                LOGGER.info(
+                        "Stop condition reached, not scheduling {} remaining probes",
+                        notScheduledTasks.size());
+                stopped = true;
+            }
             // execute possible new probes
             checkExecutableProbesAndSchedule(report);
             if (futureResults.isEmpty()) {
@@ -206,29 +253,17 @@ public class ThreadedScanJobExecutor<
 
     private void collectStatistics(ReportT report) {
         LOGGER.debug("Evaluating executed handshakes...");
-        List<ProbeT> allProbes = scanJob.getProbeList();
-        HashMap<TrackableValue, ExtractedValueContainer<?>> containerMap = new HashMap<>();
+        List<StatsWriter<StateT>> writers = new ArrayList<>();
         int stateCounter = 0;
-        for (ProbeT probe : allProbes) {
-            List<ExtractedValueContainer<?>> tempContainerList =
-                    probe.getWriter().getCumulatedExtractedValues();
-            for (ExtractedValueContainer<?> tempContainer : tempContainerList) {
-                if (containerMap.containsKey(tempContainer.getType())) {
-                    // This cast should not fail because we only combine containers of the same type
-                    //noinspection unchecked
-                    ((List<Object>)
-                                    containerMap
-                                            .get(tempContainer.getType())
-                                            .getExtractedValueList())
-                            .addAll(tempContainer.getExtractedValueList());
-                } else {
-                    containerMap.put(tempContainer.getType(), tempContainer);
-                }
+        for (ProbeT probe : scanJob.getProbeList()) {
+            StatsWriter<StateT> writer = probe.getWriter();
+            if (writer != null) {
+                writers.add(writer);
+                stateCounter += writer.getStateCounter();
             }
-            stateCounter += probe.getWriter().getStateCounter();
         }
         report.setPerformedConnections(stateCounter);
-        report.putAllExtractedValueContainers(containerMap);
+        report.putAllExtractedValueContainers(ExtractedValueContainerMerger.mergeWriters(writers));
         LOGGER.debug("Finished evaluation");
     }
 
@@ -280,11 +315,14 @@ public class ThreadedScanJobExecutor<
     /**
      * Checks which probes can be executed based on their requirements and schedules them for
      * execution. This method is called whenever the report state changes to re-evaluate probe
-     * eligibility.
+     * eligibility. Nothing is scheduled once the stop condition has been reached.
      *
      * @param report the current scan report
      */
     public synchronized void checkExecutableProbesAndSchedule(ReportT report) {
+        if (stopped) {
+            return;
+        }
         List<ProbeT> newNotSchedulesTasksList = new LinkedList<>();
         for (ProbeT probe : notScheduledTasks) {
             if (probe.canBeExecuted(report)) {
@@ -0,0 +1,273 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Immutable, validated form of a {@link GuidelineCheckCondition}. Nested conjunctions and
+ * disjunctions are flattened, duplicate operands are removed and constant operands are folded, so
+ * that evaluating a condition only reads each referenced property once.
+ *
+ * <p>Compiled conditions compare structurally. A {@link ConditionContext} uses this to evaluate
+ * identical conditions of different checks and guidelines only once per report.
+ */
+public final class CompiledCondition {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The condition of checks without a condition, which is always met. */
+    public static final CompiledCondition TRUE = new CompiledCondition(Kind.TRUE, null, null, null);
+
+    private static final CompiledCondition FALSE =
+            new CompiledCondition(Kind.FALSE, null, null, null);
+
+    private enum Kind {
+        TRUE,
+        FALSE,
+        RESULT,
+        AND,
+        OR
+    }
+
+    private final Kind kind;
+
+    private final AnalyzedProperty property;
+
+    private final TestResult expectedResult;
+
+    private final CompiledCondition[] operands;
+
+    private final int hashCode;
+
+    private CompiledCondition(
+            Kind kind,
+            AnalyzedProperty property,
+            TestResult expectedResult,
+            CompiledCondition[] operands) {
+        this.kind = kind;
+        this.property = property;
+        this.expectedResult = expectedResult;
+        this.operands = operands;
+        this.hashCode =
+                31 * Objects.hash(kind, property, expectedResult) + Arrays.hashCode(operands);
+    }
+
+    /**
+     * Compiles the given condition. Invalid nodes are compiled to a condition that is never met,
+     * and a warning is logged once.
+     *
+     * @param condition the condition to compile, may be null
+     * @return the compiled condition, {@link #TRUE} for a null condition
+     */
+    public static CompiledCondition compile(GuidelineCheckCondition condition) {
+        return compile(condition, "condition", false);
+    }
+
+    /**
+     * Checks that the given condition and all of its nested conditions are valid.
+     *
+     * @param condition the condition to validate, may be null
+     * @return the compiled condition
+     * @throws IllegalArgumentException if a node is neither a conjunction, a disjunction nor a
+     *     comparison of a property with a result
+     */
+    public static CompiledCondition validate(GuidelineCheckCondition condition) {
+        return compile(condition, "condition", true);
+    }
+
+    private static CompiledCondition compile(
+            GuidelineCheckCondition condition, String path, boolean strict) {
+        if (condition == null) {
+            return TRUE;
+        }
+        if (condition.getAnd() != null) {
+            return combine(Kind.AND, condition.getAnd(), path + "/and", strict);
+        } else if (condition.getOr() != null) {
+            if (condition.getOr().isEmpty()) {
+                LOGGER.warn("Condition with empty 'or' list found at {}, it is always met.", path);
+            }
+            return combine(Kind.OR, condition.getOr(), path + "/or", strict);
+        } else if (condition.getAnalyzedProperty() != null && condition.getResult() != null) {
+            return new CompiledCondition(
+                    Kind.RESULT, condition.getAnalyzedProperty(), condition.getResult(), null);
+        }
+        if (strict) {
+            throw new IllegalArgumentException(
+                    "Invalid condition at "
+                            + path
+                            + ": neither 'and', 'or' nor a property with a result is set");
+        }
+        LOGGER.warn("Invalid condition object at {}, it is never met.", path);
+        return FALSE;
+    }
+
+    private static CompiledCondition combine(
+            Kind kind, List<GuidelineCheckCondition> conditions, String path, boolean strict) {
+        // the neutral element is dropped, the absorbing element decides the whole condition
+        CompiledCondition neutral = kind == Kind.AND ? TRUE : FALSE;
+        CompiledCondition absorbing = kind == Kind.AND ? FALSE : TRUE;
+        Set<CompiledCondition> operands = new LinkedHashSet<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            CompiledCondition operand = compile(conditions.get(i), path + "[" + i + "]", strict);
+            if (operand == absorbing) {
+                return absorbing;
+            } else if (operand.kind == kind) {
+                operands.addAll(Arrays.asList(operand.operands));
+            } else if (operand != neutral) {
+                operands.add(operand);
+            }
+        }
+        if (operands.isEmpty()) {
+            // empty conjunctions and disjunctions are always met
+            return conditions.isEmpty() ? TRUE : neutral;
+        }
+        if (operands.size() == 1) {
+            return operands.iterator().next();
+        }
+        return new CompiledCondition(
+                kind, null, null, operands.toArray(new CompiledCondition[0]));
+    }
+
+    /**
+     * Evaluates this condition against the given report.
+     *
+     * @param report the report to evaluate
+     * @return true if the condition is met
+     */
+    public boolean test(ScanReport report) {
+        return switch (kind) {
+            case TRUE -> true;
+            case FALSE -> false;
+            case RESULT -> expectedResult.equals(report.getResult(property));
+            case AND -> {
+                for (CompiledCondition operand : operands) {
+                    if (!operand.test(report)) {
+                        yield false;
+                    }
+                }
+                yield true;
+            }
+            case OR -> {
+                for (CompiledCondition operand : operands) {
+                    if (operand.test(report)) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Evaluates this condition with the cached property values and results of the given context.
+     *
+     * @param context the evaluation context of a report
+     * @return true if the condition is met
+     */
+    public boolean test(ConditionContext context) {
+        return context.test(this);
+    }
+
+    boolean evaluate(ConditionContext context) {
+        return switch (kind) {
+            case TRUE -> true;
+            case FALSE -> false;
+            case RESULT -> expectedResult.equals(context.getResult(property));
+            case AND -> {
+                for (CompiledCondition operand : operands) {
+                    if (!context.test(operand)) {
+                        yield false;
+                    }
+                }
+                yield true;
+            }
+            case OR -> {
+                for (CompiledCondition operand : operands) {
+                    if (context.test(operand)) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Checks whether this condition combines other conditions, so that caching its result pays
+     * off.
+     *
+     * @return true for conjunctions and disjunctions
+     */
+    boolean isComposite() {
+        return operands != null;
+    }
+
+    /**
+     * Collects the properties read by this condition.
+     *
+     * @return the referenced properties
+     */
+    public Set<AnalyzedProperty> getReferencedProperties() {
+        Set<AnalyzedProperty> properties = new HashSet<>();
+        List<CompiledCondition> pending = new ArrayList<>(List.of(this));
+        while (!pending.isEmpty()) {
+            CompiledCondition condition = pending.remove(pending.size() - 1);
+            if (condition.property != null) {
+                properties.add(condition.property);
+            }
+            if (condition.operands != null) {
+                pending.addAll(Arrays.asList(condition.operands));
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CompiledCondition)) {
+            return false;
+        }
+        CompiledCondition other = (CompiledCondition) obj;
+        return hashCode == other.hashCode
+                && kind == other.kind
+                && Objects.equals(property, other.property)
+                && Objects.equals(expectedResult, other.expectedResult)
+                && Arrays.equals(operands, other.operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case TRUE, FALSE -> kind.name().toLowerCase(Locale.ROOT);
+            case RESULT -> property.getName() + "=" + expectedResult;
+            case AND, OR -> kind.name().toLowerCase(Locale.ROOT) + Arrays.toString(operands);
+        };
+    }
+}
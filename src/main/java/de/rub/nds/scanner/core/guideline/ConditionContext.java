@@ -0,0 +1,81 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates compiled conditions against one report. Property values are read from the report only
+ * once, and the results of composite conditions are cached, so that identical conditions of
+ * different checks and guidelines are evaluated only once. The context is thread-safe and may be
+ * shared by checks evaluated in parallel; it must only be used while the properties it reads do
+ * not change.
+ */
+public final class ConditionContext {
+
+    private final ScanReport report;
+
+    private final Map<AnalyzedProperty, Optional<TestResult>> results = new ConcurrentHashMap<>();
+
+    private final Map<CompiledCondition, Boolean> conditionResults = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a context for the given report.
+     *
+     * @param report the report the conditions are evaluated against
+     */
+    public ConditionContext(ScanReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Gets the report the conditions are evaluated against.
+     *
+     * @return the report
+     */
+    public ScanReport getReport() {
+        return report;
+    }
+
+    /**
+     * Evaluates the given condition, reusing the result of an identical condition evaluated
+     * before.
+     *
+     * @param condition the condition to evaluate
+     * @return true if the condition is met
+     */
+    public boolean test(CompiledCondition condition) {
+        if (!condition.isComposite()) {
+            return condition.evaluate(this);
+        }
+        Boolean cached = conditionResults.get(condition);
+        if (cached == null) {
+            // not computeIfAbsent, operands are cached recursively in the same map
+            cached = condition.evaluate(this);
+            conditionResults.putIfAbsent(condition, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Gets the result of the given property, reading it from the report only once.
+     *
+     * @param property the property to look up
+     * @return the result of the property, or null if the report has none
+     */
+    public TestResult getResult(AnalyzedProperty property) {
+        return results.computeIfAbsent(property, key -> Optional.ofNullable(report.getResult(key)))
+                .orElse(null);
+    }
+}
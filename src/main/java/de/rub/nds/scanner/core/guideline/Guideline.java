@@ -19,9 +19,13 @@ import java.util.List;
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Guideline implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String link;
 
+    // JAXB and the constructors only assign serializable lists
+    @SuppressWarnings("serial")
     @XmlAnyElement(lax = true)
     private List<GuidelineCheck> checks;
 
@@ -91,4 +95,27 @@ public class Guideline implements Serializable {
         }
         checks.add(check);
     }
+
+    /**
+     * Validates the conditions of all checks of this guideline and compiles them, so that they are
+     * not compiled again during evaluation.
+     *
+     * @throws IllegalArgumentException if the condition of a check contains an invalid node
+     */
+    public void validateConditions() {
+        for (GuidelineCheck check : getChecks()) {
+            try {
+                check.setCompiledCondition(CompiledCondition.validate(check.getCondition()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Check '"
+                                + check.getName()
+                                + "' of guideline '"
+                                + name
+                                + "': "
+                                + e.getMessage(),
+                        e);
+            }
+        }
+    }
 }
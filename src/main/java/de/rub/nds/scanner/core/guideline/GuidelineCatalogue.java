@@ -0,0 +1,383 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import jakarta.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import javax.xml.stream.XMLStreamException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Process-wide cache of the guidelines stored as XML resources. The XML files of a guideline
+ * folder are unmarshalled in parallel on first access, and the resulting guidelines are shared by
+ * all later callers. The returned guidelines must therefore not be modified.
+ *
+ * <p>If a snapshot directory is configured, the parsed guidelines are additionally persisted as a
+ * serialized snapshot. The snapshot records a SHA-256 checksum over the names and contents of the
+ * source resources and the library version. It additionally records the serialVersionUID and
+ * implementation version of every serialized guideline class and is only used while all of them
+ * still match, so later JVM starts skip JAXB entirely.
+ *
+ * <p>The conditions of all checks are validated and compiled on load. Guidelines with invalid
+ * conditions are rejected.
+ *
+ * <p>Guidelines of the class loader of this class and its parents are cached for the lifetime of
+ * the JVM. Guidelines of other class loaders, for example plugin class loaders, reference their
+ * loader through the classes of their checks, so they are only cached while they are referenced
+ * elsewhere. This allows such class loaders to be unloaded.
+ */
+public final class GuidelineCatalogue {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final ObjectInputFilter SNAPSHOT_FILTER =
+            ObjectInputFilter.Config.createFilter("maxdepth=64;java.base/*;de.rub.**;!*");
+
+    private static final Map<ClassLoader, Map<String, Supplier<List<Guideline>>>> CACHE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile Path snapshotDirectory;
+
+    private static GuidelineIO guidelineIO;
+
+    private GuidelineCatalogue() {}
+
+    /**
+     * Sets the directory in which guideline snapshots are stored.
+     *
+     * @param directory the snapshot directory, or null to disable snapshots
+     */
+    public static void setSnapshotDirectory(Path directory) {
+        snapshotDirectory = directory;
+    }
+
+    /**
+     * Gets the directory in which guideline snapshots are stored.
+     *
+     * @return the snapshot directory, or null if snapshots are disabled
+     */
+    public static Path getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    /**
+     * Returns the guidelines stored as XML files in the given resource folder. The folder is only
+     * read on the first call for the given class loader, later calls return the cached guidelines.
+     *
+     * @param classLoader the class loader used to locate the guideline resources
+     * @param folder the resource folder containing the guideline XML files
+     * @return an unmodifiable list of the guidelines, ordered by resource name, or an empty list if
+     *     the folder could not be read. Such a folder is read again on the next call.
+     */
+    public static List<Guideline> getGuidelines(ClassLoader classLoader, String folder) {
+        Map<String, Supplier<List<Guideline>>> folders =
+                CACHE.computeIfAbsent(classLoader, key -> new HashMap<>());
+        synchronized (folders) {
+            Supplier<List<Guideline>> cached = folders.get(folder);
+            List<Guideline> guidelines = cached != null ? cached.get() : null;
+            if (guidelines == null) {
+                guidelines = load(classLoader, folder);
+                if (guidelines == null) {
+                    return List.of();
+                }
+                folders.put(folder, reference(classLoader, guidelines));
+            }
+            return guidelines;
+        }
+    }
+
+    private static Supplier<List<Guideline>> reference(
+            ClassLoader classLoader, List<Guideline> guidelines) {
+        for (ClassLoader loader = GuidelineCatalogue.class.getClassLoader();
+                loader != null;
+                loader = loader.getParent()) {
+            if (loader == classLoader) {
+                // this loader is not unloaded before the catalogue itself
+                return () -> guidelines;
+            }
+        }
+        return new WeakReference<>(guidelines)::get;
+    }
+
+    /** Drops all cached guidelines. Existing snapshots are kept. */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static List<Guideline> load(ClassLoader classLoader, String folder) {
+        LOGGER.debug("Loading guideline catalogue from {}", folder);
+        try {
+            List<String> paths = new ArrayList<>(GuidelineIO.listXmlFiles(classLoader, folder));
+            Collections.sort(paths);
+            List<byte[]> sources =
+                    paths.parallelStream()
+                            .map(path -> readResource(classLoader, path))
+                            .toList();
+            byte[] checksum = computeChecksum(paths, sources);
+
+            Path snapshot = getSnapshotFile(folder);
+            if (snapshot != null) {
+                List<Guideline> guidelines = readSnapshot(snapshot, classLoader, checksum);
+                if (guidelines != null) {
+                    guidelines.forEach(Guideline::validateConditions);
+                    LOGGER.debug("Loaded {} guidelines from {}", guidelines.size(), snapshot);
+                    return guidelines;
+                }
+            }
+
+            GuidelineIO io = getGuidelineIO();
+            List<Guideline> guidelines =
+                    sources.parallelStream()
+                            .filter(Objects::nonNull)
+                            .map(source -> parse(io, source))
+                            .filter(GuidelineIO::hasValidConditions)
+                            .toList();
+            if (snapshot != null) {
+                writeSnapshot(snapshot, checksum, guidelines);
+            }
+            return guidelines;
+        } catch (IOException | UncheckedIOException | URISyntaxException | JAXBException e) {
+            LOGGER.error("Error reading guideline catalogue from {}", folder, e);
+            return null;
+        }
+    }
+
+    private static synchronized GuidelineIO getGuidelineIO() throws JAXBException {
+        if (guidelineIO == null) {
+            guidelineIO = new GuidelineIO(null);
+        }
+        return guidelineIO;
+    }
+
+    private static byte[] readResource(ClassLoader classLoader, String path) {
+        try (InputStream input = classLoader.getResourceAsStream(path)) {
+            return input != null ? input.readAllBytes() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Guideline parse(GuidelineIO io, byte[] source) {
+        try {
+            return io.read(new ByteArrayInputStream(source));
+        } catch (JAXBException | XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Could not parse guideline", e));
+        }
+    }
+
+    private static byte[] computeChecksum(List<String> paths, List<byte[]> sources) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(getVersion(GuidelineCatalogue.class).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        for (int i = 0; i < paths.size(); i++) {
+            byte[] source = sources.get(i);
+            digest.update(paths.get(i).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (source != null) {
+                digest.update(source);
+            }
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private static Path getSnapshotFile(String folder) {
+        Path directory = snapshotDirectory;
+        if (directory == null) {
+            return null;
+        }
+        return directory.resolve(
+                "guidelines-" + folder.replaceAll("[^A-Za-z0-9._-]", "_") + ".snapshot");
+    }
+
+    private static List<Guideline> readSnapshot(
+            Path snapshot, ClassLoader classLoader, byte[] checksum) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(snapshot);
+                DataInputStream header = new DataInputStream(in)) {
+            if (header.readInt() != SNAPSHOT_VERSION) {
+                LOGGER.debug("Ignoring snapshot {} of an unsupported version", snapshot);
+                return null;
+            }
+            byte[] storedChecksum = new byte[header.readUnsignedShort()];
+            header.readFully(storedChecksum);
+            if (!Arrays.equals(checksum, storedChecksum)) {
+                LOGGER.debug("Ignoring outdated snapshot {}", snapshot);
+                return null;
+            }
+            int classCount = header.readInt();
+            for (int i = 0; i < classCount; i++) {
+                String name = header.readUTF();
+                long serialVersionUID = header.readLong();
+                String version = header.readUTF();
+                if (!isCurrentClass(classLoader, name, serialVersionUID, version)) {
+                    LOGGER.debug("Ignoring snapshot {} written for another {}", snapshot, name);
+                    return null;
+                }
+            }
+            ObjectInputStream objects = new SnapshotInputStream(header, classLoader);
+            objects.setObjectInputFilter(SNAPSHOT_FILTER);
+            List<Guideline> guidelines = new ArrayList<>();
+            int count = objects.readInt();
+            for (int i = 0; i < count; i++) {
+                guidelines.add((Guideline) objects.readObject());
+            }
+            return Collections.unmodifiableList(guidelines);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.debug("Could not read snapshot {}, parsing guidelines again", snapshot, e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(Path snapshot, byte[] checksum, List<Guideline> guidelines) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(snapshot.getParent());
+            temporary = Files.createTempFile(snapshot.getParent(), ".guidelines-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporary);
+                    DataOutputStream header = new DataOutputStream(out)) {
+                header.writeInt(SNAPSHOT_VERSION);
+                header.writeShort(checksum.length);
+                header.write(checksum);
+                Set<Class<?>> classes = getSerializedClasses(guidelines);
+                header.writeInt(classes.size());
+                for (Class<?> serializedClass : classes) {
+                    header.writeUTF(serializedClass.getName());
+                    header.writeLong(getSerialVersionUID(serializedClass));
+                    header.writeUTF(getVersion(serializedClass));
+                }
+                ObjectOutputStream objects = new ObjectOutputStream(header);
+                objects.writeInt(guidelines.size());
+                for (Guideline guideline : guidelines) {
+                    objects.writeObject(guideline);
+                }
+                objects.flush();
+            }
+            try {
+                Files.move(
+                        temporary,
+                        snapshot,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write guideline snapshot {}", snapshot, e);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    LOGGER.debug("Could not delete {}", temporary, e);
+                }
+            }
+        }
+    }
+
+    private static Set<Class<?>> getSerializedClasses(List<Guideline> guidelines) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        classes.add(Guideline.class);
+        classes.add(GuidelineCheckCondition.class);
+        classes.add(GuidelineCheck.class);
+        for (Guideline guideline : guidelines) {
+            for (GuidelineCheck check : guideline.getChecks()) {
+                for (Class<?> checkClass = check.getClass();
+                        checkClass != GuidelineCheck.class;
+                        checkClass = checkClass.getSuperclass()) {
+                    classes.add(checkClass);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static boolean isCurrentClass(
+            ClassLoader classLoader, String name, long serialVersionUID, String version) {
+        try {
+            Class<?> currentClass = Class.forName(name, false, classLoader);
+            return getSerialVersionUID(currentClass) == serialVersionUID
+                    && getVersion(currentClass).equals(version);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static long getSerialVersionUID(Class<?> serializedClass) {
+        ObjectStreamClass descriptor = ObjectStreamClass.lookup(serializedClass);
+        return descriptor != null ? descriptor.getSerialVersionUID() : 0L;
+    }
+
+    private static String getVersion(Class<?> versionedClass) {
+        Package classPackage = versionedClass.getPackage();
+        String version = classPackage != null ? classPackage.getImplementationVersion() : null;
+        return version != null ? version : "";
+    }
+
+    /** Resolves the classes of a snapshot with the class loader of the guideline resources. */
+    private static class SnapshotInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        SnapshotInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -8,16 +8,17 @@
  */
 package de.rub.nds.scanner.core.guideline;
 
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.report.ScanReport;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.io.Serializable;
+import java.util.Set;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-public abstract class GuidelineCheck {
+public abstract class GuidelineCheck implements Serializable {
 
-    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long serialVersionUID = 1L;
 
     private String name;
 
@@ -25,6 +26,8 @@ public abstract class GuidelineCheck {
 
     private GuidelineCheckCondition condition;
 
+    private transient volatile CompiledCondition compiledCondition;
+
     /** Private no-arg constructor to please JAXB */
     @SuppressWarnings("unused")
     private GuidelineCheck() {}
@@ -55,37 +58,37 @@ public abstract class GuidelineCheck {
      * @return true if the condition is satisfied or no condition is set, false otherwise
      */
     public <ReportT extends ScanReport> boolean passesCondition(ReportT report) {
-        return this.passesCondition(report, this.condition);
+        return getCompiledCondition().test(report);
     }
 
-    private <ReportT extends ScanReport> boolean passesCondition(
-            ReportT report, GuidelineCheckCondition condition) {
-        if (condition == null) {
-            return true;
-        }
-        if (condition.getAnd() != null) {
-            for (GuidelineCheckCondition andCondition : condition.getAnd()) {
-                if (!this.passesCondition(report, andCondition)) {
-                    return false;
-                }
-            }
-            return true;
-        } else if (condition.getOr() != null) {
-            if (condition.getOr().isEmpty()) {
-                LOGGER.warn("Condition with empty 'or' list found, returning true.");
-                return true;
-            }
-            for (GuidelineCheckCondition orCondition : condition.getOr()) {
-                if (this.passesCondition(report, orCondition)) {
-                    return true;
-                }
-            }
-            return false;
-        } else if (condition.getAnalyzedProperty() != null && condition.getResult() != null) {
-            return condition.getResult().equals(report.getResult(condition.getAnalyzedProperty()));
+    /**
+     * Checks if the report of the given context satisfies the condition required for this
+     * guideline check. Conditions shared with other checks are only evaluated once per context.
+     *
+     * @param context the evaluation context of the scan report
+     * @return true if the condition is satisfied or no condition is set, false otherwise
+     */
+    public boolean passesCondition(ConditionContext context) {
+        return getCompiledCondition().test(context);
+    }
+
+    /**
+     * Gets the compiled form of the condition of this check. The condition is compiled on first
+     * use; later changes to the condition are not picked up.
+     *
+     * @return the compiled condition, {@link CompiledCondition#TRUE} if no condition is set
+     */
+    public CompiledCondition getCompiledCondition() {
+        CompiledCondition compiled = compiledCondition;
+        if (compiled == null) {
+            compiled = CompiledCondition.compile(condition);
+            compiledCondition = compiled;
         }
-        LOGGER.warn("Invalid condition object.");
-        return false;
+        return compiled;
+    }
+
+    void setCompiledCondition(CompiledCondition compiledCondition) {
+        this.compiledCondition = compiledCondition;
     }
 
     /**
@@ -114,4 +117,16 @@ public abstract class GuidelineCheck {
     public GuidelineCheckCondition getCondition() {
         return condition;
     }
+
+    /**
+     * Gets the analyzed properties read by {@link #evaluate}. Checks which declare their properties
+     * can be evaluated incrementally as soon as these properties are final, while the scan is
+     * still running. Properties referenced by the condition do not have to be included.
+     *
+     * @return the properties read by this check, or null if they are unknown and the check must
+     *     be evaluated after the scan
+     */
+    public Set<AnalyzedProperty> getReferencedProperties() {
+        return null;
+    }
 }
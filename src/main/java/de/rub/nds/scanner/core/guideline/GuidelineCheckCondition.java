@@ -12,17 +12,26 @@ import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.probe.result.TestResult;
 import de.rub.nds.scanner.core.probe.result.TestResults;
 import jakarta.xml.bind.annotation.*;
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.FIELD)
-public class GuidelineCheckCondition {
+public class GuidelineCheckCondition implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
+    // JAXB and the constructors only assign serializable lists
+    @SuppressWarnings("serial")
     @XmlElement(name = "condition")
     @XmlElementWrapper(name = "and")
     private List<GuidelineCheckCondition> and;
 
+    @SuppressWarnings("serial")
     @XmlElement(name = "condition")
     @XmlElementWrapper(name = "or")
     private List<GuidelineCheckCondition> or;
@@ -115,4 +124,29 @@ public class GuidelineCheckCondition {
     public List<GuidelineCheckCondition> getOr() {
         return or != null ? Collections.unmodifiableList(or) : null;
     }
+
+    /**
+     * Collects the analyzed properties referenced by this condition and all of its nested
+     * conditions.
+     *
+     * @return the referenced properties
+     */
+    public Set<AnalyzedProperty> getReferencedProperties() {
+        Set<AnalyzedProperty> properties = new HashSet<>();
+        collectReferencedProperties(properties);
+        return properties;
+    }
+
+    private void collectReferencedProperties(Set<AnalyzedProperty> properties) {
+        if (analyzedProperty != null) {
+            properties.add(analyzedProperty);
+        }
+        for (List<GuidelineCheckCondition> conditions : Arrays.asList(and, or)) {
+            if (conditions != null) {
+                for (GuidelineCheckCondition condition : conditions) {
+                    condition.collectReferencedProperties(properties);
+                }
+            }
+        }
+    }
 }
@@ -31,30 +31,52 @@ public class GuidelineChecker<ReportT extends ScanReport> {
      * @param report the scan report to evaluate and fill with guideline results
      */
     public void fillReport(ReportT report) {
+        ConditionContext context = new ConditionContext(report);
         List<GuidelineCheckResult> results = new ArrayList<>();
         for (GuidelineCheck check : guideline.getChecks()) {
-            GuidelineCheckResult result;
-            if (!check.passesCondition(report)) {
-                result =
-                        new MissingRequirementGuidelineResult(
-                                check,
-                                GuidelineAdherence.CONDITION_NOT_MET,
-                                "Condition was not met => Check is skipped.");
-            } else {
-                try {
-                    result = check.evaluate(report);
-                } catch (Throwable throwable) {
-                    LOGGER.debug("Failed evaluating check: ", throwable);
-                    result =
-                            new FailedCheckGuidelineResult(
-                                    check,
-                                    GuidelineAdherence.CHECK_FAILED,
-                                    throwable.getLocalizedMessage());
-                }
-            }
-            results.add(result);
+            results.add(evaluateCheck(check, context));
         }
         report.addGuidelineReport(
                 new GuidelineReport(this.guideline.getName(), this.guideline.getLink(), results));
     }
+
+    /**
+     * Evaluates a single check against the provided report. Checks whose condition is not met are
+     * skipped, and exceptions thrown by the check are turned into a failed result.
+     *
+     * @param check the check to evaluate
+     * @param report the scan report to evaluate the check against
+     * @param <ReportT> the type of the scan report
+     * @return the result of the check
+     */
+    public static <ReportT extends ScanReport> GuidelineCheckResult evaluateCheck(
+            GuidelineCheck check, ReportT report) {
+        return evaluateCheck(check, new ConditionContext(report));
+    }
+
+    /**
+     * Evaluates a single check against the report of the given context. The condition of the check
+     * is evaluated through the context, so that conditions shared between checks are evaluated
+     * only once.
+     *
+     * @param check the check to evaluate
+     * @param context the evaluation context of the scan report
+     * @return the result of the check
+     */
+    public static GuidelineCheckResult evaluateCheck(
+            GuidelineCheck check, ConditionContext context) {
+        if (!check.passesCondition(context)) {
+            return new MissingRequirementGuidelineResult(
+                    check,
+                    GuidelineAdherence.CONDITION_NOT_MET,
+                    "Condition was not met => Check is skipped.");
+        }
+        try {
+            return check.evaluate(context.getReport());
+        } catch (Throwable throwable) {
+            LOGGER.debug("Failed evaluating check: ", throwable);
+            return new FailedCheckGuidelineResult(
+                    check, GuidelineAdherence.CHECK_FAILED, throwable.getLocalizedMessage());
+        }
+    }
 }
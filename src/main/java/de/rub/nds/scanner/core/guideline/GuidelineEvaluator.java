@@ -0,0 +1,272 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import de.rub.nds.scanner.core.afterprobe.AfterProbe;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.ScannerProbe;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Evaluates the checks of several guidelines in parallel on a shared executor. The guideline
+ * reports are always produced in the order of the guidelines, with the results in the order of
+ * their checks.
+ *
+ * <p>In incremental mode, a check is evaluated while the scan is still running as soon as all
+ * properties it reads are final. A property is final once every probe that registered it has been
+ * merged into the report and no after probe may write it. Properties no scheduled probe registers
+ * may still be written by any probe, so checks reading them are evaluated after the scan, as are
+ * checks which do not declare their properties (see {@link
+ * GuidelineCheck#getReferencedProperties()}). Checks evaluated after the scan read the report
+ * afresh instead of reusing the values read by earlier checks.
+ *
+ * @param <ReportT> the type of the scan report
+ */
+public class GuidelineEvaluator<ReportT extends ScanReport> {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final List<Guideline> guidelines;
+
+    private final Executor executor;
+
+    private final List<List<CompletableFuture<GuidelineCheckResult>>> results;
+
+    private final Map<ScannerProbe<?, ?>, Set<AnalyzedProperty>> probeProperties =
+            new IdentityHashMap<>();
+
+    private final Map<AnalyzedProperty, Integer> pendingWriters = new HashMap<>();
+
+    private final Map<AnalyzedProperty, List<PendingCheck>> waitingChecks = new HashMap<>();
+
+    private ConditionContext context;
+
+    private int startedChecks;
+
+    /**
+     * Creates an evaluator which runs the checks on the common fork-join pool.
+     *
+     * @param guidelines the guidelines to evaluate
+     */
+    public GuidelineEvaluator(List<Guideline> guidelines) {
+        this(guidelines, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an evaluator which runs the checks on the given executor.
+     *
+     * @param guidelines the guidelines to evaluate
+     * @param executor the executor to run the checks on
+     */
+    public GuidelineEvaluator(List<Guideline> guidelines, Executor executor) {
+        this.guidelines = List.copyOf(guidelines);
+        this.executor = executor;
+        this.results = new ArrayList<>(this.guidelines.size());
+        for (Guideline guideline : this.guidelines) {
+            List<CompletableFuture<GuidelineCheckResult>> checkResults = new ArrayList<>();
+            for (int i = 0; i < guideline.getChecks().size(); i++) {
+                checkResults.add(null);
+            }
+            results.add(checkResults);
+        }
+    }
+
+    /**
+     * Starts the incremental evaluation for a scan. Checks whose declared properties are all
+     * registered by scheduled probes wait for {@link #onProbeMerged}, all other checks are
+     * evaluated after the scan. Must be called before the first probe is merged into the report.
+     *
+     * @param report the report the probes are merged into
+     * @param probes the probes scheduled for the scan
+     * @param afterProbes the after probes run at the end of the scan
+     */
+    public synchronized void startIncremental(
+            ReportT report,
+            Collection<? extends ScannerProbe<?, ?>> probes,
+            Collection<? extends AfterProbe<?>> afterProbes) {
+        Set<AnalyzedProperty> afterProbeProperties = new HashSet<>();
+        for (AfterProbe<?> afterProbe : afterProbes) {
+            Set<AnalyzedProperty> properties = afterProbe.getAnalyzedProperties();
+            if (properties == null) {
+                LOGGER.debug(
+                        "{} does not declare its properties, evaluating guidelines after the scan",
+                        afterProbe.getClass().getSimpleName());
+                return;
+            }
+            afterProbeProperties.addAll(properties);
+        }
+        context = new ConditionContext(report);
+        for (ScannerProbe<?, ?> probe : probes) {
+            Set<AnalyzedProperty> properties = new HashSet<>(probe.getAnalyzedProperties());
+            probeProperties.put(probe, properties);
+            for (AnalyzedProperty property : properties) {
+                pendingWriters.merge(property, 1, Integer::sum);
+            }
+        }
+        for (int guidelineIndex = 0; guidelineIndex < guidelines.size(); guidelineIndex++) {
+            List<GuidelineCheck> checks = guidelines.get(guidelineIndex).getChecks();
+            for (int checkIndex = 0; checkIndex < checks.size(); checkIndex++) {
+                GuidelineCheck check = checks.get(checkIndex);
+                Set<AnalyzedProperty> properties = getReferencedProperties(check);
+                if (properties == null
+                        || properties.stream().anyMatch(afterProbeProperties::contains)
+                        || !pendingWriters.keySet().containsAll(properties)) {
+                    continue;
+                }
+                PendingCheck pending = new PendingCheck(guidelineIndex, checkIndex);
+                for (AnalyzedProperty property : properties) {
+                    pending.remaining++;
+                    waitingChecks.computeIfAbsent(property, k -> new ArrayList<>()).add(pending);
+                }
+                if (pending.remaining == 0) {
+                    start(guidelineIndex, checkIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the evaluator that a probe has been merged into the report. Starts all checks whose
+     * properties became final with this probe.
+     *
+     * @param probe the merged probe
+     */
+    public synchronized void onProbeMerged(ScannerProbe<?, ?> probe) {
+        Set<AnalyzedProperty> properties = probeProperties.remove(probe);
+        if (properties == null) {
+            return;
+        }
+        for (AnalyzedProperty property : properties) {
+            int writers = pendingWriters.merge(property, -1, Integer::sum);
+            if (writers > 0) {
+                continue;
+            }
+            pendingWriters.remove(property);
+            List<PendingCheck> waiting = waitingChecks.remove(property);
+            if (waiting == null) {
+                continue;
+            }
+            for (PendingCheck pending : waiting) {
+                pending.remaining--;
+                if (pending.remaining == 0) {
+                    start(pending.guidelineIndex, pending.checkIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of checks which have been started so far.
+     *
+     * @return the number of started checks
+     */
+    public synchronized int getStartedChecks() {
+        return startedChecks;
+    }
+
+    /**
+     * Evaluates all checks which have not been started yet and waits for all results.
+     *
+     * @param report the scan report to evaluate
+     * @return the guideline reports in the order of the guidelines
+     */
+    public List<GuidelineReport> evaluate(ReportT report) {
+        synchronized (this) {
+            // values read by checks started during the scan may have changed since
+            context = new ConditionContext(report);
+            for (int guidelineIndex = 0; guidelineIndex < guidelines.size(); guidelineIndex++) {
+                List<CompletableFuture<GuidelineCheckResult>> checkResults =
+                        results.get(guidelineIndex);
+                for (int checkIndex = 0; checkIndex < checkResults.size(); checkIndex++) {
+                    if (checkResults.get(checkIndex) == null) {
+                        start(guidelineIndex, checkIndex);
+                    }
+                }
+            }
+            waitingChecks.clear();
+        }
+        List<GuidelineReport> reports = new ArrayList<>(guidelines.size());
+        for (int guidelineIndex = 0; guidelineIndex < guidelines.size(); guidelineIndex++) {
+            Guideline guideline = guidelines.get(guidelineIndex);
+            List<GuidelineCheckResult> checkResults = new ArrayList<>();
+            for (CompletableFuture<GuidelineCheckResult> result : getResults(guidelineIndex)) {
+                checkResults.add(result.join());
+            }
+            reports.add(
+                    new GuidelineReport(guideline.getName(), guideline.getLink(), checkResults));
+        }
+        return reports;
+    }
+
+    /**
+     * Evaluates all guidelines and adds the guideline reports to the report in the order of the
+     * guidelines.
+     *
+     * @param report the scan report to evaluate and fill with guideline results
+     */
+    public void fillReport(ReportT report) {
+        for (GuidelineReport guidelineReport : evaluate(report)) {
+            report.addGuidelineReport(guidelineReport);
+        }
+    }
+
+    private synchronized List<CompletableFuture<GuidelineCheckResult>> getResults(
+            int guidelineIndex) {
+        return new ArrayList<>(results.get(guidelineIndex));
+    }
+
+    private void start(int guidelineIndex, int checkIndex) {
+        GuidelineCheck check = guidelines.get(guidelineIndex).getChecks().get(checkIndex);
+        ConditionContext checkContext = context;
+        results.get(guidelineIndex)
+                .set(
+                        checkIndex,
+                        CompletableFuture.supplyAsync(
+                                () -> GuidelineChecker.evaluateCheck(check, checkContext),
+                                executor));
+        startedChecks++;
+    }
+
+    private static Set<AnalyzedProperty> getReferencedProperties(GuidelineCheck check) {
+        Set<AnalyzedProperty> checkProperties = check.getReferencedProperties();
+        if (checkProperties == null) {
+            return null;
+        }
+        Set<AnalyzedProperty> properties = new HashSet<>(checkProperties);
+        properties.addAll(check.getCompiledCondition().getReferencedProperties());
+        return properties;
+    }
+
+    private static class PendingCheck {
+
+        private final int guidelineIndex;
+
+        private final int checkIndex;
+
+        private int remaining;
+
+        PendingCheck(int guidelineIndex, int checkIndex) {
+            this.guidelineIndex = guidelineIndex;
+            this.checkIndex = checkIndex;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package de.rub.nds.scanner.core.guideline;
 
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.util.JaxbSerializer;
+import de.rub.nds.scanner.core.util.SubtypeIndex;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
@@ -27,10 +28,6 @@ import java.util.stream.Stream;
 import javax.xml.stream.XMLStreamException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.reflections.Reflections;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 public final class GuidelineIO extends JaxbSerializer<Guideline> {
 
@@ -44,19 +41,8 @@ public final class GuidelineIO extends JaxbSerializer<Guideline> {
 
     private JAXBContext getJAXBContext() throws JAXBException {
         if (context == null) {
-            // TODO we could do this scanning during building and then just collect the
-            // results
-            // TODO it would also be good if we didn't have to hardcode the package name
-            // here, but I could not get it work without it. Hours wasted: 3
-            String packageName = "de.rub";
-            Reflections reflections =
-                    new Reflections(
-                            new ConfigurationBuilder()
-                                    .setUrls(ClasspathHelper.forPackage(packageName))
-                                    .filterInputsBy(
-                                            new FilterBuilder().includePackage(packageName)));
             Set<Class<? extends GuidelineCheck>> guidelineCheckClasses =
-                    reflections.getSubTypesOf(GuidelineCheck.class);
+                    SubtypeIndex.getSubTypesOf(GuidelineCheck.class, "de.rub");
             Set<Class<?>> classes = new HashSet<>();
             classes.add(Guideline.class);
             classes.addAll(guidelineCheckClasses);
@@ -70,7 +56,7 @@ public final class GuidelineIO extends JaxbSerializer<Guideline> {
         return context;
     }
 
-    private static List<String> listXmlFiles(ClassLoader classLoader, String folder)
+    static List<String> listXmlFiles(ClassLoader classLoader, String folder)
             throws IOException, URISyntaxException {
         List<String> xmlFilePaths = new ArrayList<>();
         URL url = classLoader.getResource(folder);
@@ -127,7 +113,10 @@ public final class GuidelineIO extends JaxbSerializer<Guideline> {
             for (String path : xmlFilePaths) {
                 try (InputStream input = classLoader.getResourceAsStream(path)) {
                     if (input != null) {
-                        guidelines.add(read(input));
+                        Guideline guideline = read(input);
+                        if (hasValidConditions(guideline)) {
+                            guidelines.add(guideline);
+                        }
                     }
                 }
             }
@@ -139,4 +128,21 @@ public final class GuidelineIO extends JaxbSerializer<Guideline> {
 
         return guidelines;
     }
+
+    /**
+     * Validates and compiles the conditions of the given guideline. Guidelines with invalid
+     * conditions are rejected.
+     *
+     * @param guideline the guideline to validate
+     * @return true if all conditions are valid
+     */
+    static boolean hasValidConditions(Guideline guideline) {
+        try {
+            guideline.validateConditions();
+            return true;
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(GuidelineIO.class).error("Rejecting guideline: {}", e.getMessage());
+            return false;
+        }
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.util.List;
+
+/**
+ * All byte[] values of an {@link ExtractedValueContainer} packed back to back into a single array,
+ * with an offset table marking where each value starts. Analysis kernels work on this form because
+ * it avoids chasing one object per value and allows reading whole machine words at once.
+ */
+public final class ByteArena {
+
+    private final byte[] data;
+
+    private final int[] offsets;
+
+    private ByteArena(byte[] data, int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Packs the values of a container. Null values are stored as empty values.
+     *
+     * @param container a container holding byte[] values
+     * @return the packed values
+     */
+    public static ByteArena of(ExtractedValueContainer<byte[]> container) {
+        return of(container.getExtractedValueList());
+    }
+
+    /**
+     * Packs the given values. Null values are stored as empty values.
+     *
+     * @param values the values to pack
+     * @return the packed values
+     */
+    public static ByteArena of(List<byte[]> values) {
+        int[] offsets = new int[values.size() + 1];
+        int size = 0;
+        int i = 0;
+        for (byte[] value : values) {
+            offsets[i++] = size;
+            if (value != null) {
+                size = Math.addExact(size, value.length);
+            }
+        }
+        offsets[i] = size;
+        byte[] data = new byte[size];
+        i = 0;
+        for (byte[] value : values) {
+            if (value != null) {
+                System.arraycopy(value, 0, data, offsets[i], value.length);
+            }
+            i++;
+        }
+        return new ByteArena(data, offsets);
+    }
+
+    /**
+     * Returns the number of packed values.
+     *
+     * @return the number of values
+     */
+    public int getValueCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the total number of bytes of all values.
+     *
+     * @return the number of bytes
+     */
+    public int getByteCount() {
+        return data.length;
+    }
+
+    /**
+     * Returns the offset of a value in {@link #getData()}.
+     *
+     * @param index the index of the value
+     * @return the offset of the first byte of the value
+     */
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Returns the length of a value.
+     *
+     * @param index the index of the value
+     * @return the length of the value in bytes
+     */
+    public int getLength(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Returns the backing array. It is shared, not copied, and must not be modified.
+     *
+     * @return the packed bytes of all values
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
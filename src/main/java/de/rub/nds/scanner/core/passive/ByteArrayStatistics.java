@@ -0,0 +1,220 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Statistical kernels for extracted byte[] values such as nonces or random values. All kernels work
+ * on a {@link ByteArena} and read eight bytes at a time where the computation allows it, so callers
+ * should pack a container once and run all kernels they need on the same arena.
+ */
+public final class ByteArrayStatistics {
+
+    private static final VarHandle BIG_ENDIAN_LONG =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final double[] ERFC_COEFFICIENTS = {
+        -1.26551223, 1.00002368, 0.37409196, 0.09678418, -0.18628806, 0.27886807, -1.13520398,
+        1.48851587, -0.82215223, 0.17087277
+    };
+
+    private ByteArrayStatistics() {}
+
+    /**
+     * Counts how often each byte value occurs over all values of the arena.
+     *
+     * @param arena the packed values
+     * @return an array of 256 counters, indexed by the unsigned byte value
+     */
+    public static long[] histogram(ByteArena arena) {
+        byte[] data = arena.getData();
+        // Four interleaved tables avoid stalls when consecutive bytes hit the same counter
+        int[] first = new int[256];
+        int[] second = new int[256];
+        int[] third = new int[256];
+        int[] fourth = new int[256];
+        int i = 0;
+        for (; i + 3 < data.length; i += 4) {
+            first[data[i] & 0xFF]++;
+            second[data[i + 1] & 0xFF]++;
+            third[data[i + 2] & 0xFF]++;
+            fourth[data[i + 3] & 0xFF]++;
+        }
+        for (; i < data.length; i++) {
+            first[data[i] & 0xFF]++;
+        }
+        long[] histogram = new long[256];
+        for (int value = 0; value < 256; value++) {
+            histogram[value] = (long) first[value] + second[value] + third[value] + fourth[value];
+        }
+        return histogram;
+    }
+
+    /**
+     * Computes the chi-square statistic of a byte histogram against the uniform distribution. For
+     * uniformly random bytes the result follows a chi-square distribution with 255 degrees of
+     * freedom, i.e., values far above 255 indicate a bias.
+     *
+     * @param histogram the 256 byte counters, see {@link #histogram(ByteArena)}
+     * @return the chi-square statistic, 0 for an empty histogram
+     */
+    public static double chiSquare(long[] histogram) {
+        if (histogram.length != 256) {
+            throw new IllegalArgumentException("Histogram must have 256 entries");
+        }
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double expected = total / 256.0;
+        double chiSquare = 0;
+        for (long count : histogram) {
+            double difference = count - expected;
+            chiSquare += difference * difference;
+        }
+        return chiSquare / expected;
+    }
+
+    /**
+     * Counts the set bits over all values of the arena.
+     *
+     * @param arena the packed values
+     * @return the total Hamming weight
+     */
+    public static long hammingWeight(ByteArena arena) {
+        return hammingWeight(arena.getData(), 0, arena.getByteCount());
+    }
+
+    /**
+     * Counts the set bits of every single value of the arena.
+     *
+     * @param arena the packed values
+     * @return the Hamming weight of each value, in container order
+     */
+    public static int[] hammingWeights(ByteArena arena) {
+        int[] weights = new int[arena.getValueCount()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] =
+                    (int) hammingWeight(arena.getData(), arena.getOffset(i), arena.getLength(i));
+        }
+        return weights;
+    }
+
+    private static long hammingWeight(byte[] data, int offset, int length) {
+        long weight = 0;
+        int end = offset + length;
+        int i = offset;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            weight += Long.bitCount((long) BIG_ENDIAN_LONG.get(data, i));
+        }
+        for (; i < end; i++) {
+            weight += Integer.bitCount(data[i] & 0xFF);
+        }
+        return weight;
+    }
+
+    /**
+     * Counts the runs of identical bits when all values are read as one bit stream, most
+     * significant bit of each byte first.
+     *
+     * @param arena the packed values
+     * @return the number of runs, 0 for an empty arena
+     */
+    public static long countBitRuns(ByteArena arena) {
+        byte[] data = arena.getData();
+        if (data.length == 0) {
+            return 0;
+        }
+        long transitions = 0;
+        int previousBit = (data[0] >>> 7) & 1;
+        int i = 0;
+        for (; i + Long.BYTES <= data.length; i += Long.BYTES) {
+            long word = (long) BIG_ENDIAN_LONG.get(data, i);
+            transitions += ((word >>> 63) ^ previousBit);
+            // Each bit compared with its right neighbour; the lowest bit has no neighbour here
+            transitions += Long.bitCount((word ^ (word >>> 1)) & Long.MAX_VALUE);
+            previousBit = (int) (word & 1);
+        }
+        for (; i < data.length; i++) {
+            int value = data[i] & 0xFF;
+            transitions += ((value >>> 7) ^ previousBit);
+            transitions += Integer.bitCount((value ^ (value >>> 1)) & 0x7F);
+            previousBit = value & 1;
+        }
+        return transitions + 1;
+    }
+
+    /**
+     * Runs the runs test from NIST SP 800-22 over all values, read as one bit stream.
+     *
+     * @param arena the packed values
+     * @return the p-value; values below 0.01 indicate that the bits are not random
+     */
+    public static double runsTestPValue(ByteArena arena) {
+        long bits = (long) arena.getByteCount() * Byte.SIZE;
+        if (bits == 0) {
+            return 0;
+        }
+        double ones = hammingWeight(arena) / (double) bits;
+        // Frequency pre-test; the runs test is meaningless for heavily biased input
+        if (Math.abs(ones - 0.5) >= 2 / Math.sqrt(bits)) {
+            return 0;
+        }
+        double runs = countBitRuns(arena);
+        double product = ones * (1 - ones);
+        return erfc(Math.abs(runs - 2 * bits * product) / (2 * Math.sqrt(2.0 * bits) * product));
+    }
+
+    /**
+     * Counts values whose first prefixLength bytes equal those of an earlier value. Repeated
+     * prefixes in values that should be random usually point to a broken generator or a reused
+     * state. Values shorter than the prefix are ignored.
+     *
+     * @param arena the packed values
+     * @param prefixLength the number of leading bytes to compare
+     * @return the number of values repeating an earlier prefix
+     */
+    public static int countDuplicatePrefixes(ByteArena arena, int prefixLength) {
+        if (prefixLength < 1) {
+            throw new IllegalArgumentException("prefixLength must be at least 1");
+        }
+        byte[] data = arena.getData();
+        Set<ByteBuffer> seenPrefixes = new HashSet<>();
+        int duplicates = 0;
+        for (int i = 0; i < arena.getValueCount(); i++) {
+            if (arena.getLength(i) >= prefixLength
+                    && !seenPrefixes.add(
+                            ByteBuffer.wrap(data, arena.getOffset(i), prefixLength).slice())) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    // Complementary error function with a fractional error below 1.2e-7 (Numerical Recipes)
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double polynomial = 0;
+        for (int i = ERFC_COEFFICIENTS.length - 1; i >= 0; i--) {
+            polynomial = polynomial * t + ERFC_COEFFICIENTS[i];
+        }
+        double result = t * Math.exp(-z * z + polynomial);
+        return x >= 0 ? result : 2 - result;
+    }
+}
@@ -42,6 +42,18 @@ public class ExtractedValueContainer<ValueT> {
         this.type = type;
     }
 
+    /**
+     * Creates a new ExtractedValueContainer that takes ownership of the given list instead of
+     * copying it. Used when merging containers, where the list is already freshly allocated.
+     *
+     * @param type The type of values this container will track
+     * @param extractedValueList The list backing this container
+     */
+    ExtractedValueContainer(TrackableValue type, List<Object> extractedValueList) {
+        this.extractedValueList = extractedValueList;
+        this.type = type;
+    }
+
     /**
      * Checks if all extracted values in the container are identical.
      *
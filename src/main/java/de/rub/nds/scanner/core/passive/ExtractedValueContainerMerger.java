@@ -0,0 +1,85 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combines the containers of several {@link StatsWriter}s into one container per {@link
+ * TrackableValue}. The source containers are only read, never modified, so a merge can be repeated
+ * at any time (e.g., to take live snapshots while a scan is still running). Values of the same
+ * type keep the order in which their source containers were passed in.
+ */
+public final class ExtractedValueContainerMerger {
+
+    private ExtractedValueContainerMerger() {}
+
+    /**
+     * Merges the cumulated containers of all given writers. Writers that are null are skipped.
+     *
+     * @param writers The writers whose containers should be merged
+     * @return A map from each tracked value type to a newly allocated, merged container
+     */
+    public static Map<TrackableValue, ExtractedValueContainer<?>> mergeWriters(
+            Collection<? extends StatsWriter<?>> writers) {
+        List<ExtractedValueContainer<?>> containers = new ArrayList<>();
+        for (StatsWriter<?> writer : writers) {
+            if (writer != null) {
+                containers.addAll(writer.getCumulatedExtractedValues());
+            }
+        }
+        return merge(containers);
+    }
+
+    /**
+     * Merges the given containers by type. Each type is merged independently and in parallel into
+     * a new container. The resulting map iterates in the order the types were first seen; the
+     * passed containers stay untouched.
+     *
+     * @param containers The containers to merge
+     * @return A map from each tracked value type to a newly allocated, merged container
+     */
+    public static Map<TrackableValue, ExtractedValueContainer<?>> merge(
+            Collection<? extends ExtractedValueContainer<?>> containers) {
+        Map<TrackableValue, List<ExtractedValueContainer<?>>> containersByType =
+                new LinkedHashMap<>();
+        for (ExtractedValueContainer<?> container : containers) {
+            containersByType
+                    .computeIfAbsent(container.getType(), type -> new ArrayList<>())
+                    .add(container);
+        }
+        List<ExtractedValueContainer<?>> merged =
+                containersByType.entrySet().parallelStream()
+                        .<ExtractedValueContainer<?>>map(
+                                entry -> concatenate(entry.getKey(), entry.getValue()))
+                        .toList();
+        Map<TrackableValue, ExtractedValueContainer<?>> mergedContainers = new LinkedHashMap<>();
+        for (ExtractedValueContainer<?> container : merged) {
+            mergedContainers.put(container.getType(), container);
+        }
+        return mergedContainers;
+    }
+
+    private static ExtractedValueContainer<?> concatenate(
+            TrackableValue type, List<ExtractedValueContainer<?>> parts) {
+        int size = 0;
+        for (ExtractedValueContainer<?> part : parts) {
+            size += part.getNumberOfExtractedValues();
+        }
+        List<Object> values = new ArrayList<>(size);
+        for (ExtractedValueContainer<?> part : parts) {
+            values.addAll(part.getExtractedValueList());
+        }
+        return new ExtractedValueContainer<>(type, values);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+/**
+ * A StatsWriter that additionally records every state it processes, so that the extraction can be
+ * replayed later. Extractors are registered as with any other StatsWriter.
+ *
+ * @param <StateT> the type of state object used by probes
+ */
+public class RecordingStatsWriter<StateT> extends StatsWriter<StateT> {
+
+    private final StateRecorder<StateT> recorder;
+
+    /**
+     * Creates a new RecordingStatsWriter.
+     *
+     * @param recorder the recorder receiving the states, usually shared by all probes of a scan
+     */
+    public RecordingStatsWriter(StateRecorder<StateT> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void extract(StateT state) {
+        recorder.recordQuietly(state);
+        super.extract(state);
+    }
+
+    /**
+     * Returns the recorder receiving the states of this writer.
+     *
+     * @return the recorder
+     */
+    public StateRecorder<StateT> getRecorder() {
+        return recorder;
+    }
+}
@@ -12,14 +12,29 @@ public abstract class StatExtractor<StateT, ValueT> {
 
     private final ExtractedValueContainer<ValueT> container;
     private final TrackableValue valueType;
+    private final Class<?> acceptedStateType;
 
     /**
-     * Creates a new StatExtractor for the specified TrackableValue type.
+     * Creates a new StatExtractor for the specified TrackableValue type that accepts every state.
      *
      * @param valueType The type of values this extractor will track
      */
     public StatExtractor(TrackableValue valueType) {
         this.valueType = valueType;
+        this.acceptedStateType = Object.class;
+        container = new ExtractedValueContainer<>(valueType);
+    }
+
+    /**
+     * Creates a new StatExtractor for the specified TrackableValue type that only wants states of
+     * the given class (or its subclasses). A {@link StatsWriter} will not pass other states to it.
+     *
+     * @param valueType The type of values this extractor will track
+     * @param acceptedStateType The class of states this extractor can extract values from
+     */
+    public StatExtractor(TrackableValue valueType, Class<? extends StateT> acceptedStateType) {
+        this.valueType = valueType;
+        this.acceptedStateType = acceptedStateType;
         container = new ExtractedValueContainer<>(valueType);
     }
 
@@ -32,6 +47,15 @@ public abstract class StatExtractor<StateT, ValueT> {
         return valueType;
     }
 
+    /**
+     * Returns the class of states this extractor accepts. Object.class means all states.
+     *
+     * @return The accepted state class
+     */
+    public Class<?> getAcceptedStateType() {
+        return acceptedStateType;
+    }
+
     /**
      * Adds a value to the underlying container.
      *
@@ -0,0 +1,40 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts probe states to and from a compact binary form so that they can be recorded with a
+ * {@link StateRecorder} and replayed later without contacting the scanned host again.
+ *
+ * @param <StateT> the type of state object used by probes
+ */
+public interface StateCodec<StateT> {
+
+    /**
+     * Writes the given state.
+     *
+     * @param state the state to encode
+     * @param output the output to write to
+     * @throws IOException if writing fails
+     */
+    void encode(StateT state, DataOutput output) throws IOException;
+
+    /**
+     * Reads a state previously written by {@link #encode(Object, DataOutput)}.
+     *
+     * @param input the input to read from
+     * @return the decoded state
+     * @throws IOException if reading fails or the data is malformed
+     */
+    StateT decode(DataInput input) throws IOException;
+}
@@ -0,0 +1,112 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads a state log written by a {@link StateRecorder}. A log that ends in the middle of a frame is
+ * treated as complete up to the last full state.
+ *
+ * @param <StateT> the type of state object used by probes
+ */
+public class StateLogReader<StateT> implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final StateCodec<StateT> codec;
+
+    private final DataInputStream input;
+
+    private byte[] frame = new byte[256];
+
+    /**
+     * Opens the given log file.
+     *
+     * @param file the log file to read
+     * @param codec the codec used to decode states
+     * @throws IOException if the file cannot be opened or is not a state log
+     */
+    public StateLogReader(Path file, StateCodec<StateT> codec) throws IOException {
+        this(Files.newInputStream(file), codec);
+    }
+
+    /**
+     * Reads a log from the given stream. The stream is closed with the reader.
+     *
+     * @param inputStream the stream to read the log from
+     * @param codec the codec used to decode states
+     * @throws IOException if the stream is not a state log
+     */
+    public StateLogReader(InputStream inputStream, StateCodec<StateT> codec) throws IOException {
+        this.codec = codec;
+        this.input =
+                new DataInputStream(
+                        new BufferedInputStream(new GZIPInputStream(inputStream, 8192)));
+        if (input.readInt() != StateRecorder.MAGIC) {
+            input.close();
+            throw new IOException("Not a state log");
+        }
+        int version = input.readInt();
+        if (version != StateRecorder.VERSION) {
+            input.close();
+            throw new IOException("Unsupported state log version " + version);
+        }
+    }
+
+    /**
+     * Decodes every remaining state and passes it to the consumer in recording order.
+     *
+     * @param consumer the consumer receiving the states
+     * @return the number of states read
+     * @throws IOException if a frame cannot be decoded
+     */
+    public int readAll(Consumer<? super StateT> consumer) throws IOException {
+        int count = 0;
+        while (true) {
+            int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException e) {
+                return count;
+            }
+            if (length < 0) {
+                throw new IOException("Corrupt frame length " + length);
+            }
+            if (frame.length < length) {
+                frame = new byte[Math.max(length, frame.length * 2)];
+            }
+            try {
+                input.readFully(frame, 0, length);
+            } catch (EOFException e) {
+                LOGGER.warn("State log is truncated, ignoring incomplete last state");
+                return count;
+            }
+            consumer.accept(
+                    codec.decode(new DataInputStream(new ByteArrayInputStream(frame, 0, length))));
+            count++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Persists the states a scan feeds into its {@link StatsWriter}s to a gzip compressed log. Every
+ * state is written as a length-prefixed frame, so a log that was cut off (e.g., because the
+ * scanner was killed) can still be read up to the last complete state. Recording is thread-safe;
+ * one recorder is usually shared by all probes of a scan.
+ *
+ * @param <StateT> the type of state object used by probes
+ * @see StateLogReader
+ */
+public class StateRecorder<StateT> implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final int MAGIC = 0x5343534c;
+
+    static final int VERSION = 1;
+
+    private final StateCodec<StateT> codec;
+
+    private final DataOutputStream output;
+
+    private final ByteArrayOutputStream frameBuffer = new ByteArrayOutputStream();
+
+    private final DataOutputStream frameOutput = new DataOutputStream(frameBuffer);
+
+    private int recordedStates = 0;
+
+    /**
+     * Creates a recorder writing to the given file. An existing file is overwritten.
+     *
+     * @param file the log file to write
+     * @param codec the codec used to encode states
+     * @throws IOException if the file cannot be created
+     */
+    public StateRecorder(Path file, StateCodec<StateT> codec) throws IOException {
+        this(Files.newOutputStream(file), codec);
+    }
+
+    /**
+     * Creates a recorder writing to the given stream. The stream is closed with the recorder.
+     *
+     * @param outputStream the stream to write the log to
+     * @param codec the codec used to encode states
+     * @throws IOException if the log header cannot be written
+     */
+    public StateRecorder(OutputStream outputStream, StateCodec<StateT> codec) throws IOException {
+        this.codec = codec;
+        this.output =
+                new DataOutputStream(
+                        new BufferedOutputStream(new GZIPOutputStream(outputStream, 8192)));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+    }
+
+    /**
+     * Appends a state to the log.
+     *
+     * @param state the state to record
+     * @throws IOException if the state cannot be encoded or written
+     */
+    public synchronized void record(StateT state) throws IOException {
+        frameBuffer.reset();
+        codec.encode(state, frameOutput);
+        frameOutput.flush();
+        output.writeInt(frameBuffer.size());
+        frameBuffer.writeTo(output);
+        recordedStates++;
+    }
+
+    /**
+     * Appends a state to the log, logging instead of throwing if that fails. Used where a broken
+     * recording must not affect the scan itself.
+     *
+     * @param state the state to record
+     */
+    public void recordQuietly(StateT state) {
+        try {
+            record(state);
+        } catch (IOException e) {
+            LOGGER.error("Could not record state", e);
+        }
+    }
+
+    /**
+     * Returns the number of states recorded so far.
+     *
+     * @return the number of recorded states
+     */
+    public synchronized int getRecordedStates() {
+        return recordedStates;
+    }
+
+    /**
+     * Flushes all buffered states and finishes the log.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import de.rub.nds.scanner.core.config.StatsBackpressure;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs {@link StatsWriter#extract(Object)} on a dedicated worker pool instead of the probe thread.
+ * Probes hand their states to a bounded queue and continue with their network I/O while the workers
+ * drain it. Calls on the same writer are serialized by synchronizing on the writer, so the writers
+ * themselves do not need to be thread-safe. With more than one worker, the order in which values
+ * end up in a container may differ from the order in which the states were submitted.
+ *
+ * @param <StateT> the type of state object used by probes
+ */
+public class StatsExtractionPipeline<StateT> implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger pendingStates = new AtomicInteger(0);
+
+    private final Object flushLock = new Object();
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param threadCount the number of extractor worker threads
+     * @param queueCapacity the maximum number of states waiting for extraction
+     * @param backpressure what to do when a state is submitted while the queue is full
+     */
+    public StatsExtractionPipeline(
+            int threadCount, int queueCapacity, StatsBackpressure backpressure) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        this.executor =
+                new ThreadPoolExecutor(
+                        threadCount,
+                        threadCount,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        Thread.ofPlatform().name("StatsExtractor-", 1).daemon().factory(),
+                        createRejectionHandler(backpressure));
+    }
+
+    private static RejectedExecutionHandler createRejectionHandler(
+            StatsBackpressure backpressure) {
+        switch (backpressure) {
+            case CALLER_RUNS:
+                return (task, executor) -> {
+                    rejectIfShutdown(executor);
+                    task.run();
+                };
+            case BLOCK:
+                return (task, executor) -> {
+                    rejectIfShutdown(executor);
+                    try {
+                        executor.getQueue().put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(
+                                "Interrupted while waiting for queue capacity", e);
+                    }
+                    // The pipeline may have been closed while waiting for capacity, in which case
+                    // no worker is guaranteed to be left to run the task
+                    if (executor.isShutdown() && executor.remove(task)) {
+                        throw new RejectedExecutionException("Pipeline is closed");
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown backpressure " + backpressure);
+        }
+    }
+
+    // Rejecting lets submit() fall back to inline extraction instead of silently dropping the task
+    private static void rejectIfShutdown(ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Pipeline is closed");
+        }
+    }
+
+    /**
+     * Queues a state for extraction by the given writer. If the pipeline cannot accept the state
+     * (because it was closed or the submitting thread was interrupted), the state is extracted on
+     * the calling thread so that no statistics are lost.
+     *
+     * @param writer the writer that should process the state
+     * @param state the state to extract values from
+     */
+    public void submit(StatsWriter<StateT> writer, StateT state) {
+        pendingStates.incrementAndGet();
+        try {
+            executor.execute(() -> extract(writer, state));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Extracting state inline, pipeline rejected it", e);
+            extract(writer, state);
+        }
+    }
+
+    private void extract(StatsWriter<StateT> writer, StateT state) {
+        try {
+            synchronized (writer) {
+                writer.extract(state);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not extract stats from state", e);
+        } finally {
+            if (pendingStates.decrementAndGet() == 0) {
+                synchronized (flushLock) {
+                    flushLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks until every state submitted so far has been extracted.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void flush() throws InterruptedException {
+        synchronized (flushLock) {
+            while (pendingStates.get() > 0) {
+                flushLock.wait();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of states that have been submitted but not yet extracted.
+     *
+     * @return the number of pending states
+     */
+    public int getPendingStates() {
+        return pendingStates.get();
+    }
+
+    /**
+     * Stops the worker threads. States that are already queued are still extracted; states
+     * submitted afterwards are extracted on the submitting thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -8,14 +8,21 @@
  */
 package de.rub.nds.scanner.core.passive;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class StatsWriter<StateT> {
 
     private final List<StatExtractor<StateT, ?>> extractorList;
 
+    // Extractors accepting a concrete state class, resolved on first use of that class
+    private final Map<Class<?>, List<StatExtractor<StateT, ?>>> dispatchTable =
+            new ConcurrentHashMap<>();
+
     private int stateCounter = 0;
 
     /** Creates a new StatsWriter with an empty list of extractors. */
@@ -30,20 +37,36 @@ public class StatsWriter<StateT> {
      */
     public void addExtractor(StatExtractor<StateT, ?> extractor) {
         extractorList.add(extractor);
+        dispatchTable.clear();
     }
 
     /**
-     * Extracts values from the given state using all registered extractors.
+     * Extracts values from the given state using all registered extractors that accept its class.
+     * A null state is passed to every extractor.
      *
      * @param state The state object to extract values from
      */
     public void extract(StateT state) {
-        for (StatExtractor<StateT, ?> extractor : extractorList) {
+        List<StatExtractor<StateT, ?>> extractors =
+                state == null
+                        ? extractorList
+                        : dispatchTable.computeIfAbsent(state.getClass(), this::resolveExtractors);
+        for (StatExtractor<StateT, ?> extractor : extractors) {
             extractor.extract(state);
         }
         stateCounter++;
     }
 
+    private List<StatExtractor<StateT, ?>> resolveExtractors(Class<?> stateClass) {
+        List<StatExtractor<StateT, ?>> extractors = new ArrayList<>();
+        for (StatExtractor<StateT, ?> extractor : extractorList) {
+            if (extractor.getAcceptedStateType().isAssignableFrom(stateClass)) {
+                extractors.add(extractor);
+            }
+        }
+        return extractors;
+    }
+
     /**
      * Returns a list of all containers from all registered extractors.
      *
@@ -9,27 +9,18 @@
 package de.rub.nds.scanner.core.probe;
 
 import com.beust.jcommander.IStringConverter;
+import de.rub.nds.scanner.core.util.SubtypeIndex;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.reflections.Reflections;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 public class ProbeTypeConverter implements IStringConverter<ProbeType> {
 
     private Set<Class<? extends ProbeType>> probeTypeClasses;
 
     public ProbeTypeConverter() {
-        String packageName = "de.rub";
-        Reflections reflections =
-                new Reflections(
-                        new ConfigurationBuilder()
-                                .setUrls(ClasspathHelper.forPackage(packageName))
-                                .filterInputsBy(new FilterBuilder().includePackage(packageName)));
         probeTypeClasses =
-                reflections.getSubTypesOf(ProbeType.class).stream()
+                SubtypeIndex.getSubTypesOf(ProbeType.class, "de.rub").stream()
                         .filter(listed -> !listed.isInterface())
                         .collect(Collectors.toSet());
     }
@@ -8,6 +8,7 @@
  */
 package de.rub.nds.scanner.core.probe;
 
+import de.rub.nds.scanner.core.passive.StatsExtractionPipeline;
 import de.rub.nds.scanner.core.passive.StatsWriter;
 import de.rub.nds.scanner.core.probe.requirements.Requirement;
 import de.rub.nds.scanner.core.probe.result.*;
@@ -31,6 +32,7 @@ public abstract class ScannerProbe<ReportT extends ScanReport, StateT>
     private final ProbeType type;
     private final Map<AnalyzedProperty, TestResult> propertiesMap = new HashMap<>();
     private StatsWriter<StateT> writer;
+    private StatsExtractionPipeline<StateT> statsPipeline;
 
     private long startTime;
     private long stopTime;
@@ -132,6 +134,7 @@ public abstract class ScannerProbe<ReportT extends ScanReport, StateT>
     }
 
     public final <T> void put(AnalyzedProperty property, T result) {
+        // interned once the result is merged into the report
         TestResult internalResult = convertToResult(property, result);
 
         if (propertiesMap.containsKey(property)) {
@@ -204,7 +207,11 @@ public abstract class ScannerProbe<ReportT extends ScanReport, StateT>
     protected final void extractStats(Iterable<StateT> states) {
         if (writer != null) {
             for (StateT state : states) {
-                getWriter().extract(state);
+                if (statsPipeline != null) {
+                    statsPipeline.submit(writer, state);
+                } else {
+                    writer.extract(state);
+                }
             }
         }
     }
@@ -240,4 +247,12 @@ public abstract class ScannerProbe<ReportT extends ScanReport, StateT>
     public void setWriter(StatsWriter<StateT> writer) {
         this.writer = writer;
     }
+
+    public StatsExtractionPipeline<StateT> getStatsPipeline() {
+        return statsPipeline;
+    }
+
+    public void setStatsPipeline(StatsExtractionPipeline<StateT> statsPipeline) {
+        this.statsPipeline = statsPipeline;
+    }
 }
@@ -0,0 +1,242 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.probe.result;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded pool of canonical result instances. Results of the same type and property that carry
+ * an equal value are replaced by a single shared instance, which removes the duplicated payloads
+ * (e.g., identical cipher suite lists) of many reports held in memory at once. Interned are {@link
+ * StringResult}, {@link IntegerResult}, {@link LongResult}, {@link BigIntegerResult}, {@link
+ * ListResult} and {@link SetResult}; all other results are returned unchanged.
+ *
+ * <p>The pool holds its results weakly, so instances no longer used by any report are reclaimed,
+ * and evicts the least recently used entry once it is full. Interned results are shared between
+ * reports: their collections must not be modified afterwards.
+ *
+ * <p>Interning is opt-in. Once a shared pool is {@link #enable(int) enabled}, {@link
+ * de.rub.nds.scanner.core.report.ScanReport#putResult(AnalyzedProperty, TestResult)}, the results
+ * set by probes and the deserialization of reports route their results through it.
+ */
+public final class TestResultInterner {
+
+    private static volatile TestResultInterner shared;
+
+    private final int maximumSize;
+
+    private final Map<Key, Entry> pool;
+
+    private final ReferenceQueue<TestResult> collected = new ReferenceQueue<>();
+
+    private long hitCount;
+
+    private long missCount;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maximumSize the maximum number of pooled results
+     */
+    public TestResultInterner(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.pool =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                        return size() > TestResultInterner.this.maximumSize;
+                    }
+                };
+    }
+
+    /**
+     * Enables process-wide interning with a new shared pool.
+     *
+     * @param maximumSize the maximum number of pooled results
+     * @return the shared pool
+     */
+    public static TestResultInterner enable(int maximumSize) {
+        TestResultInterner interner = new TestResultInterner(maximumSize);
+        shared = interner;
+        return interner;
+    }
+
+    /** Disables process-wide interning. Results that were already interned stay shared. */
+    public static void disable() {
+        shared = null;
+    }
+
+    /**
+     * Returns the shared pool.
+     *
+     * @return the shared pool, or null if interning is disabled
+     */
+    public static TestResultInterner getShared() {
+        return shared;
+    }
+
+    /**
+     * Interns a result in the shared pool if interning is enabled.
+     *
+     * @param result the result
+     * @return the canonical instance, or the result itself if interning is disabled
+     */
+    public static TestResult internShared(TestResult result) {
+        TestResultInterner interner = shared;
+        return interner == null ? result : interner.intern(result);
+    }
+
+    /**
+     * Returns the canonical instance of a result.
+     *
+     * @param result the result
+     * @return a pooled result equal to the given one, or the given result itself
+     */
+    public TestResult intern(TestResult result) {
+        Key key = Key.of(result);
+        if (key == null) {
+            return result;
+        }
+        synchronized (this) {
+            expungeCollected();
+            Entry entry = pool.get(key);
+            TestResult canonical = entry != null ? entry.get() : null;
+            if (canonical != null) {
+                hitCount++;
+                return canonical;
+            }
+            missCount++;
+            pool.put(key, new Entry(key, result, collected));
+            return result;
+        }
+    }
+
+    private void expungeCollected() {
+        Entry entry;
+        while ((entry = (Entry) collected.poll()) != null) {
+            // The key may have been taken over by a newer entry
+            pool.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * Returns how often an equal result was found in the pool.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns how often a result was added to the pool.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the share of interned results that were found in the pool.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public synchronized double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the number of pooled results, including results not yet reclaimed.
+     *
+     * @return the pool size
+     */
+    public synchronized int size() {
+        expungeCollected();
+        return pool.size();
+    }
+
+    /** Jackson converter interning deserialized results in the shared pool. */
+    public static class InterningConverter extends StdConverter<TestResult, TestResult> {
+        @Override
+        public TestResult convert(TestResult value) {
+            return value == null ? null : internShared(value);
+        }
+    }
+
+    private static final class Entry extends WeakReference<TestResult> {
+        private final Key key;
+
+        private Entry(Key key, TestResult result, ReferenceQueue<TestResult> queue) {
+            super(result, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final AnalyzedProperty property;
+        private final Object value;
+        private final int hash;
+
+        private Key(Class<?> type, AnalyzedProperty property, Object value) {
+            this.type = type;
+            this.property = property;
+            this.value = value;
+            this.hash = Objects.hash(type, property, value);
+        }
+
+        private static Key of(TestResult result) {
+            Class<?> type = result.getClass();
+            if (type == StringResult.class
+                    || type == IntegerResult.class
+                    || type == LongResult.class
+                    || type == BigIntegerResult.class) {
+                ObjectResult<?> objectResult = (ObjectResult<?>) result;
+                return new Key(type, objectResult.getProperty(), objectResult.getValue());
+            }
+            if (type == ListResult.class || type == SetResult.class) {
+                CollectionResult<?> collectionResult = (CollectionResult<?>) result;
+                return new Key(
+                        type, collectionResult.getProperty(), collectionResult.getCollection());
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hash == that.hash
+                    && type == that.type
+                    && Objects.equals(property, that.property)
+                    && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
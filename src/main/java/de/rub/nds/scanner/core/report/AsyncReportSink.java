@@ -0,0 +1,293 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import de.rub.nds.scanner.core.config.ExecutorConfig;
+import de.rub.nds.scanner.core.config.ReportDurability;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes report files on a background thread. Reports are handed over through a bounded queue;
+ * when it is full, {@link #submit(ScanReport, Path)} blocks, so a slow disk throttles the scanning
+ * threads instead of piling up reports in memory.
+ *
+ * <p>Every report is written to a temporary file next to its target and renamed once complete, so
+ * readers never see a partially written report. Depending on the {@link ReportDurability}, the file
+ * is forced to disk before the rename. I/O errors are retried with exponential backoff; if all
+ * attempts fail, the returned future completes exceptionally and the error is logged.
+ *
+ * <p>The worker thread terminates when idle, so an unclosed sink does not keep the JVM alive, but
+ * still finishes all queued reports before it does.
+ */
+public class AsyncReportSink implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final long IDLE_TIMEOUT_MILLIS = 1000;
+
+    /** Writes a report to a stream. */
+    @FunctionalInterface
+    public interface ReportWriter {
+        /**
+         * Writes a report. The stream must not be closed.
+         *
+         * @param report the report
+         * @param outputStream the stream to write to
+         * @throws IOException if writing fails
+         */
+        void write(ScanReport report, OutputStream outputStream) throws IOException;
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private final ReportWriter writer;
+
+    private final ReportDurability durability;
+
+    private final int maxRetries;
+
+    private final long retryDelayMillis;
+
+    private final AtomicInteger pendingReports = new AtomicInteger(0);
+
+    private final Object flushLock = new Object();
+
+    /**
+     * Creates a sink writing reports with {@link ScanReport#serializeToJson(OutputStream)},
+     * configured by the report options of the given config.
+     *
+     * @param config the executor config
+     */
+    public AsyncReportSink(ExecutorConfig config) {
+        this(
+                (report, outputStream) -> report.serializeToJson(outputStream),
+                config.getReportQueueCapacity(),
+                config.getReportDurability(),
+                config.getReportWriteRetries(),
+                100);
+    }
+
+    /**
+     * Creates a new sink.
+     *
+     * @param writer writes a single report
+     * @param queueCapacity the maximum number of reports waiting to be written
+     * @param durability how durably report files are written
+     * @param maxRetries how often a failed write is retried
+     * @param retryDelayMillis the delay before the first retry, doubled for each further retry
+     */
+    public AsyncReportSink(
+            ReportWriter writer,
+            int queueCapacity,
+            ReportDurability durability,
+            int maxRetries,
+            long retryDelayMillis) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.writer = writer;
+        this.durability = durability;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        this.executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        IDLE_TIMEOUT_MILLIS,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        Thread.ofPlatform().name("ReportSink-", 1).factory(),
+                        (task, executor) -> {
+                            if (executor.isShutdown()) {
+                                throw new RejectedExecutionException("Report sink is closed");
+                            }
+                            try {
+                                executor.getQueue().put(task);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new RejectedExecutionException(
+                                        "Interrupted while waiting for queue capacity", e);
+                            }
+                            // the sink may have been closed while waiting for capacity
+                            if (executor.isShutdown() && executor.remove(task)) {
+                                throw new RejectedExecutionException("Report sink is closed");
+                            }
+                            // the worker may have timed out while this thread was waiting
+                            executor.prestartCoreThread();
+                        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a report to be written to a file. Blocks while the queue is full. The report must not
+     * be modified until the returned future completes. A file name ending in ".gz" is gzip
+     * compressed.
+     *
+     * @param report the report to write
+     * @param target the file to write the report to
+     * @return a future completing with the target once the file is in place
+     * @throws RejectedExecutionException if the sink is closed or the caller is interrupted while
+     *     waiting for queue capacity
+     */
+    public CompletableFuture<Path> submit(ScanReport report, Path target) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        pendingReports.incrementAndGet();
+        try {
+            executor.execute(() -> writeWithRetries(report, target, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            completePending();
+            throw e;
+        }
+        return future;
+    }
+
+    private void writeWithRetries(ScanReport report, Path target, CompletableFuture<Path> future) {
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    write(report, target);
+                    future.complete(target);
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    if (attempt >= maxRetries || !(e instanceof IOException)) {
+                        LOGGER.error("Could not write report to {}", target, e);
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    LOGGER.warn(
+                            "Could not write report to {}, retrying ({}/{})",
+                            target,
+                            attempt + 1,
+                            maxRetries,
+                            e);
+                    Thread.sleep(retryDelayMillis << attempt);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            completePending();
+        }
+    }
+
+    private void write(ScanReport report, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream =
+                    ReportCompression.forFileName(target.toString())
+                            .wrap(
+                                    new BufferedOutputStream(
+                                            Files.newOutputStream(
+                                                    temporary, CREATE, TRUNCATE_EXISTING, WRITE),
+                                            BUFFER_SIZE))) {
+                writer.write(report, outputStream);
+            }
+            if (durability == ReportDurability.FSYNC) {
+                // fsync applies to the file, not only to the descriptor it is called on
+                force(temporary, WRITE);
+            }
+            try {
+                Files.move(
+                        temporary,
+                        target,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        if (durability == ReportDurability.FSYNC) {
+            try {
+                force(directory, READ);
+            } catch (IOException e) {
+                // Not every platform allows opening directories
+                LOGGER.debug("Could not force directory {} to disk", directory, e);
+            }
+        }
+    }
+
+    private static void force(Path path, StandardOpenOption option) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, option)) {
+            channel.force(true);
+        }
+    }
+
+    private void completePending() {
+        if (pendingReports.decrementAndGet() == 0) {
+            synchronized (flushLock) {
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of submitted reports that have not been written yet.
+     *
+     * @return the number of pending reports
+     */
+    public int getPendingReports() {
+        return pendingReports.get();
+    }
+
+    /**
+     * Blocks until every report submitted so far has been written or has failed.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void flush() throws InterruptedException {
+        synchronized (flushLock) {
+            while (pendingReports.get() > 0) {
+                flushLock.wait();
+            }
+        }
+    }
+
+    /** Writes all queued reports and stops the worker thread. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            flush();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
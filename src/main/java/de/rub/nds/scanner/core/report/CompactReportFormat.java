@@ -0,0 +1,169 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A compact storage format for reports. Polymorphic values carry the small ids of a {@link
+ * ReportTypeRegistry} instead of class names and the token stream is deflate compressed. The
+ * encoding of the token stream itself is defined by the JsonFactory passed in; a binary factory
+ * (e.g., Smile) can be plugged in without changing the format handling.
+ *
+ * <p>Layout: a four byte magic, one version byte, then the compressed token stream.
+ */
+public class CompactReportFormat {
+
+    private static final int MAGIC = 0x53435242;
+
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ScanReportJsonWriter writer;
+
+    private final ScanReportJsonReader reader;
+
+    /**
+     * Creates a format encoding the token stream as JSON.
+     *
+     * @param registry the registry defining the type ids
+     */
+    public CompactReportFormat(ReportTypeRegistry registry) {
+        this(registry, new JsonFactory());
+    }
+
+    /**
+     * Creates a format encoding the token stream with the given factory.
+     *
+     * @param registry the registry defining the type ids
+     * @param jsonFactory the factory encoding the token stream
+     */
+    public CompactReportFormat(ReportTypeRegistry registry, JsonFactory jsonFactory) {
+        ObjectMapper mapper = registry.createObjectMapper(jsonFactory);
+        this.writer = new ScanReportJsonWriter(mapper);
+        this.reader = new ScanReportJsonReader(mapper, registry);
+    }
+
+    /**
+     * Creates a format from a custom writer and reader pair, e.g., to handle report subclass
+     * fields. Both must be built on a mapper from {@link
+     * ReportTypeRegistry#createObjectMapper(JsonFactory)}.
+     *
+     * @param writer the writer producing the token stream
+     * @param reader the reader consuming the token stream
+     */
+    public CompactReportFormat(ScanReportJsonWriter writer, ScanReportJsonReader reader) {
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    /**
+     * Writes a report. The stream is not closed.
+     *
+     * @param report the report to write
+     * @param outputStream the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(ScanReport report, OutputStream outputStream) throws IOException {
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            DeflaterOutputStream compressed =
+                    new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE);
+            writer.write(report, compressed);
+            compressed.finish();
+            compressed.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Reads a report into the given empty report. The stream is not closed.
+     *
+     * @param <ReportT> the type of the report
+     * @param inputStream the stream to read from
+     * @param report an empty report to fill
+     * @return the filled report
+     * @throws IOException if the input is not in this format or cannot be parsed
+     */
+    public <ReportT extends ScanReport> ReportT read(InputStream inputStream, ReportT report)
+            throws IOException {
+        return read(inputStream, report, ReportProjection.ALL);
+    }
+
+    /**
+     * Reads the selected parts of a report into the given empty report. The stream is not closed.
+     *
+     * @param <ReportT> the type of the report
+     * @param inputStream the stream to read from
+     * @param report an empty report to fill
+     * @param projection the parts of the report to read
+     * @return the filled report
+     * @throws IOException if the input is not in this format or cannot be parsed
+     */
+    public <ReportT extends ScanReport> ReportT read(
+            InputStream inputStream, ReportT report, ReportProjection projection)
+            throws IOException {
+        readHeader(inputStream);
+        Inflater inflater = new Inflater();
+        try {
+            return reader.read(
+                    new InflaterInputStream(inputStream, inflater, BUFFER_SIZE),
+                    report,
+                    projection);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decompresses and indexes a report without deserializing any of its values. Only valid for
+     * formats with a textual token encoding, see {@link ScanReportJsonReader#index(byte[])}. The
+     * stream is not closed.
+     *
+     * @param inputStream the stream to read from
+     * @return the indexed report
+     * @throws IOException if the input is not in this format or cannot be parsed
+     */
+    public IndexedReport index(InputStream inputStream) throws IOException {
+        readHeader(inputStream);
+        Inflater inflater = new Inflater();
+        try {
+            return reader.index(
+                    new InflaterInputStream(inputStream, inflater, BUFFER_SIZE).readAllBytes());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readHeader(InputStream inputStream) throws IOException {
+        DataInputStream header = new DataInputStream(inputStream);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a compact report");
+        }
+        int version = header.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compact report version " + version);
+        }
+    }
+}
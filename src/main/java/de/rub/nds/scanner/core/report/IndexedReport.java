@@ -0,0 +1,138 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.core.JsonParser;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A report that has been indexed but not deserialized. The byte ranges of all results, extracted
+ * value containers and top-level fields are known, so single values can be materialized without
+ * touching the rest of the report. Instances are created by {@link
+ * ScanReportJsonReader#index(byte[])} and are safe for concurrent use.
+ */
+public final class IndexedReport {
+
+    private final ScanReportJsonReader reader;
+
+    private final byte[] data;
+
+    private final Map<AnalyzedProperty, Long> resultSpans;
+
+    private final Map<TrackableValue, Long> containerSpans;
+
+    private final Map<String, Long> fieldSpans;
+
+    IndexedReport(
+            ScanReportJsonReader reader,
+            byte[] data,
+            Map<AnalyzedProperty, Long> resultSpans,
+            Map<TrackableValue, Long> containerSpans,
+            Map<String, Long> fieldSpans) {
+        this.reader = reader;
+        this.data = data;
+        this.resultSpans = resultSpans;
+        this.containerSpans = containerSpans;
+        this.fieldSpans = fieldSpans;
+    }
+
+    /**
+     * Returns the properties that have a result in this report.
+     *
+     * @return the properties in report order
+     */
+    public Set<AnalyzedProperty> getProperties() {
+        return Collections.unmodifiableSet(resultSpans.keySet());
+    }
+
+    /**
+     * Returns the types of the extracted value containers in this report.
+     *
+     * @return the trackable values in report order
+     */
+    public Set<TrackableValue> getTrackableValues() {
+        return Collections.unmodifiableSet(containerSpans.keySet());
+    }
+
+    /**
+     * Deserializes the result of a single property.
+     *
+     * @param property the property
+     * @return the result, or null if the report has no result for the property
+     * @throws IOException if the result cannot be parsed
+     */
+    public TestResult readResult(AnalyzedProperty property) throws IOException {
+        Long span = resultSpans.get(property);
+        if (span == null) {
+            return null;
+        }
+        try (JsonParser parser = reader.createParser(data, span)) {
+            return reader.readResult(parser);
+        }
+    }
+
+    /**
+     * Deserializes a single extracted value container.
+     *
+     * @param trackableValue the type of the extracted values
+     * @return the container, or null if the report has no container of that type
+     * @throws IOException if the container cannot be parsed
+     */
+    public ExtractedValueContainer<?> readExtractedValueContainer(TrackableValue trackableValue)
+            throws IOException {
+        Long span = containerSpans.get(trackableValue);
+        if (span == null) {
+            return null;
+        }
+        try (JsonParser parser = reader.createParser(data, span)) {
+            return reader.readExtractedValueContainer(parser);
+        }
+    }
+
+    /**
+     * Materializes the selected parts of the report into the given report.
+     *
+     * @param <ReportT> the type of the report
+     * @param report an empty report to fill
+     * @param projection the parts of the report to read
+     * @return the filled report
+     * @throws IOException if a selected value cannot be parsed
+     */
+    public <ReportT extends ScanReport> ReportT read(ReportT report, ReportProjection projection)
+            throws IOException {
+        for (Map.Entry<AnalyzedProperty, Long> entry : resultSpans.entrySet()) {
+            if (projection.includes(entry.getKey())) {
+                try (JsonParser parser = reader.createParser(data, entry.getValue())) {
+                    report.putResult(entry.getKey(), reader.readResult(parser));
+                }
+            }
+        }
+        for (Map.Entry<TrackableValue, Long> entry : containerSpans.entrySet()) {
+            if (projection.includes(entry.getKey())) {
+                try (JsonParser parser = reader.createParser(data, entry.getValue())) {
+                    report.putExtractedValueContainer(
+                            entry.getKey(), reader.readExtractedValueContainer(parser));
+                }
+            }
+        }
+        for (Map.Entry<String, Long> entry : fieldSpans.entrySet()) {
+            try (JsonParser parser = reader.createParser(data, entry.getValue())) {
+                reader.readField(entry.getKey(), parser, report, projection);
+            }
+        }
+        return report;
+    }
+}
@@ -11,14 +11,27 @@ package de.rub.nds.scanner.core.report;
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
 import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Defines the visual presentation scheme for scan report results, including text encoding and color
  * encoding configurations for different property types and categories.
+ *
+ * <p>The encoders for a property are resolved on its first use and remembered, so repeated
+ * rendering does not look them up again. Calling one of the map getters of this class forgets the
+ * resolved encoders, since the returned map may be changed by the caller. Call {@link
+ * #clearResolvedEncoders()} if a map obtained earlier is changed after the scheme was used.
  */
 public class PrintingScheme {
 
+    private static final Encoder<AnalyzedProperty> DEFAULT_KEY_ENCODING =
+            new AnalyzedPropertyTextEncoder(null);
+
     private HashMap<AnalyzedProperty, ColorEncoding> valueColorEncodings;
 
     private HashMap<AnalyzedPropertyCategory, TestResultTextEncoder> valueTextEncodings;
@@ -31,6 +44,9 @@ public class PrintingScheme {
 
     private ColorEncoding defaultColorEncoding;
 
+    private final Map<AnalyzedProperty, ResolvedEncoders> resolvedEncoders =
+            new ConcurrentHashMap<>();
+
     /** Constructs a new PrintingScheme with default settings. */
     public PrintingScheme() {}
 
@@ -60,23 +76,35 @@ public class PrintingScheme {
     }
 
     /**
-     * Returns the map of property-specific color encodings.
+     * Returns the map of property-specific color encodings. Since the map may be changed, the
+     * encoders resolved so far are forgotten.
      *
      * @return map of color encodings for specific properties
      */
     public HashMap<AnalyzedProperty, ColorEncoding> getValueColorEncodings() {
+        clearResolvedEncoders();
         return valueColorEncodings;
     }
 
     /**
-     * Returns the map of category-specific text encodings.
+     * Returns the map of category-specific text encodings. Since the map may be changed, the
+     * encoders resolved so far are forgotten.
      *
      * @return map of text encodings for property categories
      */
     public HashMap<AnalyzedPropertyCategory, TestResultTextEncoder> getValueTextEncodings() {
+        clearResolvedEncoders();
         return valueTextEncodings;
     }
 
+    /**
+     * Forgets the encoders resolved so far, so that changes to the encoding maps of this scheme
+     * take effect.
+     */
+    public void clearResolvedEncoders() {
+        resolvedEncoders.clear();
+    }
+
     /**
      * Encodes the result value for a property as a string with optional color formatting.
      *
@@ -87,20 +115,53 @@ public class PrintingScheme {
      */
     public String getEncodedString(
             ScanReport report, AnalyzedProperty property, boolean useColors) {
-        TestResult result = report.getResult(property);
-        TestResultTextEncoder textEncoding = specialValueTextEncoding.get(property);
-        if (textEncoding == null) {
-            textEncoding =
-                    valueTextEncodings.getOrDefault(property.getCategory(), defaultTextEncoding);
+        return resolve(property).encode(report.getResult(property), useColors);
+    }
+
+    /**
+     * Encodes the result values of all properties in a report in one pass. The report is locked
+     * while its results are encoded, so results added concurrently do not interfere.
+     *
+     * @param report the scan report containing the results
+     * @param useColors whether to apply color encoding to the results
+     * @return the encoded results by property, in the iteration order of the report's results
+     */
+    public Map<AnalyzedProperty, String> getEncodedStrings(ScanReport report, boolean useColors) {
+        synchronized (report) {
+            Map<AnalyzedProperty, TestResult> results = report.getResultMap();
+            Map<AnalyzedProperty, String> encoded = new LinkedHashMap<>(results.size() * 2);
+            for (Map.Entry<AnalyzedProperty, TestResult> entry : results.entrySet()) {
+                encoded.put(
+                        entry.getKey(),
+                        resolve(entry.getKey()).encode(entry.getValue(), useColors));
+            }
+            return encoded;
         }
-        ColorEncoding colorEncoding =
-                valueColorEncodings.getOrDefault(property, defaultColorEncoding);
-        String encodedText = textEncoding.encode(result);
-        if (useColors) {
-            return colorEncoding.encode(result, encodedText);
-        } else {
-            return encodedText;
+    }
+
+    /**
+     * Encodes the result values of the given properties in one pass. Properties without a result
+     * are encoded as {@link TestResults#NOT_SCHEDULED}, like in {@link
+     * #getEncodedString(ScanReport, AnalyzedProperty, boolean)}.
+     *
+     * @param report the scan report containing the results
+     * @param properties the properties whose results should be encoded
+     * @param useColors whether to apply color encoding to the results
+     * @return the encoded results by property, in the iteration order of the given properties
+     */
+    public Map<AnalyzedProperty, String> getEncodedStrings(
+            ScanReport report,
+            Collection<? extends AnalyzedProperty> properties,
+            boolean useColors) {
+        Map<AnalyzedProperty, String> encoded = new LinkedHashMap<>(properties.size() * 2);
+        synchronized (report) {
+            Map<AnalyzedProperty, TestResult> results = report.getResultMap();
+            for (AnalyzedProperty property : properties) {
+                TestResult result = results.getOrDefault(property, TestResults.NOT_SCHEDULED);
+                encoded.put(property, resolve(property).encode(result, useColors));
+            }
         }
+        return encoded;
     }
 
     /**
@@ -111,13 +172,7 @@ public class PrintingScheme {
      * @return the plain text representation of the result
      */
     public String getEncodedValueText(ScanReport report, AnalyzedProperty property) {
-        TestResult result = report.getResult(property);
-        TestResultTextEncoder textEncoding = specialValueTextEncoding.get(property);
-        if (textEncoding == null) {
-            textEncoding =
-                    valueTextEncodings.getOrDefault(property.getCategory(), defaultTextEncoding);
-        }
-        return textEncoding.encode(result);
+        return resolve(property).textEncoding.encode(report.getResult(property));
     }
 
     /**
@@ -128,10 +183,7 @@ public class PrintingScheme {
      * @return the encoded text representation of the property key
      */
     public String getEncodedKeyText(ScanReport report, AnalyzedProperty property) {
-        Encoder<AnalyzedProperty> textEncoding =
-                keyTextEncoding.getOrDefault(property, new AnalyzedPropertyTextEncoder(null));
-
-        return textEncoding.encode(property);
+        return resolve(property).keyEncoding.encode(property);
     }
 
     /**
@@ -142,10 +194,7 @@ public class PrintingScheme {
      * @return the ANSI color to use for the result value
      */
     public AnsiColor getValueColor(ScanReport report, AnalyzedProperty property) {
-        TestResult result = report.getResult(property);
-        ColorEncoding colorEncoding =
-                valueColorEncodings.getOrDefault(property, defaultColorEncoding);
-        return colorEncoding.getColor(result);
+        return resolve(property).colorEncoding.getColor(report.getResult(property));
     }
 
     /**
@@ -159,4 +208,53 @@ public class PrintingScheme {
     public AnsiColor getKeyColor(ScanReport report, AnalyzedProperty property) {
         return AnsiColor.DEFAULT_COLOR;
     }
+
+    private ResolvedEncoders resolve(AnalyzedProperty property) {
+        ResolvedEncoders encoders = resolvedEncoders.get(property);
+        if (encoders == null) {
+            encoders = resolvedEncoders.computeIfAbsent(property, this::createEncoders);
+        }
+        return encoders;
+    }
+
+    private ResolvedEncoders createEncoders(AnalyzedProperty property) {
+        TestResultTextEncoder textEncoding = specialValueTextEncoding.get(property);
+        if (textEncoding == null) {
+            textEncoding =
+                    valueTextEncodings.getOrDefault(property.getCategory(), defaultTextEncoding);
+        }
+        ColorEncoding colorEncoding =
+                valueColorEncodings.getOrDefault(property, defaultColorEncoding);
+        Encoder<AnalyzedProperty> keyEncoding =
+                keyTextEncoding.getOrDefault(property, DEFAULT_KEY_ENCODING);
+        return new ResolvedEncoders(textEncoding, colorEncoding, keyEncoding);
+    }
+
+    /** The encoders that apply to one property. */
+    private static final class ResolvedEncoders {
+
+        private final TestResultTextEncoder textEncoding;
+
+        private final ColorEncoding colorEncoding;
+
+        private final Encoder<AnalyzedProperty> keyEncoding;
+
+        private ResolvedEncoders(
+                TestResultTextEncoder textEncoding,
+                ColorEncoding colorEncoding,
+                Encoder<AnalyzedProperty> keyEncoding) {
+            this.textEncoding = textEncoding;
+            this.colorEncoding = colorEncoding;
+            this.keyEncoding = keyEncoding;
+        }
+
+        private String encode(TestResult result, boolean useColors) {
+            String encodedText = textEncoding.encode(result);
+            if (useColors) {
+                return colorEncoding.encode(result, encodedText);
+            } else {
+                return encodedText;
+            }
+        }
+    }
 }
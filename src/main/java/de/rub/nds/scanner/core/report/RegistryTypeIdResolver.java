@@ -0,0 +1,65 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+import java.io.IOException;
+
+/**
+ * Writes the numeric id of a {@link ReportTypeRegistry} as type id where one is registered and the
+ * fully qualified class name otherwise. Both forms are accepted when reading.
+ */
+class RegistryTypeIdResolver extends TypeIdResolverBase {
+
+    private final ReportTypeRegistry registry;
+
+    RegistryTypeIdResolver(ReportTypeRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        return idFromValueAndType(value, value.getClass());
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        Class<?> type = value != null ? value.getClass() : suggestedType;
+        // Enum constants with bodies are anonymous subclasses of their enum
+        if (type.isAnonymousClass() && type.getSuperclass().isEnum()) {
+            type = type.getSuperclass();
+        }
+        Integer id = registry.getId(type);
+        return id != null ? id.toString() : type.getName();
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        if (!id.isEmpty() && Character.isDigit(id.charAt(0))) {
+            Class<?> type = registry.getType(Integer.parseInt(id));
+            if (type == null) {
+                throw new IOException("Unknown type id " + id);
+            }
+            return context.constructType(type);
+        }
+        try {
+            return context.constructType(context.getTypeFactory().findClass(id));
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown type " + id, e);
+        }
+    }
+
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/** Streaming compression applied when writing reports to a file. */
+public enum ReportCompression {
+    NONE(""),
+    GZIP(".gz");
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String fileExtension;
+
+    ReportCompression(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Returns the file extension conventionally used for this compression.
+     *
+     * @return the file extension including the leading dot, or an empty string
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Wraps the given stream so that everything written to the result is compressed. Closing the
+     * returned stream closes the given one.
+     *
+     * @param outputStream the stream receiving the compressed bytes
+     * @return the compressing stream
+     * @throws IOException if the compression header cannot be written
+     */
+    public OutputStream wrap(OutputStream outputStream) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            case NONE:
+            default:
+                return outputStream;
+        }
+    }
+
+    /**
+     * Picks the compression matching the extension of a file name.
+     *
+     * @param fileName the name of the file to write
+     * @return GZIP for names ending in .gz, NONE otherwise
+     */
+    public static ReportCompression forFileName(String fileName) {
+        return fileName.endsWith(GZIP.fileExtension) ? GZIP : NONE;
+    }
+}
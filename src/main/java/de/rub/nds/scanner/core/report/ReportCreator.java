@@ -11,8 +11,10 @@ package de.rub.nds.scanner.core.report;
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.report.container.KeyValueContainer;
+import de.rub.nds.scanner.core.report.container.LazyContainer;
 import de.rub.nds.scanner.core.report.container.ReportContainer;
 import de.rub.nds.scanner.core.report.container.TextContainer;
+import java.util.function.Supplier;
 
 /**
  * Base class for creating report containers from scan results. Provides utility methods for
@@ -84,4 +86,18 @@ public class ReportCreator<ReportT extends ScanReport> {
     protected TextContainer createDefaultTextContainer(String text) {
         return new TextContainer(text, AnsiColor.DEFAULT_COLOR);
     }
+
+    /**
+     * Creates a container whose content is only built if this creator's detail level is at least
+     * the given one. Use it for sections that are expensive to assemble and only shown in more
+     * detailed reports.
+     *
+     * @param containerDetail the detail level needed to show the content
+     * @param supplier builds the content
+     * @return a container rendering the content if it is shown, and nothing otherwise
+     */
+    protected ReportContainer createLazyContainer(
+            ScannerDetail containerDetail, Supplier<? extends ReportContainer> supplier) {
+        return new LazyContainer(containerDetail, detail, supplier);
+    }
 }
@@ -10,11 +10,17 @@ package de.rub.nds.scanner.core.report;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Abstract base class for generating formatted text representations of scan reports. Provides
  * utility methods for formatting output with optional ANSI color codes.
  *
+ * <p>The name-value helpers exist for both StringBuilder and {@link Appendable}, so printers that
+ * override {@link #writeFullReport(Appendable)} can stream their report to a {@link
+ * java.io.Writer} instead of building it in memory.
+ *
  * @param <ReportT> the type of scan report this printer works with
  */
 public abstract class ReportPrinter<ReportT extends ScanReport> {
@@ -53,6 +59,18 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     public abstract String getFullReport();
 
+    /**
+     * Writes the complete formatted report to the provided output. The default implementation
+     * appends {@link #getFullReport()}; printers producing large reports should override it to
+     * write their sections directly.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void writeFullReport(Appendable out) throws IOException {
+        out.append(getFullReport());
+    }
+
     /**
      * Formats a string value without color (black text).
      *
@@ -61,7 +79,50 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the formatted string, with "Unknown" if value is null
      */
     protected String getBlackString(String value, String format) {
-        return String.format(format, value == null ? "Unknown" : value);
+        return format(format, value == null ? "Unknown" : value);
+    }
+
+    /**
+     * Formats a single string argument. Formats consisting of literal text around one {@code %s},
+     * {@code %Ns} or {@code %-Ns} conversion are handled without {@link String#format}, which is
+     * used for everything else.
+     */
+    private static String format(String format, String value) {
+        int start = format.indexOf('%');
+        if (start < 0) {
+            return String.format(format, value);
+        }
+        int index = start + 1;
+        boolean leftAligned = index < format.length() && format.charAt(index) == '-';
+        if (leftAligned) {
+            index++;
+        }
+        int width = 0;
+        int digits = 0;
+        while (index < format.length() && Character.isDigit(format.charAt(index)) && digits < 6) {
+            width = width * 10 + (format.charAt(index) - '0');
+            index++;
+            digits++;
+        }
+        if (index >= format.length()
+                || format.charAt(index) != 's'
+                || (leftAligned && digits == 0)
+                || (digits > 0 && format.charAt(start + (leftAligned ? 2 : 1)) == '0')
+                || format.indexOf('%', index) >= 0) {
+            return String.format(format, value);
+        }
+        StringBuilder builder =
+                new StringBuilder(format.length() + Math.max(width, value.length()));
+        builder.append(format, 0, start);
+        if (!leftAligned) {
+            TextPadding.appendSpaces(builder, width - value.length());
+        }
+        builder.append(value);
+        if (leftAligned) {
+            TextPadding.appendSpaces(builder, width - value.length());
+        }
+        builder.append(format, index + 1, format.length());
+        return builder.toString();
     }
 
     /**
@@ -73,7 +134,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected String getGreenString(String value, String format) {
         return (printColorful ? AnsiColor.GREEN.getCode() : AnsiColor.RESET.getCode())
-                + String.format(format, value == null ? "Unknown" : value)
+                + format(format, value == null ? "Unknown" : value)
                 + AnsiColor.RESET.getCode();
     }
 
@@ -86,7 +147,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected String getYellowString(String value, String format) {
         return (printColorful ? AnsiColor.YELLOW.getCode() : AnsiColor.RESET.getCode())
-                + String.format(format, value == null ? "Unknown" : value)
+                + format(format, value == null ? "Unknown" : value)
                 + AnsiColor.RESET.getCode();
     }
 
@@ -99,7 +160,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected String getRedString(String value, String format) {
         return (printColorful ? AnsiColor.RED.getCode() : AnsiColor.RESET.getCode())
-                + String.format(format, value == null ? "Unknown" : value)
+                + format(format, value == null ? "Unknown" : value)
                 + AnsiColor.RESET.getCode();
     }
 
@@ -144,7 +205,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected StringBuilder prettyAppendHexString(
             StringBuilder builder, String name, String value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(value == null ? "Unknown" : "0x" + value)
                 .append("\n");
@@ -159,12 +220,25 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the builder for method chaining
      */
     protected StringBuilder prettyAppend(StringBuilder builder, String name, String value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(value == null ? "Unknown" : value)
                 .append("\n");
     }
 
+    /**
+     * Writes a name-value pair with proper indentation.
+     *
+     * @param out the output to write to
+     * @param name the property name
+     * @param value the property value, or null
+     * @throws IOException if the output cannot be written
+     */
+    protected void prettyAppend(Appendable out, String name, String value) throws IOException {
+        appendIndentations(out, name);
+        out.append(": ").append(value == null ? "Unknown" : value).append('\n');
+    }
+
     /**
      * Appends a name-value pair for a Long value with proper indentation.
      *
@@ -174,7 +248,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the builder for method chaining
      */
     protected StringBuilder prettyAppend(StringBuilder builder, String name, Long value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(value == null ? "Unknown" : value)
                 .append("\n");
@@ -189,7 +263,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the builder for method chaining
      */
     protected StringBuilder prettyAppend(StringBuilder builder, String name, Boolean value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(value == null ? "Unknown" : value)
                 .append("\n");
@@ -205,12 +279,28 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected StringBuilder prettyAppend(
             StringBuilder builder, String name, AnalyzedProperty property) {
-        builder.append(addIndentations(name)).append(": ");
+        appendIndentations(builder, name).append(": ");
         builder.append(scheme.getEncodedString(report, property, printColorful));
         builder.append("\n");
         return builder;
     }
 
+    /**
+     * Writes a name-value pair for an analyzed property using the printing scheme.
+     *
+     * @param out the output to write to
+     * @param name the display name
+     * @param property the analyzed property to format
+     * @throws IOException if the output cannot be written
+     */
+    protected void prettyAppend(Appendable out, String name, AnalyzedProperty property)
+            throws IOException {
+        appendIndentations(out, name);
+        out.append(": ");
+        out.append(scheme.getEncodedString(report, property, printColorful));
+        out.append('\n');
+    }
+
     /**
      * Appends a name-value pair for a Boolean with optional color.
      *
@@ -236,7 +326,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected StringBuilder prettyAppend(
             StringBuilder builder, String name, String value, AnsiColor color) {
-        builder.append(addIndentations(name)).append(": ");
+        appendIndentations(builder, name).append(": ");
         if (printColorful) {
             builder.append(color.getCode());
         }
@@ -248,6 +338,29 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
         return builder;
     }
 
+    /**
+     * Writes a name-value pair with optional color.
+     *
+     * @param out the output to write to
+     * @param name the property name
+     * @param value the property value
+     * @param color the color to apply if colors are enabled
+     * @throws IOException if the output cannot be written
+     */
+    protected void prettyAppend(Appendable out, String name, String value, AnsiColor color)
+            throws IOException {
+        appendIndentations(out, name);
+        out.append(": ");
+        if (printColorful) {
+            out.append(color.getCode());
+        }
+        out.append(String.valueOf(value));
+        if (printColorful) {
+            out.append(AnsiColor.RESET.getCode());
+        }
+        out.append('\n');
+    }
+
     /**
      * Appends a main heading with formatting and resets the indentation depth.
      *
@@ -268,6 +381,26 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
                 .append(AnsiColor.RESET.getCode());
     }
 
+    /**
+     * Writes a main heading with formatting and resets the indentation depth.
+     *
+     * @param out the output to write to
+     * @param value the heading text
+     * @throws IOException if the output cannot be written
+     */
+    protected void prettyAppendHeading(Appendable out, String value) throws IOException {
+        depth = 0;
+        if (printColorful) {
+            out.append(AnsiColor.BOLD.getCode()).append(AnsiColor.BLUE.getCode());
+        } else {
+            out.append(AnsiColor.RESET.getCode());
+        }
+        out.append("\n------------------------------------------------------------\n")
+                .append(String.valueOf(value))
+                .append("\n\n")
+                .append(AnsiColor.RESET.getCode());
+    }
+
     /**
      * Appends a name-value pair with the value underlined if colors are enabled.
      *
@@ -278,7 +411,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected StringBuilder prettyAppendUnderlined(
             StringBuilder builder, String name, String value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(
                         printColorful
@@ -297,7 +430,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      */
     protected StringBuilder prettyAppendUnderlined(
             StringBuilder builder, String name, boolean value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(
                         printColorful
@@ -315,7 +448,7 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the builder for method chaining
      */
     protected StringBuilder prettyAppendUnderlined(StringBuilder builder, String name, long value) {
-        return builder.append(addIndentations(name))
+        return appendIndentations(builder, name)
                 .append(": ")
                 .append(
                         !printColorful
@@ -395,11 +528,10 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the padded string
      */
     protected String padToLength(String value, int length) {
-        StringBuilder builder = new StringBuilder(value);
-        while (builder.length() < length) {
-            builder.append(" ");
+        if (value.length() >= length) {
+            return value;
         }
-        return builder.toString();
+        return value + TextPadding.spaces(length - value.length());
     }
 
     /**
@@ -409,21 +541,42 @@ public abstract class ReportPrinter<ReportT extends ScanReport> {
      * @return the indented string with appropriate tabs for alignment
      */
     protected String addIndentations(String value) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(" ".repeat(Math.max(0, depth)));
-        builder.append(value);
-        if (value.length() + depth < 8) {
-            builder.append("\t\t\t\t ");
-        } else if (value.length() + depth < 16) {
-            builder.append("\t\t\t ");
-        } else if (value.length() + depth < 24) {
-            builder.append("\t\t ");
-        } else if (value.length() + depth < 32) {
-            builder.append("\t ");
+        return appendIndentations(new StringBuilder(value.length() + depth + 5), value).toString();
+    }
+
+    /**
+     * Appends a value with indentation based on the current depth and tabs for alignment, like
+     * {@link #addIndentations(String)} but without the intermediate string.
+     *
+     * @param out the output to append to
+     * @param value the string to indent
+     * @throws IOException if the output cannot be written
+     */
+    protected void appendIndentations(Appendable out, String value) throws IOException {
+        TextPadding.appendSpaces(out, depth);
+        out.append(value);
+        int width = value.length() + depth;
+        if (width < 8) {
+            out.append("\t\t\t\t ");
+        } else if (width < 16) {
+            out.append("\t\t\t ");
+        } else if (width < 24) {
+            out.append("\t\t ");
+        } else if (width < 32) {
+            out.append("\t ");
         } else {
-            builder.append(" ");
+            out.append(' ');
         }
-        return builder.toString();
+    }
+
+    private StringBuilder appendIndentations(StringBuilder builder, String value) {
+        try {
+            appendIndentations((Appendable) builder, value);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return builder;
     }
 
     /**
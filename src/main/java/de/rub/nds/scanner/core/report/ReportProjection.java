@@ -0,0 +1,224 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Selects the parts of a stored report that are materialized when it is read. Everything that is
+ * not selected is skipped on the token level without creating any objects. The scalar fields of a
+ * report (score, connection count and scan times) are always read.
+ *
+ * <p>Projections are immutable; the {@code with} methods return modified copies.
+ */
+public final class ReportProjection {
+
+    /** Reads the complete report. */
+    public static final ReportProjection ALL =
+            new ReportProjection(null, null, true, true, true, true);
+
+    /** Reads only the scalar fields of a report. */
+    public static final ReportProjection NONE =
+            new ReportProjection(Set.of(), Set.of(), false, false, false, false);
+
+    private final Set<AnalyzedProperty> properties;
+    private final Set<TrackableValue> trackableValues;
+    private final boolean guidelineReports;
+    private final boolean scoreReport;
+    private final boolean performanceData;
+    private final boolean additionalFields;
+
+    private ReportProjection(
+            Set<AnalyzedProperty> properties,
+            Set<TrackableValue> trackableValues,
+            boolean guidelineReports,
+            boolean scoreReport,
+            boolean performanceData,
+            boolean additionalFields) {
+        this.properties = properties;
+        this.trackableValues = trackableValues;
+        this.guidelineReports = guidelineReports;
+        this.scoreReport = scoreReport;
+        this.performanceData = performanceData;
+        this.additionalFields = additionalFields;
+    }
+
+    /**
+     * Returns a projection that reads only the given results.
+     *
+     * @param properties the properties whose results are read
+     * @return the modified projection
+     */
+    public ReportProjection withProperties(AnalyzedProperty... properties) {
+        return new ReportProjection(
+                Set.copyOf(Arrays.asList(properties)),
+                trackableValues,
+                guidelineReports,
+                scoreReport,
+                performanceData,
+                additionalFields);
+    }
+
+    /**
+     * Returns a projection that reads only the given extracted value containers.
+     *
+     * @param trackableValues the types of the containers that are read
+     * @return the modified projection
+     */
+    public ReportProjection withTrackableValues(TrackableValue... trackableValues) {
+        return new ReportProjection(
+                properties,
+                Set.copyOf(Arrays.asList(trackableValues)),
+                guidelineReports,
+                scoreReport,
+                performanceData,
+                additionalFields);
+    }
+
+    /**
+     * Returns a projection that does or does not read the guideline reports.
+     *
+     * @param include whether the guideline reports are read
+     * @return the modified projection
+     */
+    public ReportProjection withGuidelineReports(boolean include) {
+        return new ReportProjection(
+                properties,
+                trackableValues,
+                include,
+                scoreReport,
+                performanceData,
+                additionalFields);
+    }
+
+    /**
+     * Returns a projection that does or does not read the score report.
+     *
+     * @param include whether the score report is read
+     * @return the modified projection
+     */
+    public ReportProjection withScoreReport(boolean include) {
+        return new ReportProjection(
+                properties,
+                trackableValues,
+                guidelineReports,
+                include,
+                performanceData,
+                additionalFields);
+    }
+
+    /**
+     * Returns a projection that does or does not read the probe performance data.
+     *
+     * @param include whether the performance data is read
+     * @return the modified projection
+     */
+    public ReportProjection withPerformanceData(boolean include) {
+        return new ReportProjection(
+                properties,
+                trackableValues,
+                guidelineReports,
+                scoreReport,
+                include,
+                additionalFields);
+    }
+
+    /**
+     * Returns a projection that does or does not read the fields of report subclasses.
+     *
+     * @param include whether additional fields are read
+     * @return the modified projection
+     */
+    public ReportProjection withAdditionalFields(boolean include) {
+        return new ReportProjection(
+                properties,
+                trackableValues,
+                guidelineReports,
+                scoreReport,
+                performanceData,
+                include);
+    }
+
+    /**
+     * Checks whether the result of a property is read.
+     *
+     * @param property the property
+     * @return true if the result is read
+     */
+    public boolean includes(AnalyzedProperty property) {
+        return properties == null || properties.contains(property);
+    }
+
+    /**
+     * Checks whether the extracted values of a type are read.
+     *
+     * @param trackableValue the type of the extracted values
+     * @return true if the container is read
+     */
+    public boolean includes(TrackableValue trackableValue) {
+        return trackableValues == null || trackableValues.contains(trackableValue);
+    }
+
+    /**
+     * Checks whether any result is read.
+     *
+     * @return true if at least one result may be read
+     */
+    public boolean includesResults() {
+        return properties == null || !properties.isEmpty();
+    }
+
+    /**
+     * Checks whether any extracted value container is read.
+     *
+     * @return true if at least one container may be read
+     */
+    public boolean includesExtractedValues() {
+        return trackableValues == null || !trackableValues.isEmpty();
+    }
+
+    /**
+     * Checks whether the guideline reports are read.
+     *
+     * @return true if the guideline reports are read
+     */
+    public boolean includesGuidelineReports() {
+        return guidelineReports;
+    }
+
+    /**
+     * Checks whether the score report is read.
+     *
+     * @return true if the score report is read
+     */
+    public boolean includesScoreReport() {
+        return scoreReport;
+    }
+
+    /**
+     * Checks whether the probe performance data is read.
+     *
+     * @return true if the probe performance data is read
+     */
+    public boolean includesPerformanceData() {
+        return performanceData;
+    }
+
+    /**
+     * Checks whether the fields of report subclasses are read.
+     *
+     * @return true if the fields of report subclasses are read
+     */
+    public boolean includesAdditionalFields() {
+        return additionalFields;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import de.rub.nds.scanner.core.guideline.FailedCheckGuidelineResult;
+import de.rub.nds.scanner.core.guideline.GuidelineCheckResult;
+import de.rub.nds.scanner.core.guideline.MissingRequirementGuidelineResult;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.ProbeType;
+import de.rub.nds.scanner.core.probe.result.BigIntegerResult;
+import de.rub.nds.scanner.core.probe.result.CollectionResult;
+import de.rub.nds.scanner.core.probe.result.DetailedResult;
+import de.rub.nds.scanner.core.probe.result.IntegerResult;
+import de.rub.nds.scanner.core.probe.result.ListResult;
+import de.rub.nds.scanner.core.probe.result.LongResult;
+import de.rub.nds.scanner.core.probe.result.MapResult;
+import de.rub.nds.scanner.core.probe.result.NotApplicableResult;
+import de.rub.nds.scanner.core.probe.result.ObjectResult;
+import de.rub.nds.scanner.core.probe.result.SetResult;
+import de.rub.nds.scanner.core.probe.result.StringResult;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps the classes that appear as polymorphic values in reports to small integer ids. Reports
+ * written with a mapper from {@link #createObjectMapper(JsonFactory)} carry these ids instead of
+ * fully qualified class names, which makes them considerably smaller and faster to parse. Classes
+ * that are not registered still fall back to their class name.
+ *
+ * <p>Ids are part of the stored data, so they must never be reassigned. Ids below {@link
+ * #FIRST_USER_ID} are reserved for the types of this library. The registry also resolves {@link
+ * AnalyzedProperty} and {@link TrackableValue} map keys of registered enums back to their
+ * constants when reading.
+ */
+public class ReportTypeRegistry {
+
+    /** The first id available for types registered by applications. */
+    public static final int FIRST_USER_ID = 64;
+
+    private final Map<Class<?>, Integer> idsByType = new HashMap<>();
+
+    private final Map<Integer, Class<?>> typesById = new HashMap<>();
+
+    private final Map<String, AnalyzedProperty> propertiesByName = new HashMap<>();
+
+    private final Map<String, TrackableValue> trackableValuesByName = new HashMap<>();
+
+    /** Creates a registry that already contains the result and value types of this library. */
+    public ReportTypeRegistry() {
+        registerInternal(1, TestResults.class);
+        registerInternal(2, ObjectResult.class);
+        registerInternal(3, StringResult.class);
+        registerInternal(4, IntegerResult.class);
+        registerInternal(5, LongResult.class);
+        registerInternal(6, BigIntegerResult.class);
+        registerInternal(7, CollectionResult.class);
+        registerInternal(8, ListResult.class);
+        registerInternal(9, SetResult.class);
+        registerInternal(10, MapResult.class);
+        registerInternal(11, NotApplicableResult.class);
+        registerInternal(12, DetailedResult.class);
+        registerInternal(13, FailedCheckGuidelineResult.class);
+        registerInternal(14, MissingRequirementGuidelineResult.class);
+        registerInternal(15, String.class);
+        registerInternal(16, Integer.class);
+        registerInternal(17, Long.class);
+        registerInternal(18, BigInteger.class);
+        registerInternal(19, Boolean.class);
+        registerInternal(20, byte[].class);
+    }
+
+    /**
+     * Registers a type under the given id.
+     *
+     * @param id the id, at least {@link #FIRST_USER_ID}
+     * @param type the type to register
+     * @return this registry
+     * @throws IllegalArgumentException if the id is reserved or the id or type is already taken
+     */
+    public ReportTypeRegistry register(int id, Class<?> type) {
+        if (id < FIRST_USER_ID) {
+            throw new IllegalArgumentException("Ids below " + FIRST_USER_ID + " are reserved");
+        }
+        registerInternal(id, type);
+        return this;
+    }
+
+    private void registerInternal(int id, Class<?> type) {
+        if (typesById.containsKey(id)) {
+            throw new IllegalArgumentException(
+                    "Id " + id + " is already used by " + typesById.get(id).getName());
+        }
+        if (idsByType.containsKey(type)) {
+            throw new IllegalArgumentException(type.getName() + " is already registered");
+        }
+        typesById.put(id, type);
+        idsByType.put(type, id);
+        if (type.isEnum() && AnalyzedProperty.class.isAssignableFrom(type)) {
+            for (Object constant : type.getEnumConstants()) {
+                AnalyzedProperty property = (AnalyzedProperty) constant;
+                propertiesByName.put(property.getName(), property);
+            }
+        }
+        if (type.isEnum() && TrackableValue.class.isAssignableFrom(type)) {
+            for (Object constant : type.getEnumConstants()) {
+                trackableValuesByName.put(((Enum<?>) constant).name(), (TrackableValue) constant);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a type.
+     *
+     * @param type the type to look up
+     * @return the id, or null if the type is not registered
+     */
+    public Integer getId(Class<?> type) {
+        return idsByType.get(type);
+    }
+
+    /**
+     * Returns the type registered under an id.
+     *
+     * @param id the id to look up
+     * @return the type, or null if the id is not used
+     */
+    public Class<?> getType(int id) {
+        return typesById.get(id);
+    }
+
+    /**
+     * Resolves the name of a property of a registered AnalyzedProperty enum.
+     *
+     * @param name the name as returned by {@link AnalyzedProperty#getName()}
+     * @return the property, or null if no registered enum has a property with that name
+     */
+    public AnalyzedProperty resolveProperty(String name) {
+        return propertiesByName.get(name);
+    }
+
+    /**
+     * Resolves the name of a constant of a registered TrackableValue enum.
+     *
+     * @param name the name as returned by the constant's {@link Enum#name()} method, which is
+     *     also how enum map keys are written
+     * @return the trackable value, or null if no registered enum has a constant with that name
+     */
+    public TrackableValue resolveTrackableValue(String name) {
+        return trackableValuesByName.get(name);
+    }
+
+    /**
+     * Creates a mapper that writes the ids of this registry instead of class names and resolves
+     * property and trackable value map keys through this registry.
+     *
+     * @param jsonFactory the factory defining the encoding, e.g., a JSON or binary JSON factory
+     * @return a newly configured mapper
+     */
+    public ObjectMapper createObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper mapper = new ObjectMapper(jsonFactory);
+        for (Class<?> typedBase :
+                List.of(
+                        TestResult.class,
+                        TrackableValue.class,
+                        ProbeType.class,
+                        AnalyzedProperty.class,
+                        GuidelineCheckResult.class,
+                        ScanReport.class)) {
+            mapper.addMixIn(typedBase, RegistryTypedMixIn.class);
+        }
+        mapper.addMixIn(ExtractedValueContainer.class, ExtractedValueContainerMixIn.class);
+        mapper.setHandlerInstantiator(new RegistryHandlerInstantiator());
+
+        SimpleModule module = new SimpleModule();
+        module.addKeyDeserializer(
+                AnalyzedProperty.class, new RegistryKeyDeserializer(this::resolveProperty));
+        module.addKeyDeserializer(
+                TrackableValue.class, new RegistryKeyDeserializer(this::resolveTrackableValue));
+        mapper.registerModule(module);
+        mapper.registerModule(new JodaModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        return mapper;
+    }
+
+    @JsonTypeInfo(
+            use = JsonTypeInfo.Id.CUSTOM,
+            include = JsonTypeInfo.As.PROPERTY,
+            property = "@type")
+    @JsonTypeIdResolver(RegistryTypeIdResolver.class)
+    private interface RegistryTypedMixIn {}
+
+    private abstract static class ExtractedValueContainerMixIn {
+        @JsonTypeInfo(
+                use = JsonTypeInfo.Id.CUSTOM,
+                include = JsonTypeInfo.As.PROPERTY,
+                property = "@type")
+        @JsonTypeIdResolver(RegistryTypeIdResolver.class)
+        private List<Object> extractedValueList;
+    }
+
+    private static class RegistryKeyDeserializer extends KeyDeserializer {
+
+        private final Function<String, Object> resolver;
+
+        RegistryKeyDeserializer(Function<String, Object> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Object deserializeKey(String key, DeserializationContext context)
+                throws IOException {
+            Object resolved = resolver.apply(key);
+            if (resolved == null) {
+                return context.handleWeirdKey(
+                        Object.class, key, "not a constant of a registered enum");
+            }
+            return resolved;
+        }
+    }
+
+    private class RegistryHandlerInstantiator extends HandlerInstantiator {
+
+        @Override
+        public TypeIdResolver typeIdResolverInstance(
+                MapperConfig<?> config, Annotated annotated, Class<?> resolverClass) {
+            if (resolverClass == RegistryTypeIdResolver.class) {
+                return new RegistryTypeIdResolver(ReportTypeRegistry.this);
+            }
+            return null;
+        }
+
+        @Override
+        public JsonDeserializer<?> deserializerInstance(
+                DeserializationConfig config, Annotated annotated, Class<?> deserClass) {
+            return null;
+        }
+
+        @Override
+        public KeyDeserializer keyDeserializerInstance(
+                DeserializationConfig config, Annotated annotated, Class<?> keyDeserClass) {
+            return null;
+        }
+
+        @Override
+        public JsonSerializer<?> serializerInstance(
+                SerializationConfig config, Annotated annotated, Class<?> serClass) {
+            return null;
+        }
+
+        @Override
+        public TypeResolverBuilder<?> typeResolverBuilderInstance(
+                MapperConfig<?> config, Annotated annotated, Class<?> builderClass) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import java.beans.PropertyChangeEvent;
+
+/**
+ * Fired by a {@link ScanReport} when the result of a property is stored or removed. The property
+ * name of the event is the string form of the property; this event additionally carries the
+ * property itself, so listeners do not need to map names back to properties.
+ */
+public class ResultChangeEvent extends PropertyChangeEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AnalyzedProperty property;
+
+    /**
+     * Constructs a ResultChangeEvent.
+     *
+     * @param source the report whose result changed
+     * @param property the property whose result changed
+     * @param oldResult the previous result, or null if there was none
+     * @param newResult the new result, or null if the result was removed
+     */
+    public ResultChangeEvent(
+            ScanReport source,
+            AnalyzedProperty property,
+            TestResult oldResult,
+            TestResult newResult) {
+        super(source, property.toString(), oldResult, newResult);
+        this.property = property;
+    }
+
+    /**
+     * Gets the property whose result changed.
+     *
+     * @return the property
+     */
+    public AnalyzedProperty getProperty() {
+        return property;
+    }
+
+    /**
+     * Gets the previous result of the property.
+     *
+     * @return the previous result, or null if there was none
+     */
+    public TestResult getOldResult() {
+        return (TestResult) getOldValue();
+    }
+
+    /**
+     * Gets the new result of the property.
+     *
+     * @return the new result, or null if the result was removed
+     */
+    public TestResult getNewResult() {
+        return (TestResult) getNewValue();
+    }
+}
@@ -11,6 +11,7 @@ package de.rub.nds.scanner.core.report;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import de.rub.nds.scanner.core.guideline.GuidelineReport;
 import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
 import de.rub.nds.scanner.core.passive.TrackableValue;
@@ -27,6 +28,7 @@ import de.rub.nds.scanner.core.probe.result.ObjectResult;
 import de.rub.nds.scanner.core.probe.result.SetResult;
 import de.rub.nds.scanner.core.probe.result.StringResult;
 import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResultInterner;
 import de.rub.nds.scanner.core.probe.result.TestResults;
 import de.rub.nds.scanner.core.report.rating.ScoreReport;
 import java.beans.PropertyChangeListener;
@@ -54,6 +56,7 @@ public abstract class ScanReport {
     private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
 
     @JsonProperty("results")
+    @JsonDeserialize(contentConverter = TestResultInterner.InterningConverter.class)
     private Map<AnalyzedProperty, TestResult> resultMap;
 
     @JsonProperty("extractedValues")
@@ -362,15 +365,20 @@ public abstract class ScanReport {
     }
 
     /**
-     * Stores a test result for a property and notifies listeners of the change.
+     * Stores a test result for a property and notifies listeners of the change with a {@link
+     * ResultChangeEvent}.
      *
      * @param property the property to store the result for
      * @param result the test result to store
      */
     public synchronized void putResult(AnalyzedProperty property, TestResult result) {
+        if (result != null) {
+            result = TestResultInterner.internShared(result);
+        }
         TestResult oldResult = resultMap.get(property);
         resultMap.put(property, result);
-        propertyChangeSupport.firePropertyChange(property.toString(), oldResult, result);
+        propertyChangeSupport.firePropertyChange(
+                new ResultChangeEvent(this, property, oldResult, result));
     }
 
     /**
@@ -477,7 +485,8 @@ public abstract class ScanReport {
      */
     public synchronized void removeResult(AnalyzedProperty property) {
         TestResult oldResult = resultMap.remove(property);
-        propertyChangeSupport.firePropertyChange(property.toString(), oldResult, null);
+        propertyChangeSupport.firePropertyChange(
+                new ResultChangeEvent(this, property, oldResult, null));
     }
 
     /**
@@ -0,0 +1,305 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.report.rating.ScoreReport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads reports written by a {@link ScanReportJsonWriter} back into an empty report instance. The
+ * input is consumed as a token stream, section by section, mirroring the writer. Map keys are
+ * resolved through a {@link ReportTypeRegistry}; results and containers whose key cannot be
+ * resolved are skipped with a warning. Subclasses read the fields of their own report type by
+ * overriding {@link #readAdditionalField(String, JsonParser, ScanReport)}.
+ *
+ * <p>A {@link ReportProjection} restricts reading to the parts of a report a consumer needs; {@link
+ * #index(byte[])} defers reading further until individual values are requested.
+ */
+public class ScanReportJsonReader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ObjectMapper mapper;
+
+    private final ReportTypeRegistry registry;
+
+    private final ObjectReader resultReader;
+
+    private final ObjectReader containerReader;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param mapper the mapper used for all values, must match the mapper of the writer
+     * @param registry the registry resolving property and trackable value keys
+     */
+    public ScanReportJsonReader(ObjectMapper mapper, ReportTypeRegistry registry) {
+        this.mapper = mapper;
+        this.registry = registry;
+        this.resultReader = mapper.readerFor(TestResult.class);
+        this.containerReader = mapper.readerFor(ExtractedValueContainer.class);
+    }
+
+    /**
+     * Reads a report from the stream into the given report. The stream is not closed.
+     *
+     * @param <ReportT> the type of the report
+     * @param inputStream the stream to read from
+     * @param report an empty report to fill
+     * @return the filled report
+     * @throws IOException if the input cannot be parsed
+     */
+    public <ReportT extends ScanReport> ReportT read(InputStream inputStream, ReportT report)
+            throws IOException {
+        return read(inputStream, report, ReportProjection.ALL);
+    }
+
+    /**
+     * Reads the selected parts of a report from the stream into the given report. Values outside
+     * the projection are skipped without being deserialized. The stream is not closed.
+     *
+     * @param <ReportT> the type of the report
+     * @param inputStream the stream to read from
+     * @param report an empty report to fill
+     * @param projection the parts of the report to read
+     * @return the filled report
+     * @throws IOException if the input cannot be parsed
+     */
+    public <ReportT extends ScanReport> ReportT read(
+            InputStream inputStream, ReportT report, ReportProjection projection)
+            throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a report object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                readField(field, parser, report, projection);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Indexes a report in a single pass over its tokens. The index records the byte range of each
+     * result, extracted value container and top-level field; nothing is deserialized until it is
+     * requested from the returned {@link IndexedReport}. Indexing requires a textual encoding whose
+     * values can be parsed from any value offset, such as JSON.
+     *
+     * @param data the encoded report, must not be modified afterwards
+     * @return the index of the report
+     * @throws IOException if the input cannot be parsed
+     */
+    public IndexedReport index(byte[] data) throws IOException {
+        Map<AnalyzedProperty, Long> results = new LinkedHashMap<>();
+        Map<TrackableValue, Long> containers = new LinkedHashMap<>();
+        Map<String, Long> fields = new LinkedHashMap<>();
+        try (JsonParser parser = mapper.getFactory().createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a report object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "results":
+                        indexEntries(parser, registry::resolveProperty, results);
+                        break;
+                    case "extractedValues":
+                        indexEntries(parser, registry::resolveTrackableValue, containers);
+                        break;
+                    default:
+                        fields.put(field, skipValue(parser));
+                }
+            }
+        }
+        return new IndexedReport(this, data, results, containers, fields);
+    }
+
+    private static <KeyT> void indexEntries(
+            JsonParser parser, Function<String, KeyT> resolver, Map<KeyT, Long> spans)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            KeyT key = resolver.apply(name);
+            long span = skipValue(parser);
+            if (key == null) {
+                LOGGER.warn("Skipping unknown key {}", name);
+            } else {
+                spans.put(key, span);
+            }
+        }
+    }
+
+    /**
+     * Skips the value the parser is positioned on and returns its byte range, packed as start
+     * offset in the upper and end offset in the lower half.
+     */
+    private static long skipValue(JsonParser parser) throws IOException {
+        long start = parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        parser.finishToken();
+        long end = parser.currentLocation().getByteOffset();
+        return start << 32 | end;
+    }
+
+    JsonParser createParser(byte[] data, long span) throws IOException {
+        int start = (int) (span >>> 32);
+        int end = (int) span;
+        JsonParser parser = mapper.getFactory().createParser(data, start, end - start);
+        parser.nextToken();
+        return parser;
+    }
+
+    TestResult readResult(JsonParser parser) throws IOException {
+        return resultReader.readValue(parser);
+    }
+
+    ExtractedValueContainer<?> readExtractedValueContainer(JsonParser parser) throws IOException {
+        return containerReader.readValue(parser);
+    }
+
+    void readField(String field, JsonParser parser, ScanReport report, ReportProjection projection)
+            throws IOException {
+        switch (field) {
+            case "results":
+                if (projection.includesResults()) {
+                    readResults(parser, report, projection);
+                } else {
+                    parser.skipChildren();
+                }
+                break;
+            case "extractedValues":
+                if (projection.includesExtractedValues()) {
+                    readExtractedValues(parser, report, projection);
+                } else {
+                    parser.skipChildren();
+                }
+                break;
+            case "guidelineReports":
+                if (projection.includesGuidelineReports()) {
+                    List<GuidelineReport> guidelineReports =
+                            mapper.readValue(
+                                    parser, new TypeReference<List<GuidelineReport>>() {});
+                    guidelineReports.forEach(report::addGuidelineReport);
+                } else {
+                    parser.skipChildren();
+                }
+                break;
+            case "score":
+                report.setScore(mapper.readValue(parser, Integer.class));
+                break;
+            case "scoreReport":
+                if (projection.includesScoreReport()) {
+                    report.setScoreReport(mapper.readValue(parser, ScoreReport.class));
+                } else {
+                    parser.skipChildren();
+                }
+                break;
+            case "probePerformanceData":
+                if (projection.includesPerformanceData()) {
+                    List<PerformanceData> performanceData =
+                            mapper.readValue(
+                                    parser, new TypeReference<List<PerformanceData>>() {});
+                    performanceData.forEach(report::recordProbePerformance);
+                } else {
+                    parser.skipChildren();
+                }
+                break;
+            case "performedConnections":
+                report.setPerformedConnections(mapper.readValue(parser, Integer.class));
+                break;
+            case "scanStartTime":
+                report.setScanStartTime(mapper.readValue(parser, Long.class));
+                break;
+            case "scanEndTime":
+                report.setScanEndTime(mapper.readValue(parser, Long.class));
+                break;
+            default:
+                if (projection.includesAdditionalFields()) {
+                    readAdditionalField(field, parser, report);
+                } else {
+                    parser.skipChildren();
+                }
+        }
+    }
+
+    private void readResults(JsonParser parser, ScanReport report, ReportProjection projection)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            AnalyzedProperty property = registry.resolveProperty(name);
+            if (property == null) {
+                LOGGER.warn("Skipping result of unknown property {}", name);
+                parser.skipChildren();
+                continue;
+            }
+            if (!projection.includes(property)) {
+                parser.skipChildren();
+                continue;
+            }
+            report.putResult(property, (TestResult) resultReader.readValue(parser));
+        }
+    }
+
+    private void readExtractedValues(
+            JsonParser parser, ScanReport report, ReportProjection projection) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            TrackableValue trackableValue = registry.resolveTrackableValue(name);
+            if (trackableValue == null) {
+                LOGGER.warn("Skipping extracted values of unknown type {}", name);
+                parser.skipChildren();
+                continue;
+            }
+            if (!projection.includes(trackableValue)) {
+                parser.skipChildren();
+                continue;
+            }
+            report.putExtractedValueContainer(
+                    trackableValue, (ExtractedValueContainer<?>) containerReader.readValue(parser));
+        }
+    }
+
+    /**
+     * Reads a field that is not part of every report. The parser is positioned on the first token
+     * of the value and must be left on its last token. The default implementation skips the value.
+     *
+     * @param field the field name
+     * @param parser the parser positioned on the value
+     * @param report the report being filled
+     * @throws IOException if the value cannot be read
+     */
+    protected void readAdditionalField(String field, JsonParser parser, ScanReport report)
+            throws IOException {
+        parser.skipChildren();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Writes the common parts of a {@link ScanReport} as JSON through a single {@link JsonGenerator}.
+ * Results and containers are written one by one as they are visited, so no intermediate tree of
+ * the whole report is built and memory use does not grow with the report size. Subclasses can add
+ * the fields of their own report type by overriding {@link #writeAdditionalFields(ScanReport,
+ * JsonGenerator)}.
+ *
+ * <p>The report is locked for the duration of the write, so probes that are still running cannot
+ * modify it halfway through.
+ */
+public class ScanReportJsonWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter valueWriter;
+
+    private final ObjectWriter resultWriter;
+
+    private final ObjectWriter containerWriter;
+
+    private final SerializerProvider serializerProvider;
+
+    /** Creates a new writer using {@link #createDefaultObjectMapper()}. */
+    public ScanReportJsonWriter() {
+        this(createDefaultObjectMapper());
+    }
+
+    /**
+     * Creates a new writer using the given mapper for all values.
+     *
+     * @param mapper the mapper serializing results, containers and the other report fields
+     */
+    public ScanReportJsonWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.valueWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.resultWriter = valueWriter.forType(TestResult.class);
+        this.containerWriter = valueWriter.forType(ExtractedValueContainer.class);
+        this.serializerProvider = mapper.getSerializerProviderInstance();
+    }
+
+    /**
+     * Creates the mapper configuration shared by all report types: Joda types are supported and
+     * beans without properties do not fail.
+     *
+     * @return a newly configured mapper
+     */
+    public static ObjectMapper createDefaultObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JodaModule());
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        return mapper;
+    }
+
+    /**
+     * Writes the report to a file. The file is written through a large buffer and compressed on the
+     * fly if requested. An existing file is overwritten.
+     *
+     * @param report the report to write
+     * @param file the file to write to
+     * @param compression the compression to apply
+     * @throws IOException if writing fails
+     */
+    public void write(ScanReport report, Path file, ReportCompression compression)
+            throws IOException {
+        try (OutputStream outputStream =
+                compression.wrap(
+                        new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            write(report, outputStream);
+        }
+    }
+
+    /**
+     * Writes the report to a stream. The stream is flushed but not closed.
+     *
+     * @param report the report to write
+     * @param outputStream the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(ScanReport report, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            synchronized (report) {
+                writeReport(report, generator);
+            }
+        }
+    }
+
+    private void writeReport(ScanReport report, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("@class", report.getClass().getName());
+
+        generator.writeObjectFieldStart("results");
+        for (Map.Entry<AnalyzedProperty, TestResult> entry : report.getResultMap().entrySet()) {
+            writeKey(entry.getKey(), generator);
+            resultWriter.writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("extractedValues");
+        for (Map.Entry<TrackableValue, ExtractedValueContainer<?>> entry :
+                report.getExtractedValueContainerMap().entrySet()) {
+            writeKey(entry.getKey(), generator);
+            containerWriter.writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+
+        writeField("guidelineReports", report.getGuidelineReports(), generator);
+        writeField("score", report.getScore(), generator);
+        writeField("scoreReport", report.getScoreReport(), generator);
+        writeField("probePerformanceData", report.getProbePerformanceData(), generator);
+        writeField("performedConnections", report.getPerformedConnections(), generator);
+        writeField("scanStartTime", report.getScanStartTime(), generator);
+        writeField("scanEndTime", report.getScanEndTime(), generator);
+        writeAdditionalFields(report, generator);
+        generator.writeEndObject();
+    }
+
+    private void writeKey(Object key, JsonGenerator generator) throws IOException {
+        JsonSerializer<Object> keySerializer =
+                serializerProvider.findKeySerializer(key.getClass(), null);
+        keySerializer.serialize(key, generator, serializerProvider);
+    }
+
+    /**
+     * Writes a single field whose value is serialized with the configured mapper.
+     *
+     * @param name the field name
+     * @param value the field value, may be null
+     * @param generator the generator to write to
+     * @throws IOException if writing fails
+     */
+    protected final void writeField(String name, Object value, JsonGenerator generator)
+            throws IOException {
+        generator.writeFieldName(name);
+        valueWriter.writeValue(generator, value);
+    }
+
+    /**
+     * Writes fields specific to a report subclass. Called inside the report object after all
+     * common fields; the default implementation writes nothing.
+     *
+     * @param report the report being written
+     * @param generator the generator to write to
+     * @throws IOException if writing fails
+     */
+    protected void writeAdditionalFields(ScanReport report, JsonGenerator generator)
+            throws IOException {}
+}
@@ -0,0 +1,101 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import java.io.IOException;
+
+/**
+ * Appends runs of spaces and dashes for report layouts. The runs are cut from shared constant
+ * strings, so padding does not allocate, whatever the width.
+ */
+public final class TextPadding {
+
+    private static final int RUN_LENGTH = 128;
+
+    private static final String SPACES = " ".repeat(RUN_LENGTH);
+
+    private static final String DASHES = "-".repeat(RUN_LENGTH);
+
+    private TextPadding() {}
+
+    /**
+     * Appends spaces.
+     *
+     * @param out the output to append to
+     * @param count the number of spaces; nothing is appended if it is not positive
+     * @throws IOException if the output cannot be written
+     */
+    public static void appendSpaces(Appendable out, int count) throws IOException {
+        appendRun(out, SPACES, count);
+    }
+
+    /**
+     * Appends dashes.
+     *
+     * @param out the output to append to
+     * @param count the number of dashes; nothing is appended if it is not positive
+     * @throws IOException if the output cannot be written
+     */
+    public static void appendDashes(Appendable out, int count) throws IOException {
+        appendRun(out, DASHES, count);
+    }
+
+    /**
+     * Appends spaces to a builder.
+     *
+     * @param builder the builder to append to
+     * @param count the number of spaces; nothing is appended if it is not positive
+     * @return the builder
+     */
+    public static StringBuilder appendSpaces(StringBuilder builder, int count) {
+        appendRun(builder, SPACES, count);
+        return builder;
+    }
+
+    /**
+     * Appends dashes to a builder.
+     *
+     * @param builder the builder to append to
+     * @param count the number of dashes; nothing is appended if it is not positive
+     * @return the builder
+     */
+    public static StringBuilder appendDashes(StringBuilder builder, int count) {
+        appendRun(builder, DASHES, count);
+        return builder;
+    }
+
+    /**
+     * Returns a string of spaces.
+     *
+     * @param count the number of spaces
+     * @return the spaces, or the empty string if count is not positive
+     */
+    public static String spaces(int count) {
+        if (count <= 0) {
+            return "";
+        }
+        return count <= RUN_LENGTH ? SPACES.substring(0, count) : " ".repeat(count);
+    }
+
+    private static void appendRun(Appendable out, String run, int count) throws IOException {
+        while (count > 0) {
+            int length = Math.min(count, RUN_LENGTH);
+            out.append(run, 0, length);
+            count -= length;
+        }
+    }
+
+    private static void appendRun(StringBuilder builder, String run, int count) {
+        while (count > 0) {
+            int length = Math.min(count, RUN_LENGTH);
+            builder.append(run, 0, length);
+            count -= length;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.aggregate;
+
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineCheckResult;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.CollectionResult;
+import de.rub.nds.scanner.core.probe.result.SummarizableTestResult;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Statistics over a set of reports. An aggregate is filled with {@link #add(ScanReport)} and
+ * partial aggregates of disjoint report sets are combined with {@link #merge(ReportAggregate)}, so
+ * that a fleet can be aggregated in parallel. Instances are not thread-safe; each thread fills its
+ * own partial aggregate.
+ *
+ * <p>Collected are, per property, how many reports have which {@link TestResults} value (other
+ * results count under their summary if they are summarizable) and, for collection results, how
+ * many reports contain each element. Across reports, the number of reports per score and per
+ * guideline the number of check results per adherence are counted.
+ */
+public class ReportAggregate {
+
+    private long reportCount;
+
+    private final Map<AnalyzedProperty, EnumMap<TestResults, Long>> resultHistograms =
+            new HashMap<>();
+
+    private final Map<AnalyzedProperty, Map<Object, Long>> elementFrequencies = new HashMap<>();
+
+    private final TreeMap<Integer, Long> scoreHistogram = new TreeMap<>();
+
+    private final Map<String, EnumMap<GuidelineAdherence, Long>> guidelineAdherence =
+            new HashMap<>();
+
+    /**
+     * Adds the statistics of a report.
+     *
+     * @param report the report to add
+     */
+    public void add(ScanReport report) {
+        reportCount++;
+        synchronized (report) {
+            for (Map.Entry<AnalyzedProperty, TestResult> entry :
+                    report.getResultMap().entrySet()) {
+                addResult(entry.getKey(), entry.getValue());
+            }
+            if (report.getScore() != null) {
+                scoreHistogram.merge(report.getScore(), 1L, Long::sum);
+            }
+            for (GuidelineReport guidelineReport : report.getGuidelineReports()) {
+                EnumMap<GuidelineAdherence, Long> counts =
+                        guidelineAdherence.computeIfAbsent(
+                                guidelineReport.getName(),
+                                name -> new EnumMap<>(GuidelineAdherence.class));
+                for (GuidelineCheckResult result : guidelineReport.getResults()) {
+                    if (result.getAdherence() != null) {
+                        counts.merge(result.getAdherence(), 1L, Long::sum);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addResult(AnalyzedProperty property, TestResult result) {
+        if (result instanceof SummarizableTestResult) {
+            TestResults summary = ((SummarizableTestResult) result).getSummarizedResult();
+            if (summary != null) {
+                resultHistograms
+                        .computeIfAbsent(property, key -> new EnumMap<>(TestResults.class))
+                        .merge(summary, 1L, Long::sum);
+            }
+        } else if (result instanceof CollectionResult) {
+            Iterable<?> collection = ((CollectionResult<?>) result).getCollection();
+            if (collection == null) {
+                return;
+            }
+            Map<Object, Long> frequencies =
+                    elementFrequencies.computeIfAbsent(property, key -> new HashMap<>());
+            Set<Object> seen = new HashSet<>();
+            for (Object element : collection) {
+                if (seen.add(element)) {
+                    frequencies.merge(element, 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the statistics of another aggregate of a disjoint set of reports. The other aggregate is
+     * not modified.
+     *
+     * @param other the aggregate to merge into this one
+     * @return this aggregate
+     */
+    public ReportAggregate merge(ReportAggregate other) {
+        reportCount += other.reportCount;
+        other.resultHistograms.forEach(
+                (property, counts) -> {
+                    EnumMap<TestResults, Long> merged =
+                            resultHistograms.computeIfAbsent(
+                                    property, key -> new EnumMap<>(TestResults.class));
+                    counts.forEach((value, count) -> merged.merge(value, count, Long::sum));
+                });
+        other.elementFrequencies.forEach(
+                (property, counts) -> {
+                    Map<Object, Long> merged =
+                            elementFrequencies.computeIfAbsent(property, key -> new HashMap<>());
+                    counts.forEach((element, count) -> merged.merge(element, count, Long::sum));
+                });
+        other.scoreHistogram.forEach(
+                (score, count) -> scoreHistogram.merge(score, count, Long::sum));
+        other.guidelineAdherence.forEach(
+                (guideline, counts) -> {
+                    EnumMap<GuidelineAdherence, Long> merged =
+                            guidelineAdherence.computeIfAbsent(
+                                    guideline, key -> new EnumMap<>(GuidelineAdherence.class));
+                    counts.forEach((adherence, count) -> merged.merge(adherence, count, Long::sum));
+                });
+        return this;
+    }
+
+    /**
+     * Returns the number of aggregated reports.
+     *
+     * @return the number of reports
+     */
+    public long getReportCount() {
+        return reportCount;
+    }
+
+    /**
+     * Returns how many reports have each result value for a property.
+     *
+     * @param property the property
+     * @return the number of reports per result value, empty if no report had a summarizable result
+     */
+    public Map<TestResults, Long> getResultHistogram(AnalyzedProperty property) {
+        Map<TestResults, Long> histogram = resultHistograms.get(property);
+        return histogram == null ? Map.of() : Collections.unmodifiableMap(histogram);
+    }
+
+    /**
+     * Returns how many reports have a property with the given result value.
+     *
+     * @param property the property
+     * @param value the result value
+     * @return the number of reports
+     */
+    public long getResultCount(AnalyzedProperty property, TestResults value) {
+        return getResultHistogram(property).getOrDefault(value, 0L);
+    }
+
+    /**
+     * Returns the share of all aggregated reports that have a property with the given result value.
+     *
+     * @param property the property
+     * @param value the result value
+     * @return the share between 0 and 1, 0 if no reports were aggregated
+     */
+    public double getResultShare(AnalyzedProperty property, TestResults value) {
+        return reportCount == 0 ? 0 : (double) getResultCount(property, value) / reportCount;
+    }
+
+    /**
+     * Returns in how many reports each element of a collection result occurs.
+     *
+     * @param property the property of the collection result
+     * @return the number of reports per element
+     */
+    public Map<Object, Long> getElementFrequencies(AnalyzedProperty property) {
+        Map<Object, Long> frequencies = elementFrequencies.get(property);
+        return frequencies == null ? Map.of() : Collections.unmodifiableMap(frequencies);
+    }
+
+    /**
+     * Returns how many reports have each score. Reports without score are not counted.
+     *
+     * @return the number of reports per score, in ascending score order
+     */
+    public Map<Integer, Long> getScoreHistogram() {
+        return Collections.unmodifiableMap(scoreHistogram);
+    }
+
+    /**
+     * Returns how many check results of a guideline have each adherence.
+     *
+     * @param guideline the name of the guideline
+     * @return the number of check results per adherence
+     */
+    public Map<GuidelineAdherence, Long> getGuidelineAdherence(String guideline) {
+        Map<GuidelineAdherence, Long> counts = guidelineAdherence.get(guideline);
+        return counts == null ? Map.of() : Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the names of all guidelines that occurred in the aggregated reports.
+     *
+     * @return the guideline names
+     */
+    public Set<String> getGuidelines() {
+        return Collections.unmodifiableSet(guidelineAdherence.keySet());
+    }
+}
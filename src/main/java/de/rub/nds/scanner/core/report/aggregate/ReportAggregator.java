@@ -0,0 +1,147 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.aggregate;
+
+import de.rub.nds.scanner.core.report.CompactReportFormat;
+import de.rub.nds.scanner.core.report.ReportProjection;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Computes {@link ReportAggregate}s over many reports in parallel. Every worker fills its own
+ * partial aggregate and the partials are merged at the end, so no locking is involved. Reports are
+ * consumed as a stream and can be dropped as soon as they are added, which allows aggregating
+ * directories that do not fit into memory.
+ */
+public final class ReportAggregator {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The parts of a report an aggregation reads. */
+    public static final ReportProjection PROJECTION =
+            ReportProjection.ALL
+                    .withTrackableValues()
+                    .withScoreReport(false)
+                    .withPerformanceData(false)
+                    .withAdditionalFields(false);
+
+    /** Loads a single report file. */
+    @FunctionalInterface
+    public interface ReportLoader {
+        /**
+         * Loads a report.
+         *
+         * @param file the report file
+         * @return the report
+         * @throws IOException if the file cannot be read
+         */
+        ScanReport load(Path file) throws IOException;
+    }
+
+    private ReportAggregator() {}
+
+    /**
+     * Returns a collector aggregating reports. On parallel streams, every worker fills its own
+     * partial aggregate and the partials are merged.
+     *
+     * @return the collector
+     */
+    public static Collector<ScanReport, ReportAggregate, ReportAggregate> collector() {
+        return Collector.of(
+                ReportAggregate::new,
+                ReportAggregate::add,
+                ReportAggregate::merge,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Aggregates reports in parallel.
+     *
+     * @param reports the reports
+     * @return the aggregate over all reports
+     */
+    public static ReportAggregate aggregate(Collection<? extends ScanReport> reports) {
+        return aggregate(reports.stream());
+    }
+
+    /**
+     * Aggregates a stream of reports in parallel.
+     *
+     * @param reports the reports, consumed by this call
+     * @return the aggregate over all reports
+     */
+    public static ReportAggregate aggregate(Stream<? extends ScanReport> reports) {
+        return reports.parallel().map(ScanReport.class::cast).collect(collector());
+    }
+
+    /**
+     * Aggregates all regular files of a directory in parallel. The directory is listed lazily and
+     * every report is released once it has been added. Files that cannot be loaded are skipped
+     * with a warning.
+     *
+     * @param directory the directory holding the reports
+     * @param loader loads a single report
+     * @return the aggregate over all readable reports
+     * @throws IOException if the directory cannot be listed
+     */
+    public static ReportAggregate aggregate(Path directory, ReportLoader loader)
+            throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return aggregate(
+                    files.filter(Files::isRegularFile)
+                            .map(file -> loadQuietly(file, loader))
+                            .filter(Objects::nonNull));
+        }
+    }
+
+    /**
+     * Aggregates a directory of reports in the {@link CompactReportFormat}. Only the results, the
+     * guideline reports and the scalar fields are materialized, see {@link #PROJECTION}.
+     *
+     * @param directory the directory holding the reports
+     * @param format the format of the reports
+     * @param reportFactory creates the empty reports the files are read into
+     * @return the aggregate over all readable reports
+     * @throws IOException if the directory cannot be listed
+     */
+    public static ReportAggregate aggregate(
+            Path directory,
+            CompactReportFormat format,
+            Supplier<? extends ScanReport> reportFactory)
+            throws IOException {
+        return aggregate(
+                directory,
+                file -> {
+                    try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                        return format.read(input, reportFactory.get(), PROJECTION);
+                    }
+                });
+    }
+
+    private static ScanReport loadQuietly(Path file, ReportLoader loader) {
+        try {
+            return loader.load(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Skipping unreadable report {}", file, e);
+            return null;
+        }
+    }
+}
@@ -10,6 +10,8 @@ package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.report.AnsiColor;
+import de.rub.nds.scanner.core.report.TextPadding;
+import java.io.IOException;
 
 /**
  * Container for displaying headlines in scanner reports. Supports different depth levels with
@@ -52,20 +54,32 @@ public class HeadlineContainer extends ReportContainer {
      */
     @Override
     public void print(StringBuilder builder, int depth, boolean useColor) {
+        writeToBuilder(builder, out -> writeHeadline(out, depth, useColor));
+    }
+
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+        } else {
+            writeHeadline(out, depth, useColor);
+        }
+    }
+
+    private void writeHeadline(Appendable out, int depth, boolean useColor) throws IOException {
         if (useColor) {
-            builder.append(AnsiColor.BOLD.getCode());
-            builder.append(getColorByDepth(depth).getCode());
+            out.append(AnsiColor.BOLD.getCode());
+            out.append(getColorByDepth(depth).getCode());
         }
         if (depth == 0) {
-            addHLine(builder);
+            addHLine(out);
         }
-        addHeadlineDepth(builder, depth);
-        builder.append(headline);
+        addHeadlineDepth(out, depth);
+        out.append(headline);
         if (useColor) {
-            builder.append(AnsiColor.RESET.getCode());
+            out.append(AnsiColor.RESET.getCode());
         }
-        builder.append("\n");
-        builder.append("\n");
+        out.append("\n\n");
     }
 
     private static AnsiColor getColorByDepth(int depth) {
@@ -92,8 +106,8 @@ public class HeadlineContainer extends ReportContainer {
         return headline;
     }
 
-    private static void addHLine(StringBuilder builder) {
-        builder.append("-".repeat(Math.max(0, NUMBER_OF_DASHES_IN_H_LINE)));
-        builder.append("\n");
+    private static void addHLine(Appendable out) throws IOException {
+        TextPadding.appendDashes(out, NUMBER_OF_DASHES_IN_H_LINE);
+        out.append('\n');
     }
 }
@@ -10,6 +10,8 @@ package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.report.AnsiColor;
+import de.rub.nds.scanner.core.report.TextPadding;
+import java.io.IOException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -55,27 +57,37 @@ public class KeyValueContainer extends ReportContainer {
      */
     @Override
     public void print(StringBuilder builder, int depth, boolean useColor) {
-        addDepth(builder, depth);
-        addColor(builder, keyColor, pad(key, PADDED_KEY_LENGTH), useColor);
-        builder.append(":    ");
-        addColor(builder, valueColor, value, useColor);
-        builder.append("\n");
+        writeToBuilder(builder, out -> writeKeyValue(out, depth, useColor));
     }
 
-    private static String pad(String text, int size) {
-        if (text == null) {
-            text = "";
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+        } else {
+            writeKeyValue(out, depth, useColor);
         }
-        if (text.length() < size) {
-            return text + " ".repeat(size - text.length());
-        } else if (text.length() > size) {
+    }
+
+    private void writeKeyValue(Appendable out, int depth, boolean useColor) throws IOException {
+        addDepth(out, depth);
+        String paddedKey = key == null ? "" : key;
+        if (paddedKey.length() > PADDED_KEY_LENGTH) {
             LOGGER.warn(
                     "KeyValue 'Key' size is bigger than PADDED_KEY_LENGTH:{} - which breaks the layout. Consider choosing a shorter name or raising PADDED_KEY_LEGNTH",
                     PADDED_KEY_LENGTH);
-            return text;
-        } else {
-            return text;
         }
+        if (useColor) {
+            out.append(keyColor.getCode());
+        }
+        out.append(paddedKey);
+        TextPadding.appendSpaces(out, PADDED_KEY_LENGTH - paddedKey.length());
+        if (useColor) {
+            out.append(AnsiColor.RESET.getCode());
+        }
+        out.append(":    ");
+        addColor(out, valueColor, value, useColor);
+        out.append('\n');
     }
 
     /**
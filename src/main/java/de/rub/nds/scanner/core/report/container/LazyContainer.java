@@ -0,0 +1,101 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.container;
+
+import de.rub.nds.scanner.core.config.ScannerDetail;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Container whose content is only built when it is rendered in a sufficiently detailed report. The
+ * supplier is not invoked at all if the report detail is below the detail of this container, and
+ * at most once otherwise.
+ */
+public class LazyContainer extends ReportContainer {
+
+    private final ScannerDetail reportDetail;
+
+    private Supplier<? extends ReportContainer> supplier;
+
+    private ReportContainer content;
+
+    /**
+     * Creates a new LazyContainer.
+     *
+     * @param detail The detail level needed to show this container
+     * @param reportDetail The detail level of the report this container is part of
+     * @param supplier Builds the content of this container
+     */
+    public LazyContainer(
+            ScannerDetail detail,
+            ScannerDetail reportDetail,
+            Supplier<? extends ReportContainer> supplier) {
+        super(detail);
+        this.reportDetail = reportDetail;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Prints the content to the provided StringBuilder, if it is shown at the report detail level.
+     *
+     * @param builder The StringBuilder to append the output to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     */
+    @Override
+    public void print(StringBuilder builder, int depth, boolean useColor) {
+        ReportContainer resolved = getContent();
+        if (resolved != null) {
+            resolved.print(builder, depth, useColor);
+        }
+    }
+
+    /**
+     * Writes the content to the provided output, if it is shown at the report detail level.
+     *
+     * @param out The output to write to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     * @throws IOException If the output cannot be written
+     */
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+            return;
+        }
+        ReportContainer resolved = getContent();
+        if (resolved != null) {
+            resolved.write(out, depth, useColor);
+        }
+    }
+
+    /**
+     * Gets the content of this container, building it on the first call.
+     *
+     * @return The content, or null if it is not shown at the report detail level or the supplier
+     *     returned null
+     */
+    public ReportContainer getContent() {
+        if (supplier != null && isShownAt(reportDetail)) {
+            content = supplier.get();
+            supplier = null;
+        }
+        return content;
+    }
+
+    /**
+     * Gets the detail level of the report this container is part of.
+     *
+     * @return The report detail level
+     */
+    public ScannerDetail getReportDetail() {
+        return reportDetail;
+    }
+}
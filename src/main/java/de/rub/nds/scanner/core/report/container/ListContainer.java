@@ -9,6 +9,7 @@
 package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -77,6 +78,25 @@ public class ListContainer extends ReportContainer {
                 container -> container.print(builder, depth + depthIncrease, useColor));
     }
 
+    /**
+     * Writes all contained report containers to the provided output, one after the other.
+     *
+     * @param out The output to write to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     * @throws IOException If the output cannot be written
+     */
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+            return;
+        }
+        for (ReportContainer container : reportContainerList) {
+            container.write(out, depth + depthIncrease, useColor);
+        }
+    }
+
     /**
      * Adds a report container to this list.
      *
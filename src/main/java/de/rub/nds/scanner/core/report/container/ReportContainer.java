@@ -10,13 +10,56 @@ package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.report.AnsiColor;
+import de.rub.nds.scanner.core.report.TextPadding;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
 
 /**
  * Abstract base class for all report containers in the scanner framework. Provides common
  * functionality for printing formatted reports with indentation and color support.
+ *
+ * <p>Containers can either be printed into a StringBuilder or written to any {@link Appendable},
+ * such as a {@link java.io.Writer}. The containers of this package write their output piece by
+ * piece, so a report can be streamed to a file without holding its text in memory.
+ *
+ * <p>Subclasses only need to override {@link #print(StringBuilder, int, boolean)}. Overriding
+ * {@link #write(Appendable, int, boolean)} as well lets them stream their output too. A subclass of
+ * one of the containers of this package that overrides print() but not write() is written through
+ * its print() method, so it renders the same whether the report is printed or written.
  */
 public abstract class ReportContainer {
 
+    /** Whether a container class overrides print() below the class its write() comes from. */
+    private static final ClassValue<Boolean> PRINT_OVERRIDDEN =
+            new ClassValue<>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    return isOverriddenBelow(type, "print", "write");
+                }
+            };
+
+    /** Like {@link #PRINT_OVERRIDDEN}, for the println() methods of texts and tables. */
+    private static final ClassValue<Boolean> PRINTLN_OVERRIDDEN =
+            new ClassValue<>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    return isOverriddenBelow(type, "println", "println");
+                }
+            };
+
+    /** Writes the content of a container to an output. */
+    @FunctionalInterface
+    protected interface ContentWriter {
+        /**
+         * Writes the content.
+         *
+         * @param out The output to write to
+         * @throws IOException If the output cannot be written
+         */
+        void write(Appendable out) throws IOException;
+    }
+
     private final ScannerDetail detail;
 
     /**
@@ -37,6 +80,84 @@ public abstract class ReportContainer {
      */
     public abstract void print(StringBuilder builder, int depth, boolean useColor);
 
+    /**
+     * Writes this container's content to the provided output. Containers that do not override
+     * this method, or that override print() below the class overriding it, are printed into a
+     * StringBuilder first, which is then appended as a whole.
+     *
+     * @param out The output to write to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     * @throws IOException If the output cannot be written
+     */
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        print(builder, depth, useColor);
+        out.append(builder);
+    }
+
+    /**
+     * Prints content into a StringBuilder with a writer that is also used to implement {@link
+     * #write(Appendable, int, boolean)}. The writer must not call write() itself, as write() may
+     * call back into print().
+     *
+     * @param builder The StringBuilder to append the output to
+     * @param writer Writes the content
+     */
+    protected static void writeToBuilder(StringBuilder builder, ContentWriter writer) {
+        try {
+            writer.write(builder);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether the class of this container overrides {@link #print(StringBuilder, int,
+     * boolean)} in a subclass of the class its {@link #write(Appendable, int, boolean)} comes
+     * from. Containers overriding write() use this to render such subclasses through their print()
+     * method instead.
+     *
+     * @return true if write() should fall back to print()
+     */
+    protected final boolean isPrintOverridden() {
+        return PRINT_OVERRIDDEN.get(getClass());
+    }
+
+    /**
+     * Checks whether the class of this text or table container overrides the println() method
+     * taking a StringBuilder in a subclass of the class its println() method taking an Appendable
+     * comes from.
+     *
+     * @return true if println() for an Appendable should fall back to the StringBuilder variant
+     */
+    final boolean isPrintlnOverridden() {
+        return PRINTLN_OVERRIDDEN.get(getClass());
+    }
+
+    /**
+     * Checks whether the given method taking a StringBuilder is declared in a strict subclass of
+     * the class declaring the given method taking an Appendable. Both take the depth and color flag
+     * as further parameters.
+     *
+     * @param type The container class
+     * @param printName The name of the StringBuilder method
+     * @param writeName The name of the Appendable method
+     * @return true if the StringBuilder method is overridden below the Appendable method
+     */
+    private static boolean isOverriddenBelow(Class<?> type, String printName, String writeName) {
+        try {
+            Method print = type.getMethod(printName, StringBuilder.class, int.class, boolean.class);
+            Method write = type.getMethod(writeName, Appendable.class, int.class, boolean.class);
+            Class<?> printClass = print.getDeclaringClass();
+            Class<?> writeClass = write.getDeclaringClass();
+            return printClass != writeClass && writeClass.isAssignableFrom(printClass);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Container methods not found in " + type, e);
+        }
+    }
+
     /**
      * Adds indentation spaces based on the specified depth. Each depth level adds two spaces.
      *
@@ -45,8 +166,18 @@ public abstract class ReportContainer {
      * @return The modified StringBuilder for method chaining
      */
     protected StringBuilder addDepth(StringBuilder builder, int depth) {
-        builder.append("  ".repeat(Math.max(0, depth)));
-        return builder;
+        return TextPadding.appendSpaces(builder, 2 * depth);
+    }
+
+    /**
+     * Adds indentation spaces based on the specified depth. Each depth level adds two spaces.
+     *
+     * @param out The output to append to
+     * @param depth The indentation depth level
+     * @throws IOException If the output cannot be written
+     */
+    protected void addDepth(Appendable out, int depth) throws IOException {
+        TextPadding.appendSpaces(out, 2 * depth);
     }
 
     /**
@@ -58,13 +189,28 @@ public abstract class ReportContainer {
      * @return The modified StringBuilder for method chaining
      */
     protected StringBuilder addHeadlineDepth(StringBuilder builder, int depth) {
-        builder.append("--".repeat(Math.max(0, depth)));
+        TextPadding.appendDashes(builder, 2 * depth);
         if (depth > 0) {
             builder.append("|");
         }
         return builder;
     }
 
+    /**
+     * Adds headline-specific indentation based on the specified depth. Uses dashes and pipes for
+     * visual hierarchy.
+     *
+     * @param out The output to append to
+     * @param depth The indentation depth level
+     * @throws IOException If the output cannot be written
+     */
+    protected void addHeadlineDepth(Appendable out, int depth) throws IOException {
+        TextPadding.appendDashes(out, 2 * depth);
+        if (depth > 0) {
+            out.append('|');
+        }
+    }
+
     /**
      * Adds colored text to the StringBuilder if color is enabled.
      *
@@ -84,6 +230,24 @@ public abstract class ReportContainer {
         return builder;
     }
 
+    /**
+     * Adds colored text to the output if color is enabled.
+     *
+     * @param out The output to append to
+     * @param color The ANSI color to apply
+     * @param text The text to colorize
+     * @param useColor Whether to apply color codes
+     * @throws IOException If the output cannot be written
+     */
+    protected void addColor(Appendable out, AnsiColor color, String text, boolean useColor)
+            throws IOException {
+        if (useColor) {
+            out.append(color.getCode()).append(text).append(AnsiColor.RESET.getCode());
+        } else {
+            out.append(text);
+        }
+    }
+
     /**
      * Gets the detail level for this container.
      *
@@ -92,4 +256,15 @@ public abstract class ReportContainer {
     public ScannerDetail getDetail() {
         return detail;
     }
+
+    /**
+     * Checks whether this container belongs in a report of the given detail level, that is
+     * whether the report is at least as detailed as this container.
+     *
+     * @param reportDetail The detail level of the report being rendered
+     * @return true if this container should be rendered at the given detail level
+     */
+    public boolean isShownAt(ScannerDetail reportDetail) {
+        return detail == null || reportDetail.isGreaterEqualTo(detail);
+    }
 }
@@ -9,7 +9,9 @@
 package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
-import java.util.ArrayList;
+import de.rub.nds.scanner.core.report.TextPadding;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -25,6 +27,15 @@ public class TableContainer extends ReportContainer {
 
     private int depthIncrease;
 
+    /** Widest cell per column, covering the rows added through {@link #addLineToTable(List)}. */
+    private int[] rowWidths = new int[0];
+
+    /**
+     * Set once the row list was handed out or replaced, since the rows may then change without the
+     * table noticing. The widths are recomputed at every print from then on.
+     */
+    private boolean rowsShared;
+
     /** Creates a new empty TableContainer with normal detail level and no depth increase. */
     public TableContainer() {
         super(ScannerDetail.NORMAL);
@@ -76,7 +87,17 @@ public class TableContainer extends ReportContainer {
     @Override
     public void print(StringBuilder builder, int depth, boolean useColor) {
         println(builder, depth, useColor);
-        builder.append("\n");
+        builder.append('\n');
+    }
+
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+        } else {
+            println(out, depth, useColor);
+            out.append('\n');
+        }
     }
 
     /**
@@ -88,68 +109,107 @@ public class TableContainer extends ReportContainer {
      * @param useColor Whether to use ANSI color codes in the output
      */
     public void println(StringBuilder builder, int depth, boolean useColor) {
-        List<Integer> paddings = getColumnPaddings();
-        printTableLine(headlineList, paddings, builder, depth, useColor);
-        printStripline(paddings, builder, depth);
+        writeToBuilder(builder, out -> writeTable(out, depth, useColor));
+    }
+
+    /**
+     * Writes the table to the provided output without a trailing newline. Includes headers,
+     * separator line, and all data rows with proper column alignment. Subclasses that only
+     * override {@link #println(StringBuilder, int, boolean)} are written through that method.
+     *
+     * @param out The output to write to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     * @throws IOException If the output cannot be written
+     */
+    public void println(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintlnOverridden()) {
+            StringBuilder builder = new StringBuilder();
+            println(builder, depth, useColor);
+            out.append(builder);
+        } else {
+            writeTable(out, depth, useColor);
+        }
+    }
+
+    private void writeTable(Appendable out, int depth, boolean useColor) throws IOException {
+        int[] paddings = getColumnPaddings();
+        printTableLine(headlineList, paddings, out, depth, useColor);
+        printStripline(paddings, out, depth);
         for (List<TextContainer> containerLine : containerTable) {
-            printTableLine(containerLine, paddings, builder, depth, useColor);
+            printTableLine(containerLine, paddings, out, depth, useColor);
         }
     }
 
     /**
-     * Calculates the padding for each column of the table. Needed to properly align table entries.
+     * Gets the padding for each column of the table. Needed to properly align table entries. Rows
+     * added through {@link #addLineToTable(List)} are measured as they are added, so only the
+     * headlines are measured here, unless the rows were handed out or replaced.
      *
-     * @return padding A list containing the paddings for each column.
+     * @return padding An array containing the paddings for each column.
      */
-    private List<Integer> getColumnPaddings() {
-        List<Integer> paddings = new ArrayList<>(headlineList.size());
-        for (int i = 0; i < headlineList.size(); i++) {
-            paddings.add(i, headlineList.get(i).getText().length());
-        }
-        for (List<TextContainer> line : containerTable) {
-            for (int i = 0; i < line.size(); i++) {
-                paddings.set(i, Math.max(paddings.get(i), line.get(i).getText().length()));
+    private int[] getColumnPaddings() {
+        int[] paddings;
+        if (rowsShared) {
+            paddings = new int[0];
+            for (List<TextContainer> line : containerTable) {
+                paddings = measure(paddings, line);
             }
+        } else {
+            paddings = rowWidths.clone();
+        }
+        if (headlineList != null) {
+            paddings = measure(paddings, headlineList);
         }
         return paddings;
     }
 
-    private static void pad(StringBuilder builder, int n) {
-        builder.append(" ".repeat(Math.max(0, n)));
+    private static int[] measure(int[] widths, List<TextContainer> line) {
+        if (line.size() > widths.length) {
+            widths = Arrays.copyOf(widths, line.size());
+        }
+        int i = 0;
+        for (TextContainer cell : line) {
+            if (cell != null) {
+                widths[i] = Math.max(widths[i], cell.getText().length());
+            }
+            i++;
+        }
+        return widths;
     }
 
     private void printTableLine(
-            List<TextContainer> line,
-            List<Integer> paddings,
-            StringBuilder builder,
-            int depth,
-            boolean useColor) {
-        addDepth(builder, depth);
+            List<TextContainer> line, int[] paddings, Appendable out, int depth, boolean useColor)
+            throws IOException {
+        addDepth(out, depth);
         for (int i = 0; i < line.size(); i++) {
             TextContainer container = line.get(i);
-            int paddingSpaces = paddings.get(i) - container.getText().length();
-            pad(builder, paddingSpaces);
-            container.println(builder, 0, useColor);
-            builder.append(" | ");
+            TextPadding.appendSpaces(out, paddings[i] - container.getText().length());
+            container.println(out, 0, useColor);
+            out.append(" | ");
         }
-        builder.append("\n");
+        out.append('\n');
     }
 
-    private void printStripline(List<Integer> paddings, StringBuilder builder, int depth) {
-        addDepth(builder, depth);
-        for (Integer padding : paddings) {
-            builder.append("-".repeat(padding));
-            builder.append(" | ");
+    private void printStripline(int[] paddings, Appendable out, int depth) throws IOException {
+        addDepth(out, depth);
+        for (int i = 0; i < headlineList.size(); i++) {
+            TextPadding.appendDashes(out, paddings[i]);
+            out.append(" | ");
         }
-        builder.append("\n");
+        out.append('\n');
     }
 
     /**
-     * Adds a new row to the table.
+     * Adds a new row to the table. The row is measured when it is added, so it should not be
+     * changed afterwards other than through {@link #getContainerTable()}.
      *
      * @param line A list of TextContainers representing the cells in the row
      */
     public void addLineToTable(List<TextContainer> line) {
+        if (!rowsShared) {
+            rowWidths = measure(rowWidths, line);
+        }
         this.containerTable.add(line);
     }
 
@@ -172,20 +232,23 @@ public class TableContainer extends ReportContainer {
     }
 
     /**
-     * Gets the table data as a list of rows.
+     * Gets the table data as a list of rows. The list may be changed; the table then measures all
+     * rows whenever it is printed.
      *
      * @return The list of rows, where each row is a list of TextContainers
      */
     public List<List<TextContainer>> getContainerTable() {
+        rowsShared = true;
         return containerTable;
     }
 
     /**
-     * Sets the table data.
+     * Sets the table data. The table measures all rows whenever it is printed afterwards.
      *
      * @param containerTable The list of rows, where each row is a list of TextContainers
      */
     public void setContainerTable(List<List<TextContainer>> containerTable) {
+        rowsShared = true;
         this.containerTable = containerTable;
     }
 
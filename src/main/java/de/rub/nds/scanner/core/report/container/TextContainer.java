@@ -10,6 +10,7 @@ package de.rub.nds.scanner.core.report.container;
 
 import de.rub.nds.scanner.core.config.ScannerDetail;
 import de.rub.nds.scanner.core.report.AnsiColor;
+import java.io.IOException;
 
 /**
  * Container for displaying simple text in scanner reports. Supports colored text output with
@@ -55,7 +56,17 @@ public class TextContainer extends ReportContainer {
     @Override
     public void print(StringBuilder builder, int depth, boolean useColor) {
         println(builder, depth, useColor);
-        builder.append("\n");
+        builder.append('\n');
+    }
+
+    @Override
+    public void write(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintOverridden()) {
+            super.write(out, depth, useColor);
+        } else {
+            println(out, depth, useColor);
+            out.append('\n');
+        }
     }
 
     /**
@@ -70,6 +81,26 @@ public class TextContainer extends ReportContainer {
         addColor(builder, color, text, useColor);
     }
 
+    /**
+     * Writes the text to the provided output without a trailing newline. Subclasses that only
+     * override {@link #println(StringBuilder, int, boolean)} are written through that method.
+     *
+     * @param out The output to write to
+     * @param depth The indentation depth level
+     * @param useColor Whether to use ANSI color codes in the output
+     * @throws IOException If the output cannot be written
+     */
+    public void println(Appendable out, int depth, boolean useColor) throws IOException {
+        if (isPrintlnOverridden()) {
+            StringBuilder builder = new StringBuilder();
+            println(builder, depth, useColor);
+            out.append(builder);
+        } else {
+            addDepth(out, depth);
+            addColor(out, color, text, useColor);
+        }
+    }
+
     /**
      * Gets the text content.
      *
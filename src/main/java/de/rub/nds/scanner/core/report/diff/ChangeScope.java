@@ -0,0 +1,21 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+/** The part of a report a {@link ReportChange} refers to. */
+public enum ChangeScope {
+    /** A test result, keyed by its analyzed property. */
+    RESULT,
+    /** An extracted value container, keyed by its trackable value. */
+    EXTRACTED_VALUES,
+    /** The score of the report, without key. */
+    SCORE,
+    /** The adherence of a guideline check, keyed by guideline and check name. */
+    GUIDELINE_CHECK
+}
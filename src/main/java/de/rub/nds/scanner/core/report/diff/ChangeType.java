@@ -0,0 +1,19 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+/** The kind of difference a {@link ReportChange} describes. */
+public enum ChangeType {
+    /** The entry exists only in the newer report. */
+    ADDED,
+    /** The entry exists only in the older report. */
+    REMOVED,
+    /** The entry exists in both reports with different values. */
+    MODIFIED
+}
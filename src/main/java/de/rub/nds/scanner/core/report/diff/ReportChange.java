@@ -0,0 +1,104 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+import java.util.Objects;
+
+/**
+ * A single difference between two reports. The values are references into the compared reports
+ * (or the adherence of a guideline check), nothing is copied.
+ */
+public final class ReportChange {
+
+    private final ChangeScope scope;
+    private final ChangeType type;
+    private final Object key;
+    private final Object before;
+    private final Object after;
+
+    ReportChange(ChangeScope scope, ChangeType type, Object key, Object before, Object after) {
+        this.scope = scope;
+        this.type = type;
+        this.key = key;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Returns the part of the report that changed.
+     *
+     * @return the scope of the change
+     */
+    public ChangeScope getScope() {
+        return scope;
+    }
+
+    /**
+     * Returns whether the entry was added, removed or modified.
+     *
+     * @return the type of the change
+     */
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the key of the changed entry: the analyzed property of a result, the trackable value
+     * of a container, "guideline/check" for guideline checks and null for the score.
+     *
+     * @return the key of the changed entry
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the value in the older report.
+     *
+     * @return the old value, null if the entry was added
+     */
+    public Object getBefore() {
+        return before;
+    }
+
+    /**
+     * Returns the value in the newer report.
+     *
+     * @return the new value, null if the entry was removed
+     */
+    public Object getAfter() {
+        return after;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportChange)) {
+            return false;
+        }
+        ReportChange that = (ReportChange) o;
+        return scope == that.scope
+                && type == that.type
+                && Objects.equals(key, that.key)
+                && Objects.equals(before, that.before)
+                && Objects.equals(after, that.after);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, type, key, before, after);
+    }
+
+    @Override
+    public String toString() {
+        return scope + " " + type + " " + key + ": " + before + " -> " + after;
+    }
+}
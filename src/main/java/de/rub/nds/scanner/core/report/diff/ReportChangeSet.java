@@ -0,0 +1,79 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** The differences between two reports, in the order results, containers, score, guidelines. */
+public final class ReportChangeSet {
+
+    private static final ReportChangeSet EMPTY = new ReportChangeSet(List.of());
+
+    private final List<ReportChange> changes;
+
+    private ReportChangeSet(List<ReportChange> changes) {
+        this.changes = changes;
+    }
+
+    static ReportChangeSet of(List<ReportChange> changes) {
+        return changes == null || changes.isEmpty()
+                ? EMPTY
+                : new ReportChangeSet(Collections.unmodifiableList(changes));
+    }
+
+    /**
+     * Checks whether the reports are equivalent.
+     *
+     * @return true if there are no changes
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Returns the number of changes.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Returns all changes.
+     *
+     * @return an unmodifiable list of the changes
+     */
+    public List<ReportChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns the changes of one part of the report.
+     *
+     * @param scope the part of the report
+     * @return the changes in that part
+     */
+    public List<ReportChange> getChanges(ChangeScope scope) {
+        List<ReportChange> scoped = new ArrayList<>();
+        for (ReportChange change : changes) {
+            if (change.getScope() == scope) {
+                scoped.add(change);
+            }
+        }
+        return scoped;
+    }
+
+    @Override
+    public String toString() {
+        return changes.toString();
+    }
+}
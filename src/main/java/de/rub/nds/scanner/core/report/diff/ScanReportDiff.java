@@ -0,0 +1,409 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineCheckResult;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.CollectionResult;
+import de.rub.nds.scanner.core.probe.result.DetailedResult;
+import de.rub.nds.scanner.core.probe.result.MapResult;
+import de.rub.nds.scanner.core.probe.result.NotApplicableResult;
+import de.rub.nds.scanner.core.probe.result.ObjectResult;
+import de.rub.nds.scanner.core.probe.result.SummarizableTestResult;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Structural comparison of two reports. Results are compared property by property by value, the
+ * way {@link TestResult#equalsExpectedResult(TestResult)} is meant to compare them; collection
+ * results are compared as sets. Extracted value containers are compared as multisets of their
+ * values, score and guideline checks by value and adherence.
+ *
+ * <p>The comparison only reads the reports; they must not be modified while being compared.
+ * Nothing is allocated for unchanged entries apart from the lookup structures of guideline checks
+ * and extracted values whose order changed.
+ */
+public final class ScanReportDiff {
+
+    private static final ClassValue<Boolean> HASHED_BY_VALUE =
+            new ClassValue<>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    if (type == byte[].class || Object[].class.isAssignableFrom(type)) {
+                        return true;
+                    }
+                    try {
+                        return type.getMethod("hashCode").getDeclaringClass() != Object.class;
+                    } catch (NoSuchMethodException e) {
+                        return false;
+                    }
+                }
+            };
+
+    private ScanReportDiff() {}
+
+    /**
+     * Compares two reports.
+     *
+     * @param before the older report
+     * @param after the newer report
+     * @return the changes from the older to the newer report
+     */
+    public static ReportChangeSet diff(ScanReport before, ScanReport after) {
+        List<ReportChange> changes = null;
+        changes = diffResults(before.getResultMap(), after.getResultMap(), changes);
+        changes =
+                diffContainers(
+                        before.getExtractedValueContainerMap(),
+                        after.getExtractedValueContainerMap(),
+                        changes);
+        if (!Objects.equals(before.getScore(), after.getScore())) {
+            changes =
+                    add(
+                            changes,
+                            ChangeScope.SCORE,
+                            typeOf(before.getScore(), after.getScore()),
+                            null,
+                            before.getScore(),
+                            after.getScore());
+        }
+        changes =
+                diffGuidelines(
+                        before.getGuidelineReports(), after.getGuidelineReports(), changes);
+        return ReportChangeSet.of(changes);
+    }
+
+    /**
+     * Compares many report pairs in parallel.
+     *
+     * @param before the older reports
+     * @param after the newer reports, paired with the older reports by position
+     * @return the change sets in the order of the pairs
+     */
+    public static List<ReportChangeSet> diffAll(
+            List<? extends ScanReport> before, List<? extends ScanReport> after) {
+        if (before.size() != after.size()) {
+            throw new IllegalArgumentException(
+                    "Cannot pair " + before.size() + " with " + after.size() + " reports");
+        }
+        return IntStream.range(0, before.size())
+                .parallel()
+                .mapToObj(i -> diff(before.get(i), after.get(i)))
+                .toList();
+    }
+
+    private static List<ReportChange> diffResults(
+            Map<AnalyzedProperty, TestResult> before,
+            Map<AnalyzedProperty, TestResult> after,
+            List<ReportChange> changes) {
+        for (Map.Entry<AnalyzedProperty, TestResult> entry : before.entrySet()) {
+            TestResult newResult = after.get(entry.getKey());
+            if (newResult == null) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.RESULT,
+                                ChangeType.REMOVED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                null);
+            } else if (!sameResult(entry.getValue(), newResult)) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.RESULT,
+                                ChangeType.MODIFIED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                newResult);
+            }
+        }
+        for (Map.Entry<AnalyzedProperty, TestResult> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.RESULT,
+                                ChangeType.ADDED,
+                                entry.getKey(),
+                                null,
+                                entry.getValue());
+            }
+        }
+        return changes;
+    }
+
+    private static List<ReportChange> diffContainers(
+            Map<TrackableValue, ExtractedValueContainer<?>> before,
+            Map<TrackableValue, ExtractedValueContainer<?>> after,
+            List<ReportChange> changes) {
+        for (Map.Entry<TrackableValue, ExtractedValueContainer<?>> entry : before.entrySet()) {
+            ExtractedValueContainer<?> newContainer = after.get(entry.getKey());
+            if (newContainer == null) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.EXTRACTED_VALUES,
+                                ChangeType.REMOVED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                null);
+            } else if (!sameSummary(entry.getValue(), newContainer)) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.EXTRACTED_VALUES,
+                                ChangeType.MODIFIED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                newContainer);
+            }
+        }
+        for (Map.Entry<TrackableValue, ExtractedValueContainer<?>> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.EXTRACTED_VALUES,
+                                ChangeType.ADDED,
+                                entry.getKey(),
+                                null,
+                                entry.getValue());
+            }
+        }
+        return changes;
+    }
+
+    private static List<ReportChange> diffGuidelines(
+            List<GuidelineReport> before, List<GuidelineReport> after, List<ReportChange> changes) {
+        if (before.isEmpty() && after.isEmpty()) {
+            return changes;
+        }
+        Map<String, GuidelineAdherence> oldAdherence = adherenceByCheck(before);
+        Map<String, GuidelineAdherence> newAdherence = adherenceByCheck(after);
+        for (Map.Entry<String, GuidelineAdherence> entry : oldAdherence.entrySet()) {
+            if (!newAdherence.containsKey(entry.getKey())) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.GUIDELINE_CHECK,
+                                ChangeType.REMOVED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                null);
+            } else if (newAdherence.get(entry.getKey()) != entry.getValue()) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.GUIDELINE_CHECK,
+                                ChangeType.MODIFIED,
+                                entry.getKey(),
+                                entry.getValue(),
+                                newAdherence.get(entry.getKey()));
+            }
+        }
+        for (Map.Entry<String, GuidelineAdherence> entry : newAdherence.entrySet()) {
+            if (!oldAdherence.containsKey(entry.getKey())) {
+                changes =
+                        add(
+                                changes,
+                                ChangeScope.GUIDELINE_CHECK,
+                                ChangeType.ADDED,
+                                entry.getKey(),
+                                null,
+                                entry.getValue());
+            }
+        }
+        return changes;
+    }
+
+    private static Map<String, GuidelineAdherence> adherenceByCheck(
+            List<GuidelineReport> reports) {
+        Map<String, GuidelineAdherence> adherence = new HashMap<>();
+        for (GuidelineReport report : reports) {
+            for (GuidelineCheckResult result : report.getResults()) {
+                adherence.put(
+                        report.getName() + "/" + result.getCheckName(), result.getAdherence());
+            }
+        }
+        return adherence;
+    }
+
+    /**
+     * Compares two results by value. A summarizable result is equal to the {@link TestResults}
+     * constant it summarizes to, collection results are compared as sets and results of other
+     * types fall back to {@link TestResult#equalsExpectedResult(TestResult)}.
+     *
+     * @param before the older result, may be null
+     * @param after the newer result, may be null
+     * @return true if both results carry the same information
+     */
+    public static boolean sameResult(TestResult before, TestResult after) {
+        if (before == after) {
+            return true;
+        }
+        if (before == null || after == null) {
+            return false;
+        }
+        if (before.getClass() != after.getClass()) {
+            if (before instanceof TestResults && after instanceof SummarizableTestResult) {
+                return ((SummarizableTestResult) after).getSummarizedResult() == before;
+            }
+            if (after instanceof TestResults && before instanceof SummarizableTestResult) {
+                return ((SummarizableTestResult) before).getSummarizedResult() == after;
+            }
+            return false;
+        }
+        if (before instanceof CollectionResult) {
+            return sameElements(
+                    ((CollectionResult<?>) before).getCollection(),
+                    ((CollectionResult<?>) after).getCollection());
+        }
+        if (before instanceof MapResult) {
+            return Objects.equals(
+                    ((MapResult<?, ?>) before).getMap(), ((MapResult<?, ?>) after).getMap());
+        }
+        if (before instanceof ObjectResult) {
+            return Objects.deepEquals(
+                    ((ObjectResult<?>) before).getValue(), ((ObjectResult<?>) after).getValue());
+        }
+        if (before instanceof DetailedResult) {
+            DetailedResult<?> detailedBefore = (DetailedResult<?>) before;
+            DetailedResult<?> detailedAfter = (DetailedResult<?>) after;
+            return detailedBefore.getSummarizedResult() == detailedAfter.getSummarizedResult()
+                    && Objects.equals(detailedBefore.getDetails(), detailedAfter.getDetails());
+        }
+        if (before instanceof NotApplicableResult) {
+            return Objects.equals(
+                    ((NotApplicableResult) before).getReason(),
+                    ((NotApplicableResult) after).getReason());
+        }
+        return before.equalsExpectedResult(after);
+    }
+
+    private static boolean sameElements(Collection<?> before, Collection<?> after) {
+        if (before == null || after == null) {
+            return before == after;
+        }
+        if (before instanceof Set && after instanceof Set) {
+            return before.equals(after);
+        }
+        // Equal lists are equal sets; only fall back to hashing when the order differs
+        if (before instanceof List && after instanceof List && before.equals(after)) {
+            return true;
+        }
+        Set<?> beforeSet = before instanceof Set ? (Set<?>) before : new HashSet<>(before);
+        Set<?> afterSet = after instanceof Set ? (Set<?>) after : new HashSet<>(after);
+        return beforeSet.equals(afterSet);
+    }
+
+    private static boolean sameSummary(
+            ExtractedValueContainer<?> before, ExtractedValueContainer<?> after) {
+        if (before.getNumberOfExtractedValues() != after.getNumberOfExtractedValues()) {
+            return false;
+        }
+        List<?> beforeValues = before.getExtractedValueList();
+        List<?> afterValues = after.getExtractedValueList();
+        return sameInOrder(beforeValues, afterValues) || sameValues(beforeValues, afterValues);
+    }
+
+    private static boolean sameInOrder(List<?> before, List<?> after) {
+        Iterator<?> afterIterator = after.iterator();
+        for (Object value : before) {
+            if (!Objects.deepEquals(value, afterIterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Compares two lists of the same size as multisets. */
+    private static boolean sameValues(List<?> before, List<?> after) {
+        Map<Integer, List<Object>> hashedValues = new HashMap<>();
+        List<Object> unhashedValues = new ArrayList<>();
+        for (Object value : after) {
+            if (hasValueHash(value)) {
+                hashedValues
+                        .computeIfAbsent(valueHash(value), hash -> new ArrayList<>())
+                        .add(value);
+            } else {
+                unhashedValues.add(value);
+            }
+        }
+        for (Object value : before) {
+            List<Object> candidates =
+                    hasValueHash(value) ? hashedValues.get(valueHash(value)) : unhashedValues;
+            if (candidates == null || !removeEqual(candidates, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean removeEqual(List<Object> candidates, Object value) {
+        for (Iterator<Object> iterator = candidates.iterator(); iterator.hasNext(); ) {
+            if (Objects.deepEquals(iterator.next(), value)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int valueHash(Object value) {
+        if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        }
+        if (value instanceof Object[]) {
+            return Arrays.deepHashCode((Object[]) value);
+        }
+        return Objects.hashCode(value);
+    }
+
+    private static boolean hasValueHash(Object value) {
+        return value == null || HASHED_BY_VALUE.get(value.getClass());
+    }
+
+    private static ChangeType typeOf(Object before, Object after) {
+        if (before == null) {
+            return ChangeType.ADDED;
+        }
+        return after == null ? ChangeType.REMOVED : ChangeType.MODIFIED;
+    }
+
+    private static List<ReportChange> add(
+            List<ReportChange> changes,
+            ChangeScope scope,
+            ChangeType type,
+            Object key,
+            Object before,
+            Object after) {
+        if (changes == null) {
+            changes = new ArrayList<>();
+        }
+        changes.add(new ReportChange(scope, type, key, before, after));
+        return changes;
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Rates many reports against one set of {@link RatingInfluencers}. The influencers are compiled
+ * into a dense table with one cell per property and {@link TestResults} value, holding the score
+ * delta and score cap of that combination. Rating a report then costs one hash lookup and one
+ * array access per result, and instances can be shared between threads.
+ *
+ * <p>The rating is the one of {@link SiteReportRater#getScoreReport(Map)}: the influences of all
+ * results with an influencer are summed, and the score is then lowered to the lowest score cap it
+ * reaches. Results that are not {@link TestResults} are matched against the influencers on every
+ * call. The influencers must not be changed after the rater has been created.
+ */
+public final class BatchRater {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final TestResults[] RESULTS = TestResults.values();
+
+    /** Influencers in catalogue order, one per property. */
+    private final RatingInfluencer[] influencers;
+
+    /** For each property, the index of its influencer in {@link #influencers}. */
+    private final Map<AnalyzedProperty, Integer> slots;
+
+    /**
+     * The influencer matching each property and result, at {@code slot * RESULTS.length +
+     * ordinal}. Null if the result has to be matched on every call.
+     */
+    private final PropertyResultRatingInfluencer[] cells;
+
+    private final int[] deltas;
+
+    private final int[] caps;
+
+    private final boolean[] capped;
+
+    /** Per property, the lowest and highest influence any result can have. */
+    private final int[] minDeltas;
+
+    private final int[] maxDeltas;
+
+    /** Per property, the lowest score cap any result can apply, or Integer.MAX_VALUE. */
+    private final int[] minCaps;
+
+    /**
+     * Compiles the rating influencers. A property listed several times keeps the position of its
+     * first influencer but is rated by its last one, as in {@link SiteReportRater}.
+     *
+     * @param ratingInfluencers the rating influencers
+     */
+    public BatchRater(RatingInfluencers ratingInfluencers) {
+        List<RatingInfluencer> ordered = new ArrayList<>();
+        slots = new HashMap<>();
+        for (RatingInfluencer ratingInfluencer : ratingInfluencers.getRatingInfluencers()) {
+            Integer slot = slots.get(ratingInfluencer.getAnalyzedProperty());
+            if (slot == null) {
+                slots.put(ratingInfluencer.getAnalyzedProperty(), ordered.size());
+                ordered.add(ratingInfluencer);
+            } else {
+                ordered.set(slot, ratingInfluencer);
+            }
+        }
+        influencers = ordered.toArray(new RatingInfluencer[0]);
+
+        int size = influencers.length * RESULTS.length;
+        cells = new PropertyResultRatingInfluencer[size];
+        deltas = new int[size];
+        caps = new int[size];
+        capped = new boolean[size];
+        minDeltas = new int[influencers.length];
+        maxDeltas = new int[influencers.length];
+        minCaps = new int[influencers.length];
+        for (int slot = 0; slot < influencers.length; slot++) {
+            // results without an influencer count as zero
+            minCaps[slot] = Integer.MAX_VALUE;
+            for (PropertyResultRatingInfluencer influencer :
+                    influencers[slot].getPropertyRatingInfluencers()) {
+                if (influencer.getInfluence() != null) {
+                    minDeltas[slot] = Math.min(minDeltas[slot], influencer.getInfluence());
+                    maxDeltas[slot] = Math.max(maxDeltas[slot], influencer.getInfluence());
+                }
+                if (influencer.getScoreCap() != null) {
+                    minCaps[slot] = Math.min(minCaps[slot], influencer.getScoreCap());
+                }
+            }
+            for (TestResults result : RESULTS) {
+                int cell = slot * RESULTS.length + result.ordinal();
+                PropertyResultRatingInfluencer influencer;
+                try {
+                    influencer = influencers[slot].getPropertyRatingInfluencer(result);
+                } catch (RuntimeException e) {
+                    // influencers with other result types cannot be compared to TestResults
+                    continue;
+                }
+                cells[cell] = influencer;
+                // null influences count as zero; rate() also logs them like SiteReportRater
+                deltas[cell] = influencer.getInfluence() != null ? influencer.getInfluence() : 0;
+                if (influencer.getScoreCap() != null) {
+                    caps[cell] = influencer.getScoreCap();
+                    capped[cell] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rates a report and records the influencers that were applied.
+     *
+     * @param resultMap a map of analyzed properties to their test results
+     * @return the score report, with the applied influencers in catalogue order
+     */
+    public ScoreReport rate(Map<AnalyzedProperty, TestResult> resultMap) {
+        LinkedHashMap<AnalyzedProperty, PropertyResultRatingInfluencer> applied =
+                new LinkedHashMap<>();
+        if (resultMap.size() < influencers.length) {
+            int[] matches = new int[resultMap.size()];
+            int count = 0;
+            for (AnalyzedProperty property : resultMap.keySet()) {
+                Integer slot = slots.get(property);
+                if (slot != null && resultMap.get(property) != null) {
+                    matches[count++] = slot;
+                }
+            }
+            Arrays.sort(matches, 0, count);
+            for (int i = 0; i < count; i++) {
+                AnalyzedProperty property = influencers[matches[i]].getAnalyzedProperty();
+                applied.put(property, lookup(matches[i], resultMap.get(property)));
+            }
+        } else {
+            for (int slot = 0; slot < influencers.length; slot++) {
+                AnalyzedProperty property = influencers[slot].getAnalyzedProperty();
+                TestResult result = resultMap.get(property);
+                if (result != null) {
+                    applied.put(property, lookup(slot, result));
+                }
+            }
+        }
+
+        int score = 0;
+        for (PropertyResultRatingInfluencer influencer : applied.values()) {
+            score += influenceOf(influencer);
+        }
+        for (PropertyResultRatingInfluencer influencer : applied.values()) {
+            if (influencer.getScoreCap() != null && score >= influencer.getScoreCap()) {
+                score = influencer.getScoreCap();
+            }
+        }
+        return new ScoreReport(score, applied);
+    }
+
+    /**
+     * Rates a report without recording the applied influencers. Compiled cells are summed
+     * directly, so no influencer map is built.
+     *
+     * @param resultMap a map of analyzed properties to their test results
+     * @return the score and the lowest score cap of the applied influencers
+     */
+    public RatingScore score(Map<AnalyzedProperty, TestResult> resultMap) {
+        Tally tally = new Tally();
+        if (resultMap.size() < influencers.length) {
+            for (Map.Entry<AnalyzedProperty, TestResult> entry : resultMap.entrySet()) {
+                Integer slot = slots.get(entry.getKey());
+                if (slot != null && entry.getValue() != null) {
+                    add(tally, slot, entry.getValue());
+                }
+            }
+        } else {
+            for (int slot = 0; slot < influencers.length; slot++) {
+                TestResult result = resultMap.get(influencers[slot].getAnalyzedProperty());
+                if (result != null) {
+                    add(tally, slot, result);
+                }
+            }
+        }
+        // lowering the score to every cap it reaches leaves it at the lowest of them
+        return tally.hasCap
+                ? new RatingScore(Math.min(tally.score, tally.cap), tally.cap)
+                : new RatingScore(tally.score, null);
+    }
+
+    /**
+     * Rates a stream of reports in parallel. The encounter order of the stream is kept.
+     *
+     * @param resultMaps the results of the reports, consumed lazily by the returned stream
+     * @return the score reports
+     */
+    public Stream<ScoreReport> rateAll(
+            Stream<? extends Map<AnalyzedProperty, TestResult>> resultMaps) {
+        return resultMaps.parallel().map(this::rate);
+    }
+
+    /**
+     * Rates reports in parallel.
+     *
+     * @param resultMaps the results of the reports
+     * @return the score reports, in the iteration order of {@code resultMaps}
+     */
+    public List<ScoreReport> rateAll(
+            Collection<? extends Map<AnalyzedProperty, TestResult>> resultMaps) {
+        return rateAll(resultMaps.stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Rates a stream of reports in parallel without recording the applied influencers. The
+     * encounter order of the stream is kept.
+     *
+     * @param resultMaps the results of the reports, consumed lazily by the returned stream
+     * @return the scores
+     */
+    public Stream<RatingScore> scoreAll(
+            Stream<? extends Map<AnalyzedProperty, TestResult>> resultMaps) {
+        return resultMaps.parallel().map(this::score);
+    }
+
+    /**
+     * Rates reports in parallel without recording the applied influencers.
+     *
+     * @param resultMaps the results of the reports
+     * @return the scores, in the iteration order of {@code resultMaps}
+     */
+    public List<RatingScore> scoreAll(
+            Collection<? extends Map<AnalyzedProperty, TestResult>> resultMaps) {
+        return scoreAll(resultMaps.stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the rated properties in catalogue order.
+     *
+     * @return the properties that have a rating influencer
+     */
+    public List<AnalyzedProperty> getProperties() {
+        List<AnalyzedProperty> properties = new ArrayList<>(influencers.length);
+        for (RatingInfluencer influencer : influencers) {
+            properties.add(influencer.getAnalyzedProperty());
+        }
+        return properties;
+    }
+
+    private void add(Tally tally, int slot, TestResult result) {
+        int cell = cellOf(slot, result);
+        if (cell >= 0) {
+            tally.score += deltas[cell];
+            if (capped[cell]) {
+                tally.addCap(caps[cell]);
+            }
+        } else {
+            PropertyResultRatingInfluencer influencer =
+                    influencers[slot].getPropertyRatingInfluencer(result);
+            tally.score += influenceOf(influencer);
+            if (influencer.getScoreCap() != null) {
+                tally.addCap(influencer.getScoreCap());
+            }
+        }
+    }
+
+    /**
+     * Starts rating a report while it is being filled. See {@link LiveScore}.
+     *
+     * @param report the report to follow
+     * @return the live score, which has to be closed once the report is complete
+     */
+    public LiveScore startLiveScore(ScanReport report) {
+        return new LiveScore(this, report);
+    }
+
+    int getSlotCount() {
+        return influencers.length;
+    }
+
+    /** Returns the slot of a property, or -1 if the property has no influencer. */
+    int slotOf(AnalyzedProperty property) {
+        Integer slot = slots.get(property);
+        return slot != null ? slot : -1;
+    }
+
+    AnalyzedProperty getProperty(int slot) {
+        return influencers[slot].getAnalyzedProperty();
+    }
+
+    int getMinDelta(int slot) {
+        return minDeltas[slot];
+    }
+
+    int getMaxDelta(int slot) {
+        return maxDeltas[slot];
+    }
+
+    int getMinCap(int slot) {
+        return minCaps[slot];
+    }
+
+    PropertyResultRatingInfluencer lookup(int slot, TestResult result) {
+        int cell = cellOf(slot, result);
+        return cell >= 0 ? cells[cell] : influencers[slot].getPropertyRatingInfluencer(result);
+    }
+
+    /** Returns the compiled cell for a result, or -1 if it has to be matched on every call. */
+    private int cellOf(int slot, TestResult result) {
+        if (result instanceof TestResults) {
+            int cell = slot * RESULTS.length + ((TestResults) result).ordinal();
+            if (cells[cell] != null) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static int influenceOf(PropertyResultRatingInfluencer influencer) {
+        if (influencer.getInfluence() == null) {
+            LOGGER.warn("Influencer has 'null' influence");
+            return 0;
+        }
+        return influencer.getInfluence();
+    }
+
+    private static final class Tally {
+
+        private int score;
+
+        private int cap = Integer.MAX_VALUE;
+
+        private boolean hasCap;
+
+        private void addCap(int scoreCap) {
+            cap = Math.min(cap, scoreCap);
+            hasCap = true;
+        }
+    }
+}
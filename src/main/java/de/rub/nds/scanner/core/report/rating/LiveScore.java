@@ -0,0 +1,178 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.report.ResultChangeEvent;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the score of a report up to date while the report is being filled. It listens for {@link
+ * ResultChangeEvent}s of the report and keeps a running sum of the influences and a count of the
+ * applied score caps, so a changed result is accounted for with one table lookup. The score at any
+ * time is the one {@link BatchRater#score(Map)} would compute for the current results.
+ *
+ * <p>Instances are created by {@link BatchRater#startLiveScore(ScanReport)} and have to be closed
+ * to stop listening to the report. All methods are thread-safe.
+ */
+public final class LiveScore implements PropertyChangeListener, AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final BatchRater rater;
+
+    private final ScanReport report;
+
+    /** Per property, whether a result is present and which influence and cap it applies. */
+    private final boolean[] present;
+
+    private final int[] deltas;
+
+    private final boolean[] capped;
+
+    private final int[] caps;
+
+    /** The applied score caps and how many properties apply each of them. */
+    private final TreeMap<Integer, Integer> capCounts = new TreeMap<>();
+
+    private int sum;
+
+    LiveScore(BatchRater rater, ScanReport report) {
+        this.rater = rater;
+        this.report = report;
+        int slotCount = rater.getSlotCount();
+        present = new boolean[slotCount];
+        deltas = new int[slotCount];
+        capped = new boolean[slotCount];
+        caps = new int[slotCount];
+        // results stored while the existing ones are read would be missed otherwise
+        synchronized (report) {
+            report.addPropertyChangeListener(this);
+            for (Map.Entry<AnalyzedProperty, TestResult> entry :
+                    report.getResultMap().entrySet()) {
+                update(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        if (event instanceof ResultChangeEvent) {
+            ResultChangeEvent resultChange = (ResultChangeEvent) event;
+            update(resultChange.getProperty(), resultChange.getNewResult());
+        }
+    }
+
+    private synchronized void update(AnalyzedProperty property, TestResult result) {
+        int slot = rater.slotOf(property);
+        if (slot < 0) {
+            return;
+        }
+        if (present[slot]) {
+            sum -= deltas[slot];
+            if (capped[slot]) {
+                capCounts.computeIfPresent(
+                        caps[slot], (cap, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        present[slot] = result != null;
+        if (result == null) {
+            return;
+        }
+        PropertyResultRatingInfluencer influencer;
+        try {
+            influencer = rater.lookup(slot, result);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot rate result {} of {}, ignoring it", result, property, e);
+            present[slot] = false;
+            return;
+        }
+        deltas[slot] = influencer.getInfluence() != null ? influencer.getInfluence() : 0;
+        sum += deltas[slot];
+        capped[slot] = influencer.getScoreCap() != null;
+        if (capped[slot]) {
+            caps[slot] = influencer.getScoreCap();
+            capCounts.merge(caps[slot], 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Gets the score of the current results.
+     *
+     * @return the provisional score
+     */
+    public synchronized int getScore() {
+        return capCounts.isEmpty() ? sum : Math.min(sum, capCounts.firstKey());
+    }
+
+    /**
+     * Gets the score of the current results together with the lowest applied score cap.
+     *
+     * @return the provisional score
+     */
+    public synchronized RatingScore getRatingScore() {
+        return capCounts.isEmpty()
+                ? new RatingScore(sum, null)
+                : new RatingScore(Math.min(sum, capCounts.firstKey()), capCounts.firstKey());
+    }
+
+    /**
+     * Checks whether the score can no longer change, whatever results the given properties end
+     * up with. This is the case once a score cap has been applied that every possible outcome of
+     * the pending properties still reaches, or if no pending property is rated at all.
+     *
+     * @param pendingProperties the properties that may still change
+     * @return true if the final score is already known
+     */
+    public synchronized boolean isSettled(Collection<AnalyzedProperty> pendingProperties) {
+        boolean[] pending = new boolean[present.length];
+        for (AnalyzedProperty property : pendingProperties) {
+            int slot = rater.slotOf(property);
+            if (slot >= 0) {
+                pending[slot] = true;
+            }
+        }
+        long lowestSum = 0;
+        long highestSum = 0;
+        long fixedCap = Long.MAX_VALUE;
+        long lowestPendingCap = Long.MAX_VALUE;
+        for (int slot = 0; slot < present.length; slot++) {
+            if (pending[slot]) {
+                lowestSum += rater.getMinDelta(slot);
+                highestSum += rater.getMaxDelta(slot);
+                if (rater.getMinCap(slot) != Integer.MAX_VALUE) {
+                    lowestPendingCap = Math.min(lowestPendingCap, rater.getMinCap(slot));
+                }
+            } else if (present[slot]) {
+                lowestSum += deltas[slot];
+                highestSum += deltas[slot];
+                if (capped[slot]) {
+                    fixedCap = Math.min(fixedCap, caps[slot]);
+                }
+            }
+        }
+        long lowest = Math.min(Math.min(lowestSum, fixedCap), lowestPendingCap);
+        long highest = Math.min(highestSum, fixedCap);
+        return lowest == highest;
+    }
+
+    /** Stops listening to the report. The last score stays available. */
+    @Override
+    public void close() {
+        report.removePropertyChangeListener(this);
+    }
+}
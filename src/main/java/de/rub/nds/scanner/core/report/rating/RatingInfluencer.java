@@ -10,11 +10,15 @@ package de.rub.nds.scanner.core.report.rating;
 
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
 import jakarta.xml.bind.annotation.*;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a rating influencer for a specific analyzed property. This class manages how different
@@ -24,11 +28,22 @@ import java.util.List;
 @XmlAccessorType(XmlAccessType.FIELD)
 public class RatingInfluencer implements Serializable {
 
+    /** Marks an influencer list that contains results other than {@link TestResults}. */
+    private static final Map<TestResults, PropertyResultRatingInfluencer> NOT_INDEXABLE =
+            Collections.emptyMap();
+
     @XmlAnyElement(lax = true)
     private AnalyzedProperty analyzedProperty;
 
     private List<PropertyResultRatingInfluencer> propertyRatingInfluencers;
 
+    /**
+     * Lookup table from result to the first matching influencer, built on the first lookup. Only
+     * plain {@link TestResults} can be indexed; any other result type keeps the linear scan since
+     * its {@link TestResult#equalsExpectedResult(TestResult)} may not be an identity comparison.
+     */
+    private transient volatile Map<TestResults, PropertyResultRatingInfluencer> resultIndex;
+
     /** Constructs an empty RatingInfluencer with an empty list of property rating influencers. */
     public RatingInfluencer() {
         this.propertyRatingInfluencers = new LinkedList<>();
@@ -97,6 +112,7 @@ public class RatingInfluencer implements Serializable {
     public void setPropertyRatingInfluencers(
             List<PropertyResultRatingInfluencer> propertyRatingInfluencers) {
         this.propertyRatingInfluencers = propertyRatingInfluencers;
+        this.resultIndex = null;
     }
 
     /**
@@ -106,17 +122,30 @@ public class RatingInfluencer implements Serializable {
      */
     public void addPropertyRatingInfluencer(PropertyResultRatingInfluencer ratingInfluence) {
         this.propertyRatingInfluencers.add(ratingInfluence);
+        this.resultIndex = null;
     }
 
     /**
      * Gets the property rating influencer for a specific test result. If no influencer is found for
      * the given result, returns a new influencer with zero influence.
      *
+     * <p>Lookups of {@link TestResults} are answered from a table that is built on first use and
+     * rebuilt after the influencer list is replaced or extended through this class.
+     *
      * @param result the test result to find an influencer for
      * @return the matching property rating influencer, or a new one with zero influence if not
      *     found
      */
     public PropertyResultRatingInfluencer getPropertyRatingInfluencer(TestResult result) {
+        if (result instanceof TestResults) {
+            Map<TestResults, PropertyResultRatingInfluencer> index = getResultIndex();
+            if (index != NOT_INDEXABLE) {
+                PropertyResultRatingInfluencer influencer = index.get(result);
+                return influencer != null
+                        ? influencer
+                        : new PropertyResultRatingInfluencer(result, 0);
+            }
+        }
         for (PropertyResultRatingInfluencer ri : propertyRatingInfluencers) {
             if (ri.getResult().equalsExpectedResult(result)) {
                 return ri;
@@ -124,4 +153,25 @@ public class RatingInfluencer implements Serializable {
         }
         return new PropertyResultRatingInfluencer(result, 0);
     }
+
+    private Map<TestResults, PropertyResultRatingInfluencer> getResultIndex() {
+        Map<TestResults, PropertyResultRatingInfluencer> index = resultIndex;
+        if (index == null) {
+            index = buildResultIndex(propertyRatingInfluencers);
+            resultIndex = index;
+        }
+        return index;
+    }
+
+    private static Map<TestResults, PropertyResultRatingInfluencer> buildResultIndex(
+            List<PropertyResultRatingInfluencer> influencers) {
+        Map<TestResults, PropertyResultRatingInfluencer> index = new EnumMap<>(TestResults.class);
+        for (PropertyResultRatingInfluencer influencer : influencers) {
+            if (!(influencer.getResult() instanceof TestResults)) {
+                return NOT_INDEXABLE;
+            }
+            index.putIfAbsent((TestResults) influencer.getResult(), influencer);
+        }
+        return index;
+    }
 }
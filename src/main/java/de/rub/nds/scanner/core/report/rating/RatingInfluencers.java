@@ -15,7 +15,9 @@ import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import java.io.Serializable;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Container class for a collection of rating influencers. This class manages multiple
@@ -29,6 +31,9 @@ public class RatingInfluencers implements Serializable {
     @XmlElement(name = "ratingInfluencer")
     private LinkedList<RatingInfluencer> ratingInfluencers;
 
+    /** Lookup table from property to its first rating influencer, built on the first lookup. */
+    private transient volatile Map<AnalyzedProperty, RatingInfluencer> propertyIndex;
+
     /** Private no-arg constructor to please JAXB */
     @SuppressWarnings("unused")
     private RatingInfluencers() {}
@@ -58,6 +63,28 @@ public class RatingInfluencers implements Serializable {
      */
     public void setRatingInfluencers(LinkedList<RatingInfluencer> ratingInfluencers) {
         this.ratingInfluencers = ratingInfluencers;
+        this.propertyIndex = null;
+    }
+
+    /**
+     * Gets the rating influencer configured for a specific analyzed property. Lookups are answered
+     * from a table that is built on first use and rebuilt after {@link
+     * #setRatingInfluencers(LinkedList)}; changes made directly to the list returned by {@link
+     * #getRatingInfluencers()} after the first lookup are not picked up.
+     *
+     * @param property the analyzed property to search for
+     * @return the first rating influencer for the property, or null if there is none
+     */
+    public RatingInfluencer getRatingInfluencer(AnalyzedProperty property) {
+        Map<AnalyzedProperty, RatingInfluencer> index = propertyIndex;
+        if (index == null) {
+            index = new IdentityHashMap<>();
+            for (RatingInfluencer ri : ratingInfluencers) {
+                index.putIfAbsent(ri.getAnalyzedProperty(), ri);
+            }
+            propertyIndex = index;
+        }
+        return index.get(property);
     }
 
     /**
@@ -71,10 +98,9 @@ public class RatingInfluencers implements Serializable {
      */
     public PropertyResultRatingInfluencer getPropertyRatingInfluencer(
             AnalyzedProperty property, TestResult result) {
-        for (RatingInfluencer ri : ratingInfluencers) {
-            if (ri.getAnalyzedProperty() == property) {
-                return ri.getPropertyRatingInfluencer(result);
-            }
+        RatingInfluencer ri = getRatingInfluencer(property);
+        if (ri != null) {
+            return ri.getPropertyRatingInfluencer(result);
         }
         return new PropertyResultRatingInfluencer(result, 0);
     }
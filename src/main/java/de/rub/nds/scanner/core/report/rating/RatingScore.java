@@ -0,0 +1,84 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import java.util.Objects;
+
+/**
+ * The score of a rated report without the per-property influencers that produced it. Returned by
+ * the score-only methods of {@link BatchRater}, which avoid building a {@link ScoreReport} for
+ * every report.
+ */
+public final class RatingScore {
+
+    private final int score;
+
+    private final Integer scoreCap;
+
+    /**
+     * Constructs a RatingScore.
+     *
+     * @param score the final, capped score
+     * @param scoreCap the lowest score cap among the applied influencers, or null if none had one
+     */
+    public RatingScore(int score, Integer scoreCap) {
+        this.score = score;
+        this.scoreCap = scoreCap;
+    }
+
+    /**
+     * Gets the final score, after the score caps have been applied.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the lowest score cap among the applied influencers. The cap only lowered the score if
+     * the summed influences reached it.
+     *
+     * @return the lowest score cap, or null if no applied influencer has one
+     */
+    public Integer getScoreCap() {
+        return scoreCap;
+    }
+
+    /**
+     * Checks whether the score was lowered to the score cap.
+     *
+     * @return true if a score cap limited the score
+     */
+    public boolean isCapped() {
+        return scoreCap != null && score == scoreCap;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        RatingScore that = (RatingScore) obj;
+        return score == that.score && Objects.equals(scoreCap, that.scoreCap);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(score, scoreCap);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingScore{" + "score=" + score + ", scoreCap=" + scoreCap + '}';
+    }
+}
@@ -17,8 +17,10 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlType;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a comprehensive recommendation for an analyzed property. This class contains all
@@ -58,6 +60,9 @@ public class Recommendation implements Serializable {
 
     private List<PropertyResultRecommendation> propertyRecommendations;
 
+    /** Lookup table from result to its first recommendation, built on the first lookup. */
+    private transient volatile Map<TestResult, PropertyResultRecommendation> resultIndex;
+
     /**
      * Constructs an empty Recommendation with initialized empty lists for property recommendations
      * and links.
@@ -305,20 +310,31 @@ public class Recommendation implements Serializable {
     public void setPropertyRecommendations(
             List<PropertyResultRecommendation> propertyRecommendations) {
         this.propertyRecommendations = propertyRecommendations;
+        this.resultIndex = null;
     }
 
     /**
      * Gets the recommendation for a specific test result. If no recommendation is found, returns a
      * default recommendation with no information available message.
      *
+     * <p>Lookups are answered from a table that is built on first use and rebuilt after {@link
+     * #setPropertyRecommendations(List)}.
+     *
      * @param result the test result to find a recommendation for
      * @return the matching recommendation or a default recommendation if not found
      */
     public PropertyResultRecommendation getPropertyResultRecommendation(TestResult result) {
-        for (PropertyResultRecommendation r : propertyRecommendations) {
-            if (r.getResult() == result) {
-                return r;
+        Map<TestResult, PropertyResultRecommendation> index = resultIndex;
+        if (index == null) {
+            index = new IdentityHashMap<>();
+            for (PropertyResultRecommendation r : propertyRecommendations) {
+                index.putIfAbsent(r.getResult(), r);
             }
+            resultIndex = index;
+        }
+        PropertyResultRecommendation r = index.get(result);
+        if (r != null) {
+            return r;
         }
         return new PropertyResultRecommendation(
                 result, NO_INFORMATION_FOUND, NO_RECOMMENDATION_FOUND);
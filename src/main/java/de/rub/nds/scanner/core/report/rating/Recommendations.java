@@ -15,7 +15,9 @@ import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import java.io.Serializable;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Container class for a collection of recommendations. This class manages multiple Recommendation
@@ -29,6 +31,9 @@ public class Recommendations implements Serializable {
     @XmlElement(name = "recommendation")
     private List<Recommendation> recommendations;
 
+    /** Lookup table from property to its first recommendation, built on the first lookup. */
+    private transient volatile Map<AnalyzedProperty, Recommendation> propertyIndex;
+
     /** Private no-arg constructor to please JAXB */
     @SuppressWarnings("unused")
     private Recommendations() {}
@@ -58,6 +63,7 @@ public class Recommendations implements Serializable {
      */
     public void setRecommendations(List<Recommendation> recommendations) {
         this.recommendations = recommendations;
+        this.propertyIndex = null;
     }
 
     /**
@@ -71,10 +77,9 @@ public class Recommendations implements Serializable {
      */
     public PropertyResultRecommendation getPropertyRecommendation(
             AnalyzedProperty property, TestResult result) {
-        for (Recommendation r : recommendations) {
-            if (r.getAnalyzedProperty() == property) {
-                return r.getPropertyResultRecommendation(result);
-            }
+        Recommendation r = findRecommendation(property);
+        if (r != null) {
+            return r.getPropertyResultRecommendation(result);
         }
         return new PropertyResultRecommendation(
                 result,
@@ -91,11 +96,27 @@ public class Recommendations implements Serializable {
      * @return the matching recommendation or a new basic recommendation if not found
      */
     public Recommendation getRecommendation(AnalyzedProperty property) {
-        for (Recommendation r : recommendations) {
-            if (r.getAnalyzedProperty() == property) {
-                return r;
-            }
+        Recommendation r = findRecommendation(property);
+        if (r != null) {
+            return r;
         }
         return new Recommendation(property, property.toString());
     }
+
+    /**
+     * Looks up the first recommendation for a property. The table is built on first use and
+     * rebuilt after {@link #setRecommendations(List)}; changes made directly to the list returned
+     * by {@link #getRecommendations()} after the first lookup are not picked up.
+     */
+    private Recommendation findRecommendation(AnalyzedProperty property) {
+        Map<AnalyzedProperty, Recommendation> index = propertyIndex;
+        if (index == null) {
+            index = new IdentityHashMap<>();
+            for (Recommendation r : recommendations) {
+                index.putIfAbsent(r.getAnalyzedProperty(), r);
+            }
+            propertyIndex = index;
+        }
+        return index.get(property);
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+
+/** The score a report would get if one property had a different result. */
+public final class ScoreImpact {
+
+    private final AnalyzedProperty property;
+
+    private final TestResult result;
+
+    private final RatingScore score;
+
+    private final int impact;
+
+    /**
+     * Constructs a ScoreImpact.
+     *
+     * @param property the changed property
+     * @param result the hypothetical result of the property, or null if it has no result
+     * @param score the score with the hypothetical result
+     * @param impact the difference to the actual score
+     */
+    public ScoreImpact(
+            AnalyzedProperty property, TestResult result, RatingScore score, int impact) {
+        this.property = property;
+        this.result = result;
+        this.score = score;
+        this.impact = impact;
+    }
+
+    /**
+     * Gets the changed property.
+     *
+     * @return the property
+     */
+    public AnalyzedProperty getProperty() {
+        return property;
+    }
+
+    /**
+     * Gets the hypothetical result of the property.
+     *
+     * @return the result, or null if the property has no result in the hypothetical report
+     */
+    public TestResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the score with the hypothetical result.
+     *
+     * @return the hypothetical score
+     */
+    public RatingScore getScore() {
+        return score;
+    }
+
+    /**
+     * Gets how much the score would change. Positive values mean a better score.
+     *
+     * @return the hypothetical score minus the actual score
+     */
+    public int getImpact() {
+        return impact;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreImpact{"
+                + "property="
+                + property
+                + ", result="
+                + result
+                + ", score="
+                + score
+                + ", impact="
+                + impact
+                + '}';
+    }
+}
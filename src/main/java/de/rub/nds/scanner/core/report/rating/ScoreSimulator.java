@@ -0,0 +1,201 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Answers what a report would score if some of its results were different. The simulator starts
+ * from the influencers a {@link ScoreReport} applied, keeping their sum and the applied score caps,
+ * so a hypothetical change only costs work for the changed properties. Instances are immutable
+ * and can be queried from several threads.
+ */
+public final class ScoreSimulator {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final BatchRater rater;
+
+    /** Per property, whether the report applied an influencer and which influence and cap. */
+    private final boolean[] present;
+
+    private final int[] deltas;
+
+    private final boolean[] capped;
+
+    private final int[] caps;
+
+    /** The applied score caps and how many properties apply each of them. */
+    private final TreeMap<Integer, Integer> capCounts = new TreeMap<>();
+
+    private final int sum;
+
+    private final RatingScore baseline;
+
+    /**
+     * Constructs a simulator for a rated report.
+     *
+     * @param rater the compiled rating influencers the report was rated with
+     * @param scoreReport the score report of the report
+     */
+    public ScoreSimulator(BatchRater rater, ScoreReport scoreReport) {
+        this.rater = rater;
+        int slotCount = rater.getSlotCount();
+        present = new boolean[slotCount];
+        deltas = new int[slotCount];
+        capped = new boolean[slotCount];
+        caps = new int[slotCount];
+        int total = 0;
+        for (Map.Entry<AnalyzedProperty, PropertyResultRatingInfluencer> entry :
+                scoreReport.getInfluencers().entrySet()) {
+            int slot = rater.slotOf(entry.getKey());
+            if (slot < 0) {
+                continue;
+            }
+            PropertyResultRatingInfluencer influencer = entry.getValue();
+            present[slot] = true;
+            deltas[slot] = influencer.getInfluence() != null ? influencer.getInfluence() : 0;
+            total += deltas[slot];
+            if (influencer.getScoreCap() != null) {
+                capped[slot] = true;
+                caps[slot] = influencer.getScoreCap();
+                capCounts.merge(caps[slot], 1, Integer::sum);
+            }
+        }
+        sum = total;
+        baseline = toScore(sum, capCounts.isEmpty() ? null : capCounts.firstKey());
+    }
+
+    /**
+     * Gets the score of the report without changes.
+     *
+     * @return the actual score
+     */
+    public RatingScore getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Computes the score if one property had a different result.
+     *
+     * @param property the property to change
+     * @param result the hypothetical result, or null to remove the result
+     * @return the hypothetical score
+     */
+    public RatingScore simulate(AnalyzedProperty property, TestResult result) {
+        return simulate(Collections.singletonMap(property, result));
+    }
+
+    /**
+     * Computes the score if several properties had different results. Properties without a
+     * rating influencer do not change the score, and neither do results that cannot be matched
+     * against the influencers of their property.
+     *
+     * @param changes the hypothetical results by property; a null result removes the result
+     * @return the hypothetical score
+     */
+    public RatingScore simulate(Map<AnalyzedProperty, TestResult> changes) {
+        int changedSum = sum;
+        Map<Integer, Integer> removedCaps = null;
+        int lowestAddedCap = Integer.MAX_VALUE;
+        boolean addedCap = false;
+        for (Map.Entry<AnalyzedProperty, TestResult> change : changes.entrySet()) {
+            int slot = rater.slotOf(change.getKey());
+            if (slot < 0) {
+                continue;
+            }
+            PropertyResultRatingInfluencer influencer = null;
+            if (change.getValue() != null) {
+                try {
+                    influencer = rater.lookup(slot, change.getValue());
+                } catch (RuntimeException e) {
+                    LOGGER.warn(
+                            "Cannot rate result {} of {}, ignoring the change",
+                            change.getValue(),
+                            change.getKey(),
+                            e);
+                    continue;
+                }
+            }
+            if (present[slot]) {
+                changedSum -= deltas[slot];
+                if (capped[slot]) {
+                    if (removedCaps == null) {
+                        removedCaps = new HashMap<>();
+                    }
+                    removedCaps.merge(caps[slot], 1, Integer::sum);
+                }
+            }
+            if (influencer != null) {
+                if (influencer.getInfluence() != null) {
+                    changedSum += influencer.getInfluence();
+                }
+                if (influencer.getScoreCap() != null) {
+                    lowestAddedCap = Math.min(lowestAddedCap, influencer.getScoreCap());
+                    addedCap = true;
+                }
+            }
+        }
+        Integer lowestCap = lowestRemainingCap(removedCaps);
+        if (addedCap && (lowestCap == null || lowestAddedCap < lowestCap)) {
+            lowestCap = lowestAddedCap;
+        }
+        return toScore(changedSum, lowestCap);
+    }
+
+    /**
+     * Computes for every rated property the score the report would get if that property had the
+     * given result, and ranks the properties by how much the score would improve.
+     *
+     * @param result the hypothetical result, or null to remove the result
+     * @return the impacts, highest first; properties with the same impact keep catalogue order.
+     *     Properties whose influencers cannot rate the result have no impact.
+     */
+    public List<ScoreImpact> rankImpacts(TestResult result) {
+        List<ScoreImpact> impacts = new ArrayList<>(rater.getSlotCount());
+        for (int slot = 0; slot < rater.getSlotCount(); slot++) {
+            AnalyzedProperty property = rater.getProperty(slot);
+            RatingScore score = simulate(property, result);
+            impacts.add(
+                    new ScoreImpact(
+                            property, result, score, score.getScore() - baseline.getScore()));
+        }
+        impacts.sort(Comparator.comparingInt(ScoreImpact::getImpact).reversed());
+        return impacts;
+    }
+
+    /** Finds the lowest applied cap that is not removed, looking at as few caps as possible. */
+    private Integer lowestRemainingCap(Map<Integer, Integer> removedCaps) {
+        if (removedCaps == null) {
+            return capCounts.isEmpty() ? null : capCounts.firstKey();
+        }
+        for (Map.Entry<Integer, Integer> entry : capCounts.entrySet()) {
+            if (entry.getValue() > removedCaps.getOrDefault(entry.getKey(), 0)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static RatingScore toScore(int sum, Integer lowestCap) {
+        return lowestCap == null
+                ? new RatingScore(sum, null)
+                : new RatingScore(Math.min(sum, lowestCap), lowestCap);
+    }
+}
@@ -10,11 +10,8 @@ package de.rub.nds.scanner.core.report.rating;
 
 import de.rub.nds.scanner.core.probe.AnalyzedProperty;
 import de.rub.nds.scanner.core.probe.result.TestResult;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import de.rub.nds.scanner.core.report.ScanReport;
 import java.util.Map;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 /**
  * Calculates rating scores for site reports based on property test results and configured rating
@@ -23,12 +20,12 @@ import org.apache.logging.log4j.Logger;
  */
 public class SiteReportRater {
 
-    private static final Logger LOGGER = LogManager.getLogger();
-
     private final RatingInfluencers influencers;
 
     private final Recommendations recommendations;
 
+    private volatile BatchRater batchRater;
+
     /**
      * Constructs a SiteReportRater with the specified rating influencers and recommendations.
      *
@@ -45,43 +42,50 @@ public class SiteReportRater {
      * each property result against the configured rating influencers and calculates the overall
      * score.
      *
+     * <p>The rating influencers are compiled into a {@link BatchRater} on first use, so a report
+     * with fewer results than there are influencers only costs one lookup per result. The rating
+     * influencers are assumed not to change after the first call.
+     *
      * @param resultMap a map of analyzed properties to their test results
      * @return a ScoreReport containing the calculated score and applied influencers
      */
     public ScoreReport getScoreReport(Map<AnalyzedProperty, TestResult> resultMap) {
-        LinkedHashMap<AnalyzedProperty, PropertyResultRatingInfluencer> ratingInfluencers =
-                new LinkedHashMap<>();
+        return getBatchRater().rate(resultMap);
+    }
 
-        for (RatingInfluencer ratingInfluencer : influencers.getRatingInfluencers()) {
-            TestResult result = resultMap.get(ratingInfluencer.getAnalyzedProperty());
-            if (result != null) {
-                PropertyResultRatingInfluencer propertyRatingInfluencer =
-                        ratingInfluencer.getPropertyRatingInfluencer(result);
-                ratingInfluencers.put(
-                        ratingInfluencer.getAnalyzedProperty(), propertyRatingInfluencer);
-            }
+    /**
+     * Gets the compiled form of the rating influencers, which rates many reports at once. It is
+     * created on first use and reused afterwards.
+     *
+     * @return the batch rater for the rating influencers of this rater
+     */
+    public BatchRater getBatchRater() {
+        BatchRater rater = batchRater;
+        if (rater == null) {
+            rater = new BatchRater(influencers);
+            batchRater = rater;
         }
+        return rater;
+    }
 
-        int score = computeScore(ratingInfluencers);
-        return new ScoreReport(score, ratingInfluencers);
+    /**
+     * Starts rating a report while it is being filled, see {@link LiveScore}.
+     *
+     * @param report the report to follow
+     * @return the live score, which has to be closed once the report is complete
+     */
+    public LiveScore startLiveScore(ScanReport report) {
+        return getBatchRater().startLiveScore(report);
     }
 
-    private static int computeScore(
-            HashMap<AnalyzedProperty, PropertyResultRatingInfluencer> influencers) {
-        int score = 0;
-        for (PropertyResultRatingInfluencer influencer : influencers.values()) {
-            if (influencer.getInfluence() != null) {
-                score += influencer.getInfluence();
-            } else {
-                LOGGER.warn("Influencer has 'null' influence");
-            }
-        }
-        for (PropertyResultRatingInfluencer influencer : influencers.values()) {
-            if (influencer.getScoreCap() != null && score >= influencer.getScoreCap()) {
-                score = influencer.getScoreCap();
-            }
-        }
-        return score;
+    /**
+     * Creates a simulator answering what a rated report would score with different results.
+     *
+     * @param scoreReport a score report created by this rater
+     * @return the simulator
+     */
+    public ScoreSimulator createSimulator(ScoreReport scoreReport) {
+        return new ScoreSimulator(getBatchRater(), scoreReport);
     }
 
     /**
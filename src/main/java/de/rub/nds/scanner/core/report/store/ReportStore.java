@@ -0,0 +1,498 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.store;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import de.rub.nds.scanner.core.report.CompactReportFormat;
+import de.rub.nds.scanner.core.report.IndexedReport;
+import de.rub.nds.scanner.core.report.ReportProjection;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An embedded, file-based store for historical reports. Reports are appended to a single segment
+ * log in the {@link CompactReportFormat}; an index file next to it lists the remote name, scan
+ * time and position of every report. The index is memory-mapped when the store is opened and kept
+ * in memory as a sorted set, so lookups such as "latest report for a host" or "all reports of a
+ * host in a time range" never touch the log.
+ *
+ * <p>Every log frame carries a CRC32 and repeats the index data of its report. A missing or
+ * shorter index is therefore rebuilt from the log when the store is opened, and a torn frame at the
+ * end of the log (e.g., after a crash during an append) is cut off.
+ *
+ * <p>Frame layout: {@code int bodyLength, int crc32(body), body}, where the body is {@code short
+ * nameLength, name (UTF-8), long scanTime, compact report}. Index records are {@code short
+ * nameLength, name, long scanTime, long frameOffset, int frameLength}.
+ *
+ * @param <ReportT> the type of the stored reports
+ */
+public class ReportStore<ReportT extends ScanReport> implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final String LOG_FILE = "reports.log";
+
+    static final String INDEX_FILE = "reports.idx";
+
+    private static final String COMPACTION_SUFFIX = ".compact";
+
+    private static final int FRAME_PREFIX_LENGTH = 2 * Integer.BYTES;
+
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private final Path directory;
+
+    private final CompactReportFormat format;
+
+    private final Supplier<ReportT> reportFactory;
+
+    private final NavigableSet<StoredReport> entries = new TreeSet<>();
+
+    private FileChannel log;
+
+    private FileChannel index;
+
+    private ReportStore(
+            Path directory, CompactReportFormat format, Supplier<ReportT> reportFactory) {
+        this.directory = directory;
+        this.format = format;
+        this.reportFactory = reportFactory;
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if necessary.
+     *
+     * @param <ReportT> the type of the stored reports
+     * @param directory the directory holding the log and index files
+     * @param format the format reports are encoded with
+     * @param reportFactory creates the empty reports that stored reports are read into
+     * @return the opened store
+     * @throws IOException if the files cannot be opened or recovered
+     */
+    public static <ReportT extends ScanReport> ReportStore<ReportT> open(
+            Path directory, CompactReportFormat format, Supplier<ReportT> reportFactory)
+            throws IOException {
+        Files.createDirectories(directory);
+        ReportStore<ReportT> store = new ReportStore<>(directory, format, reportFactory);
+        store.openFiles();
+        return store;
+    }
+
+    private void openFiles() throws IOException {
+        log = FileChannel.open(directory.resolve(LOG_FILE), CREATE, READ, WRITE);
+        index = FileChannel.open(directory.resolve(INDEX_FILE), CREATE, READ, WRITE);
+        entries.clear();
+        recoverUnindexedFrames(loadIndex());
+    }
+
+    private long loadIndex() throws IOException {
+        long indexSize = index.size();
+        if (indexSize == 0) {
+            return 0;
+        }
+        if (indexSize > Integer.MAX_VALUE) {
+            throw new IOException("Index is too large to be mapped");
+        }
+        long logSize = log.size();
+        MappedByteBuffer buffer = index.map(FileChannel.MapMode.READ_ONLY, 0, indexSize);
+        long indexedEnd = 0;
+        int validEnd = 0;
+        while (buffer.remaining() >= Short.BYTES) {
+            int nameLength = Short.toUnsignedInt(buffer.getShort(buffer.position()));
+            if (buffer.remaining() < Short.BYTES + nameLength + 2 * Long.BYTES + Integer.BYTES) {
+                break;
+            }
+            buffer.getShort();
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            long scanTime = buffer.getLong();
+            long offset = buffer.getLong();
+            int length = buffer.getInt();
+            if (offset + length > logSize) {
+                break;
+            }
+            entries.add(new StoredReport(new String(name, UTF_8), scanTime, offset, length));
+            indexedEnd = Math.max(indexedEnd, offset + length);
+            validEnd = buffer.position();
+        }
+        if (validEnd < indexSize) {
+            LOGGER.warn("Dropping {} bytes of incomplete index records", indexSize - validEnd);
+            index.truncate(validEnd);
+        }
+        return indexedEnd;
+    }
+
+    private void recoverUnindexedFrames(long position) throws IOException {
+        long logSize = log.size();
+        ByteBuffer prefix = ByteBuffer.allocate(FRAME_PREFIX_LENGTH);
+        while (position + FRAME_PREFIX_LENGTH <= logSize) {
+            prefix.clear();
+            readFully(log, prefix, position);
+            prefix.flip();
+            int bodyLength = prefix.getInt();
+            int crc = prefix.getInt();
+            if (bodyLength < 0 || position + FRAME_PREFIX_LENGTH + bodyLength > logSize) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(bodyLength);
+            readFully(log, body, position + FRAME_PREFIX_LENGTH);
+            if (crc32(body.array(), 0, bodyLength) != crc) {
+                break;
+            }
+            body.flip();
+            byte[] name = new byte[Short.toUnsignedInt(body.getShort())];
+            body.get(name);
+            StoredReport entry =
+                    new StoredReport(
+                            new String(name, UTF_8),
+                            body.getLong(),
+                            position,
+                            FRAME_PREFIX_LENGTH + bodyLength);
+            appendIndexRecord(entry);
+            entries.add(entry);
+            position += entry.getLength();
+        }
+        if (position < logSize) {
+            LOGGER.warn(
+                    "Cutting off {} bytes of incomplete frames from the log", logSize - position);
+            log.truncate(position);
+        }
+    }
+
+    /**
+     * Appends a report. It is indexed by its remote name and scan start time. Encoding happens on
+     * the calling thread, so concurrent appends only serialize on the actual file write.
+     *
+     * @param report the report to store
+     * @return the index entry of the stored report
+     * @throws IOException if the report cannot be written
+     */
+    public StoredReport append(ScanReport report) throws IOException {
+        String remoteName = report.getRemoteName();
+        byte[] name = remoteName.getBytes(UTF_8);
+        if (name.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Remote name is too long: " + remoteName);
+        }
+        Long scanStartTime = report.getScanStartTime();
+        long scanTime = scanStartTime != null ? scanStartTime : 0;
+
+        ByteArrayOutputStream frameStream = new ByteArrayOutputStream();
+        DataOutputStream frameOutput = new DataOutputStream(frameStream);
+        // length and crc are patched in once the body is complete
+        frameOutput.writeLong(0);
+        frameOutput.writeShort(name.length);
+        frameOutput.write(name);
+        frameOutput.writeLong(scanTime);
+        format.write(report, frameOutput);
+        frameOutput.flush();
+        byte[] frame = frameStream.toByteArray();
+        int bodyLength = frame.length - FRAME_PREFIX_LENGTH;
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.putInt(0, bodyLength);
+        buffer.putInt(Integer.BYTES, crc32(frame, FRAME_PREFIX_LENGTH, bodyLength));
+
+        synchronized (this) {
+            long offset = log.size();
+            writeFully(log, buffer, offset);
+            StoredReport entry = new StoredReport(remoteName, scanTime, offset, frame.length);
+            appendIndexRecord(entry);
+            entries.add(entry);
+            return entry;
+        }
+    }
+
+    private void appendIndexRecord(StoredReport entry) throws IOException {
+        writeIndexRecord(index, entry, entry.getOffset());
+    }
+
+    private static void writeIndexRecord(FileChannel channel, StoredReport entry, long offset)
+            throws IOException {
+        byte[] name = entry.getRemoteName().getBytes(UTF_8);
+        ByteBuffer record =
+                ByteBuffer.allocate(Short.BYTES + name.length + 2 * Long.BYTES + Integer.BYTES);
+        record.putShort((short) name.length)
+                .put(name)
+                .putLong(entry.getScanTime())
+                .putLong(offset)
+                .putInt(entry.getLength());
+        record.flip();
+        writeFully(channel, record, channel.size());
+    }
+
+    /**
+     * Reads a stored report.
+     *
+     * @param entry the index entry of the report
+     * @return the report
+     * @throws IOException if the frame cannot be read, is corrupt or cannot be decoded
+     */
+    public ReportT load(StoredReport entry) throws IOException {
+        return load(entry, ReportProjection.ALL);
+    }
+
+    /**
+     * Reads the selected parts of a stored report.
+     *
+     * @param entry the index entry of the report
+     * @param projection the parts of the report to read
+     * @return the report
+     * @throws IOException if the frame cannot be read, is corrupt or cannot be decoded
+     */
+    public ReportT load(StoredReport entry, ReportProjection projection) throws IOException {
+        return format.read(readPayload(entry), reportFactory.get(), projection);
+    }
+
+    /**
+     * Indexes a stored report so that single results or containers can be read from it on demand.
+     *
+     * @param entry the index entry of the report
+     * @return the indexed report
+     * @throws IOException if the frame cannot be read, is corrupt or cannot be indexed
+     */
+    public IndexedReport index(StoredReport entry) throws IOException {
+        return format.index(readPayload(entry));
+    }
+
+    private InputStream readPayload(StoredReport entry) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(entry.getLength());
+        synchronized (this) {
+            readFully(log, frame, entry.getOffset());
+        }
+        frame.flip();
+        int bodyLength = frame.getInt();
+        int crc = frame.getInt();
+        if (bodyLength != entry.getLength() - FRAME_PREFIX_LENGTH
+                || crc32(frame.array(), FRAME_PREFIX_LENGTH, bodyLength) != crc) {
+            throw new IOException("Corrupt frame for " + entry);
+        }
+        int nameLength = Short.toUnsignedInt(frame.getShort());
+        int payloadOffset = frame.position() + nameLength + Long.BYTES;
+        return new ByteArrayInputStream(
+                frame.array(), payloadOffset, frame.limit() - payloadOffset);
+    }
+
+    /**
+     * Returns the entry of the most recent report of a remote.
+     *
+     * @param remoteName the remote name
+     * @return the entry with the latest scan time, or empty if the remote has no reports
+     */
+    public synchronized Optional<StoredReport> findLatest(String remoteName) {
+        StoredReport latest =
+                entries.floor(new StoredReport(remoteName, Long.MAX_VALUE, Long.MAX_VALUE, 0));
+        if (latest == null || !latest.getRemoteName().equals(remoteName)) {
+            return Optional.empty();
+        }
+        return Optional.of(latest);
+    }
+
+    /**
+     * Reads the most recent report of a remote.
+     *
+     * @param remoteName the remote name
+     * @return the report with the latest scan time, or empty if the remote has no reports
+     * @throws IOException if the report cannot be read
+     */
+    public Optional<ReportT> loadLatest(String remoteName) throws IOException {
+        Optional<StoredReport> latest = findLatest(remoteName);
+        return latest.isPresent() ? Optional.of(load(latest.get())) : Optional.empty();
+    }
+
+    /**
+     * Returns the entries of all reports of a remote within a time range, oldest first.
+     *
+     * @param remoteName the remote name
+     * @param fromTime the start of the range in milliseconds, inclusive
+     * @param toTime the end of the range in milliseconds, exclusive
+     * @return the matching entries
+     */
+    public synchronized List<StoredReport> find(String remoteName, long fromTime, long toTime) {
+        if (fromTime >= toTime) {
+            return List.of();
+        }
+        return new ArrayList<>(
+                entries.subSet(
+                        new StoredReport(remoteName, fromTime, Long.MIN_VALUE, 0),
+                        true,
+                        new StoredReport(remoteName, toTime, Long.MIN_VALUE, 0),
+                        false));
+    }
+
+    /**
+     * Returns the entries of all reports of all remotes within a time range, ordered by remote name
+     * and time.
+     *
+     * @param fromTime the start of the range in milliseconds, inclusive
+     * @param toTime the end of the range in milliseconds, exclusive
+     * @return the matching entries
+     */
+    public synchronized List<StoredReport> findAll(long fromTime, long toTime) {
+        return entries.stream()
+                .filter(entry -> entry.getScanTime() >= fromTime && entry.getScanTime() < toTime)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the names of all remotes with at least one stored report.
+     *
+     * @return the remote names in ascending order
+     */
+    public synchronized Set<String> getRemoteNames() {
+        return entries.stream()
+                .map(StoredReport::getRemoteName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Returns the number of stored reports.
+     *
+     * @return the number of reports
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rewrites the log keeping only the most recent reports of every remote. The new files are
+     * written next to the old ones and moved into place afterwards; the index is removed before the
+     * log is replaced, so an interruption at any point leaves files from which a consistent index
+     * can be rebuilt.
+     *
+     * @param retainPerRemote the number of reports to keep for each remote
+     * @return the number of removed reports
+     * @throws IOException if the new files cannot be written or moved
+     */
+    public synchronized int compact(int retainPerRemote) throws IOException {
+        if (retainPerRemote < 1) {
+            throw new IllegalArgumentException("retainPerRemote must be at least 1");
+        }
+        List<StoredReport> retained = new ArrayList<>();
+        String currentRemote = null;
+        int retainedOfRemote = 0;
+        for (StoredReport entry : entries.descendingSet()) {
+            if (!entry.getRemoteName().equals(currentRemote)) {
+                currentRemote = entry.getRemoteName();
+                retainedOfRemote = 0;
+            }
+            if (retainedOfRemote++ < retainPerRemote) {
+                retained.add(entry);
+            }
+        }
+        int removed = entries.size() - retained.size();
+        if (removed == 0) {
+            return 0;
+        }
+        // Keep the original append order in the new log
+        retained.sort(Comparator.comparingLong(StoredReport::getOffset));
+
+        Path logFile = directory.resolve(LOG_FILE);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        Path compactedLog = directory.resolve(LOG_FILE + COMPACTION_SUFFIX);
+        Path compactedIndex = directory.resolve(INDEX_FILE + COMPACTION_SUFFIX);
+        try (FileChannel newLog = FileChannel.open(compactedLog, CREATE, TRUNCATE_EXISTING, WRITE);
+                FileChannel newIndex =
+                        FileChannel.open(compactedIndex, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            long position = 0;
+            for (StoredReport entry : retained) {
+                transferFully(log, entry.getOffset(), entry.getLength(), newLog);
+                writeIndexRecord(newIndex, entry, position);
+                position += entry.getLength();
+            }
+            newLog.force(true);
+            newIndex.force(true);
+        }
+        close();
+        Files.delete(indexFile);
+        Files.move(
+                compactedLog,
+                logFile,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.move(compactedIndex, indexFile, StandardCopyOption.ATOMIC_MOVE);
+        openFiles();
+        LOGGER.debug("Compaction removed {} reports", removed);
+        return removed;
+    }
+
+    /**
+     * Closes the log and index files.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    private static int crc32(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of log");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void transferFully(
+            FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+        while (count > 0) {
+            long transferred = source.transferTo(position, count, target);
+            position += transferred;
+            count -= transferred;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.store;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * The location of one report in a {@link ReportStore}. Entries are ordered by remote name, scan
+ * time and finally position in the log, which is the order of all range scans.
+ */
+public final class StoredReport implements Comparable<StoredReport> {
+
+    static final Comparator<StoredReport> ORDER =
+            Comparator.comparing(StoredReport::getRemoteName)
+                    .thenComparingLong(StoredReport::getScanTime)
+                    .thenComparingLong(StoredReport::getOffset);
+
+    private final String remoteName;
+    private final long scanTime;
+    private final long offset;
+    private final int length;
+
+    StoredReport(String remoteName, long scanTime, long offset, int length) {
+        this.remoteName = remoteName;
+        this.scanTime = scanTime;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the remote name of the stored report.
+     *
+     * @return the remote name
+     */
+    public String getRemoteName() {
+        return remoteName;
+    }
+
+    /**
+     * Returns the scan start time of the stored report in milliseconds since the epoch.
+     *
+     * @return the scan time, 0 if the report had none
+     */
+    public long getScanTime() {
+        return scanTime;
+    }
+
+    /**
+     * Returns the position of the report frame in the segment log.
+     *
+     * @return the frame offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the size of the report frame in the segment log.
+     *
+     * @return the frame length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public int compareTo(StoredReport other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StoredReport)) {
+            return false;
+        }
+        StoredReport that = (StoredReport) o;
+        return scanTime == that.scanTime
+                && offset == that.offset
+                && length == that.length
+                && remoteName.equals(that.remoteName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(remoteName, scanTime, offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return remoteName + "@" + scanTime + " [" + offset + "+" + length + "]";
+    }
+}
@@ -8,11 +8,9 @@
  */
 package de.rub.nds.scanner.core.util;
 
-import de.rub.nds.protocol.util.SilentByteArrayOutputStream;
 import jakarta.xml.bind.*;
 import jakarta.xml.bind.util.JAXBSource;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -21,18 +19,24 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 public abstract class JaxbSerializer<T> {
 
-    private static final Logger LOGGER = LogManager.getLogger();
-
     private static final Map<Integer, JAXBContext> contextMap = new HashMap<>();
 
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    // XMLInputFactory implementations are not guaranteed to be thread-safe
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY =
+            ThreadLocal.withInitial(JaxbSerializer::createInputFactory);
+
+    private final ThreadLocal<CachedMarshallers> marshallers =
+            ThreadLocal.withInitial(CachedMarshallers::new);
+
     protected JAXBContext context;
 
     protected JaxbSerializer() {}
@@ -41,6 +45,13 @@ public abstract class JaxbSerializer<T> {
         this.context = getJAXBContext(classesToBeBound);
     }
 
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory xif = XMLInputFactory.newFactory();
+        xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return xif;
+    }
+
     protected synchronized JAXBContext getJAXBContext(Set<Class<?>> classesToBeBound)
             throws JAXBException {
         int classesHash = classesToBeBound.hashCode();
@@ -67,7 +78,10 @@ public abstract class JaxbSerializer<T> {
     }
 
     /**
-     * Writes the specified object to an output stream using JAXB marshalling.
+     * Writes the specified object to an output stream using JAXB marshalling. The document is
+     * streamed through an indenting transformer directly into the output stream, without XML
+     * declaration and with the platform line separator. The stream is not closed. If writing
+     * fails, the stream may already contain part of the document.
      *
      * @param outputStream the output stream to write to
      * @param obj the object to serialize
@@ -75,22 +89,63 @@ public abstract class JaxbSerializer<T> {
      * @throws IOException if an I/O error occurs during writing
      */
     public void write(OutputStream outputStream, T obj) throws JAXBException, IOException {
-        Marshaller m = context.createMarshaller();
-        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-        try (SilentByteArrayOutputStream tempStream = new SilentByteArrayOutputStream()) {
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-            transformer.transform(new JAXBSource(context, obj), new StreamResult(tempStream));
-            String xmlText =
-                    tempStream
-                            .toString(StandardCharsets.UTF_8)
-                            .replaceAll("\r?\n", System.lineSeparator());
-            outputStream.write(xmlText.getBytes(StandardCharsets.UTF_8));
+        CachedMarshallers cached = getCachedMarshallers();
+        try {
+            if (cached.marshaller == null) {
+                cached.marshaller = context.createMarshaller();
+            }
+            if (cached.transformer == null) {
+                cached.transformer = createTransformer();
+            }
+            cached.transformer.transform(
+                    new JAXBSource(cached.marshaller, obj), new StreamResult(outputStream));
         } catch (TransformerException e) {
-            LOGGER.warn(e);
+            cached.transformer = null;
+            cached.marshaller = null;
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw new IOException("Could not write XML", e);
+                }
+            }
+            throw new JAXBException("Could not write XML", e);
+        }
+        outputStream.flush();
+    }
+
+    private static Transformer createTransformer() throws TransformerConfigurationException {
+        Transformer transformer;
+        // TransformerFactory implementations are not guaranteed to be thread-safe either
+        synchronized (TRANSFORMER_FACTORY) {
+            transformer = TRANSFORMER_FACTORY.newTransformer();
+        }
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+        transformer.setOutputProperty(
+                "{http://xml.apache.org/xalan}line-separator", System.lineSeparator());
+        return transformer;
+    }
+
+    private CachedMarshallers getCachedMarshallers() {
+        CachedMarshallers cached = marshallers.get();
+        if (cached.context != context) {
+            cached.reset(context);
         }
+        return cached;
+    }
+
+    private Unmarshaller getUnmarshaller() throws JAXBException {
+        CachedMarshallers cached = getCachedMarshallers();
+        if (cached.unmarshaller == null) {
+            Unmarshaller unmarshaller = context.createUnmarshaller();
+            unmarshaller.setEventHandler(
+                    event -> {
+                        // raise an Exception also on Warnings
+                        return false;
+                    });
+            cached.unmarshaller = unmarshaller;
+        }
+        return cached.unmarshaller;
     }
 
     /**
@@ -117,20 +172,28 @@ public abstract class JaxbSerializer<T> {
      * @throws XMLStreamException if an error occurs during XML stream processing
      */
     public T read(InputStream inputStream) throws JAXBException, XMLStreamException {
-        Unmarshaller unmarshaller = context.createUnmarshaller();
-        unmarshaller.setEventHandler(
-                event -> {
-                    // raise an Exception also on Warnings
-                    return false;
-                });
-        XMLInputFactory xif = XMLInputFactory.newFactory();
-        xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-        xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-        XMLStreamReader xsr = xif.createXMLStreamReader(inputStream);
+        XMLStreamReader xsr = INPUT_FACTORY.get().createXMLStreamReader(inputStream);
         try {
-            return (T) unmarshaller.unmarshal(xsr);
+            return (T) getUnmarshaller().unmarshal(xsr);
         } finally {
             xsr.close();
         }
     }
+
+    /**
+     * The marshaller, unmarshaller and transformer of one thread. They are expensive to create but
+     * not thread-safe, so every thread reuses its own set as long as the context does not change.
+     */
+    private static final class CachedMarshallers {
+        private JAXBContext context;
+        private Marshaller marshaller;
+        private Unmarshaller unmarshaller;
+        private Transformer transformer;
+
+        private void reset(JAXBContext context) {
+            this.context = context;
+            this.marshaller = null;
+            this.unmarshaller = null;
+        }
+    }
 }
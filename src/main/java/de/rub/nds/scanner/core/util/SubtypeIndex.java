@@ -0,0 +1,265 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+/**
+ * Looks up the subtypes of a base type using the index resources written by {@link
+ * SubtypeIndexProcessor} at compile time. Every classpath root may contribute its own index
+ * resource. The processor writes an index for every indexed base type, even if a root has no
+ * subtypes of it, so for those base types a root with any index resource counts as indexed. Only
+ * roots of the fallback package without an index, for example jars built without the processor,
+ * are scanned with Reflections, and the results of both are merged.
+ *
+ * <p>Results are cached per base type and package for the lifetime of the JVM. Setting the system
+ * property {@value #DISABLE_PROPERTY} to {@code true} ignores the index and always scans.
+ */
+public final class SubtypeIndex {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** Directory of the index resources, each named after the binary name of its base type. */
+    public static final String INDEX_LOCATION = "META-INF/scanner-core/subtypes/";
+
+    /** System property which forces the Reflections fallback when set to {@code true}. */
+    public static final String DISABLE_PROPERTY = "scanner.core.subtypeIndex.disabled";
+
+    private static final Map<String, Set<Class<?>>> CACHE = new ConcurrentHashMap<>();
+
+    private SubtypeIndex() {}
+
+    /**
+     * Returns all known subtypes of the given base type. The base type itself is not included.
+     *
+     * @param baseType the type whose subtypes are requested
+     * @param fallbackPackage the package prefix scanned by Reflections if no index is available
+     * @param <T> the base type
+     * @return an unmodifiable set of the subtypes of the base type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<Class<? extends T>> getSubTypesOf(
+            Class<T> baseType, String fallbackPackage) {
+        Set<Class<?>> subTypes =
+                CACHE.computeIfAbsent(
+                        baseType.getName() + "@" + fallbackPackage,
+                        key -> lookup(baseType, fallbackPackage));
+        return (Set<Class<? extends T>>) (Set<?>) subTypes;
+    }
+
+    /** Drops all cached lookups, so that the next lookup reads the index again. */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static Set<Class<?>> lookup(Class<?> baseType, String fallbackPackage) {
+        Collection<URL> roots = ClasspathHelper.forPackage(fallbackPackage);
+        if (Boolean.getBoolean(DISABLE_PROPERTY)) {
+            return Collections.unmodifiableSet(scan(baseType, fallbackPackage, roots, Set.of()));
+        }
+        ClassLoader classLoader = getClassLoader(baseType);
+        Map<String, Set<Class<?>>> indexes = readIndexes(baseType, classLoader);
+        Set<String> indexedRoots = getIndexedRoots(baseType, classLoader, indexes);
+        Set<Class<?>> subTypes = new HashSet<>();
+        for (Set<Class<?>> indexed : indexes.values()) {
+            subTypes.addAll(indexed);
+        }
+        List<URL> unindexedRoots = new ArrayList<>();
+        for (URL root : roots) {
+            if (!indexedRoots.contains(root.toExternalForm())) {
+                unindexedRoots.add(root);
+            }
+        }
+        LOGGER.debug(
+                "Found {} subtypes of {} in {} indexes, scanning {} more roots of {}",
+                subTypes.size(),
+                baseType.getName(),
+                indexedRoots.size(),
+                unindexedRoots.size(),
+                fallbackPackage);
+        if (!unindexedRoots.isEmpty()) {
+            subTypes.addAll(scan(baseType, fallbackPackage, unindexedRoots, subTypes));
+        }
+        return Collections.unmodifiableSet(subTypes);
+    }
+
+    /**
+     * Reads and merges all index resources of the given base type.
+     *
+     * @return the indexed subtypes, or null if no index resource could be read
+     */
+    static Set<Class<?>> readIndex(Class<?> baseType, ClassLoader classLoader) {
+        Map<String, Set<Class<?>>> indexes = readIndexes(baseType, classLoader);
+        if (indexes.isEmpty()) {
+            return null;
+        }
+        Set<Class<?>> subTypes = new HashSet<>();
+        for (Set<Class<?>> indexed : indexes.values()) {
+            subTypes.addAll(indexed);
+        }
+        return subTypes;
+    }
+
+    /**
+     * Reads all index resources of the given base type. A resource that cannot be read is left
+     * out, so that its root is scanned instead.
+     *
+     * @return the indexed subtypes by the classpath root containing the index resource, in the
+     *     form returned by {@link ClasspathHelper#forPackage(String, ClassLoader...)}
+     */
+    static Map<String, Set<Class<?>>> readIndexes(Class<?> baseType, ClassLoader classLoader) {
+        String resourceName = INDEX_LOCATION + baseType.getName();
+        Enumeration<URL> resources;
+        try {
+            resources = classLoader.getResources(resourceName);
+        } catch (IOException e) {
+            LOGGER.warn("Could not look up subtype index of {}", baseType.getName(), e);
+            return Map.of();
+        }
+        Map<String, Set<Class<?>>> indexes = new LinkedHashMap<>();
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            Set<Class<?>> subTypes = new HashSet<>();
+            try (InputStream in = resource.openStream();
+                    BufferedReader reader =
+                            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Class<?> subType = loadEntry(baseType, classLoader, line, resource);
+                    if (subType != null) {
+                        subTypes.add(subType);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read subtype index {}", resource, e);
+                continue;
+            }
+            indexes.computeIfAbsent(getRoot(resource, resourceName), key -> new HashSet<>())
+                    .addAll(subTypes);
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the classpath roots whose subtypes of the given base type are known from the index.
+     * These are the roots of the given indexes and, if the processor indexes the base type, all
+     * roots with an index resource of another indexed base type but none of this one.
+     *
+     * @param indexes the indexes of the base type, as returned by {@link #readIndexes(Class,
+     *     ClassLoader)}
+     * @return the indexed roots, in the form returned by {@link ClasspathHelper#forPackage(String,
+     *     ClassLoader...)}
+     */
+    static Set<String> getIndexedRoots(
+            Class<?> baseType, ClassLoader classLoader, Map<String, Set<Class<?>>> indexes) {
+        Set<String> indexedRoots = new HashSet<>(indexes.keySet());
+        if (!SubtypeIndexProcessor.INDEXED_TYPES.contains(baseType.getName())) {
+            return indexedRoots;
+        }
+        // roots whose index of this base type could not be read are scanned instead
+        Set<String> rootsWithIndex = findRoots(classLoader, INDEX_LOCATION + baseType.getName());
+        for (String indexedType : SubtypeIndexProcessor.INDEXED_TYPES) {
+            for (String root : findRoots(classLoader, INDEX_LOCATION + indexedType)) {
+                if (!rootsWithIndex.contains(root)) {
+                    indexedRoots.add(root);
+                }
+            }
+        }
+        return indexedRoots;
+    }
+
+    private static Set<String> findRoots(ClassLoader classLoader, String resourceName) {
+        Set<String> roots = new HashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(resourceName);
+            while (resources.hasMoreElements()) {
+                roots.add(getRoot(resources.nextElement(), resourceName));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not look up {}", resourceName, e);
+        }
+        return roots;
+    }
+
+    private static String getRoot(URL resource, String resourceName) {
+        String location = resource.toExternalForm();
+        return location.substring(0, location.length() - resourceName.length());
+    }
+
+    private static Class<?> loadEntry(
+            Class<?> baseType, ClassLoader classLoader, String line, URL resource) {
+        int comment = line.indexOf('#');
+        String className = (comment >= 0 ? line.substring(0, comment) : line).trim();
+        if (className.isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> subType = Class.forName(className, false, classLoader);
+            if (!baseType.isAssignableFrom(subType) || subType.equals(baseType)) {
+                LOGGER.warn(
+                        "Ignoring {} in {}, it is not a subtype of {}",
+                        className,
+                        resource,
+                        baseType.getName());
+                return null;
+            }
+            return subType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.warn("Ignoring stale entry {} in {}", className, resource);
+            return null;
+        }
+    }
+
+    /**
+     * Scans the given roots for subtypes of the base type. Subtypes of already known subtypes are
+     * included as well, since their supertype may live in a root that is not scanned.
+     */
+    private static Set<Class<?>> scan(
+            Class<?> baseType,
+            String packageName,
+            Collection<URL> roots,
+            Set<Class<?>> knownSubTypes) {
+        Reflections reflections =
+                new Reflections(
+                        new ConfigurationBuilder()
+                                .setUrls(roots)
+                                .filterInputsBy(new FilterBuilder().includePackage(packageName)));
+        Set<Class<?>> subTypes = new HashSet<>(reflections.getSubTypesOf(baseType));
+        for (Class<?> knownSubType : knownSubTypes) {
+            subTypes.addAll(reflections.getSubTypesOf(knownSubType));
+        }
+        return subTypes;
+    }
+
+    private static ClassLoader getClassLoader(Class<?> baseType) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : baseType.getClassLoader();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which records all compiled subtypes of the indexed base types in index
+ * resources below {@link SubtypeIndex#INDEX_LOCATION}. The processor does not claim any
+ * annotations and runs for every compilation that has this module on its processor path. An index
+ * resource is written for every indexed base type, even if no subtypes were found, so that {@link
+ * SubtypeIndex} does not scan the compiled classes again.
+ *
+ * <p>Entries of an existing index resource are kept on incremental compilations as long as their
+ * type still exists.
+ */
+@SupportedAnnotationTypes("*")
+public class SubtypeIndexProcessor extends AbstractProcessor {
+
+    /** Binary names of the base types whose subtypes are indexed. */
+    static final List<String> INDEXED_TYPES =
+            List.of(
+                    "de.rub.nds.scanner.core.guideline.GuidelineCheck",
+                    "de.rub.nds.scanner.core.probe.ProbeType");
+
+    private final Map<String, Set<String>> subTypes = new HashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndexes();
+            return false;
+        }
+        for (String baseName : INDEXED_TYPES) {
+            TypeElement baseType = processingEnv.getElementUtils().getTypeElement(baseName);
+            if (baseType == null) {
+                // the base type is not on the classpath of this compilation
+                continue;
+            }
+            TypeMirror baseMirror = processingEnv.getTypeUtils().erasure(baseType.asType());
+            for (Element element : roundEnv.getRootElements()) {
+                collect(element, baseType, baseMirror);
+            }
+        }
+        return false;
+    }
+
+    private void collect(Element element, TypeElement baseType, TypeMirror baseMirror) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        Types typeUtils = processingEnv.getTypeUtils();
+        if (!type.equals(baseType)
+                && typeUtils.isSubtype(typeUtils.erasure(type.asType()), baseMirror)) {
+            subTypes.computeIfAbsent(baseType.getQualifiedName().toString(), k -> new TreeSet<>())
+                    .add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            collect(enclosed, baseType, baseMirror);
+        }
+    }
+
+    private void writeIndexes() {
+        for (String baseName : INDEXED_TYPES) {
+            String resourceName = SubtypeIndex.INDEX_LOCATION + baseName;
+            Set<String> names = new TreeSet<>(subTypes.getOrDefault(baseName, Set.of()));
+            names.addAll(readExistingEntries(resourceName));
+            try {
+                FileObject resource =
+                        processingEnv
+                                .getFiler()
+                                .createResource(StandardLocation.CLASS_OUTPUT, "", resourceName);
+                try (Writer writer = resource.openWriter()) {
+                    for (String name : names) {
+                        writer.write(name);
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                processingEnv
+                        .getMessager()
+                        .printMessage(
+                                Diagnostic.Kind.WARNING,
+                                "Could not write subtype index " + resourceName + ": " + e);
+            }
+        }
+    }
+
+    private Set<String> readExistingEntries(String resourceName) {
+        Set<String> names = new TreeSet<>();
+        try {
+            FileObject existing =
+                    processingEnv
+                            .getFiler()
+                            .getResource(StandardLocation.CLASS_OUTPUT, "", resourceName);
+            try (BufferedReader reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String name = line.trim();
+                    // binary names of nested types use '$', canonical names use '.'
+                    if (!name.isEmpty()
+                            && processingEnv
+                                            .getElementUtils()
+                                            .getTypeElement(name.replace('$', '.'))
+                                    != null) {
+                        names.add(name);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // there is no previous index to merge with
+        }
+        return names;
+    }
+}
@@ -122,6 +122,55 @@ public class ExecutorConfigTest {
         assertTrue(config.isMultithreaded());
     }
 
+    @Test
+    public void testStatsExtractionGetterSetter() {
+        assertEquals(0, config.getStatsExtractorThreads());
+        assertFalse(config.isAsyncStatsExtraction());
+        assertEquals(1024, config.getStatsQueueCapacity());
+        assertEquals(StatsBackpressure.BLOCK, config.getStatsBackpressure());
+
+        config.setStatsExtractorThreads(2);
+        config.setStatsQueueCapacity(16);
+        config.setStatsBackpressure(StatsBackpressure.CALLER_RUNS);
+        assertEquals(2, config.getStatsExtractorThreads());
+        assertTrue(config.isAsyncStatsExtraction());
+        assertEquals(16, config.getStatsQueueCapacity());
+        assertEquals(StatsBackpressure.CALLER_RUNS, config.getStatsBackpressure());
+    }
+
+    @Test
+    public void testReportWriteGetterSetter() {
+        assertFalse(config.isAsyncReportWrite());
+        assertEquals(16, config.getReportQueueCapacity());
+        assertEquals(ReportDurability.BUFFERED, config.getReportDurability());
+        assertEquals(3, config.getReportWriteRetries());
+
+        config.setAsyncReportWrite(true);
+        config.setReportQueueCapacity(4);
+        config.setReportDurability(ReportDurability.FSYNC);
+        config.setReportWriteRetries(0);
+        assertTrue(config.isAsyncReportWrite());
+        assertEquals(4, config.getReportQueueCapacity());
+        assertEquals(ReportDurability.FSYNC, config.getReportDurability());
+        assertEquals(0, config.getReportWriteRetries());
+    }
+
+    @Test
+    public void testIncrementalGuidelinesGetterSetter() {
+        assertFalse(config.isIncrementalGuidelines());
+
+        config.setIncrementalGuidelines(true);
+        assertTrue(config.isIncrementalGuidelines());
+    }
+
+    @Test
+    public void testStopOnSettledScoreGetterSetter() {
+        assertFalse(config.isStopOnSettledScore());
+
+        config.setStopOnSettledScore(true);
+        assertTrue(config.isStopOnSettledScore());
+    }
+
     @Test
     public void testExcludedProbesGetterSetter() {
         assertTrue(config.getExcludedProbes().isEmpty());
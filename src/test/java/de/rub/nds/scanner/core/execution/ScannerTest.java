@@ -12,14 +12,29 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import de.rub.nds.scanner.core.afterprobe.AfterProbe;
 import de.rub.nds.scanner.core.config.ExecutorConfig;
+import de.rub.nds.scanner.core.config.ReportDurability;
+import de.rub.nds.scanner.core.guideline.FailedCheckGuidelineResult;
 import de.rub.nds.scanner.core.guideline.Guideline;
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineCheck;
+import de.rub.nds.scanner.core.guideline.GuidelineCheckResult;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.guideline.RequirementLevel;
 import de.rub.nds.scanner.core.passive.StatsWriter;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
 import de.rub.nds.scanner.core.probe.ProbeType;
 import de.rub.nds.scanner.core.probe.ScannerProbe;
 import de.rub.nds.scanner.core.probe.requirements.FulfilledRequirement;
+import de.rub.nds.scanner.core.probe.requirements.ProbeRequirement;
 import de.rub.nds.scanner.core.probe.requirements.Requirement;
 import de.rub.nds.scanner.core.probe.requirements.UnfulfillableRequirement;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.AsyncReportSink;
 import de.rub.nds.scanner.core.report.ScanReport;
+import de.rub.nds.scanner.core.report.rating.PropertyResultRatingInfluencer;
+import de.rub.nds.scanner.core.report.rating.RatingInfluencer;
 import de.rub.nds.scanner.core.report.rating.RatingInfluencers;
 import de.rub.nds.scanner.core.report.rating.Recommendations;
 import de.rub.nds.scanner.core.report.rating.SiteReportRater;
@@ -30,6 +45,7 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -120,6 +136,51 @@ public class ScannerTest {
         }
     }
 
+    enum ScoredProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    /** Writes one property and optionally waits for another probe. */
+    static class ScoringProbe extends TestProbe {
+        private final AnalyzedProperty property;
+        private final TestResult result;
+        private final Requirement<TestReport> requirement;
+
+        ScoringProbe(
+                ProbeType type,
+                AnalyzedProperty property,
+                TestResult result,
+                Requirement<TestReport> requirement) {
+            super(type);
+            this.property = property;
+            this.result = result;
+            this.requirement = requirement;
+            register(property);
+        }
+
+        @Override
+        public void executeTest() {
+            super.executeTest();
+            put(property, result);
+        }
+
+        @Override
+        public Requirement<TestReport> getRequirements() {
+            return requirement;
+        }
+    }
+
     static class TestAfterProbe extends AfterProbe<TestReport> {
         private boolean analyzed = false;
 
@@ -133,6 +194,24 @@ public class ScannerTest {
         }
     }
 
+    static class IncrementalGuidelineCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
+        IncrementalGuidelineCheck() {
+            super("TestCheck", RequirementLevel.MUST);
+        }
+
+        @Override
+        public <ReportT extends ScanReport> GuidelineCheckResult evaluate(ReportT report) {
+            return new FailedCheckGuidelineResult(this, GuidelineAdherence.ADHERED);
+        }
+
+        @Override
+        public Set<AnalyzedProperty> getReferencedProperties() {
+            return Set.of();
+        }
+    }
+
     static class TestStatsWriter extends StatsWriter<TestState> {
         @Override
         public void extract(TestState state) {}
@@ -175,6 +254,10 @@ public class ScannerTest {
             // Implementation for AutoCloseable
         }
 
+        void closeScanner() throws Exception {
+            super.close();
+        }
+
         @Override
         protected void fillProbeLists() {
             fillProbesCalled = true;
@@ -366,6 +449,122 @@ public class ScannerTest {
         assertNotNull(report.getScoreReport());
     }
 
+    private static SiteReportRater createScoringRater(PropertyResultRatingInfluencer onFirst) {
+        RatingInfluencers influencers =
+                new RatingInfluencers(
+                        new LinkedList<>(
+                                List.of(
+                                        new RatingInfluencer(ScoredProperty.FIRST, onFirst),
+                                        new RatingInfluencer(
+                                                ScoredProperty.SECOND,
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.TRUE, 50)))));
+        return new SiteReportRater(influencers, new Recommendations(new LinkedList<>()));
+    }
+
+    private static List<TestProbe> createScoringProbes() {
+        TestProbeType firstType = new TestProbeType("first");
+        return List.of(
+                new ScoringProbe(
+                        firstType,
+                        ScoredProperty.FIRST,
+                        TestResults.TRUE,
+                        new FulfilledRequirement<>()),
+                new ScoringProbe(
+                        new TestProbeType("second"),
+                        ScoredProperty.SECOND,
+                        TestResults.TRUE,
+                        new ProbeRequirement<>(firstType)));
+    }
+
+    @Test
+    public void testScanWithLiveScore() {
+        List<TestProbe> probeList = createScoringProbes();
+        List<Integer> provisionalScores = new ArrayList<>();
+        TestReport report;
+        try (TestScanner scanner =
+                new TestScanner(
+                        executorConfig,
+                        probeList,
+                        List.of(),
+                        (probe, scanReport, completed, total) ->
+                                provisionalScores.add(scanReport.getScore()))) {
+            scanner.setSiteReportRater(
+                    createScoringRater(new PropertyResultRatingInfluencer(TestResults.TRUE, 100)));
+            report = scanner.scan();
+        }
+
+        assertEquals(List.of(100, 150), provisionalScores);
+        assertEquals(150, report.getScore());
+        assertTrue(probeList.get(1).isExecuted());
+    }
+
+    @Test
+    public void testScanRetrievesRaterAfterProbesWithoutLiveScore() {
+        List<TestProbe> probeList = createScoringProbes();
+        List<Boolean> executedWhenRetrieved = new ArrayList<>();
+        TestReport report;
+        try (TestScanner scanner =
+                new TestScanner(executorConfig, probeList, List.of()) {
+                    @Override
+                    protected SiteReportRater getSiteReportRater() {
+                        executedWhenRetrieved.add(probeList.get(0).isExecuted());
+                        return super.getSiteReportRater();
+                    }
+                }) {
+            scanner.setSiteReportRater(
+                    createScoringRater(new PropertyResultRatingInfluencer(TestResults.TRUE, 100)));
+            report = scanner.scan();
+        }
+
+        assertEquals(List.of(true), executedWhenRetrieved);
+        assertEquals(150, report.getScore());
+    }
+
+    @Test
+    public void testInterruptedScanHasNoProvisionalScore() {
+        List<TestProbe> probeList = createScoringProbes();
+        List<Integer> provisionalScores = new ArrayList<>();
+        TestReport report;
+        try (TestScanner scanner =
+                new TestScanner(
+                        executorConfig,
+                        probeList,
+                        List.of(),
+                        (probe, scanReport, completed, total) -> {
+                            provisionalScores.add(scanReport.getScore());
+                            Thread.currentThread().interrupt();
+                        })) {
+            scanner.setSiteReportRater(
+                    createScoringRater(new PropertyResultRatingInfluencer(TestResults.TRUE, 100)));
+            report = scanner.scan();
+        } finally {
+            // clear the interrupt flag for the following tests
+            Thread.interrupted();
+        }
+
+        assertEquals(List.of(100), provisionalScores);
+        assertNull(report.getScore());
+    }
+
+    @Test
+    public void testScanStopsOnSettledScore() {
+        executorConfig.setStopOnSettledScore(true);
+        List<TestProbe> probeList = createScoringProbes();
+        TestReport report;
+        try (TestScanner scanner = new TestScanner(executorConfig, probeList, List.of())) {
+            scanner.setSiteReportRater(
+                    createScoringRater(
+                            new PropertyResultRatingInfluencer(TestResults.TRUE, 0, 0)));
+            report = scanner.scan();
+        }
+
+        assertTrue(probeList.get(0).isExecuted());
+        assertFalse(probeList.get(1).isExecuted());
+        assertEquals(TestResults.COULD_NOT_TEST, report.getResult(ScoredProperty.SECOND));
+        assertEquals(0, report.getScore());
+    }
+
     @Test
     public void testScanWithGuidelines() {
         TestReport report;
@@ -381,6 +580,35 @@ public class ScannerTest {
         assertNotNull(report);
     }
 
+    @Test
+    public void testScanWithIncrementalGuidelines() {
+        executorConfig.setIncrementalGuidelines(true);
+        List<TestProbe> probeList = List.of(new TestProbe(new TestProbeType("probe1")));
+        List<Integer> completedProbes = new ArrayList<>();
+        TestReport report;
+        try (TestScanner scanner =
+                new TestScanner(
+                        executorConfig,
+                        probeList,
+                        List.of(),
+                        (probe, scanReport, completed, total) -> completedProbes.add(completed))) {
+            scanner.setGuidelines(
+                    List.of(
+                            new Guideline(
+                                    "TestGuideline",
+                                    "http://example.com",
+                                    List.of(new IncrementalGuidelineCheck()))));
+            report = scanner.scan();
+        }
+
+        assertEquals(List.of(1), completedProbes);
+        assertEquals(1, report.getGuidelineReports().size());
+        GuidelineReport guidelineReport = report.getGuidelineReports().get(0);
+        assertEquals("TestGuideline", guidelineReport.getName());
+        assertEquals(
+                GuidelineAdherence.ADHERED, guidelineReport.getResults().get(0).getAdherence());
+    }
+
     @Test
     public void testScanWithFileOutput() throws IOException {
         File outputFile = new File(tempDir, "test-report.json");
@@ -395,6 +623,63 @@ public class ScannerTest {
         assertFalse(content.isEmpty());
     }
 
+    @Test
+    public void testScanWithAsyncFileOutput() throws Exception {
+        File outputFile = new File(tempDir, "test-report.json");
+        executorConfig.setOutputFile(outputFile.getAbsolutePath());
+        executorConfig.setAsyncReportWrite(true);
+
+        try (AsyncReportSink sink = new AsyncReportSink(executorConfig);
+                TestScanner scanner = new TestScanner(executorConfig)) {
+            scanner.setReportSink(sink);
+            scanner.scan();
+            sink.flush();
+        }
+
+        assertTrue(outputFile.exists());
+        assertFalse(Files.readString(outputFile.toPath()).isEmpty());
+    }
+
+    @Test
+    public void testAsyncReportWriteCanBeAwaited() throws Exception {
+        File outputFile = new File(tempDir, "test-report.json");
+        executorConfig.setOutputFile(outputFile.getAbsolutePath());
+        executorConfig.setAsyncReportWrite(true);
+
+        TestScanner scanner = new TestScanner(executorConfig);
+        assertNull(scanner.getReportWrite());
+        scanner.scan();
+
+        assertEquals(outputFile.toPath(), scanner.getReportWrite().get());
+        assertFalse(Files.readString(outputFile.toPath()).isEmpty());
+        scanner.closeScanner();
+    }
+
+    @Test
+    public void testFailedAsyncReportWriteIsThrownOnClose() {
+        executorConfig.setOutputFile(new File(tempDir, "test-report.json").getAbsolutePath());
+        executorConfig.setAsyncReportWrite(true);
+        IOException writeFailure = new IOException("disk full");
+
+        try (AsyncReportSink sink =
+                new AsyncReportSink(
+                        (report, outputStream) -> {
+                            throw writeFailure;
+                        },
+                        1,
+                        ReportDurability.BUFFERED,
+                        0,
+                        1)) {
+            TestScanner scanner = new TestScanner(executorConfig);
+            scanner.setReportSink(sink);
+            scanner.scan();
+
+            IOException thrown = assertThrows(IOException.class, scanner::closeScanner);
+            assertSame(writeFailure, thrown.getCause());
+            assertNull(scanner.getReportWrite());
+        }
+    }
+
     @Test
     public void testScanWithInvalidOutputFile() {
         File invalidFile = new File("/invalid/path/that/does/not/exist/report.json");
@@ -0,0 +1,131 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.afterprobe.AfterProbe;
+import de.rub.nds.scanner.core.passive.StateRecorder;
+import de.rub.nds.scanner.core.passive.StatsWriter;
+import de.rub.nds.scanner.core.passive.TestStatExtractor;
+import de.rub.nds.scanner.core.passive.TestState;
+import de.rub.nds.scanner.core.passive.TestStateCodec;
+import de.rub.nds.scanner.core.passive.TestTrackableValue;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StateReplayerTest {
+
+    @TempDir private Path tempDir;
+
+    private StateReplayer<TestReport, CountingAfterProbe, TestState> replayer;
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    static class CountingAfterProbe extends AfterProbe<TestReport> {
+        private int analyzedValues = -1;
+
+        @Override
+        public void analyze(TestReport report) {
+            analyzedValues =
+                    report.getExtractedValueContainer(new TestTrackableValue("type"))
+                            .getNumberOfExtractedValues();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        replayer =
+                new StateReplayer<>(
+                        new TestStateCodec(),
+                        () -> {
+                            StatsWriter<TestState> writer = new StatsWriter<>();
+                            writer.addExtractor(new TestStatExtractor());
+                            return writer;
+                        },
+                        () -> List.of(new CountingAfterProbe()));
+    }
+
+    private Path record(String name, int states) throws IOException {
+        Path log = tempDir.resolve(name);
+        try (StateRecorder<TestState> recorder = new StateRecorder<>(log, new TestStateCodec())) {
+            for (int i = 0; i < states; i++) {
+                recorder.record(new TestState("value" + i));
+            }
+        }
+        return log;
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        Path log = record("scan.log", 5);
+        List<CountingAfterProbe> afterProbes = new ArrayList<>();
+        StateReplayer<TestReport, CountingAfterProbe, TestState> trackingReplayer =
+                new StateReplayer<>(
+                        new TestStateCodec(),
+                        () -> {
+                            StatsWriter<TestState> writer = new StatsWriter<>();
+                            writer.addExtractor(new TestStatExtractor());
+                            return writer;
+                        },
+                        () -> {
+                            CountingAfterProbe afterProbe = new CountingAfterProbe();
+                            afterProbes.add(afterProbe);
+                            return List.of(afterProbe);
+                        });
+
+        TestReport report = new TestReport();
+        trackingReplayer.replay(log, report);
+
+        assertEquals(5, report.getPerformedConnections());
+        assertEquals(1, afterProbes.size());
+        assertEquals(5, afterProbes.get(0).analyzedValues);
+    }
+
+    @Test
+    public void testReplayAllKeepsOrder() throws IOException, InterruptedException {
+        List<Path> logs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            logs.add(record("scan" + i + ".log", i));
+        }
+
+        Map<Path, TestReport> reports = replayer.replayAll(logs, log -> new TestReport(), 4);
+
+        assertEquals(logs, new ArrayList<>(reports.keySet()));
+        for (int i = 0; i < logs.size(); i++) {
+            assertEquals(i, reports.get(logs.get(i)).getPerformedConnections());
+        }
+    }
+
+    @Test
+    public void testReplayAllPropagatesIOException() throws IOException {
+        Path broken = tempDir.resolve("broken.log");
+        Files.write(broken, new byte[] {1, 2, 3});
+        List<Path> logs = List.of(record("ok.log", 1), broken);
+
+        assertThrows(IOException.class, () -> replayer.replayAll(logs, log -> new TestReport(), 2));
+    }
+}
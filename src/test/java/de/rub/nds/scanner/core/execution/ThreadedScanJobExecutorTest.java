@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import de.rub.nds.scanner.core.afterprobe.AfterProbe;
 import de.rub.nds.scanner.core.config.ExecutorConfig;
 import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.StatExtractor;
 import de.rub.nds.scanner.core.passive.StatsWriter;
 import de.rub.nds.scanner.core.passive.TrackableValue;
 import de.rub.nds.scanner.core.probe.ProbeType;
@@ -208,6 +209,33 @@ public class ThreadedScanJobExecutorTest {
         }
     }
 
+    static class StateProducingProbe extends TestProbe {
+        private final int stateCount;
+
+        StateProducingProbe(ProbeType type, int stateCount) {
+            super(type);
+            this.stateCount = stateCount;
+            StatsWriter<TestState> writer = new StatsWriter<>();
+            writer.addExtractor(
+                    new StatExtractor<TestState, String>(TestTrackableValue.TEST_VALUE) {
+                        @Override
+                        public void extract(TestState state) {
+                            put(getType().getName());
+                        }
+                    });
+            setWriter(writer);
+        }
+
+        @Override
+        public void executeTest() {
+            List<TestState> states = new ArrayList<>();
+            for (int i = 0; i < stateCount; i++) {
+                states.add(new TestState());
+            }
+            extractStats(states);
+        }
+    }
+
     static class TestExtractedValueContainer extends ExtractedValueContainer<String> {
         TestExtractedValueContainer() {
             super(TestTrackableValue.TEST_VALUE);
@@ -367,6 +395,36 @@ public class ThreadedScanJobExecutorTest {
         }
     }
 
+    @Test
+    public void testAsyncStatsExtraction() throws InterruptedException {
+        executorConfig.setStatsExtractorThreads(2);
+        executorConfig.setStatsQueueCapacity(4);
+        List<TestProbe> probeList =
+                Arrays.asList(
+                        new StateProducingProbe(new TestProbeType("probe1"), 50),
+                        new StateProducingProbe(new TestProbeType("probe2"), 30));
+        List<TestAfterProbe> afterList = new ArrayList<>();
+
+        ScanJob<TestReport, TestProbe, TestAfterProbe, TestState> scanJob =
+                new ScanJob<>(probeList, afterList);
+
+        try (ThreadedScanJobExecutor<TestReport, TestProbe, TestAfterProbe, TestState> executor =
+                new ThreadedScanJobExecutor<>(executorConfig, scanJob, 2, "Test")) {
+            TestReport report = new TestReport();
+            executor.execute(report);
+
+            assertEquals(80, report.getPerformedConnections());
+            assertEquals(
+                    80,
+                    report.getExtractedValueContainers()
+                            .get(TestTrackableValue.TEST_VALUE)
+                            .getNumberOfExtractedValues());
+            for (TestProbe probe : probeList) {
+                assertNull(probe.getStatsPipeline());
+            }
+        }
+    }
+
     @Test
     public void testShutdown() throws InterruptedException {
         List<TestProbe> probeList = List.of(new TestProbe(new TestProbeType("probe1")));
@@ -0,0 +1,168 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CompiledConditionTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        THIRD;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return new TestPropertyCategory();
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static class TestReport extends ScanReport {
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+
+        @Override
+        public String getRemoteName() {
+            return "TestRemote";
+        }
+    }
+
+    private static GuidelineCheckCondition is(AnalyzedProperty property, TestResults result) {
+        return new GuidelineCheckCondition(property, result);
+    }
+
+    @Test
+    void testNullConditionIsAlwaysMet() {
+        assertSame(CompiledCondition.TRUE, CompiledCondition.compile(null));
+        assertTrue(CompiledCondition.TRUE.test(new TestReport()));
+    }
+
+    @Test
+    void testNestedConditionsAreFlattened() {
+        GuidelineCheckCondition nested =
+                GuidelineCheckCondition.and(
+                        List.of(
+                                is(TestProperty.FIRST, TestResults.TRUE),
+                                GuidelineCheckCondition.and(
+                                        List.of(
+                                                is(TestProperty.SECOND, TestResults.TRUE),
+                                                is(TestProperty.FIRST, TestResults.TRUE))),
+                                GuidelineCheckCondition.and(List.of())));
+        GuidelineCheckCondition flat =
+                GuidelineCheckCondition.and(
+                        List.of(
+                                is(TestProperty.FIRST, TestResults.TRUE),
+                                is(TestProperty.SECOND, TestResults.TRUE)));
+
+        CompiledCondition compiled = CompiledCondition.compile(nested);
+
+        assertEquals(CompiledCondition.compile(flat), compiled);
+        assertEquals(CompiledCondition.compile(flat).hashCode(), compiled.hashCode());
+        assertEquals("and[FIRST=TRUE, SECOND=TRUE]", compiled.toString());
+    }
+
+    @Test
+    void testSingleOperandIsUnwrapped() {
+        GuidelineCheckCondition condition =
+                GuidelineCheckCondition.or(List.of(is(TestProperty.FIRST, TestResults.FALSE)));
+
+        assertEquals(
+                CompiledCondition.compile(is(TestProperty.FIRST, TestResults.FALSE)),
+                CompiledCondition.compile(condition));
+    }
+
+    @Test
+    void testEvaluation() {
+        CompiledCondition compiled =
+                CompiledCondition.compile(
+                        GuidelineCheckCondition.or(
+                                List.of(
+                                        is(TestProperty.FIRST, TestResults.TRUE),
+                                        GuidelineCheckCondition.and(
+                                                List.of(
+                                                        is(TestProperty.SECOND, TestResults.TRUE),
+                                                        is(
+                                                                TestProperty.THIRD,
+                                                                TestResults.FALSE))))));
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.FIRST, TestResults.FALSE);
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+        report.putResult(TestProperty.THIRD, TestResults.FALSE);
+
+        assertTrue(compiled.test(report));
+        assertTrue(compiled.test(new ConditionContext(report)));
+
+        report.putResult(TestProperty.THIRD, TestResults.TRUE);
+        assertFalse(compiled.test(report));
+        assertFalse(compiled.test(new ConditionContext(report)));
+        assertEquals(
+                Set.of(TestProperty.FIRST, TestProperty.SECOND, TestProperty.THIRD),
+                compiled.getReferencedProperties());
+    }
+
+    @Test
+    void testEmptyConditionsAreMet() {
+        TestReport report = new TestReport();
+
+        assertTrue(CompiledCondition.compile(GuidelineCheckCondition.or(List.of())).test(report));
+        assertTrue(CompiledCondition.compile(GuidelineCheckCondition.and(List.of())).test(report));
+    }
+
+    @Test
+    void testInvalidNodesAreNeverMet() {
+        GuidelineCheckCondition invalid = new GuidelineCheckCondition(null, null);
+        TestReport report = new TestReport();
+
+        assertFalse(CompiledCondition.compile(invalid).test(report));
+        // an invalid operand does not decide a disjunction
+        assertTrue(
+                CompiledCondition.compile(
+                                GuidelineCheckCondition.or(
+                                        List.of(invalid, GuidelineCheckCondition.and(List.of()))))
+                        .test(report));
+        assertFalse(
+                CompiledCondition.compile(
+                                GuidelineCheckCondition.and(
+                                        List.of(invalid, GuidelineCheckCondition.and(List.of()))))
+                        .test(report));
+    }
+
+    @Test
+    void testValidateRejectsInvalidNodes() {
+        GuidelineCheckCondition condition =
+                GuidelineCheckCondition.and(
+                        List.of(
+                                is(TestProperty.FIRST, TestResults.TRUE),
+                                GuidelineCheckCondition.or(
+                                        List.of(new GuidelineCheckCondition(null, null)))));
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> CompiledCondition.validate(condition));
+        assertTrue(exception.getMessage().contains("condition/and[1]/or[0]"));
+        assertEquals(
+                CompiledCondition.compile(is(TestProperty.FIRST, TestResults.TRUE)),
+                CompiledCondition.validate(is(TestProperty.FIRST, TestResults.TRUE)));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConditionContextTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return new TestPropertyCategory();
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    /** Counts how often results are read. */
+    private static class CountingReport extends ScanReport {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public synchronized TestResult getResult(AnalyzedProperty property) {
+            reads.incrementAndGet();
+            return super.getResult(property);
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+
+        @Override
+        public String getRemoteName() {
+            return "TestRemote";
+        }
+    }
+
+    private static GuidelineCheckCondition sharedCondition() {
+        return GuidelineCheckCondition.and(
+                List.of(
+                        new GuidelineCheckCondition(TestProperty.FIRST, TestResults.TRUE),
+                        new GuidelineCheckCondition(TestProperty.SECOND, TestResults.TRUE)));
+    }
+
+    @Test
+    void testPropertiesAreReadOnce() {
+        CountingReport report = new CountingReport();
+        report.putResult(TestProperty.FIRST, TestResults.TRUE);
+        ConditionContext context = new ConditionContext(report);
+
+        assertEquals(TestResults.TRUE, context.getResult(TestProperty.FIRST));
+        assertEquals(TestResults.TRUE, context.getResult(TestProperty.FIRST));
+        assertEquals(TestResults.NOT_SCHEDULED, context.getResult(TestProperty.SECOND));
+        assertEquals(TestResults.NOT_SCHEDULED, context.getResult(TestProperty.SECOND));
+        assertEquals(2, report.reads.get());
+        assertSame(report, context.getReport());
+    }
+
+    @Test
+    void testIdenticalConditionsAreEvaluatedOnce() {
+        CountingReport report = new CountingReport();
+        report.putResult(TestProperty.FIRST, TestResults.TRUE);
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+        ConditionContext context = new ConditionContext(report);
+        // separately compiled, but structurally identical conditions
+        CompiledCondition first = CompiledCondition.compile(sharedCondition());
+        CompiledCondition second = CompiledCondition.compile(sharedCondition());
+
+        assertTrue(first.test(context));
+        // the result is cached, later changes of the report are not seen
+        report.putResult(TestProperty.SECOND, TestResults.FALSE);
+        assertTrue(second.test(context));
+        assertEquals(2, report.reads.get());
+        assertFalse(second.test(new ConditionContext(report)));
+    }
+}
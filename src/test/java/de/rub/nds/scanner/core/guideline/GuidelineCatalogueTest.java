@@ -0,0 +1,263 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.guideline.testutil.IOTestGuidelineCheck;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GuidelineCatalogueTest {
+
+    private static final String FOLDER = "catalogue-guidelines";
+
+    @TempDir Path tempDir;
+
+    private Path resourceDir;
+
+    private GuidelineIO io;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resourceDir = Files.createDirectories(tempDir.resolve("resources"));
+        Files.createDirectories(resourceDir.resolve(FOLDER));
+        io = new GuidelineIO(null);
+        writeGuideline("b.xml", "Second", 2);
+        writeGuideline("a.xml", "First", 1);
+        writeGuideline("c.xml", "Third", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GuidelineCatalogue.clear();
+        GuidelineCatalogue.setSnapshotDirectory(null);
+    }
+
+    @Test
+    void testGetGuidelinesIsCached() throws Exception {
+        try (URLClassLoader classLoader = createClassLoader()) {
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+
+            assertEquals(
+                    List.of("First", "Second", "Third"),
+                    guidelines.stream().map(Guideline::getName).toList());
+            assertEquals(3, guidelines.get(2).getChecks().size());
+            assertSame(guidelines, GuidelineCatalogue.getGuidelines(classLoader, FOLDER));
+            assertThrows(UnsupportedOperationException.class, () -> guidelines.remove(0));
+        }
+    }
+
+    @Test
+    void testMissingFolder() throws Exception {
+        try (URLClassLoader classLoader = createClassLoader()) {
+            assertTrue(GuidelineCatalogue.getGuidelines(classLoader, "missing").isEmpty());
+        }
+    }
+
+    @Test
+    void testSnapshotIsReused() throws Exception {
+        Path snapshotDir = tempDir.resolve("snapshots");
+        GuidelineCatalogue.setSnapshotDirectory(snapshotDir);
+        try (URLClassLoader classLoader = createClassLoader()) {
+            GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+            Path snapshot = getSnapshot(snapshotDir);
+            FileTime written = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(snapshot, written);
+
+            GuidelineCatalogue.clear();
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+
+            assertEquals(written, Files.getLastModifiedTime(snapshot));
+            assertEquals(
+                    List.of("First", "Second", "Third"),
+                    guidelines.stream().map(Guideline::getName).toList());
+            GuidelineCheck check = guidelines.get(0).getChecks().get(0);
+            assertEquals("Check1", check.getName());
+            assertEquals(RequirementLevel.MUST, check.getRequirementLevel());
+        }
+    }
+
+    @Test
+    void testSnapshotIsInvalidatedByChangedSources() throws Exception {
+        Path snapshotDir = tempDir.resolve("snapshots");
+        GuidelineCatalogue.setSnapshotDirectory(snapshotDir);
+        try (URLClassLoader classLoader = createClassLoader()) {
+            GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+            Path snapshot = getSnapshot(snapshotDir);
+            FileTime written = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(snapshot, written);
+
+            writeGuideline("a.xml", "Changed", 1);
+            GuidelineCatalogue.clear();
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+
+            assertNotEquals(written, Files.getLastModifiedTime(snapshot));
+            assertEquals(
+                    List.of("Changed", "Second", "Third"),
+                    guidelines.stream().map(Guideline::getName).toList());
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() throws Exception {
+        Path snapshotDir = tempDir.resolve("snapshots");
+        GuidelineCatalogue.setSnapshotDirectory(snapshotDir);
+        try (URLClassLoader classLoader = createClassLoader()) {
+            GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+            Path snapshot = getSnapshot(snapshotDir);
+            byte[] content = Files.readAllBytes(snapshot);
+            Files.write(snapshot, Arrays.copyOf(content, content.length / 2));
+
+            GuidelineCatalogue.clear();
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+
+            assertEquals(3, guidelines.size());
+            assertEquals(content.length, Files.size(snapshot));
+        }
+    }
+
+    @Test
+    void testUnreadableFolderIsRetried() throws Exception {
+        Files.writeString(resourceDir.resolve(FOLDER).resolve("d.xml"), "<broken");
+        try (URLClassLoader classLoader = createClassLoader()) {
+            assertTrue(GuidelineCatalogue.getGuidelines(classLoader, FOLDER).isEmpty());
+
+            Files.delete(resourceDir.resolve(FOLDER).resolve("d.xml"));
+
+            assertEquals(3, GuidelineCatalogue.getGuidelines(classLoader, FOLDER).size());
+        }
+    }
+
+    @Test
+    void testClassLoaderIsNotPinned() throws Exception {
+        Path snapshotDir = tempDir.resolve("snapshots");
+        GuidelineCatalogue.setSnapshotDirectory(snapshotDir);
+        try (URLClassLoader classLoader = createClassLoader()) {
+            GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+        }
+        GuidelineCatalogue.clear();
+
+        WeakReference<ClassLoader> pluginLoader = loadFromPluginLoader();
+        for (int i = 0; i < 100 && pluginLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(pluginLoader.get());
+    }
+
+    private WeakReference<ClassLoader> loadFromPluginLoader() throws Exception {
+        try (URLClassLoader classLoader = new PluginClassLoader(resourceDir)) {
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+            // the checks are read from the snapshot with classes of the plugin loader
+            assertSame(
+                    classLoader,
+                    guidelines.get(0).getChecks().get(0).getClass().getClassLoader());
+            assertSame(guidelines, GuidelineCatalogue.getGuidelines(classLoader, FOLDER));
+            return new WeakReference<>(classLoader);
+        }
+    }
+
+    @Test
+    void testSnapshotIsInvalidatedByChangedClass() throws Exception {
+        Path snapshotDir = tempDir.resolve("snapshots");
+        GuidelineCatalogue.setSnapshotDirectory(snapshotDir);
+        try (URLClassLoader classLoader = createClassLoader()) {
+            GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+            Path snapshot = getSnapshot(snapshotDir);
+            byte[] content = Files.readAllBytes(snapshot);
+            ByteArrayInputStream in = new ByteArrayInputStream(content);
+            DataInputStream header = new DataInputStream(in);
+            header.readInt();
+            header.skipNBytes(header.readUnsignedShort());
+            assertTrue(header.readInt() > 0);
+            assertEquals(Guideline.class.getName(), header.readUTF());
+            // flip the recorded serialVersionUID of the first class
+            content[content.length - in.available()] ^= 1;
+            Files.write(snapshot, content);
+            FileTime written = FileTime.fromMillis(1_000_000L);
+            Files.setLastModifiedTime(snapshot, written);
+
+            GuidelineCatalogue.clear();
+            List<Guideline> guidelines = GuidelineCatalogue.getGuidelines(classLoader, FOLDER);
+
+            assertEquals(3, guidelines.size());
+            assertNotEquals(written, Files.getLastModifiedTime(snapshot));
+        }
+    }
+
+    private void writeGuideline(String fileName, String name, int checkCount) throws Exception {
+        Guideline guideline = new Guideline(name, "https://example.com/" + name, List.of());
+        for (int i = 1; i <= checkCount; i++) {
+            guideline.addCheck(new IOTestGuidelineCheck("Check" + i, RequirementLevel.MUST));
+        }
+        io.write(resourceDir.resolve(FOLDER).resolve(fileName).toFile(), guideline);
+    }
+
+    private URLClassLoader createClassLoader() throws Exception {
+        return new URLClassLoader(
+                new URL[] {resourceDir.toUri().toURL()},
+                GuidelineCatalogueTest.class.getClassLoader());
+    }
+
+    /** Loads the test check class itself instead of delegating to the parent. */
+    private static class PluginClassLoader extends URLClassLoader {
+
+        PluginClassLoader(Path resourceDir) throws Exception {
+            super(
+                    new URL[] {
+                        resourceDir.toUri().toURL(),
+                        IOTestGuidelineCheck.class
+                                .getProtectionDomain()
+                                .getCodeSource()
+                                .getLocation()
+                    },
+                    GuidelineCatalogueTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(IOTestGuidelineCheck.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+
+    private static Path getSnapshot(Path snapshotDir) throws Exception {
+        try (Stream<Path> files = Files.list(snapshotDir)) {
+            List<Path> snapshots = files.toList();
+            assertEquals(1, snapshots.size());
+            return snapshots.get(0);
+        }
+    }
+}
@@ -65,6 +65,8 @@ class GuidelineCheckTest {
     }
 
     private static class ConcreteGuidelineCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         private final GuidelineAdherence fixedResult;
 
         public ConcreteGuidelineCheck(String name, RequirementLevel level) {
@@ -78,6 +78,8 @@ class GuidelineCheckerTest {
     }
 
     private static class PassingCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         public PassingCheck(String name) {
             super(name, RequirementLevel.MUST);
         }
@@ -89,6 +91,8 @@ class GuidelineCheckerTest {
     }
 
     private static class FailingCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         public FailingCheck(String name) {
             super(name, RequirementLevel.MUST);
         }
@@ -100,6 +104,8 @@ class GuidelineCheckerTest {
     }
 
     private static class ConditionalCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         public ConditionalCheck(String name, GuidelineCheckCondition condition) {
             super(name, RequirementLevel.SHOULD, condition);
         }
@@ -111,6 +117,8 @@ class GuidelineCheckerTest {
     }
 
     private static class ExceptionThrowingCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         private final RuntimeException exception;
 
         public ExceptionThrowingCheck(String name, RuntimeException exception) {
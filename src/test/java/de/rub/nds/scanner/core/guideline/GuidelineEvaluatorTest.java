@@ -0,0 +1,386 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.guideline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.afterprobe.AfterProbe;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.ScannerProbe;
+import de.rub.nds.scanner.core.probe.requirements.FulfilledRequirement;
+import de.rub.nds.scanner.core.probe.requirements.Requirement;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import jakarta.xml.bind.annotation.XmlTransient;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GuidelineEvaluatorTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        UNPROBED;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return new TestPropertyCategory();
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static class TestReport extends ScanReport {
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+
+        @Override
+        public String getRemoteName() {
+            return "TestRemote";
+        }
+    }
+
+    private static class TestProbe extends ScannerProbe<TestReport, Object> {
+
+        TestProbe(AnalyzedProperty... properties) {
+            super(() -> "TestProbe");
+            register(properties);
+        }
+
+        @Override
+        public Requirement<TestReport> getRequirements() {
+            return new FulfilledRequirement<>();
+        }
+
+        @Override
+        public void adjustConfig(TestReport report) {}
+
+        @Override
+        protected void executeTest() {}
+
+        @Override
+        protected void mergeData(TestReport report) {}
+    }
+
+    private static class TestAfterProbe extends AfterProbe<TestReport> {
+
+        private final Set<AnalyzedProperty> properties;
+
+        TestAfterProbe(Set<AnalyzedProperty> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public void analyze(TestReport report) {}
+
+        @Override
+        public Set<AnalyzedProperty> getAnalyzedProperties() {
+            return properties;
+        }
+    }
+
+    /** Records the value of the property it reads as hint of its result. */
+    private static class ReadingCheck extends GuidelineCheck {
+
+        private static final long serialVersionUID = 1L;
+
+        @XmlTransient private final AnalyzedProperty property;
+
+        @XmlTransient private final Set<AnalyzedProperty> referencedProperties;
+
+        ReadingCheck(String name, AnalyzedProperty property, boolean declared) {
+            this(name, property, declared ? Set.of(property) : null, null);
+        }
+
+        ReadingCheck(
+                String name,
+                AnalyzedProperty property,
+                Set<AnalyzedProperty> referencedProperties,
+                GuidelineCheckCondition condition) {
+            super(name, RequirementLevel.MUST, condition);
+            this.property = property;
+            this.referencedProperties = referencedProperties;
+        }
+
+        @Override
+        public <ReportT extends ScanReport> GuidelineCheckResult evaluate(ReportT report) {
+            return new FailedCheckGuidelineResult(
+                    this, GuidelineAdherence.ADHERED, String.valueOf(report.getResult(property)));
+        }
+
+        @Override
+        public Set<AnalyzedProperty> getReferencedProperties() {
+            return referencedProperties;
+        }
+    }
+
+    /** Waits until its partner check is running as well. */
+    private static class BarrierCheck extends GuidelineCheck {
+
+        private static final long serialVersionUID = 1L;
+
+        @XmlTransient private final CyclicBarrier barrier;
+
+        BarrierCheck(String name, CyclicBarrier barrier) {
+            super(name, RequirementLevel.MUST);
+            this.barrier = barrier;
+        }
+
+        @Override
+        public <ReportT extends ScanReport> GuidelineCheckResult evaluate(ReportT report) {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Checks were not evaluated in parallel", e);
+            }
+            return new FailedCheckGuidelineResult(this, GuidelineAdherence.ADHERED);
+        }
+    }
+
+    /** Takes longer the earlier it appears, to finish out of order. */
+    private static class SlowCheck extends GuidelineCheck {
+
+        private static final long serialVersionUID = 1L;
+
+        @XmlTransient private final long delay;
+
+        SlowCheck(String name, long delay) {
+            super(name, RequirementLevel.MUST);
+            this.delay = delay;
+        }
+
+        @Override
+        public <ReportT extends ScanReport> GuidelineCheckResult evaluate(ReportT report) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new FailedCheckGuidelineResult(this, GuidelineAdherence.ADHERED);
+        }
+    }
+
+    private ExecutorService executor;
+
+    private TestReport report;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        report = new TestReport();
+        report.putResult(TestProperty.FIRST, TestResults.NOT_TESTED_YET);
+        report.putResult(TestProperty.SECOND, TestResults.NOT_TESTED_YET);
+        report.putResult(TestProperty.UNPROBED, TestResults.FALSE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testResultsKeepGuidelineAndCheckOrder() {
+        List<Guideline> guidelines = new ArrayList<>();
+        for (int g = 0; g < 3; g++) {
+            List<GuidelineCheck> checks = new ArrayList<>();
+            for (int c = 0; c < 4; c++) {
+                checks.add(new SlowCheck("g" + g + "c" + c, 40 - 10L * c - 3L * g));
+            }
+            guidelines.add(new Guideline("Guideline" + g, "https://example.com", checks));
+        }
+
+        new GuidelineEvaluator<TestReport>(guidelines, executor).fillReport(report);
+
+        List<GuidelineReport> reports = report.getGuidelineReports();
+        assertEquals(3, reports.size());
+        for (int g = 0; g < 3; g++) {
+            assertEquals("Guideline" + g, reports.get(g).getName());
+            List<GuidelineCheckResult> results = reports.get(g).getResults();
+            assertEquals(4, results.size());
+            for (int c = 0; c < 4; c++) {
+                assertEquals("g" + g + "c" + c, results.get(c).getCheckName());
+            }
+        }
+    }
+
+    @Test
+    void testChecksOfDifferentGuidelinesRunInParallel() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<Guideline> guidelines =
+                List.of(
+                        new Guideline("A", "", List.of(new BarrierCheck("a", barrier))),
+                        new Guideline("B", "", List.of(new BarrierCheck("b", barrier))));
+
+        List<GuidelineReport> reports =
+                new GuidelineEvaluator<TestReport>(guidelines, executor).evaluate(report);
+
+        assertEquals(GuidelineAdherence.ADHERED, reports.get(0).getResults().get(0).getAdherence());
+        assertEquals(GuidelineAdherence.ADHERED, reports.get(1).getResults().get(0).getAdherence());
+    }
+
+    @Test
+    void testIncrementalEvaluationWaitsForFinalProperties() {
+        TestProbe firstProbe = new TestProbe(TestProperty.FIRST);
+        TestProbe secondProbe = new TestProbe(TestProperty.FIRST, TestProperty.SECOND);
+        Guideline guideline =
+                new Guideline(
+                        "Guideline",
+                        "",
+                        List.of(
+                                new ReadingCheck("first", TestProperty.FIRST, true),
+                                new ReadingCheck("second", TestProperty.SECOND, true),
+                                new ReadingCheck("unprobed", TestProperty.UNPROBED, true),
+                                new ReadingCheck("undeclared", TestProperty.FIRST, false)));
+        GuidelineEvaluator<TestReport> evaluator =
+                new GuidelineEvaluator<>(List.of(guideline), Runnable::run);
+
+        evaluator.startIncremental(report, List.of(firstProbe, secondProbe), List.of());
+        assertEquals(0, evaluator.getStartedChecks());
+
+        report.putResult(TestProperty.FIRST, TestResults.FALSE);
+        evaluator.onProbeMerged(firstProbe);
+        assertEquals(0, evaluator.getStartedChecks());
+
+        report.putResult(TestProperty.FIRST, TestResults.TRUE);
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+        evaluator.onProbeMerged(secondProbe);
+        assertEquals(2, evaluator.getStartedChecks());
+
+        // values changed after a check was evaluated must not show up in its result
+        report.putResult(TestProperty.SECOND, TestResults.FALSE);
+        List<GuidelineCheckResult> results = evaluator.evaluate(report).get(0).getResults();
+        assertEquals(4, evaluator.getStartedChecks());
+        assertEquals(
+                List.of("TRUE", "TRUE", "FALSE", "TRUE"),
+                results.stream().map(GuidelineCheckResult::getHint).toList());
+    }
+
+    @Test
+    void testIncrementalEvaluationIncludesConditionProperties() {
+        TestProbe firstProbe = new TestProbe(TestProperty.FIRST);
+        TestProbe probe = new TestProbe(TestProperty.SECOND);
+        GuidelineCheckCondition condition =
+                new GuidelineCheckCondition(TestProperty.SECOND, TestResults.TRUE);
+        Guideline guideline =
+                new Guideline(
+                        "Guideline",
+                        "",
+                        List.of(
+                                new ReadingCheck(
+                                        "conditional",
+                                        TestProperty.FIRST,
+                                        Set.of(TestProperty.FIRST),
+                                        condition)));
+        GuidelineEvaluator<TestReport> evaluator =
+                new GuidelineEvaluator<>(List.of(guideline), Runnable::run);
+
+        evaluator.startIncremental(report, List.of(firstProbe, probe), List.of());
+        evaluator.onProbeMerged(firstProbe);
+        assertEquals(0, evaluator.getStartedChecks());
+
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+        evaluator.onProbeMerged(probe);
+        assertEquals(1, evaluator.getStartedChecks());
+        assertEquals(
+                GuidelineAdherence.ADHERED,
+                evaluator.evaluate(report).get(0).getResults().get(0).getAdherence());
+    }
+
+    @Test
+    void testFinalEvaluationReadsCurrentValues() {
+        TestProbe probe = new TestProbe(TestProperty.SECOND);
+        GuidelineCheckCondition condition =
+                new GuidelineCheckCondition(TestProperty.SECOND, TestResults.TRUE);
+        Guideline guideline =
+                new Guideline(
+                        "Guideline",
+                        "",
+                        List.of(
+                                new ReadingCheck(
+                                        "early",
+                                        TestProperty.SECOND,
+                                        Set.of(TestProperty.SECOND),
+                                        condition),
+                                new ReadingCheck("late", TestProperty.SECOND, null, condition),
+                                new ReadingCheck("unprobed", TestProperty.UNPROBED, true)));
+        GuidelineEvaluator<TestReport> evaluator =
+                new GuidelineEvaluator<>(List.of(guideline), Runnable::run);
+
+        evaluator.startIncremental(report, List.of(probe), List.of());
+        assertEquals(0, evaluator.getStartedChecks());
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+        evaluator.onProbeMerged(probe);
+        assertEquals(1, evaluator.getStartedChecks());
+
+        // written after the early check, e.g., by a probe which does not register the property
+        report.putResult(TestProperty.SECOND, TestResults.FALSE);
+        report.putResult(TestProperty.UNPROBED, TestResults.TRUE);
+        List<GuidelineCheckResult> results = evaluator.evaluate(report).get(0).getResults();
+
+        assertEquals("TRUE", results.get(0).getHint());
+        assertEquals(GuidelineAdherence.CONDITION_NOT_MET, results.get(1).getAdherence());
+        assertEquals("TRUE", results.get(2).getHint());
+    }
+
+    @Test
+    void testAfterProbePropertiesAreDeferred() {
+        TestProbe probe = new TestProbe(TestProperty.FIRST, TestProperty.SECOND);
+        Guideline guideline =
+                new Guideline(
+                        "Guideline",
+                        "",
+                        List.of(
+                                new ReadingCheck("first", TestProperty.FIRST, true),
+                                new ReadingCheck("second", TestProperty.SECOND, true)));
+        GuidelineEvaluator<TestReport> evaluator =
+                new GuidelineEvaluator<>(List.of(guideline), Runnable::run);
+
+        evaluator.startIncremental(
+                report,
+                List.of(probe),
+                List.of(new TestAfterProbe(Set.of(TestProperty.FIRST))));
+        evaluator.onProbeMerged(probe);
+
+        assertEquals(1, evaluator.getStartedChecks());
+    }
+
+    @Test
+    void testUndeclaredAfterProbeDisablesIncrementalEvaluation() {
+        TestProbe probe = new TestProbe(TestProperty.FIRST);
+        Guideline guideline =
+                new Guideline(
+                        "Guideline",
+                        "",
+                        List.of(
+                                new ReadingCheck("first", TestProperty.FIRST, true),
+                                new ReadingCheck("unprobed", TestProperty.UNPROBED, true)));
+        GuidelineEvaluator<TestReport> evaluator =
+                new GuidelineEvaluator<>(List.of(guideline), Runnable::run);
+
+        evaluator.startIncremental(report, List.of(probe), List.of(new TestAfterProbe(null)));
+        evaluator.onProbeMerged(probe);
+        assertEquals(0, evaluator.getStartedChecks());
+
+        assertEquals(2, evaluator.evaluate(report).get(0).getResults().size());
+        assertEquals(2, evaluator.getStartedChecks());
+    }
+}
@@ -10,6 +10,9 @@ package de.rub.nds.scanner.core.guideline;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResults;
 import de.rub.nds.scanner.core.report.ScanReport;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
@@ -34,10 +37,16 @@ class GuidelineTest {
     }
 
     private static class TestGuidelineCheck extends GuidelineCheck {
+        private static final long serialVersionUID = 1L;
+
         public TestGuidelineCheck(String name) {
             super(name, RequirementLevel.MUST);
         }
 
+        public TestGuidelineCheck(String name, GuidelineCheckCondition condition) {
+            super(name, RequirementLevel.MUST, condition);
+        }
+
         @Override
         public <ReportT extends ScanReport> GuidelineCheckResult evaluate(ReportT report) {
             return new FailedCheckGuidelineResult(this, GuidelineAdherence.ADHERED);
@@ -116,4 +125,59 @@ class GuidelineTest {
         assertNull(guideline.getLink());
         // Note: checks field will be null after default constructor
     }
+
+    @Test
+    void testValidateConditions() {
+        GuidelineCheckCondition valid =
+                GuidelineCheckCondition.and(
+                        List.of(
+                                new GuidelineCheckCondition(
+                                        TestProperty.PROPERTY, TestResults.TRUE)));
+        Guideline guideline =
+                new Guideline(
+                        "Valid",
+                        "https://example.com",
+                        List.of(
+                                new TestGuidelineCheck("Check1"),
+                                new TestGuidelineCheck("Check2", valid)));
+
+        assertDoesNotThrow(guideline::validateConditions);
+        assertEquals(
+                CompiledCondition.compile(valid),
+                guideline.getChecks().get(1).getCompiledCondition());
+    }
+
+    @Test
+    void testValidateConditionsRejectsInvalidNodes() {
+        GuidelineCheckCondition invalid =
+                GuidelineCheckCondition.or(
+                        List.of(
+                                new GuidelineCheckCondition(
+                                        TestProperty.PROPERTY, TestResults.TRUE),
+                                new GuidelineCheckCondition(null, null)));
+        Guideline guideline =
+                new Guideline(
+                        "Invalid",
+                        "https://example.com",
+                        List.of(new TestGuidelineCheck("Broken", invalid)));
+
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, guideline::validateConditions);
+        assertTrue(exception.getMessage().contains("'Broken'"));
+        assertTrue(exception.getMessage().contains("condition/or[1]"));
+    }
+
+    private enum TestProperty implements AnalyzedProperty {
+        PROPERTY;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return new TestPropertyCategory();
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
 }
@@ -20,6 +20,8 @@ import jakarta.xml.bind.annotation.XmlType;
 @XmlRootElement(name = "ioTestGuidelineCheck")
 @XmlType(name = "ioTestGuidelineCheckType")
 public class IOTestGuidelineCheck extends GuidelineCheck {
+    private static final long serialVersionUID = 1L;
+
     // Public constructor for JAXB
     public IOTestGuidelineCheck() {
         super("TestCheck", RequirementLevel.MUST);
@@ -0,0 +1,152 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ByteArrayStatisticsTest {
+
+    private List<byte[]> randomValues;
+
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(42);
+        randomValues = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Odd lengths exercise the word loop as well as the byte tail
+            byte[] value = new byte[1 + random.nextInt(40)];
+            random.nextBytes(value);
+            randomValues.add(value);
+        }
+    }
+
+    private static String toBits(List<byte[]> values) {
+        StringBuilder bits = new StringBuilder();
+        for (byte[] value : values) {
+            for (byte b : value) {
+                for (int bit = 7; bit >= 0; bit--) {
+                    bits.append((b >>> bit) & 1);
+                }
+            }
+        }
+        return bits.toString();
+    }
+
+    @Test
+    public void testArenaLayout() {
+        ExtractedValueContainer<byte[]> container =
+                new ExtractedValueContainer<>(new TestTrackableValue("random"));
+        container.put(new byte[] {1, 2});
+        container.put(null);
+        container.put(new byte[] {3});
+
+        ByteArena arena = ByteArena.of(container);
+
+        assertEquals(3, arena.getValueCount());
+        assertEquals(3, arena.getByteCount());
+        assertArrayEquals(new byte[] {1, 2, 3}, arena.getData());
+        assertEquals(0, arena.getLength(1));
+        assertEquals(2, arena.getOffset(2));
+        assertEquals(1, arena.getLength(2));
+    }
+
+    @Test
+    public void testHistogramMatchesScalarCount() {
+        long[] expected = new long[256];
+        for (byte[] value : randomValues) {
+            for (byte b : value) {
+                expected[b & 0xFF]++;
+            }
+        }
+        assertArrayEquals(expected, ByteArrayStatistics.histogram(ByteArena.of(randomValues)));
+    }
+
+    @Test
+    public void testChiSquare() {
+        long[] uniform = new long[256];
+        Arrays.fill(uniform, 10);
+        assertEquals(0, ByteArrayStatistics.chiSquare(uniform), 1e-9);
+
+        long[] constant = new long[256];
+        constant[0] = 256;
+        // (256 - 1)^2 / 1 + 255 * (0 - 1)^2 / 1
+        assertEquals(65280, ByteArrayStatistics.chiSquare(constant), 1e-9);
+
+        assertEquals(0, ByteArrayStatistics.chiSquare(new long[256]));
+        assertThrows(
+                IllegalArgumentException.class, () -> ByteArrayStatistics.chiSquare(new long[3]));
+    }
+
+    @Test
+    public void testHammingWeightsMatchScalarCount() {
+        ByteArena arena = ByteArena.of(randomValues);
+        int[] weights = ByteArrayStatistics.hammingWeights(arena);
+        long total = 0;
+        for (int i = 0; i < randomValues.size(); i++) {
+            int expected = 0;
+            for (byte b : randomValues.get(i)) {
+                expected += Integer.bitCount(b & 0xFF);
+            }
+            assertEquals(expected, weights[i]);
+            total += expected;
+        }
+        assertEquals(total, ByteArrayStatistics.hammingWeight(arena));
+    }
+
+    @Test
+    public void testBitRunsMatchScalarCount() {
+        String bits = toBits(randomValues);
+        long expected = 1;
+        for (int i = 1; i < bits.length(); i++) {
+            if (bits.charAt(i) != bits.charAt(i - 1)) {
+                expected++;
+            }
+        }
+        assertEquals(expected, ByteArrayStatistics.countBitRuns(ByteArena.of(randomValues)));
+        assertEquals(0, ByteArrayStatistics.countBitRuns(ByteArena.of(List.of())));
+    }
+
+    @Test
+    public void testRunsTest() {
+        assertTrue(ByteArrayStatistics.runsTestPValue(ByteArena.of(randomValues)) > 0.01);
+
+        byte[] alternating = new byte[64];
+        Arrays.fill(alternating, (byte) 0x55);
+        assertTrue(ByteArrayStatistics.runsTestPValue(ByteArena.of(List.of(alternating))) < 0.01);
+
+        byte[] zeros = new byte[64];
+        assertEquals(0, ByteArrayStatistics.runsTestPValue(ByteArena.of(List.of(zeros))));
+    }
+
+    @Test
+    public void testDuplicatePrefixes() {
+        List<byte[]> values =
+                List.of(
+                        new byte[] {1, 2, 3, 4},
+                        new byte[] {1, 2, 3, 5},
+                        new byte[] {1, 2},
+                        new byte[] {9, 2, 3, 4},
+                        new byte[] {1, 2, 3, 6});
+        ByteArena arena = ByteArena.of(values);
+
+        assertEquals(2, ByteArrayStatistics.countDuplicatePrefixes(arena, 3));
+        assertEquals(0, ByteArrayStatistics.countDuplicatePrefixes(arena, 4));
+        assertEquals(3, ByteArrayStatistics.countDuplicatePrefixes(arena, 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ByteArrayStatistics.countDuplicatePrefixes(arena, 0));
+    }
+}
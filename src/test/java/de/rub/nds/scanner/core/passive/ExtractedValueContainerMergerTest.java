@@ -0,0 +1,100 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ExtractedValueContainerMergerTest {
+
+    private TrackableValue typeA;
+    private TrackableValue typeB;
+
+    @BeforeEach
+    public void setUp() {
+        typeA = new TestTrackableValue("A");
+        typeB = new AnotherTestTrackableValue(1);
+    }
+
+    private ExtractedValueContainer<String> container(TrackableValue type, String... values) {
+        ExtractedValueContainer<String> container = new ExtractedValueContainer<>(type);
+        for (String value : values) {
+            container.put(value);
+        }
+        return container;
+    }
+
+    @Test
+    public void testMergeGroupsByTypeInOrder() {
+        Map<TrackableValue, ExtractedValueContainer<?>> merged =
+                ExtractedValueContainerMerger.merge(
+                        List.of(
+                                container(typeA, "a1", "a2"),
+                                container(typeB, "b1"),
+                                container(typeA, "a3")));
+
+        assertEquals(2, merged.size());
+        assertEquals(List.of("a1", "a2", "a3"), merged.get(typeA).getExtractedValueList());
+        assertEquals(List.of("b1"), merged.get(typeB).getExtractedValueList());
+        assertEquals(typeA, merged.get(typeA).getType());
+    }
+
+    @Test
+    public void testMergeDoesNotModifySources() {
+        ExtractedValueContainer<String> first = container(typeA, "a1");
+        ExtractedValueContainer<String> second = container(typeA, "a2");
+
+        Map<TrackableValue, ExtractedValueContainer<?>> merged =
+                ExtractedValueContainerMerger.merge(List.of(first, second));
+
+        assertNotSame(first, merged.get(typeA));
+        assertNotSame(second, merged.get(typeA));
+        assertEquals(List.of("a1"), first.getExtractedValueList());
+        assertEquals(List.of("a2"), second.getExtractedValueList());
+    }
+
+    @Test
+    public void testMergeIsRepeatable() {
+        ExtractedValueContainer<String> first = container(typeA, "a1");
+        List<ExtractedValueContainer<?>> sources = List.of(first, container(typeA, "a2"));
+
+        Map<TrackableValue, ExtractedValueContainer<?>> snapshot =
+                ExtractedValueContainerMerger.merge(sources);
+        first.put("a3");
+        Map<TrackableValue, ExtractedValueContainer<?>> secondSnapshot =
+                ExtractedValueContainerMerger.merge(sources);
+
+        assertEquals(List.of("a1", "a2"), snapshot.get(typeA).getExtractedValueList());
+        assertEquals(List.of("a1", "a3", "a2"), secondSnapshot.get(typeA).getExtractedValueList());
+    }
+
+    @Test
+    public void testMergeWritersSkipsNullWriters() {
+        StatsWriter<TestState> writer = new StatsWriter<>();
+        writer.addExtractor(new TestStatExtractor());
+        writer.extract(new TestState("value"));
+
+        Map<TrackableValue, ExtractedValueContainer<?>> merged =
+                ExtractedValueContainerMerger.mergeWriters(Arrays.asList(writer, null, writer));
+
+        ExtractedValueContainer<?> container = merged.get(new TestTrackableValue("type"));
+        assertEquals(2, container.getNumberOfExtractedValues());
+        assertEquals(1, writer.getCumulatedExtractedValues().get(0).getNumberOfExtractedValues());
+    }
+
+    @Test
+    public void testMergeEmpty() {
+        assertTrue(ExtractedValueContainerMerger.merge(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StateRecorderTest {
+
+    @TempDir private Path tempDir;
+
+    private final TestStateCodec codec = new TestStateCodec();
+
+    private List<String> readValues(byte[] log) throws IOException {
+        List<String> values = new ArrayList<>();
+        try (StateLogReader<TestState> reader =
+                new StateLogReader<>(new ByteArrayInputStream(log), codec)) {
+            reader.readAll(state -> values.add(state.getValue()));
+        }
+        return values;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        try (StateRecorder<TestState> recorder = new StateRecorder<>(log, codec)) {
+            recorder.record(new TestState("first"));
+            recorder.record(new TestState(null));
+            recorder.record(new TestState("x".repeat(1000)));
+            assertEquals(3, recorder.getRecordedStates());
+        }
+
+        assertEquals(Arrays.asList("first", null, "x".repeat(1000)), readValues(log.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTripFile() throws IOException {
+        Path file = tempDir.resolve("states.log");
+        try (StateRecorder<TestState> recorder = new StateRecorder<>(file, codec)) {
+            recorder.record(new TestState("value"));
+        }
+        try (StateLogReader<TestState> reader = new StateLogReader<>(file, codec)) {
+            assertEquals(1, reader.readAll(state -> assertEquals("value", state.getValue())));
+        }
+    }
+
+    @Test
+    public void testTruncatedLogReadsCompleteStates() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        try (StateRecorder<TestState> recorder = new StateRecorder<>(log, codec)) {
+            recorder.record(new TestState("complete"));
+            recorder.record(new TestState("cut off"));
+        }
+        byte[] uncompressed;
+        try (GZIPInputStream in =
+                new GZIPInputStream(new ByteArrayInputStream(log.toByteArray()))) {
+            uncompressed = in.readAllBytes();
+        }
+        ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(truncated)) {
+            out.write(uncompressed, 0, uncompressed.length - 3);
+        }
+
+        assertEquals(List.of("complete"), readValues(truncated.toByteArray()));
+    }
+
+    @Test
+    public void testRejectsForeignData() throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(data)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        }
+        assertThrows(IOException.class, () -> readValues(data.toByteArray()));
+    }
+
+    @Test
+    public void testRecordingStatsWriter() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        try (StateRecorder<TestState> recorder = new StateRecorder<>(log, codec)) {
+            RecordingStatsWriter<TestState> writer = new RecordingStatsWriter<>(recorder);
+            writer.addExtractor(new TestStatExtractor());
+            writer.extract(new TestState("a"));
+            writer.extract(new TestState("b"));
+
+            assertSame(recorder, writer.getRecorder());
+            assertEquals(2, writer.getStateCounter());
+            assertEquals(
+                    2, writer.getCumulatedExtractedValues().get(0).getNumberOfExtractedValues());
+        }
+
+        assertEquals(List.of("a", "b"), readValues(log.toByteArray()));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.config.StatsBackpressure;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StatsExtractionPipelineTest {
+
+    private StatsWriter<TestState> writer;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new StatsWriter<>();
+        writer.addExtractor(new TestStatExtractor());
+    }
+
+    @Test
+    public void testFlushWaitsForAllStates() throws InterruptedException {
+        try (StatsExtractionPipeline<TestState> pipeline =
+                new StatsExtractionPipeline<>(4, 8, StatsBackpressure.BLOCK)) {
+            for (int i = 0; i < 1000; i++) {
+                pipeline.submit(writer, new TestState("value" + i));
+            }
+            pipeline.flush();
+
+            assertEquals(0, pipeline.getPendingStates());
+            assertEquals(1000, writer.getStateCounter());
+            assertEquals(
+                    1000,
+                    writer.getCumulatedExtractedValues().get(0).getNumberOfExtractedValues());
+        }
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        StatsWriter<TestState> blockingWriter =
+                new StatsWriter<>() {
+                    @Override
+                    public void extract(TestState state) {
+                        if ("block".equals(state.getValue())) {
+                            try {
+                                release.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        super.extract(state);
+                    }
+                };
+        try (StatsExtractionPipeline<TestState> pipeline =
+                new StatsExtractionPipeline<>(1, 1, StatsBackpressure.CALLER_RUNS)) {
+            pipeline.submit(blockingWriter, new TestState("block"));
+            pipeline.submit(writer, new TestState("queued"));
+            // Worker is busy and the queue is full, so this one runs on the calling thread
+            pipeline.submit(writer, new TestState("inline"));
+            assertTrue(writer.getStateCounter() >= 1);
+
+            release.countDown();
+            pipeline.flush();
+            assertEquals(2, writer.getStateCounter());
+            assertEquals(1, blockingWriter.getStateCounter());
+        }
+    }
+
+    @Test
+    public void testSubmitAfterCloseExtractsInline() throws InterruptedException {
+        StatsExtractionPipeline<TestState> pipeline =
+                new StatsExtractionPipeline<>(1, 4, StatsBackpressure.BLOCK);
+        pipeline.close();
+
+        pipeline.submit(writer, new TestState("value"));
+        pipeline.flush();
+
+        assertEquals(1, writer.getStateCounter());
+    }
+
+    @Test
+    public void testStateQueuedWhileClosingIsExtractedInline() throws InterruptedException {
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        StatsWriter<TestState> blockingWriter =
+                new StatsWriter<>() {
+                    @Override
+                    public void extract(TestState state) {
+                        try {
+                            if ("first".equals(state.getValue())) {
+                                releaseFirst.await(10, TimeUnit.SECONDS);
+                            } else {
+                                releaseSecond.await(10, TimeUnit.SECONDS);
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.extract(state);
+                    }
+                };
+        StatsExtractionPipeline<TestState> pipeline =
+                new StatsExtractionPipeline<>(1, 1, StatsBackpressure.BLOCK);
+        pipeline.submit(blockingWriter, new TestState("first"));
+        pipeline.submit(blockingWriter, new TestState("second"));
+        Thread submitter = new Thread(() -> pipeline.submit(writer, new TestState("third")));
+        submitter.start();
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+        pipeline.close();
+
+        releaseFirst.countDown();
+        submitter.join();
+        // The worker is still busy with the second state, so the third one ran inline
+        assertEquals(1, writer.getStateCounter());
+        releaseSecond.countDown();
+        pipeline.flush();
+
+        assertEquals(0, pipeline.getPendingStates());
+        assertEquals(2, blockingWriter.getStateCounter());
+    }
+
+    @Test
+    public void testFailingExtractionDoesNotBlockFlush() throws InterruptedException {
+        StatsWriter<TestState> failingWriter =
+                new StatsWriter<>() {
+                    @Override
+                    public void extract(TestState state) {
+                        throw new IllegalStateException("broken extractor");
+                    }
+                };
+        try (StatsExtractionPipeline<TestState> pipeline =
+                new StatsExtractionPipeline<>(2, 4, StatsBackpressure.BLOCK)) {
+            pipeline.submit(failingWriter, new TestState("value"));
+            pipeline.flush();
+            assertEquals(0, pipeline.getPendingStates());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StatsExtractionPipeline<TestState>(0, 4, StatsBackpressure.BLOCK));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StatsExtractionPipeline<TestState>(1, 0, StatsBackpressure.BLOCK));
+    }
+}
@@ -178,4 +178,45 @@ public class StatsWriterTest {
         }
         assertTrue(allNull);
     }
+
+    static class SpecialState extends TestState {
+        SpecialState(String value) {
+            super(value);
+        }
+    }
+
+    @Test
+    public void testExtractDispatchesByStateType() {
+        StatExtractor<TestState, String> specialExtractor =
+                new StatExtractor<>(new TestTrackableValue("special"), SpecialState.class) {
+                    @Override
+                    public void extract(TestState state) {
+                        put(state.getValue());
+                    }
+                };
+        statsWriter.addExtractor(extractor1);
+        statsWriter.addExtractor(specialExtractor);
+
+        statsWriter.extract(state1);
+        statsWriter.extract(new SpecialState("special"));
+        statsWriter.extract(state2);
+
+        assertEquals(SpecialState.class, specialExtractor.getAcceptedStateType());
+        assertEquals(Object.class, extractor1.getAcceptedStateType());
+        assertEquals(3, statsWriter.getStateCounter());
+        assertEquals(3, extractor1.getContainer().getNumberOfExtractedValues());
+        assertEquals(List.of("special"), specialExtractor.getContainer().getExtractedValueList());
+    }
+
+    @Test
+    public void testAddExtractorAfterDispatchResolved() {
+        statsWriter.addExtractor(extractor1);
+        statsWriter.extract(state1);
+
+        statsWriter.addExtractor(extractor2);
+        statsWriter.extract(state2);
+
+        assertEquals(2, extractor1.getContainer().getNumberOfExtractedValues());
+        assertEquals(1, extractor2.getContainer().getNumberOfExtractedValues());
+    }
 }
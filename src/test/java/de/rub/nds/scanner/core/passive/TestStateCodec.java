@@ -0,0 +1,29 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.passive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class TestStateCodec implements StateCodec<TestState> {
+
+    @Override
+    public void encode(TestState state, DataOutput output) throws IOException {
+        output.writeBoolean(state.getValue() != null);
+        if (state.getValue() != null) {
+            output.writeUTF(state.getValue());
+        }
+    }
+
+    @Override
+    public TestState decode(DataInput input) throws IOException {
+        return new TestState(input.readBoolean() ? input.readUTF() : null);
+    }
+}
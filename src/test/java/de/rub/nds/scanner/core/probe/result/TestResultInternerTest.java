@@ -0,0 +1,142 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.probe.result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.TestAnalyzedProperty;
+import de.rub.nds.scanner.core.probe.ScannerProbe;
+import de.rub.nds.scanner.core.probe.requirements.FulfilledRequirement;
+import de.rub.nds.scanner.core.probe.requirements.Requirement;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestResultInternerTest {
+
+    private static final TestAnalyzedProperty PROPERTY =
+            TestAnalyzedProperty.TEST_ANALYZED_PROPERTY;
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    static class TestProbe extends ScannerProbe<TestReport, Object> {
+
+        TestProbe() {
+            super(() -> "TestProbe");
+            register(PROPERTY);
+        }
+
+        @Override
+        public Requirement<TestReport> getRequirements() {
+            return new FulfilledRequirement<>();
+        }
+
+        @Override
+        public void adjustConfig(TestReport report) {}
+
+        @Override
+        protected void executeTest() {
+            put(PROPERTY, "value");
+        }
+
+        @Override
+        protected void mergeData(TestReport report) {}
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TestResultInterner.disable();
+    }
+
+    @Test
+    public void testInternsEqualValues() {
+        TestResultInterner interner = new TestResultInterner(100);
+        StringResult first = new StringResult(PROPERTY, "1.3");
+        ListResult<String> list = new ListResult<>(PROPERTY, new ArrayList<>(List.of("a", "b")));
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(new StringResult(PROPERTY, "1.3")));
+        assertNotSame(first, interner.intern(new StringResult(PROPERTY, "1.2")));
+        assertSame(list, interner.intern(list));
+        assertSame(list, interner.intern(new ListResult<>(PROPERTY, List.of("a", "b"))));
+        assertNotSame(list, interner.intern(new SetResult<>(PROPERTY, Set.of("a", "b"))));
+
+        assertEquals(2, interner.getHitCount());
+        assertEquals(4, interner.getMissCount());
+        assertEquals(1.0 / 3, interner.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testLeavesOtherResultsUnchanged() {
+        TestResultInterner interner = new TestResultInterner(100);
+        MapResult<String, String> map = new MapResult<>(PROPERTY, Map.of("a", "b"));
+
+        assertSame(TestResults.TRUE, interner.intern(TestResults.TRUE));
+        assertSame(map, interner.intern(map));
+        assertEquals(0, interner.size());
+        assertEquals(0, interner.getMissCount());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        TestResultInterner interner = new TestResultInterner(2);
+        List<TestResult> retained = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            retained.add(interner.intern(new IntegerResult(PROPERTY, i)));
+        }
+
+        assertEquals(2, interner.size());
+        assertThrows(IllegalArgumentException.class, () -> new TestResultInterner(0));
+    }
+
+    @Test
+    public void testSharedInterning() {
+        TestReport first = new TestReport();
+        TestReport second = new TestReport();
+        first.putResult(PROPERTY, "value");
+        second.putResult(PROPERTY, "value");
+        assertNotSame(first.getResult(PROPERTY), second.getResult(PROPERTY));
+
+        TestResultInterner interner = TestResultInterner.enable(100);
+        first.putResult(PROPERTY, "value");
+        second.putResult(PROPERTY, "value");
+
+        assertSame(interner, TestResultInterner.getShared());
+        assertSame(first.getResult(PROPERTY), second.getResult(PROPERTY));
+        assertSame(
+                first.getResult(PROPERTY),
+                new TestResultInterner.InterningConverter()
+                        .convert(new StringResult(PROPERTY, "value")));
+        assertEquals(2, interner.getHitCount());
+    }
+
+    @Test
+    public void testProbeResultsAreInternedOnce() {
+        TestResultInterner interner = TestResultInterner.enable(100);
+        TestProbe probe = new TestProbe();
+        probe.executeTest();
+        probe.merge(new TestReport());
+
+        assertEquals(0, interner.getHitCount());
+        assertEquals(1, interner.getMissCount());
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.config.ReportDurability;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AsyncReportSinkTest {
+
+    @TempDir Path directory;
+
+    static class TestReport extends ScanReport {
+        private final String remoteName;
+
+        TestReport(String remoteName) {
+            this.remoteName = remoteName;
+        }
+
+        @Override
+        public String getRemoteName() {
+            return remoteName;
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    private static void writeName(ScanReport report, OutputStream outputStream)
+            throws IOException {
+        outputStream.write(report.getRemoteName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testWritesReports() throws Exception {
+        try (AsyncReportSink sink =
+                new AsyncReportSink(
+                        AsyncReportSinkTest::writeName, 2, ReportDurability.FSYNC, 0, 1)) {
+            CompletableFuture<Path> plain =
+                    sink.submit(new TestReport("a.com"), directory.resolve("a.json"));
+            CompletableFuture<Path> compressed =
+                    sink.submit(new TestReport("b.com"), directory.resolve("b.json.gz"));
+            for (int i = 0; i < 10; i++) {
+                sink.submit(new TestReport("host" + i), directory.resolve(i + ".json"));
+            }
+
+            assertEquals(directory.resolve("a.json"), plain.get());
+            compressed.get();
+            sink.flush();
+            assertEquals(0, sink.getPendingReports());
+        }
+
+        assertEquals("a.com", Files.readString(directory.resolve("a.json")));
+        try (InputStream input =
+                new GZIPInputStream(Files.newInputStream(directory.resolve("b.json.gz")))) {
+            assertEquals("b.com", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals("host9", Files.readString(directory.resolve("9.json")));
+        // no temporary files are left behind
+        assertEquals(12, countFiles());
+    }
+
+    @Test
+    public void testRetriesFailedWrites() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        try (AsyncReportSink sink =
+                new AsyncReportSink(
+                        (report, outputStream) -> {
+                            if (attempts.incrementAndGet() < 3) {
+                                outputStream.write('x');
+                                throw new IOException("Transient error");
+                            }
+                            writeName(report, outputStream);
+                        },
+                        4,
+                        ReportDurability.BUFFERED,
+                        2,
+                        1)) {
+            sink.submit(new TestReport("a.com"), directory.resolve("a.json")).get();
+        }
+
+        assertEquals(3, attempts.get());
+        assertEquals("a.com", Files.readString(directory.resolve("a.json")));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    public void testFailsAfterRetries() throws Exception {
+        Path target = directory.resolve("a.json");
+        Files.writeString(target, "previous");
+        try (AsyncReportSink sink =
+                new AsyncReportSink(
+                        (report, outputStream) -> {
+                            throw new IOException("Permanent error");
+                        },
+                        4,
+                        ReportDurability.BUFFERED,
+                        1,
+                        1)) {
+            CompletableFuture<Path> future = sink.submit(new TestReport("a.com"), target);
+
+            ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(IOException.class, exception.getCause());
+        }
+
+        // a failed write never replaces the previous file
+        assertEquals("previous", Files.readString(target));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    public void testBlocksWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncReportSink sink =
+                new AsyncReportSink(
+                        (report, outputStream) -> {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        1,
+                        ReportDurability.BUFFERED,
+                        0,
+                        1)) {
+            sink.submit(new TestReport("a"), directory.resolve("a.json"));
+            sink.submit(new TestReport("b"), directory.resolve("b.json"));
+            Thread submitter =
+                    new Thread(
+                            () -> sink.submit(new TestReport("c"), directory.resolve("c.json")));
+            submitter.start();
+            submitter.join(200);
+            assertTrue(submitter.isAlive());
+            assertEquals(3, sink.getPendingReports());
+
+            release.countDown();
+            submitter.join();
+            sink.flush();
+        }
+        assertEquals(3, countFiles());
+    }
+
+    @Test
+    public void testRejectsReportQueuedWhileClosing() throws Exception {
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        AsyncReportSink sink =
+                new AsyncReportSink(
+                        (report, outputStream) -> {
+                            try {
+                                if (report.getRemoteName().equals("a")) {
+                                    releaseFirst.await();
+                                } else {
+                                    releaseSecond.await();
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        1,
+                        ReportDurability.BUFFERED,
+                        0,
+                        1);
+        sink.submit(new TestReport("a"), directory.resolve("a.json"));
+        sink.submit(new TestReport("b"), directory.resolve("b.json"));
+        AtomicReference<Exception> rejection = new AtomicReference<>();
+        Thread submitter =
+                new Thread(
+                        () -> {
+                            try {
+                                sink.submit(new TestReport("c"), directory.resolve("c.json"));
+                            } catch (RejectedExecutionException e) {
+                                rejection.set(e);
+                            }
+                        });
+        submitter.start();
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+        Thread closer = new Thread(sink::close);
+        closer.start();
+        closer.join(200);
+        assertTrue(closer.isAlive());
+
+        releaseFirst.countDown();
+        submitter.join();
+        assertNotNull(rejection.get());
+        releaseSecond.countDown();
+        closer.join();
+
+        assertEquals(0, sink.getPendingReports());
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    public void testRejectsAfterClose() {
+        AsyncReportSink sink =
+                new AsyncReportSink(
+                        AsyncReportSinkTest::writeName, 1, ReportDurability.BUFFERED, 0, 1);
+        sink.close();
+
+        assertThrows(
+                RejectedExecutionException.class,
+                () -> sink.submit(new TestReport("a"), directory.resolve("a.json")));
+        assertEquals(0, sink.getPendingReports());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import de.rub.nds.scanner.core.guideline.FailedCheckGuidelineResult;
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.ListResult;
+import de.rub.nds.scanner.core.probe.result.StringResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CompactReportFormatTest {
+
+    private ReportTypeRegistry registry;
+
+    private TestReport report;
+
+    enum TestProperty implements AnalyzedProperty {
+        SUPPORTS_A,
+        SUPPORTS_B,
+        VERSION,
+        CIPHERS;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    enum TestTrackableValue implements TrackableValue {
+        RANDOM,
+        SESSION_ID
+    }
+
+    enum DescribedTrackableValue implements TrackableValue {
+        NONCE;
+
+        @Override
+        public String toString() {
+            return "Server nonce";
+        }
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    @BeforeEach
+    public void setUp() {
+        registry =
+                new ReportTypeRegistry()
+                        .register(ReportTypeRegistry.FIRST_USER_ID, TestProperty.class)
+                        .register(ReportTypeRegistry.FIRST_USER_ID + 1, TestTrackableValue.class);
+        report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, TestResults.TRUE);
+        report.putResult(TestProperty.SUPPORTS_B, TestResults.COULD_NOT_TEST);
+        report.putResult(TestProperty.VERSION, new StringResult(TestProperty.VERSION, "1.3"));
+        report.putResult(
+                TestProperty.CIPHERS, new ListResult<>(TestProperty.CIPHERS, List.of("a", "b")));
+        ExtractedValueContainer<byte[]> randoms =
+                new ExtractedValueContainer<>(TestTrackableValue.RANDOM);
+        for (int i = 0; i < 50; i++) {
+            randoms.put(new byte[] {(byte) i, 1, 2, 3});
+        }
+        report.putExtractedValueContainer(TestTrackableValue.RANDOM, randoms);
+        ExtractedValueContainer<String> sessionIds =
+                new ExtractedValueContainer<>(TestTrackableValue.SESSION_ID);
+        sessionIds.put("abc");
+        report.putExtractedValueContainer(TestTrackableValue.SESSION_ID, sessionIds);
+        report.addGuidelineReport(
+                new GuidelineReport(
+                        "guideline",
+                        "https://example.com",
+                        List.of(
+                                new FailedCheckGuidelineResult(
+                                        null, GuidelineAdherence.VIOLATED))));
+        report.setScore(80);
+        report.setPerformedConnections(12);
+        report.setScanStartTime(1000L);
+        report.setScanEndTime(2000L);
+    }
+
+    private byte[] writeCompact(ScanReport report) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CompactReportFormat(registry).write(report, output);
+        return output.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        byte[] compact = writeCompact(report);
+        TestReport read =
+                new CompactReportFormat(registry)
+                        .read(new ByteArrayInputStream(compact), new TestReport());
+
+        assertEquals(TestResults.TRUE, read.getResult(TestProperty.SUPPORTS_A));
+        assertEquals(TestResults.COULD_NOT_TEST, read.getResult(TestProperty.SUPPORTS_B));
+        assertEquals("1.3", read.getStringResult(TestProperty.VERSION).getValue());
+        assertEquals(List.of("a", "b"), read.getListResult(TestProperty.CIPHERS).getList());
+        ExtractedValueContainer<byte[]> randoms =
+                read.getExtractedValueContainer(TestTrackableValue.RANDOM, byte[].class);
+        assertEquals(50, randoms.getNumberOfExtractedValues());
+        assertArrayEquals(new byte[] {7, 1, 2, 3}, randoms.getExtractedValueList().get(7));
+        assertEquals(TestTrackableValue.RANDOM, randoms.getType());
+        assertEquals(
+                List.of("abc"),
+                read.getExtractedValueContainer(TestTrackableValue.SESSION_ID)
+                        .getExtractedValueList());
+        assertEquals(1, read.getGuidelineReports().size());
+        assertEquals(
+                GuidelineAdherence.VIOLATED,
+                read.getGuidelineReports().get(0).getResults().get(0).getAdherence());
+        assertEquals(80, read.getScore());
+        assertEquals(12, read.getPerformedConnections());
+        assertEquals(1000L, read.getScanStartTime());
+        assertEquals(2000L, read.getScanEndTime());
+    }
+
+    @Test
+    public void testUsesRegisteredIds() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ScanReportJsonWriter(registry.createObjectMapper(new JsonFactory()))
+                .write(report, output);
+        String json = output.toString();
+
+        assertFalse(json.contains(TestResults.class.getName()));
+        assertFalse(json.contains(TestTrackableValue.class.getName()));
+    }
+
+    @Test
+    public void testSmallerThanClassNameJson() throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new ScanReportJsonWriter().write(report, json);
+
+        assertTrue(writeCompact(report).length * 3 < json.size());
+    }
+
+    @Test
+    public void testRejectsOtherData() {
+        assertThrows(
+                IOException.class,
+                () ->
+                        new CompactReportFormat(registry)
+                                .read(
+                                        new ByteArrayInputStream("{\"results\":{}}".getBytes()),
+                                        new TestReport()));
+    }
+
+    @Test
+    public void testTrackableValuesAreResolvedByName() throws IOException {
+        registry.register(ReportTypeRegistry.FIRST_USER_ID + 2, DescribedTrackableValue.class);
+        ExtractedValueContainer<String> nonces =
+                new ExtractedValueContainer<>(DescribedTrackableValue.NONCE);
+        nonces.put("nonce");
+        report.putExtractedValueContainer(DescribedTrackableValue.NONCE, nonces);
+
+        TestReport read =
+                new CompactReportFormat(registry)
+                        .read(new ByteArrayInputStream(writeCompact(report)), new TestReport());
+
+        assertEquals(DescribedTrackableValue.NONCE, registry.resolveTrackableValue("NONCE"));
+        assertNull(registry.resolveTrackableValue("Server nonce"));
+        assertEquals(
+                List.of("nonce"),
+                read.getExtractedValueContainer(DescribedTrackableValue.NONCE)
+                        .getExtractedValueList());
+    }
+
+    @Test
+    public void testRegistryRejectsConflicts() {
+        assertThrows(IllegalArgumentException.class, () -> registry.register(1, String.class));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> registry.register(ReportTypeRegistry.FIRST_USER_ID, Object.class));
+        assertThrows(
+                IllegalArgumentException.class, () -> registry.register(100, TestProperty.class));
+        assertEquals(TestProperty.VERSION, registry.resolveProperty("VERSION"));
+        assertEquals(TestTrackableValue.RANDOM, registry.resolveTrackableValue("RANDOM"));
+        assertNull(registry.resolveProperty("UNKNOWN"));
+    }
+}
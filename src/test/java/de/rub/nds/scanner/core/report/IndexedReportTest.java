@@ -0,0 +1,128 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.probe.result.ListResult;
+import de.rub.nds.scanner.core.probe.result.StringResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.CompactReportFormatTest.TestProperty;
+import de.rub.nds.scanner.core.report.CompactReportFormatTest.TestReport;
+import de.rub.nds.scanner.core.report.CompactReportFormatTest.TestTrackableValue;
+import de.rub.nds.scanner.core.report.rating.ScoreReport;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IndexedReportTest {
+
+    private CompactReportFormat format;
+
+    private byte[] compact;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ReportTypeRegistry registry =
+                new ReportTypeRegistry()
+                        .register(ReportTypeRegistry.FIRST_USER_ID, TestProperty.class)
+                        .register(ReportTypeRegistry.FIRST_USER_ID + 1, TestTrackableValue.class);
+        format = new CompactReportFormat(registry);
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, TestResults.TRUE);
+        report.putResult(TestProperty.VERSION, new StringResult(TestProperty.VERSION, "1.3"));
+        report.putResult(
+                TestProperty.CIPHERS, new ListResult<>(TestProperty.CIPHERS, List.of("a", "b")));
+        ExtractedValueContainer<String> sessionIds =
+                new ExtractedValueContainer<>(TestTrackableValue.SESSION_ID);
+        sessionIds.put("abc");
+        sessionIds.put("def");
+        report.putExtractedValueContainer(TestTrackableValue.SESSION_ID, sessionIds);
+        report.setScoreReport(new ScoreReport(70, new HashMap<>()));
+        report.setScore(70);
+        report.setScanStartTime(1000L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        format.write(report, output);
+        compact = output.toByteArray();
+    }
+
+    @Test
+    public void testReadSingleValues() throws IOException {
+        IndexedReport indexed = format.index(new ByteArrayInputStream(compact));
+
+        assertEquals(
+                Set.of(TestProperty.SUPPORTS_A, TestProperty.VERSION, TestProperty.CIPHERS),
+                indexed.getProperties());
+        assertEquals(Set.of(TestTrackableValue.SESSION_ID), indexed.getTrackableValues());
+        assertEquals(
+                "1.3", ((StringResult) indexed.readResult(TestProperty.VERSION)).getValue());
+        assertEquals(
+                List.of("a", "b"),
+                ((ListResult<?>) indexed.readResult(TestProperty.CIPHERS)).getList());
+        assertEquals(TestResults.TRUE, indexed.readResult(TestProperty.SUPPORTS_A));
+        assertNull(indexed.readResult(TestProperty.SUPPORTS_B));
+        assertEquals(
+                List.of("abc", "def"),
+                indexed.readExtractedValueContainer(TestTrackableValue.SESSION_ID)
+                        .getExtractedValueList());
+        assertNull(indexed.readExtractedValueContainer(TestTrackableValue.RANDOM));
+    }
+
+    @Test
+    public void testReadProjection() throws IOException {
+        IndexedReport indexed = format.index(new ByteArrayInputStream(compact));
+        ReportProjection projection =
+                ReportProjection.NONE.withProperties(TestProperty.VERSION).withScoreReport(true);
+
+        TestReport read = indexed.read(new TestReport(), projection);
+
+        assertEquals(Set.of(TestProperty.VERSION), read.getResultMap().keySet());
+        assertTrue(read.getExtractedValueContainerMap().isEmpty());
+        assertEquals(70, read.getScoreReport().getScore());
+        assertEquals(70, read.getScore());
+        assertEquals(1000L, read.getScanStartTime());
+    }
+
+    @Test
+    public void testStreamingProjectionMatchesIndexedRead() throws IOException {
+        ReportProjection projection =
+                ReportProjection.NONE.withTrackableValues(TestTrackableValue.SESSION_ID);
+
+        TestReport streamed =
+                format.read(new ByteArrayInputStream(compact), new TestReport(), projection);
+        TestReport indexed =
+                format.index(new ByteArrayInputStream(compact)).read(new TestReport(), projection);
+
+        for (TestReport read : List.of(streamed, indexed)) {
+            assertTrue(read.getResultMap().isEmpty());
+            assertNull(read.getScoreReport());
+            assertEquals(
+                    2,
+                    read.getExtractedValueContainer(TestTrackableValue.SESSION_ID)
+                            .getNumberOfExtractedValues());
+        }
+    }
+
+    @Test
+    public void testFullProjectionReadsEverything() throws IOException {
+        TestReport read =
+                format.index(new ByteArrayInputStream(compact))
+                        .read(new TestReport(), ReportProjection.ALL);
+
+        assertEquals(3, read.getResultMap().size());
+        assertEquals(1, read.getExtractedValueContainerMap().size());
+        assertNotNull(read.getScoreReport());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PrintingSchemeTest {
+
+    enum TestCategory implements AnalyzedPropertyCategory {
+        PLAIN,
+        SPECIAL
+    }
+
+    enum TestProperty implements AnalyzedProperty {
+        PLAIN_A(TestCategory.PLAIN),
+        PLAIN_B(TestCategory.PLAIN),
+        SPECIAL_A(TestCategory.SPECIAL),
+        OVERRIDDEN(TestCategory.SPECIAL);
+
+        private final TestCategory category;
+
+        TestProperty(TestCategory category) {
+            this.category = category;
+        }
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return category;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    private HashMap<AnalyzedProperty, ColorEncoding> colorEncodings;
+
+    private PrintingScheme scheme;
+
+    private TestReport report;
+
+    private static TestResultTextEncoder encoder(String trueText, String falseText) {
+        HashMap<TestResult, String> map = new HashMap<>();
+        map.put(TestResults.TRUE, trueText);
+        map.put(TestResults.FALSE, falseText);
+        return new TestResultTextEncoder(map);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        HashMap<TestResult, AnsiColor> greenTrue = new HashMap<>();
+        greenTrue.put(TestResults.TRUE, AnsiColor.GREEN);
+        HashMap<TestResult, AnsiColor> redTrue = new HashMap<>();
+        redTrue.put(TestResults.TRUE, AnsiColor.RED);
+        colorEncodings = new HashMap<>();
+        colorEncodings.put(TestProperty.SPECIAL_A, new ColorEncoding(redTrue));
+
+        HashMap<AnalyzedPropertyCategory, TestResultTextEncoder> textEncodings = new HashMap<>();
+        textEncodings.put(TestCategory.SPECIAL, encoder("yes", "no"));
+        HashMap<AnalyzedProperty, TestResultTextEncoder> specialTextEncodings = new HashMap<>();
+        specialTextEncodings.put(TestProperty.OVERRIDDEN, encoder("on", "off"));
+        HashMap<AnalyzedProperty, String> names = new HashMap<>();
+        names.put(TestProperty.PLAIN_A, "Plain A");
+        HashMap<AnalyzedProperty, Encoder<AnalyzedProperty>> keyEncodings = new HashMap<>();
+        keyEncodings.put(TestProperty.PLAIN_A, new AnalyzedPropertyTextEncoder(names));
+
+        scheme =
+                new PrintingScheme(
+                        colorEncodings,
+                        textEncodings,
+                        new TestResultTextEncoder(),
+                        new ColorEncoding(greenTrue),
+                        specialTextEncodings,
+                        keyEncodings);
+
+        report = new TestReport();
+        report.putResult(TestProperty.PLAIN_A, TestResults.TRUE);
+        report.putResult(TestProperty.SPECIAL_A, TestResults.TRUE);
+        report.putResult(TestProperty.OVERRIDDEN, TestResults.FALSE);
+    }
+
+    @Test
+    public void testEncoderResolution() {
+        assertEquals("TRUE", scheme.getEncodedValueText(report, TestProperty.PLAIN_A));
+        assertEquals("yes", scheme.getEncodedValueText(report, TestProperty.SPECIAL_A));
+        assertEquals("off", scheme.getEncodedValueText(report, TestProperty.OVERRIDDEN));
+        assertEquals("NOT_SCHEDULED", scheme.getEncodedValueText(report, TestProperty.PLAIN_B));
+
+        assertEquals(AnsiColor.GREEN, scheme.getValueColor(report, TestProperty.PLAIN_A));
+        assertEquals(AnsiColor.RED, scheme.getValueColor(report, TestProperty.SPECIAL_A));
+        assertNull(scheme.getValueColor(report, TestProperty.OVERRIDDEN));
+
+        assertEquals("Plain A", scheme.getEncodedKeyText(report, TestProperty.PLAIN_A));
+        assertEquals("SPECIAL_A", scheme.getEncodedKeyText(report, TestProperty.SPECIAL_A));
+
+        assertEquals(
+                AnsiColor.GREEN.getCode() + "TRUE" + AnsiColor.RESET.getCode(),
+                scheme.getEncodedString(report, TestProperty.PLAIN_A, true));
+        assertEquals("yes", scheme.getEncodedString(report, TestProperty.SPECIAL_A, false));
+    }
+
+    @Test
+    public void testResultChangesAreEncoded() {
+        assertEquals("yes", scheme.getEncodedValueText(report, TestProperty.SPECIAL_A));
+
+        report.putResult(TestProperty.SPECIAL_A, TestResults.FALSE);
+
+        assertEquals("no", scheme.getEncodedValueText(report, TestProperty.SPECIAL_A));
+    }
+
+    @Test
+    public void testClearResolvedEncoders() {
+        assertEquals(AnsiColor.GREEN, scheme.getValueColor(report, TestProperty.PLAIN_A));
+        HashMap<TestResult, AnsiColor> yellowTrue = new HashMap<>();
+        yellowTrue.put(TestResults.TRUE, AnsiColor.YELLOW);
+        colorEncodings.put(TestProperty.PLAIN_A, new ColorEncoding(yellowTrue));
+
+        assertEquals(AnsiColor.GREEN, scheme.getValueColor(report, TestProperty.PLAIN_A));
+        scheme.clearResolvedEncoders();
+        assertEquals(AnsiColor.YELLOW, scheme.getValueColor(report, TestProperty.PLAIN_A));
+    }
+
+    @Test
+    public void testChangesThroughGettersAreApplied() {
+        assertEquals(AnsiColor.GREEN, scheme.getValueColor(report, TestProperty.PLAIN_A));
+        assertEquals("TRUE", scheme.getEncodedValueText(report, TestProperty.PLAIN_A));
+        HashMap<TestResult, AnsiColor> yellowTrue = new HashMap<>();
+        yellowTrue.put(TestResults.TRUE, AnsiColor.YELLOW);
+
+        scheme.getValueColorEncodings().put(TestProperty.PLAIN_A, new ColorEncoding(yellowTrue));
+        assertEquals(AnsiColor.YELLOW, scheme.getValueColor(report, TestProperty.PLAIN_A));
+
+        scheme.getValueTextEncodings().put(TestCategory.PLAIN, encoder("set", "unset"));
+        assertEquals("set", scheme.getEncodedValueText(report, TestProperty.PLAIN_A));
+    }
+
+    @Test
+    public void testGetEncodedStrings() {
+        Map<AnalyzedProperty, String> encoded = scheme.getEncodedStrings(report, true);
+
+        Map<AnalyzedProperty, String> expected = new LinkedHashMap<>();
+        for (AnalyzedProperty property : report.getResultMap().keySet()) {
+            expected.put(property, scheme.getEncodedString(report, property, true));
+        }
+        assertEquals(expected, encoded);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(encoded.keySet()));
+    }
+
+    @Test
+    public void testGetEncodedStringsForProperties() {
+        List<TestProperty> properties =
+                List.of(TestProperty.OVERRIDDEN, TestProperty.PLAIN_B, TestProperty.PLAIN_A);
+
+        Map<AnalyzedProperty, String> encoded =
+                scheme.getEncodedStrings(report, properties, false);
+
+        assertEquals(List.copyOf(properties), List.copyOf(encoded.keySet()));
+        assertEquals("off", encoded.get(TestProperty.OVERRIDDEN));
+        assertEquals("NOT_SCHEDULED", encoded.get(TestProperty.PLAIN_B));
+        assertEquals("TRUE", encoded.get(TestProperty.PLAIN_A));
+    }
+}
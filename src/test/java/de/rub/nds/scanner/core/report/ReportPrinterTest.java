@@ -0,0 +1,156 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.config.ScannerDetail;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+
+public class ReportPrinterTest {
+
+    enum TestProperty implements AnalyzedProperty {
+        SUPPORTS_A;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    static class TestPrinter extends ReportPrinter<TestReport> {
+
+        TestPrinter(boolean printColorful, TestReport report) {
+            super(
+                    ScannerDetail.NORMAL,
+                    new PrintingScheme(
+                            new HashMap<>(),
+                            new HashMap<>(),
+                            new TestResultTextEncoder(),
+                            new ColorEncoding(new HashMap<>()),
+                            new HashMap<>(),
+                            new HashMap<>()),
+                    printColorful,
+                    report);
+        }
+
+        @Override
+        public String getFullReport() {
+            StringBuilder builder = new StringBuilder();
+            prettyAppendHeading(builder, "Heading");
+            prettyAppend(builder, "Name", "value");
+            prettyAppend(builder, "A much longer name than usual", (String) null);
+            prettyAppend(builder, "Colored", "value", AnsiColor.GREEN);
+            prettyAppend(builder, "Property", TestProperty.SUPPORTS_A);
+            setDepth(3);
+            prettyAppend(builder, "Nested", "value");
+            return builder.toString();
+        }
+
+        void writeSections(Appendable out) throws IOException {
+            prettyAppendHeading(out, "Heading");
+            prettyAppend(out, "Name", "value");
+            prettyAppend(out, "A much longer name than usual", (String) null);
+            prettyAppend(out, "Colored", "value", AnsiColor.GREEN);
+            prettyAppend(out, "Property", TestProperty.SUPPORTS_A);
+            setDepth(3);
+            prettyAppend(out, "Nested", "value");
+        }
+    }
+
+    private static TestReport createReport() {
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, TestResults.TRUE);
+        return report;
+    }
+
+    @Test
+    public void testAppendableHelpersMatchBuilderHelpers() throws IOException {
+        for (boolean colorful : new boolean[] {false, true}) {
+            TestPrinter printer = new TestPrinter(colorful, createReport());
+            StringWriter writer = new StringWriter();
+            printer.writeSections(writer);
+            assertEquals(printer.getFullReport(), writer.toString());
+        }
+    }
+
+    @Test
+    public void testWriteFullReport() throws IOException {
+        TestPrinter printer = new TestPrinter(false, createReport());
+        StringWriter writer = new StringWriter();
+
+        printer.writeFullReport(writer);
+
+        assertEquals(printer.getFullReport(), writer.toString());
+    }
+
+    @Test
+    public void testColoredStringsMatchStringFormat() {
+        TestPrinter printer = new TestPrinter(false, createReport());
+        String[] formats = {
+            "%s", "%-20s", "%20s", "%3s", "[%s]", "%-8s|", "%s%%", "%.2s", "%-s", "%08s", "plain"
+        };
+        for (String format : formats) {
+            for (String value : new String[] {"value", "longer than twenty chars"}) {
+                String expected;
+                try {
+                    expected = String.format(format, value);
+                } catch (IllegalArgumentException e) {
+                    assertThrows(
+                            IllegalArgumentException.class,
+                            () -> printer.getBlackString(value, format),
+                            format);
+                    continue;
+                }
+                String reset = AnsiColor.RESET.getCode();
+                assertEquals(expected, printer.getBlackString(value, format), format);
+                assertEquals(
+                        reset + expected + reset, printer.getGreenString(value, format), format);
+                assertEquals(
+                        reset + expected + reset, printer.getYellowString(value, format), format);
+                assertEquals(reset + expected + reset, printer.getRedString(value, format), format);
+            }
+        }
+        assertEquals(String.format("%-10s", "Unknown"), printer.getBlackString(null, "%-10s"));
+    }
+
+    @Test
+    public void testPaddingAndIndentation() {
+        TestPrinter printer = new TestPrinter(false, createReport());
+
+        assertEquals("ab   ", printer.padToLength("ab", 5));
+        assertEquals("abcdef", printer.padToLength("abcdef", 5));
+        assertEquals(200, printer.padToLength("", 200).length());
+        assertEquals("Name\t\t\t\t ", printer.addIndentations("Name"));
+        printer.setDepth(2);
+        assertEquals("  Some longer name\t\t ", printer.addIndentations("Some longer name"));
+    }
+}
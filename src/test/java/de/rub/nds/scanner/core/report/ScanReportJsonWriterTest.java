@@ -0,0 +1,142 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.rub.nds.scanner.core.TestAnalyzedProperty;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ScanReportJsonWriterTest {
+
+    @TempDir private Path tempDir;
+
+    private ObjectMapper mapper;
+
+    private TestReport report;
+
+    enum TestTrackableValue implements TrackableValue {
+        RANDOM
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mapper = ScanReportJsonWriter.createDefaultObjectMapper();
+        report = new TestReport();
+        report.putResult(TestAnalyzedProperty.TEST_ANALYZED_PROPERTY, TestResults.TRUE);
+        ExtractedValueContainer<byte[]> container =
+                new ExtractedValueContainer<>(TestTrackableValue.RANDOM);
+        container.put(new byte[] {0x0A, 0x0B});
+        report.putExtractedValueContainer(TestTrackableValue.RANDOM, container);
+        report.setScore(42);
+        report.setPerformedConnections(7);
+        report.recordProbePerformance(new PerformanceData(null, 1, 2));
+    }
+
+    @Test
+    public void testWriteMatchesMapperOutput() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ScanReportJsonWriter(mapper).write(report, output);
+        JsonNode written = mapper.readTree(output.toByteArray());
+
+        TypeReference<Map<AnalyzedProperty, TestResult>> resultMapType = new TypeReference<>() {};
+        TypeReference<Map<TrackableValue, ExtractedValueContainer<?>>> containerMapType =
+                new TypeReference<>() {};
+        JsonNode expectedResults =
+                mapper.readTree(
+                        mapper.writerFor(resultMapType).writeValueAsBytes(report.getResultMap()));
+        JsonNode expectedContainers =
+                mapper.readTree(
+                        mapper.writerFor(containerMapType)
+                                .writeValueAsBytes(report.getExtractedValueContainerMap()));
+
+        assertEquals(TestReport.class.getName(), written.get("@class").asText());
+        assertEquals(expectedResults, written.get("results"));
+        assertEquals(expectedContainers, written.get("extractedValues"));
+        assertTrue(written.get("guidelineReports").isEmpty());
+        assertEquals(42, written.get("score").asInt());
+        assertTrue(written.get("scoreReport").isNull());
+        assertEquals(1, written.get("probePerformanceData").size());
+        assertEquals(7, written.get("performedConnections").asInt());
+    }
+
+    @Test
+    public void testWriteDoesNotCloseStream() throws IOException {
+        ByteArrayOutputStream output =
+                new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        fail("Stream must not be closed");
+                    }
+                };
+        new ScanReportJsonWriter().write(report, output);
+        assertTrue(output.size() > 0);
+    }
+
+    @Test
+    public void testWriteGzipFile() throws IOException {
+        Path file = tempDir.resolve("report.json" + ReportCompression.GZIP.getFileExtension());
+        new ScanReportJsonWriter().write(report, file, ReportCompression.GZIP);
+
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(42, mapper.readTree(input).get("score").asInt());
+        }
+    }
+
+    @Test
+    public void testAdditionalFields() throws IOException {
+        ScanReportJsonWriter writer =
+                new ScanReportJsonWriter() {
+                    @Override
+                    protected void writeAdditionalFields(
+                            ScanReport report, JsonGenerator generator) throws IOException {
+                        writeField("remoteName", report.getRemoteName(), generator);
+                    }
+                };
+        Path file = tempDir.resolve("report.json");
+        writer.write(report, file, ReportCompression.NONE);
+
+        assertEquals("TestHost", mapper.readTree(file.toFile()).get("remoteName").asText());
+    }
+
+    @Test
+    public void testCompressionForFileName() {
+        assertEquals(ReportCompression.GZIP, ReportCompression.forFileName("report.json.gz"));
+        assertEquals(ReportCompression.NONE, ReportCompression.forFileName("report.json"));
+    }
+}
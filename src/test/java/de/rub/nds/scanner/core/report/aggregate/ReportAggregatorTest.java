@@ -0,0 +1,169 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.guideline.FailedCheckGuidelineResult;
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TestTrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.DetailedResult;
+import de.rub.nds.scanner.core.probe.result.ListResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.CompactReportFormat;
+import de.rub.nds.scanner.core.report.ReportTypeRegistry;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReportAggregatorTest {
+
+    @TempDir Path directory;
+
+    enum TestProperty implements AnalyzedProperty {
+        SUPPORTS_A,
+        CIPHERS;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    private static TestReport createReport(int i) {
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, TestResults.of(i % 2 == 0));
+        report.putResult(
+                TestProperty.CIPHERS,
+                new ListResult<>(
+                        TestProperty.CIPHERS, i % 2 == 0 ? List.of("a", "b", "a") : List.of("a")));
+        report.setScore(i % 3 * 10);
+        report.addGuidelineReport(
+                new GuidelineReport(
+                        "guideline",
+                        "https://example.com",
+                        List.of(
+                                new FailedCheckGuidelineResult(
+                                        null,
+                                        i < 10
+                                                ? GuidelineAdherence.VIOLATED
+                                                : GuidelineAdherence.ADHERED))));
+        return report;
+    }
+
+    private static List<TestReport> createReports(int count) {
+        List<TestReport> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            reports.add(createReport(i));
+        }
+        return reports;
+    }
+
+    private static void assertAggregate(ReportAggregate aggregate) {
+        assertEquals(100, aggregate.getReportCount());
+        assertEquals(50, aggregate.getResultCount(TestProperty.SUPPORTS_A, TestResults.TRUE));
+        assertEquals(0.5, aggregate.getResultShare(TestProperty.SUPPORTS_A, TestResults.FALSE));
+        assertEquals(
+                Map.of("a", 100L, "b", 50L), aggregate.getElementFrequencies(TestProperty.CIPHERS));
+        assertEquals(Map.of(0, 34L, 10, 33L, 20, 33L), aggregate.getScoreHistogram());
+        assertEquals(
+                Map.of(GuidelineAdherence.VIOLATED, 10L, GuidelineAdherence.ADHERED, 90L),
+                aggregate.getGuidelineAdherence("guideline"));
+    }
+
+    @Test
+    public void testAggregate() {
+        assertAggregate(ReportAggregator.aggregate(createReports(100)));
+    }
+
+    @Test
+    public void testMergeEqualsSequentialAggregation() {
+        List<TestReport> reports = createReports(100);
+        ReportAggregate first = new ReportAggregate();
+        ReportAggregate second = new ReportAggregate();
+        reports.subList(0, 30).forEach(first::add);
+        reports.subList(30, 100).forEach(second::add);
+
+        ReportAggregate merged = first.merge(second);
+
+        assertAggregate(merged);
+        assertEquals(70, second.getReportCount());
+    }
+
+    @Test
+    public void testCountsSummaryOfDetailedResults() {
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, DetailedResult.TRUE("detail"));
+
+        ReportAggregate aggregate = ReportAggregator.aggregate(List.of(report, createReport(1)));
+
+        assertEquals(
+                Map.of(TestResults.TRUE, 1L, TestResults.FALSE, 1L),
+                aggregate.getResultHistogram(TestProperty.SUPPORTS_A));
+    }
+
+    @Test
+    public void testIgnoresOtherParts() {
+        TestReport report = new TestReport();
+        report.putExtractedValueContainer(
+                new TestTrackableValue("random"),
+                new ExtractedValueContainer<>(new TestTrackableValue("random")));
+
+        ReportAggregate aggregate = ReportAggregator.aggregate(List.of(report));
+
+        assertEquals(1, aggregate.getReportCount());
+        assertTrue(aggregate.getScoreHistogram().isEmpty());
+        assertTrue(aggregate.getGuidelines().isEmpty());
+        assertEquals(0, aggregate.getResultShare(TestProperty.SUPPORTS_A, TestResults.TRUE));
+    }
+
+    @Test
+    public void testAggregateDirectory() throws IOException {
+        CompactReportFormat format =
+                new CompactReportFormat(
+                        new ReportTypeRegistry()
+                                .register(ReportTypeRegistry.FIRST_USER_ID, TestProperty.class));
+        List<TestReport> reports = createReports(100);
+        for (int i = 0; i < reports.size(); i++) {
+            try (OutputStream output = Files.newOutputStream(directory.resolve(i + ".report"))) {
+                format.write(reports.get(i), output);
+            }
+        }
+        Files.writeString(directory.resolve("broken.report"), "not a report");
+        Files.createDirectory(directory.resolve("subdirectory"));
+
+        assertAggregate(ReportAggregator.aggregate(directory, format, TestReport::new));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.container;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.config.ScannerDetail;
+import de.rub.nds.scanner.core.report.AnsiColor;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class LazyContainerTest {
+
+    private static String write(ReportContainer container) throws IOException {
+        StringWriter writer = new StringWriter();
+        container.write(writer, 0, false);
+        return writer.toString();
+    }
+
+    @Test
+    public void testSupplierNotInvokedBelowDetail() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        LazyContainer container =
+                new LazyContainer(
+                        ScannerDetail.DETAILED,
+                        ScannerDetail.NORMAL,
+                        () -> {
+                            calls.incrementAndGet();
+                            return new TextContainer("hidden", AnsiColor.DEFAULT_COLOR);
+                        });
+
+        assertEquals("", write(container));
+        StringBuilder builder = new StringBuilder();
+        container.print(builder, 0, false);
+        assertEquals("", builder.toString());
+        assertNull(container.getContent());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testSupplierInvokedOnceAtDetail() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        LazyContainer container =
+                new LazyContainer(
+                        ScannerDetail.DETAILED,
+                        ScannerDetail.ALL,
+                        () -> {
+                            calls.incrementAndGet();
+                            return new TextContainer("shown", AnsiColor.DEFAULT_COLOR);
+                        });
+
+        assertEquals("shown\n", write(container));
+        assertEquals("shown\n", write(container));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testNestedInList() throws IOException {
+        ListContainer list = new ListContainer();
+        list.add(new TextContainer("always", AnsiColor.DEFAULT_COLOR));
+        list.add(
+                new LazyContainer(
+                        ScannerDetail.ALL,
+                        ScannerDetail.DETAILED,
+                        () -> new TextContainer("all", AnsiColor.DEFAULT_COLOR)));
+        list.add(
+                new LazyContainer(
+                        ScannerDetail.QUICK,
+                        ScannerDetail.DETAILED,
+                        () -> new TextContainer("quick", AnsiColor.DEFAULT_COLOR)));
+        list.add(new LazyContainer(ScannerDetail.QUICK, ScannerDetail.DETAILED, () -> null));
+
+        assertEquals("always\nquick\n", write(list));
+    }
+
+    @Test
+    public void testIsShownAt() {
+        ReportContainer container = new TextContainer("", AnsiColor.DEFAULT_COLOR);
+
+        assertTrue(container.isShownAt(ScannerDetail.NORMAL));
+        assertTrue(container.isShownAt(ScannerDetail.ALL));
+        assertFalse(container.isShownAt(ScannerDetail.QUICK));
+    }
+}
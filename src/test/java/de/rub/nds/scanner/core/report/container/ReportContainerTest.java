@@ -0,0 +1,200 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.container;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.report.AnsiColor;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ReportContainerTest {
+
+    private static ListContainer createReport() {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(
+                List.of(
+                        new TextContainer("Name", AnsiColor.BOLD),
+                        new TextContainer("Value", AnsiColor.BOLD)));
+        table.addLineToTable(
+                List.of(
+                        new TextContainer("a", AnsiColor.DEFAULT_COLOR),
+                        new TextContainer("long value", AnsiColor.GREEN)));
+        table.addLineToTable(
+                List.of(
+                        new TextContainer("longer name", AnsiColor.DEFAULT_COLOR),
+                        new TextContainer("b", AnsiColor.RED)));
+        ListContainer nested = new ListContainer(1);
+        nested.add(new KeyValueContainer("Key", AnsiColor.BLUE, "value", AnsiColor.GREEN));
+        nested.add(new TextContainer("text", AnsiColor.YELLOW));
+        nested.add(table);
+        ListContainer report = new ListContainer();
+        report.add(new HeadlineContainer("Headline"));
+        report.add(new HeadlineContainer("Subheadline"));
+        report.add(nested);
+        return report;
+    }
+
+    private static String write(ReportContainer container, int depth, boolean useColor)
+            throws IOException {
+        StringWriter writer = new StringWriter();
+        container.write(writer, depth, useColor);
+        return writer.toString();
+    }
+
+    private static String print(ReportContainer container, int depth, boolean useColor) {
+        StringBuilder builder = new StringBuilder();
+        container.print(builder, depth, useColor);
+        return builder.toString();
+    }
+
+    @Test
+    public void testWriteMatchesPrint() throws IOException {
+        ListContainer report = createReport();
+        for (int depth = 0; depth < 3; depth++) {
+            assertEquals(print(report, depth, false), write(report, depth, false));
+            assertEquals(print(report, depth, true), write(report, depth, true));
+        }
+    }
+
+    @Test
+    public void testTableLayout() throws IOException {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(
+                List.of(
+                        new TextContainer("Name", AnsiColor.BOLD),
+                        new TextContainer("Value", AnsiColor.BOLD)));
+        table.addLineToTable(
+                List.of(
+                        new TextContainer("longer name", AnsiColor.DEFAULT_COLOR),
+                        new TextContainer("b", AnsiColor.RED)));
+
+        String expected =
+                "  "
+                        + "       Name | Value | \n"
+                        + "  "
+                        + "----------- | ----- | \n"
+                        + "  "
+                        + "longer name |     b | \n"
+                        + "\n";
+        assertEquals(expected, write(table, 1, false));
+        assertEquals(expected, print(table, 1, false));
+    }
+
+    @Test
+    public void testKeyValueLayout() throws IOException {
+        KeyValueContainer container =
+                new KeyValueContainer("Key", AnsiColor.BLUE, "value", AnsiColor.GREEN);
+
+        assertEquals("Key" + " ".repeat(27) + ":    value\n", write(container, 0, false));
+        assertEquals(
+                AnsiColor.BLUE.getCode()
+                        + "Key"
+                        + " ".repeat(27)
+                        + AnsiColor.RESET.getCode()
+                        + ":    "
+                        + AnsiColor.GREEN.getCode()
+                        + "value"
+                        + AnsiColor.RESET.getCode()
+                        + "\n",
+                write(container, 0, true));
+    }
+
+    @Test
+    public void testHeadlineLayout() throws IOException {
+        assertEquals(
+                "-".repeat(50) + "\nHeadline\n\n",
+                write(new HeadlineContainer("Headline"), 0, false));
+        assertEquals("----|Sub\n\n", write(new HeadlineContainer("Sub"), 2, false));
+    }
+
+    @Test
+    public void testDeepIndentation() throws IOException {
+        assertEquals(
+                " ".repeat(400) + "text\n",
+                write(new TextContainer("text", AnsiColor.DEFAULT_COLOR), 200, false));
+    }
+
+    @Test
+    public void testDefaultWriteUsesPrint() throws IOException {
+        ReportContainer custom =
+                new ReportContainer(null) {
+                    @Override
+                    public void print(StringBuilder builder, int depth, boolean useColor) {
+                        addDepth(builder, depth).append("custom\n");
+                    }
+                };
+
+        assertEquals("    custom\n", write(custom, 2, false));
+    }
+
+    @Test
+    public void testWriteUsesOverriddenPrint() throws IOException {
+        TextContainer text =
+                new TextContainer("text", AnsiColor.DEFAULT_COLOR) {
+                    @Override
+                    public void print(StringBuilder builder, int depth, boolean useColor) {
+                        builder.append("before\n");
+                        super.print(builder, depth, useColor);
+                    }
+                };
+        ListContainer list =
+                new ListContainer() {
+                    @Override
+                    public void print(StringBuilder builder, int depth, boolean useColor) {
+                        builder.append("list\n");
+                        super.print(builder, depth, useColor);
+                    }
+                };
+        list.add(text);
+        ListContainer report = new ListContainer(1);
+        report.add(list);
+
+        assertEquals("list\nbefore\n  text\n", write(report, 0, false));
+        assertEquals(print(report, 0, false), write(report, 0, false));
+    }
+
+    @Test
+    public void testWriteKeepsOverriddenWrite() throws IOException {
+        TextContainer text =
+                new TextContainer("text", AnsiColor.DEFAULT_COLOR) {
+                    @Override
+                    public void print(StringBuilder builder, int depth, boolean useColor) {
+                        builder.append("printed\n");
+                    }
+
+                    @Override
+                    public void write(Appendable out, int depth, boolean useColor)
+                            throws IOException {
+                        out.append("written\n");
+                    }
+                };
+
+        assertEquals("written\n", write(text, 0, false));
+    }
+
+    @Test
+    public void testTableWritesOverriddenCells() throws IOException {
+        TextContainer cell =
+                new TextContainer("cell", AnsiColor.DEFAULT_COLOR) {
+                    @Override
+                    public void println(StringBuilder builder, int depth, boolean useColor) {
+                        builder.append("CELL");
+                    }
+                };
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(List.of(new TextContainer("Head", AnsiColor.DEFAULT_COLOR)));
+        table.addLineToTable(List.of(cell));
+
+        assertEquals("Head | \n---- | \nCELL | \n\n", write(table, 0, false));
+        assertEquals(print(table, 0, false), write(table, 0, false));
+    }
+}
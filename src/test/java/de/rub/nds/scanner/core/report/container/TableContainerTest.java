@@ -0,0 +1,106 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.container;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.report.AnsiColor;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TableContainerTest {
+
+    private static List<TextContainer> line(String... cells) {
+        List<TextContainer> line = new ArrayList<>();
+        for (String cell : cells) {
+            line.add(new TextContainer(cell, AnsiColor.DEFAULT_COLOR));
+        }
+        return line;
+    }
+
+    private static String print(TableContainer table) {
+        StringBuilder builder = new StringBuilder();
+        table.print(builder, 0, false);
+        return builder.toString();
+    }
+
+    @Test
+    public void testWidthsFollowAddedRows() {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(line("A", "B"));
+        assertEquals("A | B | \n- | - | \n\n", print(table));
+
+        table.addLineToTable(line("abc", "d"));
+        assertEquals("  A | B | \n--- | - | \nabc | d | \n\n", print(table));
+
+        table.addLineToTable(line("e", "fghij"));
+        assertEquals(
+                "  A |     B | \n--- | ----- | \nabc |     d | \n  e | fghij | \n\n",
+                print(table));
+    }
+
+    @Test
+    public void testRowsAddedBeforeHeadlines() {
+        TableContainer table = new TableContainer();
+        table.addLineToTable(line("abc", "d"));
+        table.setHeadlineList(line("A", "Bee"));
+
+        assertEquals("  A | Bee | \n--- | --- | \nabc |   d | \n\n", print(table));
+    }
+
+    @Test
+    public void testChangesThroughGettersAreMeasured() {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(line("A"));
+        table.addLineToTable(line("abc"));
+        assertEquals("  A | \n--- | \nabc | \n\n", print(table));
+
+        table.getContainerTable().get(0).set(0, new TextContainer("ab", AnsiColor.DEFAULT_COLOR));
+        table.getHeadlineList().set(0, new TextContainer("Head", AnsiColor.DEFAULT_COLOR));
+        assertEquals("Head | \n---- | \n  ab | \n\n", print(table));
+
+        table.getContainerTable().add(line("abcdef"));
+        table.addLineToTable(line("a"));
+        assertEquals(
+                "  Head | \n------ | \n    ab | \nabcdef | \n     a | \n\n", print(table));
+    }
+
+    @Test
+    public void testRowsMayContainNull() {
+        TableContainer table = new TableContainer();
+        List<TextContainer> row = line("abc");
+        row.add(null);
+        table.addLineToTable(row);
+
+        assertSame(row, table.getContainerTable().get(0));
+    }
+
+    @Test
+    public void testStriplineFollowsHeadlines() {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(line("A"));
+        table.addLineToTable(line("ab", "c"));
+
+        assertEquals(" A | \n-- | \nab | c | \n\n", print(table));
+    }
+
+    @Test
+    public void testSetContainerTable() {
+        TableContainer table = new TableContainer();
+        table.setHeadlineList(line("A"));
+        table.addLineToTable(line("abcdef"));
+
+        List<List<TextContainer>> rows = new ArrayList<>();
+        rows.add(line("ab"));
+        table.setContainerTable(rows);
+
+        assertEquals(" A | \n-- | \nab | \n\n", print(table));
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.diff;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.guideline.FailedCheckGuidelineResult;
+import de.rub.nds.scanner.core.guideline.GuidelineAdherence;
+import de.rub.nds.scanner.core.guideline.GuidelineReport;
+import de.rub.nds.scanner.core.passive.ExtractedValueContainer;
+import de.rub.nds.scanner.core.passive.TestTrackableValue;
+import de.rub.nds.scanner.core.passive.TrackableValue;
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.DetailedResult;
+import de.rub.nds.scanner.core.probe.result.ListResult;
+import de.rub.nds.scanner.core.probe.result.SetResult;
+import de.rub.nds.scanner.core.probe.result.StringResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class ScanReportDiffTest {
+
+    private static final TrackableValue RANDOM = new TestTrackableValue("random");
+
+    enum TestProperty implements AnalyzedProperty {
+        SUPPORTS_A,
+        VERSION,
+        CIPHERS,
+        GROUPS;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    /** Equal by value but hashed by identity. */
+    static class Point {
+        private final int x;
+
+        Point(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Point && ((Point) other).x == x;
+        }
+    }
+
+    static class TestReport extends ScanReport {
+        @Override
+        public String getRemoteName() {
+            return "TestHost";
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    private static TestReport createReport() {
+        TestReport report = new TestReport();
+        report.putResult(TestProperty.SUPPORTS_A, TestResults.TRUE);
+        report.putResult(TestProperty.VERSION, new StringResult(TestProperty.VERSION, "1.3"));
+        report.putResult(
+                TestProperty.CIPHERS,
+                new ListResult<>(TestProperty.CIPHERS, new ArrayList<>(List.of("a", "b"))));
+        ExtractedValueContainer<byte[]> randoms = new ExtractedValueContainer<>(RANDOM);
+        randoms.put(new byte[] {1, 2});
+        randoms.put(new byte[] {3, 4});
+        report.putExtractedValueContainer(RANDOM, randoms);
+        report.addGuidelineReport(
+                new GuidelineReport(
+                        "guideline",
+                        "https://example.com",
+                        List.of(
+                                new FailedCheckGuidelineResult(
+                                        null, GuidelineAdherence.ADHERED))));
+        report.setScore(80);
+        return report;
+    }
+
+    @Test
+    public void testEquivalentReports() {
+        TestReport before = createReport();
+        TestReport after = createReport();
+        // same elements in a different order and randoms in a different order
+        after.putResult(
+                TestProperty.CIPHERS, new ListResult<>(TestProperty.CIPHERS, List.of("b", "a")));
+        ExtractedValueContainer<byte[]> randoms = new ExtractedValueContainer<>(RANDOM);
+        randoms.put(new byte[] {3, 4});
+        randoms.put(new byte[] {1, 2});
+        after.putExtractedValueContainer(RANDOM, randoms);
+
+        ReportChangeSet changes = ScanReportDiff.diff(before, after);
+
+        assertTrue(changes.isEmpty(), changes.toString());
+        assertSame(changes, ScanReportDiff.diff(after, before));
+    }
+
+    @Test
+    public void testResultChanges() {
+        TestReport before = createReport();
+        TestReport after = createReport();
+        after.putResult(TestProperty.VERSION, new StringResult(TestProperty.VERSION, "1.2"));
+        after.removeResult(TestProperty.SUPPORTS_A);
+        after.putResult(TestProperty.GROUPS, new SetResult<>(TestProperty.GROUPS, Set.of("x")));
+
+        ReportChangeSet changes = ScanReportDiff.diff(before, after);
+
+        assertEquals(3, changes.size());
+        List<ReportChange> results = changes.getChanges(ChangeScope.RESULT);
+        assertEquals(ChangeType.REMOVED, find(results, TestProperty.SUPPORTS_A).getType());
+        assertEquals(ChangeType.MODIFIED, find(results, TestProperty.VERSION).getType());
+        assertEquals(ChangeType.ADDED, find(results, TestProperty.GROUPS).getType());
+        assertEquals(TestResults.TRUE, find(results, TestProperty.SUPPORTS_A).getBefore());
+    }
+
+    @Test
+    public void testContainerScoreAndGuidelineChanges() {
+        TestReport before = createReport();
+        TestReport after = new TestReport();
+        after.putResult(TestProperty.SUPPORTS_A, TestResults.TRUE);
+        after.putResult(TestProperty.VERSION, new StringResult(TestProperty.VERSION, "1.3"));
+        after.putResult(
+                TestProperty.CIPHERS, new ListResult<>(TestProperty.CIPHERS, List.of("a", "b")));
+        ExtractedValueContainer<byte[]> randoms = new ExtractedValueContainer<>(RANDOM);
+        randoms.put(new byte[] {1, 2});
+        randoms.put(new byte[] {3, 5});
+        after.putExtractedValueContainer(RANDOM, randoms);
+        after.addGuidelineReport(
+                new GuidelineReport(
+                        "guideline",
+                        "https://example.com",
+                        List.of(
+                                new FailedCheckGuidelineResult(
+                                        null, GuidelineAdherence.VIOLATED))));
+        after.setScore(60);
+
+        ReportChangeSet changes = ScanReportDiff.diff(before, after);
+
+        assertEquals(3, changes.size());
+        assertEquals(1, changes.getChanges(ChangeScope.EXTRACTED_VALUES).size());
+        ReportChange score = changes.getChanges(ChangeScope.SCORE).get(0);
+        assertEquals(80, score.getBefore());
+        assertEquals(60, score.getAfter());
+        ReportChange guideline = changes.getChanges(ChangeScope.GUIDELINE_CHECK).get(0);
+        assertEquals(ChangeType.MODIFIED, guideline.getType());
+        assertEquals(GuidelineAdherence.ADHERED, guideline.getBefore());
+        assertEquals(GuidelineAdherence.VIOLATED, guideline.getAfter());
+    }
+
+    @Test
+    public void testSameResult() {
+        assertTrue(ScanReportDiff.sameResult(DetailedResult.TRUE("details"), TestResults.TRUE));
+        assertTrue(ScanReportDiff.sameResult(TestResults.FALSE, DetailedResult.FALSE()));
+        assertFalse(ScanReportDiff.sameResult(DetailedResult.TRUE(), TestResults.FALSE));
+        assertFalse(
+                ScanReportDiff.sameResult(DetailedResult.TRUE("a"), DetailedResult.TRUE("b")));
+        assertTrue(
+                ScanReportDiff.sameResult(
+                        new ListResult<>(TestProperty.CIPHERS, List.of("a", "a", "b")),
+                        new ListResult<>(TestProperty.CIPHERS, List.of("b", "a"))));
+        assertFalse(
+                ScanReportDiff.sameResult(
+                        new StringResult(TestProperty.VERSION, "1.3"), TestResults.TRUE));
+    }
+
+    @Test
+    public void testSameResultWithNull() {
+        assertTrue(ScanReportDiff.sameResult(null, null));
+        assertFalse(ScanReportDiff.sameResult(null, TestResults.TRUE));
+        assertFalse(ScanReportDiff.sameResult(TestResults.TRUE, null));
+    }
+
+    @Test
+    public void testContainersWithoutValueHashes() {
+        TrackableValue points = new TestTrackableValue("points");
+        TrackableValue arrays = new TestTrackableValue("arrays");
+        TestReport before = createReport();
+        TestReport after = createReport();
+        before.putExtractedValueContainer(points, container(points, new Point(1), new Point(2)));
+        after.putExtractedValueContainer(points, container(points, new Point(2), new Point(1)));
+        before.putExtractedValueContainer(arrays, container(arrays, new int[] {1}, "a", null));
+        after.putExtractedValueContainer(arrays, container(arrays, null, "a", new int[] {1}));
+
+        assertTrue(ScanReportDiff.diff(before, after).isEmpty());
+
+        after.putExtractedValueContainer(points, container(points, new Point(2), new Point(2)));
+        after.putExtractedValueContainer(arrays, container(arrays, new int[] {2}, "a", null));
+        ReportChangeSet changes = ScanReportDiff.diff(before, after);
+
+        assertEquals(2, changes.getChanges(ChangeScope.EXTRACTED_VALUES).size());
+    }
+
+    @Test
+    public void testContainersWithEqualHashSums() {
+        TrackableValue numbers = new TestTrackableValue("numbers");
+        TestReport before = createReport();
+        TestReport after = createReport();
+        // same count and same sum of hash codes, but different values
+        before.putExtractedValueContainer(numbers, container(numbers, 1, 4));
+        after.putExtractedValueContainer(numbers, container(numbers, 2, 3));
+
+        ReportChangeSet changes = ScanReportDiff.diff(before, after);
+
+        assertEquals(1, changes.getChanges(ChangeScope.EXTRACTED_VALUES).size());
+        assertEquals(ChangeType.MODIFIED, find(changes.getChanges(), numbers).getType());
+    }
+
+    @Test
+    public void testDiffAll() {
+        List<TestReport> before = new ArrayList<>();
+        List<TestReport> after = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            before.add(createReport());
+            TestReport report = createReport();
+            report.setScore(i);
+            after.add(report);
+        }
+
+        List<ReportChangeSet> changes = ScanReportDiff.diffAll(before, after);
+
+        assertEquals(100, changes.size());
+        assertEquals(1, changes.get(0).size());
+        assertTrue(changes.get(80).isEmpty());
+        assertEquals(5, changes.get(5).getChanges().get(0).getAfter());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ScanReportDiff.diffAll(before, after.subList(0, 1)));
+    }
+
+    private static ReportChange find(List<ReportChange> changes, Object key) {
+        return changes.stream().filter(change -> change.getKey() == key).findFirst().orElseThrow();
+    }
+
+    private static ExtractedValueContainer<Object> container(
+            TrackableValue type, Object... values) {
+        ExtractedValueContainer<Object> container = new ExtractedValueContainer<>(type);
+        for (Object value : values) {
+            container.put(value);
+        }
+        return container;
+    }
+}
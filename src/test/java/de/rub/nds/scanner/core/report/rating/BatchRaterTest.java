@@ -0,0 +1,196 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BatchRaterTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        THIRD;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    /** A result type the rater cannot compile into its table. */
+    private enum Grade implements TestResult {
+        GOOD,
+        BAD;
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static RatingInfluencers createInfluencers() {
+        return new RatingInfluencers(
+                new LinkedList<>(
+                        List.of(
+                                new RatingInfluencer(
+                                        TestProperty.FIRST,
+                                        new PropertyResultRatingInfluencer(TestResults.TRUE, 100),
+                                        new PropertyResultRatingInfluencer(
+                                                TestResults.FALSE, -50, 300)),
+                                new RatingInfluencer(
+                                        TestProperty.SECOND,
+                                        new PropertyResultRatingInfluencer(TestResults.TRUE, 200),
+                                        new PropertyResultRatingInfluencer(
+                                                TestResults.ERROR_DURING_TEST, 0, 100)),
+                                new RatingInfluencer(
+                                        TestProperty.THIRD,
+                                        new PropertyResultRatingInfluencer(Grade.GOOD, 400),
+                                        new PropertyResultRatingInfluencer(Grade.BAD, 0, 0)))));
+    }
+
+    private static List<Map<AnalyzedProperty, TestResult>> createResultMaps() {
+        TestResults[] firstResults = {TestResults.TRUE, TestResults.FALSE, TestResults.UNCERTAIN};
+        TestResults[] secondResults = {
+            TestResults.TRUE, TestResults.ERROR_DURING_TEST, TestResults.FALSE
+        };
+        List<Map<AnalyzedProperty, TestResult>> resultMaps = new ArrayList<>();
+        for (TestResults first : firstResults) {
+            for (TestResults second : secondResults) {
+                for (Grade third : new Grade[] {null, Grade.GOOD, Grade.BAD}) {
+                    Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+                    results.put(TestProperty.FIRST, first);
+                    results.put(TestProperty.SECOND, second);
+                    if (third != null) {
+                        results.put(TestProperty.THIRD, third);
+                    }
+                    resultMaps.add(results);
+                    resultMaps.add(Map.of(TestProperty.SECOND, second));
+                }
+            }
+        }
+        return resultMaps;
+    }
+
+    @Test
+    void testRateAndScoreAgree() {
+        BatchRater rater = new BatchRater(createInfluencers());
+        for (Map<AnalyzedProperty, TestResult> results : createResultMaps()) {
+            ScoreReport report = rater.rate(results);
+            RatingScore score = rater.score(results);
+            assertEquals(report.getScore(), score.getScore(), results.toString());
+            Integer lowestCap =
+                    report.getInfluencers().values().stream()
+                            .map(PropertyResultRatingInfluencer::getScoreCap)
+                            .filter(cap -> cap != null)
+                            .min(Integer::compare)
+                            .orElse(null);
+            assertEquals(lowestCap, score.getScoreCap(), results.toString());
+        }
+    }
+
+    @Test
+    void testScores() {
+        BatchRater rater = new BatchRater(createInfluencers());
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        results.put(TestProperty.FIRST, TestResults.TRUE);
+        results.put(TestProperty.SECOND, TestResults.TRUE);
+        results.put(TestProperty.THIRD, Grade.GOOD);
+        assertEquals(new RatingScore(700, null), rater.score(results));
+
+        results.put(TestProperty.FIRST, TestResults.FALSE);
+        RatingScore capped = rater.score(results);
+        assertEquals(new RatingScore(300, 300), capped);
+        assertTrue(capped.isCapped());
+
+        results.put(TestProperty.THIRD, Grade.BAD);
+        assertEquals(new RatingScore(0, 0), rater.score(results));
+
+        RatingScore notReached = rater.score(Map.of(TestProperty.FIRST, TestResults.FALSE));
+        assertEquals(new RatingScore(-50, 300), notReached);
+        assertFalse(notReached.isCapped());
+    }
+
+    @Test
+    void testRateKeepsCatalogueOrder() {
+        BatchRater rater = new BatchRater(createInfluencers());
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        results.put(TestProperty.THIRD, Grade.GOOD);
+        results.put(TestProperty.FIRST, TestResults.UNCERTAIN);
+
+        ScoreReport report = rater.rate(results);
+
+        assertEquals(400, report.getScore());
+        assertEquals(
+                List.of(TestProperty.FIRST, TestProperty.THIRD),
+                List.copyOf(report.getInfluencers().keySet()));
+        assertEquals(0, report.getInfluencers().get(TestProperty.FIRST).getInfluence());
+        assertEquals(
+                List.of(TestProperty.FIRST, TestProperty.SECOND, TestProperty.THIRD),
+                rater.getProperties());
+    }
+
+    @Test
+    void testMatchesSiteReportRater() {
+        SiteReportRater siteReportRater =
+                new SiteReportRater(createInfluencers(), new Recommendations(List.of()));
+        BatchRater rater = new BatchRater(createInfluencers());
+        for (Map<AnalyzedProperty, TestResult> results : createResultMaps()) {
+            ScoreReport expected = siteReportRater.getScoreReport(results);
+            ScoreReport actual = rater.rate(results);
+            assertEquals(expected.getScore(), actual.getScore());
+            assertEquals(expected.getInfluencers(), actual.getInfluencers());
+        }
+        assertNotNull(siteReportRater.getBatchRater());
+        assertSame(siteReportRater.getBatchRater(), siteReportRater.getBatchRater());
+    }
+
+    @Test
+    void testParallelBatchKeepsOrder() {
+        BatchRater rater = new BatchRater(createInfluencers());
+        List<Map<AnalyzedProperty, TestResult>> resultMaps =
+                IntStream.range(0, 2000)
+                        .mapToObj(
+                                i ->
+                                        Map.<AnalyzedProperty, TestResult>of(
+                                                TestProperty.FIRST,
+                                                TestResults.of(i % 2 == 0),
+                                                TestProperty.SECOND,
+                                                TestResults.of(i % 3 == 0)))
+                        .collect(Collectors.toList());
+
+        List<RatingScore> scores = rater.scoreAll(resultMaps);
+        List<ScoreReport> reports = rater.rateAll(resultMaps);
+
+        assertEquals(resultMaps.size(), scores.size());
+        assertEquals(resultMaps.size(), reports.size());
+        for (int i = 0; i < resultMaps.size(); i++) {
+            RatingScore expected = rater.score(resultMaps.get(i));
+            assertEquals(expected, scores.get(i));
+            assertEquals(expected.getScore(), reports.get(i).getScore());
+        }
+    }
+}
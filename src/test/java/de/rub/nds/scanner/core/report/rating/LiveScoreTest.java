@@ -0,0 +1,149 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LiveScoreTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        THIRD,
+        UNRATED;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static class TestReport extends ScanReport {
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+
+        @Override
+        public String getRemoteName() {
+            return "test";
+        }
+    }
+
+    private BatchRater rater;
+
+    private TestReport report;
+
+    @BeforeEach
+    void setUp() {
+        rater =
+                new BatchRater(
+                        new RatingInfluencers(
+                                new LinkedList<>(
+                                        List.of(
+                                                new RatingInfluencer(
+                                                        TestProperty.FIRST,
+                                                        new PropertyResultRatingInfluencer(
+                                                                TestResults.TRUE, 250),
+                                                        new PropertyResultRatingInfluencer(
+                                                                TestResults.FALSE, -20, 200)),
+                                                new RatingInfluencer(
+                                                        TestProperty.SECOND,
+                                                        new PropertyResultRatingInfluencer(
+                                                                TestResults.TRUE, 300),
+                                                        new PropertyResultRatingInfluencer(
+                                                                TestResults.FALSE, 0, 200)),
+                                                new RatingInfluencer(
+                                                        TestProperty.THIRD,
+                                                        new PropertyResultRatingInfluencer(
+                                                                TestResults.TRUE, 50))))));
+        report = new TestReport();
+    }
+
+    @Test
+    void testFollowsReport() {
+        report.putResult(TestProperty.FIRST, TestResults.TRUE);
+        try (LiveScore liveScore = rater.startLiveScore(report)) {
+            assertEquals(250, liveScore.getScore());
+
+            report.putResult(TestProperty.SECOND, TestResults.TRUE);
+            report.putResult(TestProperty.UNRATED, TestResults.TRUE);
+            assertEquals(550, liveScore.getScore());
+
+            report.putResult(TestProperty.FIRST, TestResults.FALSE);
+            assertEquals(new RatingScore(200, 200), liveScore.getRatingScore());
+
+            report.removeResult(TestProperty.FIRST);
+            assertEquals(new RatingScore(300, null), liveScore.getRatingScore());
+            assertEquals(rater.score(report.getResultMap()), liveScore.getRatingScore());
+        }
+    }
+
+    @Test
+    void testCapsCountedPerProperty() {
+        try (LiveScore liveScore = rater.startLiveScore(report)) {
+            report.putResult(TestProperty.FIRST, TestResults.FALSE);
+            report.putResult(TestProperty.SECOND, TestResults.FALSE);
+            report.putResult(TestProperty.THIRD, TestResults.TRUE);
+            assertEquals(new RatingScore(30, 200), liveScore.getRatingScore());
+
+            // SECOND still applies the same cap
+            report.putResult(TestProperty.FIRST, TestResults.TRUE);
+            assertEquals(new RatingScore(200, 200), liveScore.getRatingScore());
+
+            report.putResult(TestProperty.SECOND, TestResults.TRUE);
+            assertEquals(new RatingScore(600, null), liveScore.getRatingScore());
+        }
+    }
+
+    @Test
+    void testClosedLiveScoreStopsFollowing() {
+        LiveScore liveScore = rater.startLiveScore(report);
+        report.putResult(TestProperty.FIRST, TestResults.TRUE);
+        liveScore.close();
+        report.putResult(TestProperty.SECOND, TestResults.TRUE);
+
+        assertEquals(250, liveScore.getScore());
+    }
+
+    @Test
+    void testIsSettled() {
+        try (LiveScore liveScore = rater.startLiveScore(report)) {
+            assertTrue(liveScore.isSettled(Set.of()));
+            assertTrue(liveScore.isSettled(Set.of(TestProperty.UNRATED)));
+            assertFalse(liveScore.isSettled(Set.of(TestProperty.THIRD)));
+
+            report.putResult(TestProperty.FIRST, TestResults.FALSE);
+            report.putResult(TestProperty.THIRD, TestResults.TRUE);
+            // FIRST=FALSE caps at 200, but SECOND=TRUE alone would not reach it
+            assertFalse(liveScore.isSettled(Set.of(TestProperty.SECOND)));
+
+            report.putResult(TestProperty.FIRST, TestResults.TRUE);
+            report.putResult(TestProperty.SECOND, TestResults.FALSE);
+            // capped at 200 and THIRD can only add to the score
+            assertTrue(liveScore.isSettled(Set.of(TestProperty.THIRD)));
+            // FIRST=FALSE would lower the sum below the cap
+            assertFalse(liveScore.isSettled(Set.of(TestProperty.FIRST, TestProperty.THIRD)));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecommendationsTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    @Test
+    void testGetRecommendationReturnsFirstMatch() {
+        Recommendation first = new Recommendation(TestProperty.FIRST, "first");
+        Recommendations recommendations =
+                new Recommendations(
+                        new LinkedList<>(
+                                List.of(first, new Recommendation(TestProperty.FIRST, "other"))));
+
+        assertSame(first, recommendations.getRecommendation(TestProperty.FIRST));
+        Recommendation fallback = recommendations.getRecommendation(TestProperty.SECOND);
+        assertSame(TestProperty.SECOND, fallback.getAnalyzedProperty());
+        assertEquals("SECOND", fallback.getShortName());
+    }
+
+    @Test
+    void testGetPropertyRecommendation() {
+        PropertyResultRecommendation onTrue =
+                new PropertyResultRecommendation(TestResults.TRUE, "supported", "disable it");
+        Recommendations recommendations =
+                new Recommendations(
+                        List.of(new Recommendation(TestProperty.FIRST, "first", "short", onTrue)));
+
+        assertSame(
+                onTrue,
+                recommendations.getPropertyRecommendation(TestProperty.FIRST, TestResults.TRUE));
+        PropertyResultRecommendation missingResult =
+                recommendations.getPropertyRecommendation(TestProperty.FIRST, TestResults.FALSE);
+        assertSame(TestResults.FALSE, missingResult.getResult());
+        assertEquals(
+                Recommendation.NO_RECOMMENDATION_FOUND,
+                missingResult.getHandlingRecommendation());
+        PropertyResultRecommendation missingProperty =
+                recommendations.getPropertyRecommendation(TestProperty.SECOND, TestResults.TRUE);
+        assertEquals(Recommendation.NO_RECOMMENDATION_FOUND, missingProperty.getShortDescription());
+    }
+
+    @Test
+    void testLookupsRebuiltAfterSetters() {
+        Recommendation recommendation = new Recommendation(TestProperty.FIRST, "first");
+        Recommendations recommendations = new Recommendations(List.of(recommendation));
+        assertSame(recommendation, recommendations.getRecommendation(TestProperty.FIRST));
+
+        PropertyResultRecommendation onFalse =
+                new PropertyResultRecommendation(TestResults.FALSE, "missing", "enable it");
+        assertEquals(
+                Recommendation.NO_INFORMATION_FOUND,
+                recommendation
+                        .getPropertyResultRecommendation(TestResults.FALSE)
+                        .getShortDescription());
+        recommendation.setPropertyRecommendations(List.of(onFalse));
+        assertSame(onFalse, recommendation.getPropertyResultRecommendation(TestResults.FALSE));
+
+        Recommendation replacement = new Recommendation(TestProperty.SECOND, "second");
+        recommendations.setRecommendations(List.of(replacement));
+        assertSame(replacement, recommendations.getRecommendation(TestProperty.SECOND));
+        assertNotSame(recommendation, recommendations.getRecommendation(TestProperty.FIRST));
+    }
+}
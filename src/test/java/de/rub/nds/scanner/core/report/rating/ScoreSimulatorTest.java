@@ -0,0 +1,211 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ScoreSimulatorTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        THIRD,
+        UNRATED;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    /** A result type that cannot be matched against TestResults. */
+    private enum Grade implements TestResult {
+        GOOD,
+        BAD;
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static final TestResults[] CANDIDATES = {TestResults.TRUE, TestResults.FALSE, null};
+
+    private SiteReportRater rater;
+
+    @BeforeEach
+    void setUp() {
+        RatingInfluencers influencers =
+                new RatingInfluencers(
+                        new LinkedList<>(
+                                List.of(
+                                        new RatingInfluencer(
+                                                TestProperty.FIRST,
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.TRUE, 300),
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.FALSE, -100, 200)),
+                                        new RatingInfluencer(
+                                                TestProperty.SECOND,
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.TRUE, 200),
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.FALSE, 0, 200)),
+                                        new RatingInfluencer(
+                                                TestProperty.THIRD,
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.TRUE, -50, 100),
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.FALSE, 100)))));
+        rater = new SiteReportRater(influencers, new Recommendations(List.of()));
+    }
+
+    private static Map<AnalyzedProperty, TestResult> results(TestResults... values) {
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                results.put(TestProperty.values()[i], values[i]);
+            }
+        }
+        return results;
+    }
+
+    @Test
+    void testSimulateMatchesRating() {
+        for (TestResults first : CANDIDATES) {
+            for (TestResults second : CANDIDATES) {
+                for (TestResults third : CANDIDATES) {
+                    Map<AnalyzedProperty, TestResult> actual = results(first, second, third);
+                    ScoreSimulator simulator =
+                            rater.createSimulator(rater.getScoreReport(actual));
+                    assertEquals(rater.getBatchRater().score(actual), simulator.getBaseline());
+                    for (TestResults changedFirst : CANDIDATES) {
+                        for (TestResults changedThird : CANDIDATES) {
+                            Map<AnalyzedProperty, TestResult> changes = new HashMap<>();
+                            changes.put(TestProperty.FIRST, changedFirst);
+                            changes.put(TestProperty.THIRD, changedThird);
+                            changes.put(TestProperty.UNRATED, TestResults.TRUE);
+                            Map<AnalyzedProperty, TestResult> changed =
+                                    results(changedFirst, second, changedThird);
+                            assertEquals(
+                                    rater.getBatchRater().score(changed),
+                                    simulator.simulate(changes),
+                                    actual + " -> " + changed);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSimulateSingleProperty() {
+        Map<AnalyzedProperty, TestResult> actual =
+                results(TestResults.FALSE, TestResults.FALSE, TestResults.FALSE);
+        ScoreSimulator simulator = rater.createSimulator(rater.getScoreReport(actual));
+        assertEquals(new RatingScore(0, 200), simulator.getBaseline());
+
+        // SECOND still caps at 200
+        assertEquals(
+                new RatingScore(200, 200),
+                simulator.simulate(TestProperty.FIRST, TestResults.TRUE));
+        assertEquals(
+                new RatingScore(200, 200),
+                simulator.simulate(TestProperty.SECOND, TestResults.TRUE));
+        assertEquals(
+                new RatingScore(600, null),
+                simulator.simulate(
+                        Map.of(
+                                TestProperty.FIRST, TestResults.TRUE,
+                                TestProperty.SECOND, TestResults.TRUE)));
+        assertEquals(
+                new RatingScore(-150, 100),
+                simulator.simulate(TestProperty.THIRD, TestResults.TRUE));
+        assertEquals(simulator.getBaseline(), simulator.simulate(TestProperty.UNRATED, null));
+    }
+
+    @Test
+    void testRankImpacts() {
+        Map<AnalyzedProperty, TestResult> actual =
+                results(TestResults.FALSE, TestResults.TRUE, TestResults.TRUE);
+        ScoreSimulator simulator = rater.createSimulator(rater.getScoreReport(actual));
+        assertEquals(new RatingScore(50, 100), simulator.getBaseline());
+
+        List<ScoreImpact> impacts = simulator.rankImpacts(TestResults.FALSE);
+
+        assertEquals(
+                List.of(TestProperty.THIRD, TestProperty.FIRST, TestProperty.SECOND),
+                impacts.stream().map(ScoreImpact::getProperty).collect(Collectors.toList()));
+        assertEquals(
+                List.of(150, 0, -200),
+                impacts.stream().map(ScoreImpact::getImpact).collect(Collectors.toList()));
+        assertEquals(new RatingScore(200, 200), impacts.get(0).getScore());
+        assertTrue(
+                Arrays.stream(TestResults.values())
+                        .allMatch(result -> simulator.rankImpacts(result).size() == 3));
+    }
+
+    @Test
+    void testUnmatchableResultsHaveNoImpact() {
+        RatingInfluencers influencers =
+                new RatingInfluencers(
+                        new LinkedList<>(
+                                List.of(
+                                        new RatingInfluencer(
+                                                TestProperty.FIRST,
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.TRUE, 300),
+                                                new PropertyResultRatingInfluencer(
+                                                        TestResults.FALSE, -100, 200)),
+                                        new RatingInfluencer(
+                                                TestProperty.UNRATED,
+                                                new PropertyResultRatingInfluencer(
+                                                        Grade.GOOD, 500)))));
+        SiteReportRater gradedRater =
+                new SiteReportRater(influencers, new Recommendations(List.of()));
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        results.put(TestProperty.FIRST, TestResults.TRUE);
+        results.put(TestProperty.UNRATED, Grade.GOOD);
+        ScoreSimulator simulator =
+                gradedRater.createSimulator(gradedRater.getScoreReport(results));
+        assertEquals(new RatingScore(800, null), simulator.getBaseline());
+
+        List<ScoreImpact> impacts = simulator.rankImpacts(TestResults.FALSE);
+
+        assertEquals(
+                List.of(TestProperty.UNRATED, TestProperty.FIRST),
+                impacts.stream().map(ScoreImpact::getProperty).collect(Collectors.toList()));
+        assertEquals(
+                List.of(0, -600),
+                impacts.stream().map(ScoreImpact::getImpact).collect(Collectors.toList()));
+        assertEquals(
+                new RatingScore(800, null),
+                simulator.simulate(TestProperty.UNRATED, TestResults.TRUE));
+        assertEquals(
+                new RatingScore(300, null), simulator.simulate(TestProperty.UNRATED, Grade.BAD));
+    }
+}
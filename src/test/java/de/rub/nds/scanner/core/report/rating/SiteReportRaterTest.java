@@ -0,0 +1,187 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.rating;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.probe.AnalyzedProperty;
+import de.rub.nds.scanner.core.probe.AnalyzedPropertyCategory;
+import de.rub.nds.scanner.core.probe.result.TestResult;
+import de.rub.nds.scanner.core.probe.result.TestResults;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SiteReportRaterTest {
+
+    private enum TestProperty implements AnalyzedProperty {
+        FIRST,
+        SECOND,
+        THIRD,
+        FOURTH;
+
+        @Override
+        public AnalyzedPropertyCategory getCategory() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+    }
+
+    private static RatingInfluencer influencer(
+            AnalyzedProperty property, TestResults result, int influence) {
+        return new RatingInfluencer(
+                property, new PropertyResultRatingInfluencer(result, influence));
+    }
+
+    private static SiteReportRater createRater(RatingInfluencer... catalogue) {
+        return new SiteReportRater(
+                new RatingInfluencers(new LinkedList<>(List.of(catalogue))),
+                new Recommendations(new LinkedList<>()));
+    }
+
+    @Test
+    void testSmallReportKeepsCatalogueOrder() {
+        SiteReportRater rater =
+                createRater(
+                        influencer(TestProperty.FIRST, TestResults.TRUE, 10),
+                        influencer(TestProperty.SECOND, TestResults.TRUE, 20),
+                        influencer(TestProperty.THIRD, TestResults.TRUE, 30),
+                        influencer(TestProperty.FOURTH, TestResults.TRUE, 40));
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        results.put(TestProperty.THIRD, TestResults.TRUE);
+        results.put(TestProperty.FIRST, TestResults.FALSE);
+
+        ScoreReport report = rater.getScoreReport(results);
+
+        assertEquals(30, report.getScore());
+        assertEquals(
+                List.of(TestProperty.FIRST, TestProperty.THIRD),
+                List.copyOf(report.getInfluencers().keySet()));
+        assertEquals(0, report.getInfluencers().get(TestProperty.FIRST).getInfluence());
+    }
+
+    @Test
+    void testLargeReportMatchesSmallReport() {
+        SiteReportRater rater =
+                createRater(
+                        influencer(TestProperty.SECOND, TestResults.TRUE, 20),
+                        influencer(TestProperty.FIRST, TestResults.TRUE, 10));
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        for (TestProperty property : TestProperty.values()) {
+            results.put(property, TestResults.TRUE);
+        }
+
+        ScoreReport report = rater.getScoreReport(results);
+
+        assertEquals(30, report.getScore());
+        assertEquals(
+                List.of(TestProperty.SECOND, TestProperty.FIRST),
+                List.copyOf(report.getInfluencers().keySet()));
+    }
+
+    @Test
+    void testDuplicatePropertyUsesFirstPositionAndLastInfluencer() {
+        SiteReportRater rater =
+                createRater(
+                        influencer(TestProperty.FIRST, TestResults.TRUE, 10),
+                        influencer(TestProperty.SECOND, TestResults.TRUE, 20),
+                        influencer(TestProperty.FIRST, TestResults.TRUE, 50));
+
+        Map<AnalyzedProperty, TestResult> small = Map.of(TestProperty.FIRST, TestResults.TRUE);
+        Map<AnalyzedProperty, TestResult> large = new HashMap<>();
+        for (TestProperty property : TestProperty.values()) {
+            large.put(property, TestResults.TRUE);
+        }
+
+        assertEquals(50, rater.getScoreReport(small).getScore());
+        ScoreReport report = rater.getScoreReport(large);
+        assertEquals(70, report.getScore());
+        assertEquals(
+                List.of(TestProperty.FIRST, TestProperty.SECOND),
+                List.copyOf(report.getInfluencers().keySet()));
+    }
+
+    @Test
+    void testScoreCapApplied() {
+        SiteReportRater rater =
+                createRater(
+                        influencer(TestProperty.FIRST, TestResults.TRUE, 100),
+                        new RatingInfluencer(
+                                TestProperty.SECOND,
+                                new PropertyResultRatingInfluencer(TestResults.FALSE, -10, 50)));
+        Map<AnalyzedProperty, TestResult> results = new HashMap<>();
+        results.put(TestProperty.FIRST, TestResults.TRUE);
+        results.put(TestProperty.SECOND, TestResults.FALSE);
+
+        assertEquals(50, rater.getScoreReport(results).getScore());
+    }
+
+    @Test
+    void testInfluencerLookupUsesFirstMatchAndIsRebuiltAfterChanges() {
+        RatingInfluencer ratingInfluencer =
+                new RatingInfluencer(
+                        TestProperty.FIRST,
+                        new LinkedList<>(
+                                List.of(
+                                        new PropertyResultRatingInfluencer(TestResults.TRUE, 5),
+                                        new PropertyResultRatingInfluencer(TestResults.TRUE, 7))));
+
+        assertEquals(
+                5, ratingInfluencer.getPropertyRatingInfluencer(TestResults.TRUE).getInfluence());
+        assertEquals(
+                0, ratingInfluencer.getPropertyRatingInfluencer(TestResults.FALSE).getInfluence());
+
+        ratingInfluencer.addPropertyRatingInfluencer(
+                new PropertyResultRatingInfluencer(TestResults.FALSE, -3));
+        assertEquals(
+                -3, ratingInfluencer.getPropertyRatingInfluencer(TestResults.FALSE).getInfluence());
+
+        ratingInfluencer.setPropertyRatingInfluencers(
+                List.of(new PropertyResultRatingInfluencer(TestResults.TRUE, 9)));
+        assertEquals(
+                9, ratingInfluencer.getPropertyRatingInfluencer(TestResults.TRUE).getInfluence());
+        assertEquals(
+                0, ratingInfluencer.getPropertyRatingInfluencer(TestResults.FALSE).getInfluence());
+    }
+
+    @Test
+    void testRatingInfluencersLookupByProperty() {
+        RatingInfluencer first = influencer(TestProperty.FIRST, TestResults.TRUE, 10);
+        RatingInfluencers ratingInfluencers =
+                new RatingInfluencers(
+                        new LinkedList<>(
+                                List.of(
+                                        first,
+                                        influencer(TestProperty.FIRST, TestResults.TRUE, 99))));
+
+        assertSame(first, ratingInfluencers.getRatingInfluencer(TestProperty.FIRST));
+        assertNull(ratingInfluencers.getRatingInfluencer(TestProperty.SECOND));
+        assertEquals(
+                10,
+                ratingInfluencers
+                        .getPropertyRatingInfluencer(TestProperty.FIRST, TestResults.TRUE)
+                        .getInfluence());
+        assertEquals(
+                0,
+                ratingInfluencers
+                        .getPropertyRatingInfluencer(TestProperty.SECOND, TestResults.TRUE)
+                        .getInfluence());
+
+        RatingInfluencer second = influencer(TestProperty.SECOND, TestResults.TRUE, 20);
+        ratingInfluencers.setRatingInfluencers(new LinkedList<>(List.of(second)));
+        assertSame(second, ratingInfluencers.getRatingInfluencer(TestProperty.SECOND));
+        assertNull(ratingInfluencers.getRatingInfluencer(TestProperty.FIRST));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.report.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.report.CompactReportFormat;
+import de.rub.nds.scanner.core.report.ReportProjection;
+import de.rub.nds.scanner.core.report.ReportTypeRegistry;
+import de.rub.nds.scanner.core.report.ScanReport;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReportStoreTest {
+
+    @TempDir Path directory;
+
+    private CompactReportFormat format;
+
+    static class TestReport extends ScanReport {
+        private String remoteName;
+
+        TestReport() {}
+
+        TestReport(String remoteName, long scanStartTime, int score) {
+            this.remoteName = remoteName;
+            setScanStartTime(scanStartTime);
+            setScore(score);
+        }
+
+        @Override
+        public String getRemoteName() {
+            return remoteName;
+        }
+
+        @Override
+        public void serializeToJson(OutputStream outputStream) {}
+    }
+
+    @BeforeEach
+    public void setUp() {
+        format = new CompactReportFormat(new ReportTypeRegistry());
+    }
+
+    private ReportStore<TestReport> open() throws IOException {
+        return ReportStore.open(directory, format, TestReport::new);
+    }
+
+    @Test
+    public void testAppendAndLoadLatest() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            store.append(new TestReport("a.com", 200, 2));
+            store.append(new TestReport("a.com", 100, 1));
+            store.append(new TestReport("b.com", 150, 3));
+
+            assertEquals(3, store.size());
+            assertEquals(2, store.loadLatest("a.com").orElseThrow().getScore());
+            assertEquals(3, store.loadLatest("b.com").orElseThrow().getScore());
+            assertTrue(store.loadLatest("a.co").isEmpty());
+            assertTrue(store.loadLatest("c.com").isEmpty());
+            assertEquals(Set.of("a.com", "b.com"), store.getRemoteNames());
+        }
+    }
+
+    @Test
+    public void testRangeScan() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            for (int i = 0; i < 10; i++) {
+                store.append(new TestReport("a.com", i * 10L, i));
+                store.append(new TestReport("b.com", i * 10L, i));
+            }
+
+            List<StoredReport> range = store.find("a.com", 20, 50);
+            assertEquals(3, range.size());
+            assertEquals(20, range.get(0).getScanTime());
+            assertEquals(40, range.get(2).getScanTime());
+            assertEquals(4, store.load(range.get(2)).getScore());
+            assertEquals(6, store.findAll(20, 50).size());
+            assertTrue(store.find("a.com", 50, 50).isEmpty());
+        }
+    }
+
+    @Test
+    public void testLoadProjection() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            StoredReport entry = store.append(new TestReport("a.com", 100, 1));
+
+            TestReport read = store.load(entry, ReportProjection.NONE);
+            assertEquals(1, read.getScore());
+            assertEquals(100L, read.getScanStartTime());
+            assertTrue(store.index(entry).getProperties().isEmpty());
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            store.append(new TestReport("a.com", 100, 1));
+        }
+        try (ReportStore<TestReport> store = open()) {
+            store.append(new TestReport("a.com", 200, 2));
+        }
+        try (ReportStore<TestReport> store = open()) {
+            assertEquals(2, store.size());
+            assertEquals(2, store.loadLatest("a.com").orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    public void testRebuildsMissingIndex() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            store.append(new TestReport("a.com", 100, 1));
+            store.append(new TestReport("b.com", 200, 2));
+        }
+        Files.delete(directory.resolve(ReportStore.INDEX_FILE));
+
+        try (ReportStore<TestReport> store = open()) {
+            assertEquals(2, store.size());
+            assertEquals(2, store.loadLatest("b.com").orElseThrow().getScore());
+        }
+        assertTrue(Files.size(directory.resolve(ReportStore.INDEX_FILE)) > 0);
+    }
+
+    @Test
+    public void testCutsOffTornFrame() throws IOException {
+        long firstFrameEnd;
+        try (ReportStore<TestReport> store = open()) {
+            firstFrameEnd = store.append(new TestReport("a.com", 100, 1)).getLength();
+            store.append(new TestReport("a.com", 200, 2));
+        }
+        Path log = directory.resolve(ReportStore.LOG_FILE);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (ReportStore<TestReport> store = open()) {
+            assertEquals(1, store.size());
+            assertEquals(1, store.loadLatest("a.com").orElseThrow().getScore());
+            assertEquals(firstFrameEnd, Files.size(log));
+            store.append(new TestReport("a.com", 300, 3));
+        }
+        try (ReportStore<TestReport> store = open()) {
+            assertEquals(2, store.size());
+            assertEquals(3, store.loadLatest("a.com").orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        try (ReportStore<TestReport> store = open()) {
+            for (int i = 0; i < 5; i++) {
+                store.append(new TestReport("a.com", i, i));
+                store.append(new TestReport("b.com", i, 10 + i));
+            }
+            store.append(new TestReport("c.com", 0, 20));
+            long sizeBefore = Files.size(directory.resolve(ReportStore.LOG_FILE));
+
+            assertEquals(6, store.compact(2));
+            assertEquals(5, store.size());
+            assertTrue(Files.size(directory.resolve(ReportStore.LOG_FILE)) < sizeBefore);
+            assertEquals(4, store.loadLatest("a.com").orElseThrow().getScore());
+            assertEquals(13, store.load(store.find("b.com", 0, 5).get(0)).getScore());
+            assertEquals(0, store.compact(2));
+            assertThrows(IllegalArgumentException.class, () -> store.compact(0));
+        }
+        try (ReportStore<TestReport> store = open()) {
+            assertEquals(5, store.size());
+            assertEquals(20, store.loadLatest("c.com").orElseThrow().getScore());
+        }
+    }
+}
@@ -14,7 +14,12 @@ import jakarta.xml.bind.*;
 import jakarta.xml.bind.annotation.*;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.stream.XMLStreamException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,6 +74,82 @@ class JaxbSerializerTest {
         assertEquals("Test with UTF-8 characters: é, ñ, ü, 中文", obj.getText());
     }
 
+    @Test
+    void testWriteFormatting() throws JAXBException, IOException {
+        TestObject obj = new TestObject();
+        obj.setText("a & b");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.write(baos, obj);
+
+        String separator = System.lineSeparator();
+        assertEquals(
+                "<testObject>"
+                        + separator
+                        + "    <text>a &amp; b</text>"
+                        + separator
+                        + "</testObject>"
+                        + separator,
+                baos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteFailureIsReported() throws JAXBException, IOException {
+        TestObject obj = new TestObject();
+        obj.setText("text");
+        OutputStream failing =
+                new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("disk full");
+                    }
+                };
+
+        assertThrows(IOException.class, () -> serializer.write(failing, obj));
+
+        // the serializer is still usable afterwards
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.write(baos, obj);
+        assertTrue(baos.toString(StandardCharsets.UTF_8).contains("<text>text</text>"));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testMarshallingFailureIsReported() {
+        JaxbSerializer rawSerializer = serializer;
+
+        assertThrows(
+                JAXBException.class,
+                () -> rawSerializer.write(new ByteArrayOutputStream(), new Object()));
+    }
+
+    @Test
+    void testConcurrentRoundTrips() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String text = "text " + i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    TestObject obj = new TestObject();
+                                    obj.setText(text);
+                                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                                    serializer.write(baos, obj);
+                                    return serializer
+                                            .read(new ByteArrayInputStream(baos.toByteArray()))
+                                            .getText();
+                                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("text " + i, futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @XmlRootElement(name = "testObject")
     @XmlAccessorType(XmlAccessType.FIELD)
     static class TestObject {
@@ -0,0 +1,120 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SubtypeIndexProcessorTest {
+
+    private static final String PROBE_TYPE = "de.rub.nds.scanner.core.probe.ProbeType";
+
+    @TempDir Path tempDir;
+
+    private Path sourceDir;
+
+    private Path outputDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sourceDir = Files.createDirectories(tempDir.resolve("src"));
+        outputDir = Files.createDirectories(tempDir.resolve("out"));
+    }
+
+    @Test
+    public void testIndexesSubtypes() throws IOException {
+        writeSource(
+                "MyProbeType",
+                "package sample;\n"
+                        + "public enum MyProbeType implements "
+                        + PROBE_TYPE
+                        + " {\n"
+                        + "    FIRST;\n"
+                        + "    public String getName() { return name(); }\n"
+                        + "    public enum Nested implements "
+                        + PROBE_TYPE
+                        + " {\n"
+                        + "        SECOND;\n"
+                        + "        public String getName() { return name(); }\n"
+                        + "    }\n"
+                        + "}\n");
+        writeSource("Unrelated", "package sample;\npublic class Unrelated {}\n");
+
+        assertTrue(compile("MyProbeType", "Unrelated"));
+
+        assertEquals(
+                List.of("sample.MyProbeType", "sample.MyProbeType$Nested"),
+                readIndex(PROBE_TYPE));
+        // base types without subtypes get an empty index, so the output is not scanned again
+        assertEquals(List.of(), readIndex("de.rub.nds.scanner.core.guideline.GuidelineCheck"));
+    }
+
+    @Test
+    public void testIncrementalCompilationKeepsEntries() throws IOException {
+        writeSource(
+                "FirstType",
+                "package sample;\n"
+                        + "public enum FirstType implements "
+                        + PROBE_TYPE
+                        + " {\n"
+                        + "    A;\n"
+                        + "    public String getName() { return name(); }\n"
+                        + "}\n");
+        writeSource(
+                "SecondType",
+                "package sample;\n"
+                        + "public enum SecondType implements "
+                        + PROBE_TYPE
+                        + " {\n"
+                        + "    B;\n"
+                        + "    public String getName() { return name(); }\n"
+                        + "}\n");
+
+        assertTrue(compile("FirstType"));
+        assertTrue(compile("SecondType"));
+
+        assertEquals(List.of("sample.FirstType", "sample.SecondType"), readIndex(PROBE_TYPE));
+    }
+
+    private void writeSource(String className, String source) throws IOException {
+        Path file = sourceDir.resolve("sample").resolve(className + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+    }
+
+    private boolean compile(String... classNames) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-processor");
+        arguments.add(SubtypeIndexProcessor.class.getName());
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path") + File.pathSeparator + outputDir);
+        arguments.add("-d");
+        arguments.add(outputDir.toString());
+        for (String className : classNames) {
+            arguments.add(sourceDir.resolve("sample").resolve(className + ".java").toString());
+        }
+        return compiler.run(null, null, null, arguments.toArray(new String[0])) == 0;
+    }
+
+    private List<String> readIndex(String baseType) throws IOException {
+        return Files.readAllLines(outputDir.resolve(SubtypeIndex.INDEX_LOCATION + baseType));
+    }
+}
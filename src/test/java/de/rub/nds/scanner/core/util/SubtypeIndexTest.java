@@ -0,0 +1,167 @@
+/*
+ * Scanner Core - A Modular Framework for Probe Definition, Execution, and Result Analysis.
+ *
+ * Copyright 2017-2023 Ruhr University Bochum, Paderborn University, Technology Innovation Institute, and Hackmanit GmbH
+ *
+ * Licensed under Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0.txt
+ */
+package de.rub.nds.scanner.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.rub.nds.scanner.core.guideline.GuidelineCheck;
+import de.rub.nds.scanner.core.probe.ProbeType;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflections.util.ClasspathHelper;
+
+public class SubtypeIndexTest {
+
+    @TempDir Path tempDir;
+
+    interface Marker {}
+
+    static class FirstMarker implements Marker {}
+
+    static class SecondMarker implements Marker {}
+
+    static class NoMarker {}
+
+    @AfterEach
+    public void tearDown() {
+        SubtypeIndex.clearCache();
+    }
+
+    @Test
+    public void testReadIndex() throws IOException {
+        writeIndex(
+                "# generated",
+                FirstMarker.class.getName(),
+                "",
+                SecondMarker.class.getName() + " # trailing comment");
+
+        try (URLClassLoader classLoader = createClassLoader()) {
+            Set<Class<?>> subTypes = SubtypeIndex.readIndex(Marker.class, classLoader);
+            assertEquals(Set.of(FirstMarker.class, SecondMarker.class), subTypes);
+        }
+    }
+
+    @Test
+    public void testReadIndexSkipsInvalidEntries() throws IOException {
+        writeIndex(
+                FirstMarker.class.getName(),
+                "de.rub.nds.scanner.core.util.DoesNotExist",
+                NoMarker.class.getName(),
+                Marker.class.getName());
+
+        try (URLClassLoader classLoader = createClassLoader()) {
+            Set<Class<?>> subTypes = SubtypeIndex.readIndex(Marker.class, classLoader);
+            assertEquals(Set.of(FirstMarker.class), subTypes);
+        }
+    }
+
+    @Test
+    public void testReadIndexWithoutIndex() throws IOException {
+        try (URLClassLoader classLoader = createClassLoader()) {
+            assertNull(SubtypeIndex.readIndex(Marker.class, classLoader));
+            assertTrue(SubtypeIndex.readIndexes(Marker.class, classLoader).isEmpty());
+        }
+    }
+
+    @Test
+    public void testGetSubTypesOfFallsBackToScanning() {
+        Set<Class<? extends Marker>> subTypes =
+                SubtypeIndex.getSubTypesOf(Marker.class, "de.rub.nds.scanner.core.util");
+        assertTrue(subTypes.contains(FirstMarker.class));
+        assertTrue(subTypes.contains(SecondMarker.class));
+        assertFalse(subTypes.contains(Marker.class));
+    }
+
+    @Test
+    public void testReadIndexesByRoot() throws IOException {
+        writeIndex(FirstMarker.class.getName());
+        Files.createDirectories(tempDir.resolve("de/rub/nds/scanner/core/util"));
+
+        try (URLClassLoader classLoader = createClassLoader()) {
+            Map<String, Set<Class<?>>> indexes =
+                    SubtypeIndex.readIndexes(Marker.class, classLoader);
+            String root = tempDir.toUri().toURL().toExternalForm();
+            assertEquals(Set.of(FirstMarker.class), indexes.get(root));
+            // the index is keyed like the roots which are otherwise scanned
+            Set<String> roots =
+                    ClasspathHelper.forPackage("de.rub.nds.scanner.core.util", classLoader)
+                            .stream()
+                            .map(URL::toExternalForm)
+                            .collect(Collectors.toSet());
+            assertTrue(roots.containsAll(indexes.keySet()));
+        }
+    }
+
+    @Test
+    public void testGetSubTypesOfMergesIndexAndScan() throws IOException {
+        // only this root is indexed, the test classes themselves are scanned
+        writeIndex(FirstMarker.class.getName());
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = createClassLoader()) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            Set<Class<? extends Marker>> subTypes =
+                    SubtypeIndex.getSubTypesOf(Marker.class, "de.rub.nds.scanner.core.util");
+            assertEquals(Set.of(FirstMarker.class, SecondMarker.class), subTypes);
+            // cached lookups do not read the index again
+            assertSame(
+                    subTypes,
+                    SubtypeIndex.getSubTypesOf(Marker.class, "de.rub.nds.scanner.core.util"));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void testRootWithAnyIndexIsIndexed() throws IOException {
+        writeIndexOf(GuidelineCheck.class.getName());
+
+        try (URLClassLoader classLoader = createClassLoader()) {
+            String root = tempDir.toUri().toURL().toExternalForm();
+            assertTrue(
+                    SubtypeIndex.getIndexedRoots(
+                                    ProbeType.class,
+                                    classLoader,
+                                    SubtypeIndex.readIndexes(ProbeType.class, classLoader))
+                            .contains(root));
+            // the processor does not index other base types, so their roots are still scanned
+            assertFalse(
+                    SubtypeIndex.getIndexedRoots(
+                                    Marker.class,
+                                    classLoader,
+                                    SubtypeIndex.readIndexes(Marker.class, classLoader))
+                            .contains(root));
+        }
+    }
+
+    private void writeIndex(String... lines) throws IOException {
+        writeIndexOf(Marker.class.getName(), lines);
+    }
+
+    private void writeIndexOf(String baseType, String... lines) throws IOException {
+        Path index = tempDir.resolve(SubtypeIndex.INDEX_LOCATION + baseType);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(lines));
+    }
+
+    private URLClassLoader createClassLoader() throws IOException {
+        return new URLClassLoader(
+                new URL[] {tempDir.toUri().toURL()}, SubtypeIndexTest.class.getClassLoader());
+    }
+}